@@ -3,13 +3,18 @@
 package io.github.mmm.orm.dialect;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.github.mmm.base.exception.ObjectNotFoundException;
+import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.bean.typemapping.TypeMapping;
 import io.github.mmm.orm.impl.OrmImpl;
+import io.github.mmm.orm.mapping.DbEntityModel;
 import io.github.mmm.orm.mapping.Orm;
 import io.github.mmm.orm.naming.DbNamingStrategy;
+import io.github.mmm.orm.param.DbEntityBinder;
 import io.github.mmm.orm.source.DbSource;
+import io.github.mmm.orm.statement.DbStatementPlanCache;
 
 /**
  * Abstract base implementation of {@link DbDialect}.
@@ -21,6 +26,10 @@ public abstract class AbstractDbDialect<SELF extends AbstractDbDialect<SELF>> im
 
   private final OrmImpl orm;
 
+  private final DbStatementPlanCache statementPlanCache;
+
+  private final Map<String, DbEntityModel<?>> entityModels;
+
   /**
    * The constructor.
    *
@@ -30,6 +39,8 @@ public abstract class AbstractDbDialect<SELF extends AbstractDbDialect<SELF>> im
 
     super();
     this.orm = (OrmImpl) orm;
+    this.statementPlanCache = new DbStatementPlanCache(this);
+    this.entityModels = new ConcurrentHashMap<>();
   }
 
   /**
@@ -41,6 +52,8 @@ public abstract class AbstractDbDialect<SELF extends AbstractDbDialect<SELF>> im
 
     super();
     this.orm = new OrmImpl(typeMapping, getDefaultNamingStrategy());
+    this.statementPlanCache = new DbStatementPlanCache(this);
+    this.entityModels = new ConcurrentHashMap<>();
   }
 
   /**
@@ -91,6 +104,70 @@ public abstract class AbstractDbDialect<SELF extends AbstractDbDialect<SELF>> im
     return new DbDialectStatementFormatter(this);
   }
 
+  /**
+   * @return the {@link DbStatementPlanCache} to format {@link io.github.mmm.orm.statement.DbStatement}s efficiently
+   *         with this dialect.
+   */
+  public DbStatementPlanCache getStatementPlanCache() {
+
+    return this.statementPlanCache;
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param entity the {@link EntityBean}.
+   * @return the cached {@link DbEntityModel} for the {@link EntityBean#getType() type} of the given
+   *         {@link EntityBean}. Will be created on the first call.
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends EntityBean> DbEntityModel<E> getEntityModel(E entity) {
+
+    String key = entity.getType().getQualifiedName();
+    DbEntityModel<?> model = this.entityModels.get(key);
+    if (model == null) {
+      model = this.entityModels.computeIfAbsent(key, k -> new DbEntityModel<>(this, entity));
+    }
+    return (DbEntityModel<E>) model;
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param entity the {@link EntityBean} to insert.
+   * @return the {@link DbEntityModel#getInsertBinder() insert binder} for the {@link EntityBean#getType() type} of
+   *         the given {@link EntityBean}.
+   */
+  public <E extends EntityBean> DbEntityBinder<E> getEntityBinder(E entity) {
+
+    return getEntityModel(entity).getInsertBinder();
+  }
+
+  /**
+   * @return the {@link DbInsertReturning} strategy supported by this dialect to receive the values of an inserted row
+   *         in the same round trip.
+   */
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.GENERATED_KEYS;
+  }
+
+  /**
+   * @return {@code true} if the JDBC driver can return the values of all inserted rows of a batch via
+   *         {@link java.sql.Statement#getGeneratedKeys()}, {@code false} otherwise.
+   */
+  public boolean isSupportingBatchReturning() {
+
+    return getInsertReturning() == DbInsertReturning.GENERATED_KEYS;
+  }
+
+  /**
+   * @return the {@link DbUpsert} syntax supported by this dialect to insert or update a row in a single statement.
+   * @see DbDialectStatementFormatter#formatUpsert(String, java.util.List, String, String)
+   */
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.NONE;
+  }
+
   /**
    * @param config the {@link Map} with the configuration parameters for the {@link DbSource}.
    * @param source the {@link DbSource}.
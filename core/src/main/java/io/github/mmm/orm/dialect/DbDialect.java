@@ -63,4 +63,54 @@ public interface DbDialect {
     return true;
   }
 
+  /**
+   * @return {@code true} if the underlying database can select multiple next values of a sequence in a single
+   *         statement (see {@link io.github.mmm.orm.statement.select.SelectSequenceNextValueClause#isRange()}),
+   *         {@code false} otherwise.
+   */
+  default boolean isSupportingSequenceRange() {
+
+    return false;
+  }
+
+  /**
+   * @param fetchSize the configured {@link io.github.mmm.orm.source.DbSource#KEY_FETCH_SIZE fetch size}.
+   * @return the fetch size to use for a query that streams its results. Override if the database driver requires a
+   *         special value to avoid loading the entire result into memory.
+   */
+  default int getStreamFetchSize(int fetchSize) {
+
+    return fetchSize;
+  }
+
+  /**
+   * @return the maximum number of values to bind as parameters of a single statement (e.g. in an {@code IN} list).
+   *         Larger collections of values have to be split into multiple statements.
+   */
+  default int getMaxParameters() {
+
+    return 32767;
+  }
+
+  /**
+   * @return the maximum number of rows to insert with a single {@code INSERT} statement with multiple {@code VALUES}
+   *         rows or {@code 1} if not supported. The number of rows is also limited by the
+   *         {@link #getMaxParameters() maximum number of parameters}.
+   * @see io.github.mmm.orm.statement.insert.InsertValuesClause#row()
+   */
+  default int getMaxInsertRows() {
+
+    return 1000;
+  }
+
+  /**
+   * @return {@code true} if a collection of values can be bound as a single array parameter (e.g. as
+   *         {@code ID = ANY(?)} instead of an {@code IN} list), {@code false} otherwise.
+   * @see io.github.mmm.orm.type.DbTypeCollection
+   */
+  default boolean isSupportingArrayParameter() {
+
+    return false;
+  }
+
 }
@@ -2,18 +2,21 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.dialect;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import io.github.mmm.entity.bean.EntityBean;
-import io.github.mmm.orm.mapping.DbBeanMapper;
+import io.github.mmm.orm.mapping.DbEntityModel;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
 import io.github.mmm.orm.param.CriteriaParametersIndexed;
-import io.github.mmm.orm.result.DbResult;
-import io.github.mmm.orm.result.DbResultValue;
 import io.github.mmm.orm.statement.AbstractEntityClause;
 import io.github.mmm.orm.statement.BasicDbStatementFormatter;
+import io.github.mmm.orm.statement.select.LimitClause;
+import io.github.mmm.orm.statement.select.SelectFetchClause;
 import io.github.mmm.orm.statement.select.SelectFromClause;
 import io.github.mmm.property.criteria.CriteriaFormatterFactory;
+import io.github.mmm.property.criteria.Literal;
 
 /**
  * {@link BasicDbStatementFormatter} for any real {@link DbDialect database dialect}.
@@ -66,16 +69,277 @@ public class DbDialectStatementFormatter extends BasicDbStatementFormatter {
   protected void formatSelectAll(SelectFromClause<?, ?> selectFrom) {
 
     EntityBean entity = selectFrom.getEntity();
-    DbBeanMapper<EntityBean> mapping = this.dialect.getOrm().createBeanMapper(entity);
-    DbResult dbResult = mapping.java2db(entity);
-    String s = "";
-    for (DbResultValue<?> dbValue : dbResult) {
-      write(s);
-      String columnName = dbValue.getName();
-      write(columnName);
-      s = ", ";
+    if (selectFrom.getFetches().isEmpty()) {
+      write(this.dialect.getEntityModel(entity).getSelectColumns());
+    } else {
+      // columns have to be qualified as joined tables typically have columns with the same names (e.g. ID)
+      write(this.dialect.getEntityModel(entity).getSelectColumns(selectFrom.getAlias()));
+      for (SelectFetchClause<?, ?> fetch : selectFrom.getFetches()) {
+        write(", ");
+        write(this.dialect.getEntityModel(fetch.getEntity()).getSelectColumns(fetch.getAlias()));
+      }
     }
     write(" ");
   }
 
+  @Override
+  protected void formatFetch(SelectFetchClause<?, ?> fetch, SelectFromClause<?, ?> selectFrom) {
+
+    DbEntityModel<?> fetchModel = this.dialect.getEntityModel(fetch.getEntity());
+    DbEntityModel<?> model = this.dialect.getEntityModel(selectFrom.getEntity());
+    write(" LEFT JOIN ");
+    formatEntity(fetch);
+    write(" ON ");
+    write(fetch.getAlias());
+    write(".");
+    write(fetchModel.getIdColumn());
+    write(" = ");
+    write(selectFrom.getAlias());
+    write(".");
+    write(model.getColumnName(fetch.getLink().getName()));
+  }
+
+  /**
+   * Formats the given {@link LimitClause} in the syntax of the SQL standard ({@code OFFSET ? ROWS FETCH NEXT ? ROWS
+   * ONLY}). Can be used by dialects that do not support {@code LIMIT} from
+   * {@link #formatLimitClause(LimitClause, DbContext)}.
+   *
+   * @param limit the {@link LimitClause} to format.
+   */
+  protected void formatOffsetFetch(LimitClause<?> limit) {
+
+    Literal<Integer> offset = limit.getOffset();
+    if (offset != null) {
+      write(" OFFSET ");
+      onArg(offset, 0, null);
+      write(" ROWS");
+    }
+    Literal<Integer> maxRows = limit.getLimit();
+    if (maxRows != null) {
+      write(" FETCH NEXT ");
+      onArg(maxRows, 0, null);
+      write(" ROWS ONLY");
+    }
+  }
+
+  /**
+   * Formats the SQL to insert a row or update the existing row with the same primary key in a single statement
+   * according to the {@link AbstractDbDialect#getUpsert() upsert syntax} of the dialect.
+   *
+   * @param tableName the name of the database table.
+   * @param columns the names of all columns to insert in the order of the JDBC parameters.
+   * @param idColumn the name of the primary key column. Has to be contained in {@code columns}.
+   * @param revisionColumn the name of the revision column to verify before an existing row is updated or {@code null}
+   *        to update without verification.
+   * @return the formatted SQL or {@code null} if {@link DbUpsert#NONE not supported} or if a {@code revisionColumn} is
+   *         given but a revision conflict can not be {@link DbUpsert#isDetectingConflict() detected}. It has a JDBC
+   *         parameter for each of the given {@code columns} followed by the parameter for the expected revision if a
+   *         {@code revisionColumn} is given. An existing row with a different revision is not modified and therefore
+   *         not counted as updated.
+   */
+  public String formatUpsert(String tableName, List<String> columns, String idColumn, String revisionColumn) {
+
+    DbUpsert upsert = this.dialect.getUpsert();
+    if ((upsert == DbUpsert.NONE) || ((revisionColumn != null) && !upsert.isDetectingConflict())) {
+      return null;
+    }
+    List<String> updateColumns = new ArrayList<>(columns.size());
+    for (String column : columns) {
+      if (!column.equals(idColumn)) {
+        updateColumns.add(column);
+      }
+    }
+    if (upsert == DbUpsert.MERGE) {
+      formatMerge(tableName, columns, idColumn, updateColumns, revisionColumn);
+    } else if (upsert == DbUpsert.ON_CONFLICT) {
+      formatInsertValues(tableName, columns);
+      formatOnConflict(tableName, idColumn, updateColumns, revisionColumn);
+    } else {
+      formatInsertValues(tableName, columns);
+      formatOnDuplicateKey(idColumn, updateColumns);
+    }
+    return get().getStatement();
+  }
+
+  private void formatInsertValues(String tableName, List<String> columns) {
+
+    write("INSERT INTO ");
+    write(tableName);
+    write("(");
+    write(String.join(", ", columns));
+    write(") VALUES (");
+    formatParameters(columns.size());
+    write(")");
+  }
+
+  private void formatParameters(int count) {
+
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        write(", ");
+      }
+      write("?");
+    }
+  }
+
+  /**
+   * Formats the {@link DbUpsert#ON_CONFLICT ON CONFLICT} clause appended to the INSERT statement.
+   *
+   * @param tableName the name of the database table.
+   * @param idColumn the name of the primary key column.
+   * @param updateColumns the names of the columns to update if the row already exists.
+   * @param revisionColumn the name of the revision column to verify or {@code null} for no verification.
+   */
+  protected void formatOnConflict(String tableName, String idColumn, List<String> updateColumns,
+      String revisionColumn) {
+
+    write(" ON CONFLICT (");
+    write(idColumn);
+    if (updateColumns.isEmpty()) {
+      write(") DO NOTHING");
+      return;
+    }
+    write(") DO UPDATE SET ");
+    String separator = "";
+    for (String column : updateColumns) {
+      write(separator);
+      write(column);
+      write(" = EXCLUDED.");
+      write(column);
+      separator = ", ";
+    }
+    if (revisionColumn != null) {
+      write(" WHERE ");
+      write(tableName);
+      write(".");
+      write(revisionColumn);
+      write(" = ?");
+    }
+  }
+
+  /**
+   * Formats the {@link DbUpsert#ON_DUPLICATE_KEY ON DUPLICATE KEY UPDATE} clause appended to the INSERT statement.
+   * By default the inserted row gets the alias {@code new} so the values are referenced as {@code new.«column»}
+   * (MySQL 8.0.19+ where the {@code VALUES()} function is deprecated).
+   *
+   * @param idColumn the name of the primary key column.
+   * @param updateColumns the names of the columns to update if the row already exists.
+   */
+  protected void formatOnDuplicateKey(String idColumn, List<String> updateColumns) {
+
+    formatOnDuplicateKey(idColumn, updateColumns, true);
+  }
+
+  /**
+   * @param idColumn the name of the primary key column.
+   * @param updateColumns the names of the columns to update if the row already exists.
+   * @param rowAlias - {@code true} to reference the inserted values via the row alias {@code new}, {@code false} to
+   *        use the {@code VALUES(«column»)} function instead (e.g. for MariaDB that does not support row aliases).
+   * @see #formatOnDuplicateKey(String, List)
+   */
+  protected void formatOnDuplicateKey(String idColumn, List<String> updateColumns, boolean rowAlias) {
+
+    if (rowAlias) {
+      write(" AS new");
+    }
+    write(" ON DUPLICATE KEY UPDATE ");
+    if (updateColumns.isEmpty()) {
+      write(idColumn);
+      write(" = ");
+      write(idColumn);
+    }
+    String separator = "";
+    for (String column : updateColumns) {
+      write(separator);
+      write(column);
+      if (rowAlias) {
+        write(" = new.");
+        write(column);
+      } else {
+        write(" = VALUES(");
+        write(column);
+        write(")");
+      }
+      separator = ", ";
+    }
+  }
+
+  /**
+   * Formats a {@link DbUpsert#MERGE MERGE} statement with the alias {@code t} for the table and {@code s} for the
+   * {@link #formatMergeSource(List) source}.
+   *
+   * @param tableName the name of the database table.
+   * @param columns the names of all columns to insert in the order of the JDBC parameters.
+   * @param idColumn the name of the primary key column.
+   * @param updateColumns the names of the columns to update if the row already exists.
+   * @param revisionColumn the name of the revision column to verify or {@code null} for no verification.
+   */
+  protected void formatMerge(String tableName, List<String> columns, String idColumn, List<String> updateColumns,
+      String revisionColumn) {
+
+    write("MERGE INTO ");
+    write(tableName);
+    write(" t USING ");
+    formatMergeSource(columns);
+    write(" ON (t.");
+    write(idColumn);
+    write(" = s.");
+    write(idColumn);
+    write(")");
+    if (!updateColumns.isEmpty()) {
+      StringBuilder set = new StringBuilder();
+      for (String column : updateColumns) {
+        if (set.length() > 0) {
+          set.append(", ");
+        }
+        set.append(column);
+        set.append(" = s.");
+        set.append(column);
+      }
+      String condition = null;
+      if (revisionColumn != null) {
+        condition = "t." + revisionColumn + " = ?";
+      }
+      formatMergeMatched(set, condition);
+    }
+    write(" WHEN NOT MATCHED THEN INSERT (");
+    write(String.join(", ", columns));
+    write(") VALUES (s.");
+    write(String.join(", s.", columns));
+    write(")");
+  }
+
+  /**
+   * Formats the source of a {@link DbUpsert#MERGE MERGE} statement providing a single row with a JDBC parameter for
+   * each of the given columns under the alias {@code s}. By default a {@code VALUES} row with a derived column list is
+   * used.
+   *
+   * @param columns the names of the columns.
+   */
+  protected void formatMergeSource(List<String> columns) {
+
+    write("(VALUES (");
+    formatParameters(columns.size());
+    write(")) s(");
+    write(String.join(", ", columns));
+    write(")");
+  }
+
+  /**
+   * Formats the {@code WHEN MATCHED} clause of a {@link DbUpsert#MERGE MERGE} statement.
+   *
+   * @param set the assignments of the {@code UPDATE SET} clause.
+   * @param condition the additional condition for the matched row (revision check) or {@code null} for none.
+   */
+  protected void formatMergeMatched(CharSequence set, String condition) {
+
+    write(" WHEN MATCHED");
+    if (condition != null) {
+      write(" AND ");
+      write(condition);
+    }
+    write(" THEN UPDATE SET ");
+    write(set.toString());
+  }
+
 }
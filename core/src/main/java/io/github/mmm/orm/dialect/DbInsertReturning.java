@@ -0,0 +1,29 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.dialect;
+
+/**
+ * Enum with the strategies how a database returns the values of an inserted row (e.g. identity columns, server-side
+ * defaults or computed columns) in the same round trip as the INSERT statement.
+ *
+ * @see AbstractDbDialect#getInsertReturning()
+ * @since 1.0.0
+ */
+public enum DbInsertReturning {
+
+  /** Returning values from an INSERT is not supported. */
+  NONE,
+
+  /** The INSERT statement is suffixed with {@code RETURNING} followed by the columns to return. */
+  RETURNING,
+
+  /** The columns to return are given with {@code OUTPUT INSERTED.«column»} before the {@code VALUES} clause. */
+  OUTPUT_INSERTED,
+
+  /**
+   * The columns to return are given to the JDBC driver when preparing the statement and are received via
+   * {@link java.sql.Statement#getGeneratedKeys()}.
+   */
+  GENERATED_KEYS;
+
+}
@@ -0,0 +1,56 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.dialect;
+
+/**
+ * Enum with the native syntax of a database to insert a row or update it if a row with the same primary key already
+ * exists (upsert) in a single statement.
+ *
+ * @see AbstractDbDialect#getUpsert()
+ * @see DbDialectStatementFormatter#formatUpsert(String, java.util.List, String, String)
+ * @since 1.0.0
+ */
+public enum DbUpsert {
+
+  /** Native upsert is not supported and has to be emulated by selecting the row and then inserting or updating it. */
+  NONE(false),
+
+  /**
+   * The INSERT statement is suffixed with {@code ON CONFLICT («id») DO UPDATE SET «column» = EXCLUDED.«column»} and an
+   * optional {@code WHERE} clause to verify the revision (PostgreSQL and SQLite).
+   */
+  ON_CONFLICT(true),
+
+  /**
+   * The INSERT statement is suffixed with {@code AS new ON DUPLICATE KEY UPDATE «column» = new.«column»} (MySQL) or
+   * {@code ON DUPLICATE KEY UPDATE «column» = VALUES(«column»)} (MariaDB). As there is no {@code WHERE} clause and
+   * the update count depends on the driver configuration (found or affected rows), the native upsert is
+   * last-writer-wins and can not verify the revision. Therefore the revision is verified explicitly like for
+   * {@link #NONE}.
+   */
+  ON_DUPLICATE_KEY(false),
+
+  /**
+   * A {@code MERGE} statement with a single row as source that updates the matched row or inserts the row if not
+   * matched (SQL:2003 standard).
+   */
+  MERGE(true);
+
+  private final boolean detectingConflict;
+
+  private DbUpsert(boolean detectingConflict) {
+
+    this.detectingConflict = detectingConflict;
+  }
+
+  /**
+   * @return {@code true} if an existing row with a different {@link io.github.mmm.entity.id.Id#getRevision() revision}
+   *         is reliably reported with an update count of {@code 0} so optimistic locking can be verified within the
+   *         upsert statement, {@code false} otherwise.
+   */
+  public boolean isDetectingConflict() {
+
+    return this.detectingConflict;
+  }
+
+}
@@ -6,8 +6,11 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
+import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.bean.typemapping.TypeMapping;
 import io.github.mmm.entity.id.FkMapper;
 import io.github.mmm.entity.id.Id;
@@ -45,10 +48,17 @@ import io.github.mmm.value.converter.TypeMapper;
  */
 public class OrmImpl implements Orm {
 
+  /** Maximum number of cached {@link DbBeanMapper}s for projections. */
+  private static final int CACHE_CAPACITY = 1024;
+
   private final TypeMapping typeMapping;
 
   private final DbNamingStrategy namingStrategy;
 
+  private final Map<String, DbBeanMapper<?>> beanMappers;
+
+  private final Map<String, DbBeanMapper<?>> projectionMappers;
+
   /**
    * The constructor.
    *
@@ -60,6 +70,8 @@ public class OrmImpl implements Orm {
     super();
     this.typeMapping = typeMapping;
     this.namingStrategy = namingStrategy;
+    this.beanMappers = new ConcurrentHashMap<>();
+    this.projectionMappers = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -75,10 +87,20 @@ public class OrmImpl implements Orm {
   }
 
   @Override
+  @SuppressWarnings("unchecked")
   public <B extends WritableBean> DbBeanMapper<B> createBeanMapper(B bean) {
 
-    // TODO add thread-safe caching
-    return Orm.super.createBeanMapper(bean);
+    if (!(bean instanceof EntityBean)) {
+      return Orm.super.createBeanMapper(bean);
+    }
+    String key = bean.getType().getQualifiedName();
+    DbBeanMapper<?> mapper = this.beanMappers.get(key);
+    if (mapper == null) {
+      // create from new instance so the template of the cached mapper does not carry values of the given bean
+      B prototype = ReadableBean.newInstance(bean);
+      mapper = this.beanMappers.computeIfAbsent(key, k -> createBeanMapper(prototype, prototype.getProperties()));
+    }
+    return (DbBeanMapper<B>) mapper;
   }
 
   @Override
@@ -99,11 +121,33 @@ public class OrmImpl implements Orm {
     return beanMapper;
   }
 
-  @SuppressWarnings({ "rawtypes", "unchecked" })
+  @SuppressWarnings("unchecked")
   @Override
   public <B extends WritableBean> DbBeanMapper<B> createBeanMapperProjection(B bean,
       Iterable<? extends ProjectionProperty<?>> properties) {
 
+    StringBuilder sb = new StringBuilder(bean.getType().getQualifiedName());
+    for (ProjectionProperty<?> projectionProperty : properties) {
+      sb.append('|');
+      sb.append(projectionProperty.getSelection());
+      sb.append('>');
+      sb.append(projectionProperty.getProperty().getName());
+    }
+    String key = sb.toString();
+    DbBeanMapper<?> mapper = this.projectionMappers.get(key);
+    if (mapper == null) {
+      mapper = doCreateBeanMapperProjection(bean, properties);
+      if (this.projectionMappers.size() < CACHE_CAPACITY) {
+        this.projectionMappers.putIfAbsent(key, mapper);
+      }
+    }
+    return (DbBeanMapper<B>) mapper;
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private <B extends WritableBean> DbBeanMapper<B> doCreateBeanMapperProjection(B bean,
+      Iterable<? extends ProjectionProperty<?>> properties) {
+
     DbBeanMapperImpl<B> beanMapper = new DbBeanMapperImpl<>(bean);
     for (ProjectionProperty<?> projectionProperty : properties) {
       ReadableProperty property = (ReadableProperty) projectionProperty.getProperty();
@@ -199,6 +243,17 @@ public class OrmImpl implements Orm {
     return (type == Object.class) || (type == Comparable.class) || (type == Serializable.class);
   }
 
+  /**
+   * Removes all cached {@link DbBeanMapper}s. Has to be called if the {@link TypeMapping} has been modified after
+   * mappers have already been created. A change of the {@link DbNamingStrategy} is done via
+   * {@link #withNamingStrategy(DbNamingStrategy)} that already returns a new instance with an empty cache.
+   */
+  public void clearCache() {
+
+    this.beanMappers.clear();
+    this.projectionMappers.clear();
+  }
+
   /**
    * @param newNamingStrategy the new {@link DbNamingStrategy} to use.
    * @return a {@link OrmImpl} with the given {@link DbNamingStrategy}.
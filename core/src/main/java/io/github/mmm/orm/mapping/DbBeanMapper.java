@@ -3,6 +3,7 @@
 package io.github.mmm.orm.mapping;
 
 import io.github.mmm.bean.WritableBean;
+import io.github.mmm.orm.result.DbResult;
 
 /**
  * {@link DbMapper} to map a {@link WritableBean} to the database and vice-versa.
@@ -12,4 +13,13 @@ import io.github.mmm.bean.WritableBean;
  */
 public interface DbBeanMapper<B extends WritableBean> extends DbMapper<B> {
 
+  /**
+   * Maps the given {@link DbResult} into an existing bean instead of creating a new one.
+   *
+   * @param dbResult the {@link DbResult} to map. Has to contain the columns of this mapper in the same order as
+   *        produced by {@link #java2db(Object) java2db}.
+   * @param target the {@link WritableBean} to write the mapped values to.
+   */
+  void db2java(DbResult dbResult, B target);
+
 }
@@ -0,0 +1,385 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.mapping;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.property.id.PkProperty;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.dialect.DbUpsert;
+import io.github.mmm.orm.naming.DbNamingStrategy;
+import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.param.CriteriaParametersIndexed;
+import io.github.mmm.orm.param.DbEntityBinder;
+import io.github.mmm.orm.param.DbEntityUpdateBinder;
+import io.github.mmm.orm.param.DbEntityUpsertBinder;
+import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.result.DbResultValue;
+import io.github.mmm.orm.statement.DbPlainStatement;
+import io.github.mmm.orm.type.DbType;
+import io.github.mmm.orm.type.DbTypeCollection;
+import io.github.mmm.value.SimplePath;
+import io.github.mmm.value.converter.TypeMapper;
+
+/**
+ * Immutable model of the database table of an {@link EntityBean} for a specific {@link AbstractDbDialect dialect}. It
+ * holds the resolved {@link #getTableName() table name} and {@link #getColumnNames() columns} as well as ready-made SQL
+ * and binders for the CRUD operations by {@link Id}. It is built once per entity type and dialect (see
+ * {@link AbstractDbDialect#getEntityModel(EntityBean)}) so that this metadata does not have to be recomputed for every
+ * operation.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @since 1.0.0
+ */
+public final class DbEntityModel<E extends EntityBean> {
+
+  /**
+   * The sizes the {@code IN} lists for {@link #selectAllById(List)} and {@link #deleteAllById(List)} are padded to so
+   * only a few distinct SQL statements are created and can be reused from the statement cache.
+   */
+  private static final int[] ID_BUCKETS = { 1, 4, 16, 64, 256, 1024 };
+
+  private final AbstractDbDialect<?> dialect;
+
+  private final String tableName;
+
+  private final List<String> columnNames;
+
+  private final String idColumn;
+
+  private final String revisionColumn;
+
+  private final DbEntityBinder<E> insertBinder;
+
+  private final DbEntityUpdateBinder<E> updateBinder;
+
+  private final DbEntityUpsertBinder<E> upsertBinder;
+
+  private final String selectColumns;
+
+  private final String selectByIdSql;
+
+  private final String deleteByIdSql;
+
+  /** The {@link DbTypeCollection} to bind the primary keys as array or {@code null} if not supported. */
+  private final DbTypeCollection idArrayType;
+
+  private final int idChunkSize;
+
+  /** The SQL to select by multiple IDs for each of the {@link #ID_BUCKETS}, lazily created. */
+  private final String[] selectByIdsSql;
+
+  /** The SQL to delete by multiple IDs for each of the {@link #ID_BUCKETS}, lazily created. */
+  private final String[] deleteByIdsSql;
+
+  /**
+   * The constructor.
+   *
+   * @param dialect the {@link AbstractDbDialect}.
+   * @param prototype the {@link EntityBean} used as template.
+   */
+  public DbEntityModel(AbstractDbDialect<?> dialect, E prototype) {
+
+    super();
+    this.dialect = dialect;
+    DbNamingStrategy namingStrategy = dialect.getNamingStrategy();
+    this.tableName = namingStrategy.getTableName(prototype);
+    DbBeanMapper<E> beanMapper = dialect.getOrm().createBeanMapper(prototype);
+    DbResult dbResult = beanMapper.java2db(prototype);
+    List<String> columns = new ArrayList<>(dbResult.getSize());
+    for (DbResultValue<?> dbValue : dbResult) {
+      columns.add(dbValue.getName());
+    }
+    this.columnNames = Collections.unmodifiableList(columns);
+    PkProperty pk = prototype.Id();
+    TypeMapper<?, ?> pkMapper = pk.getTypeMapper();
+    if (pkMapper == null) {
+      this.idColumn = namingStrategy.getColumnName(pk);
+      this.revisionColumn = null;
+    } else {
+      this.idColumn = getColumnName(pk, pkMapper, namingStrategy);
+      TypeMapper<?, ?> revisionMapper = pkMapper.next();
+      if (revisionMapper == null) {
+        this.revisionColumn = null;
+      } else {
+        this.revisionColumn = getColumnName(pk, revisionMapper, namingStrategy);
+      }
+    }
+    this.insertBinder = new DbEntityBinder<>(dialect, prototype);
+    this.updateBinder = new DbEntityUpdateBinder<>(this.insertBinder, this.tableName, pk.getName());
+    if (dialect.getUpsert() == DbUpsert.NONE) {
+      this.upsertBinder = null;
+    } else {
+      this.upsertBinder = new DbEntityUpsertBinder<>(dialect, this.insertBinder, this.tableName, pk.getName());
+    }
+    this.selectColumns = String.join(", ", this.columnNames);
+    String idPredicate = " WHERE " + this.idColumn + " = ?";
+    this.selectByIdSql = "SELECT " + this.selectColumns + " FROM " + this.tableName + idPredicate;
+    this.deleteByIdSql = "DELETE FROM " + this.tableName + idPredicate;
+    this.idArrayType = getIdArrayType(dialect, pkMapper);
+    if (this.idArrayType != null) {
+      this.idChunkSize = Integer.MAX_VALUE;
+    } else {
+      int maxParameters = dialect.getMaxParameters();
+      int chunkSize = 1;
+      for (int bucket : ID_BUCKETS) {
+        if (bucket <= maxParameters) {
+          chunkSize = bucket;
+        }
+      }
+      this.idChunkSize = chunkSize;
+    }
+    this.selectByIdsSql = new String[ID_BUCKETS.length + 1];
+    this.deleteByIdsSql = new String[ID_BUCKETS.length + 1];
+  }
+
+  private static DbTypeCollection getIdArrayType(AbstractDbDialect<?> dialect, TypeMapper<?, ?> pkMapper) {
+
+    if ((pkMapper == null) || !dialect.isSupportingArrayParameter()) {
+      return null;
+    }
+    TypeMapper<?, ?> mapper = dialect.getOrm().getTypeMapping().getTypeMapper(pkMapper.getTargetType());
+    if (mapper instanceof DbType<?, ?> pkType) {
+      return new DbTypeCollection(pkType);
+    }
+    return null;
+  }
+
+  private static String getColumnName(PkProperty pk, TypeMapper<?, ?> typeMapper, DbNamingStrategy namingStrategy) {
+
+    String name = namingStrategy.getColumnName(pk, typeMapper);
+    return namingStrategy.getColumnName(new SimplePath(pk.parentPath(), name));
+  }
+
+  /**
+   * @return the physical name of the database table.
+   */
+  public String getTableName() {
+
+    return this.tableName;
+  }
+
+  /**
+   * @return the {@link List} with the names of all columns in the order of the {@link DbBeanMapper}.
+   */
+  public List<String> getColumnNames() {
+
+    return this.columnNames;
+  }
+
+  /**
+   * @return the comma separated {@link #getColumnNames() column names} to select all columns.
+   */
+  public String getSelectColumns() {
+
+    return this.selectColumns;
+  }
+
+  /**
+   * @param alias the alias of the table.
+   * @return the comma separated {@link #getColumnNames() column names} qualified with the given alias to select all
+   *         columns (e.g. if joined with other tables).
+   */
+  public String getSelectColumns(String alias) {
+
+    StringBuilder sb = new StringBuilder(this.selectColumns.length() + this.columnNames.size() * (alias.length() + 1));
+    for (String column : this.columnNames) {
+      if (sb.length() > 0) {
+        sb.append(", ");
+      }
+      sb.append(alias);
+      sb.append('.');
+      sb.append(column);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @param property the {@link io.github.mmm.property.WritableProperty#getName() name} of the property.
+   * @return the name of the (first) column the given property is mapped to.
+   * @throws IllegalArgumentException if the property is not mapped to a column.
+   */
+  public String getColumnName(String property) {
+
+    return this.insertBinder.getColumnName(property);
+  }
+
+  /**
+   * @return the name of the column for the {@link Id#getPk() primary key}.
+   */
+  public String getIdColumn() {
+
+    return this.idColumn;
+  }
+
+  /**
+   * @return the name of the column for the {@link Id#getRevision() revision} or {@code null} if the entity has no
+   *         revision.
+   */
+  public String getRevisionColumn() {
+
+    return this.revisionColumn;
+  }
+
+  /**
+   * @return the {@link DbEntityBinder} to insert entities with all columns.
+   */
+  public DbEntityBinder<E> getInsertBinder() {
+
+    return this.insertBinder;
+  }
+
+  /**
+   * @return the {@link DbEntityUpdateBinder} to update entities by {@link Id} with cached templates per set of
+   *         modified columns.
+   */
+  public DbEntityUpdateBinder<E> getUpdateBinder() {
+
+    return this.updateBinder;
+  }
+
+  /**
+   * @return the {@link DbEntityUpsertBinder} to insert or update entities in a single statement or {@code null} if
+   *         {@link DbUpsert#NONE not supported} by the dialect.
+   */
+  public DbEntityUpsertBinder<E> getUpsertBinder() {
+
+    return this.upsertBinder;
+  }
+
+  /**
+   * @return the SQL to select all {@link #getColumnNames() columns} of an entity by its {@link #getIdColumn() ID}.
+   *         The only parameter is the {@link Id#getPk() primary key}.
+   */
+  public String getSelectByIdSql() {
+
+    return this.selectByIdSql;
+  }
+
+  /**
+   * @return the SQL to delete an entity by its {@link #getIdColumn() ID}. The only parameter is the
+   *         {@link Id#getPk() primary key}.
+   */
+  public String getDeleteByIdSql() {
+
+    return this.deleteByIdSql;
+  }
+
+  /**
+   * @param id the {@link Id} of the entity to select.
+   * @return the {@link DbPlainStatement} for {@link #getSelectByIdSql()}.
+   */
+  public DbPlainStatement selectById(Id<?> id) {
+
+    return createByIdStatement(this.selectByIdSql, id);
+  }
+
+  /**
+   * @param id the {@link Id} of the entity to delete.
+   * @return the {@link DbPlainStatement} for {@link #getDeleteByIdSql()}.
+   */
+  public DbPlainStatement deleteById(Id<?> id) {
+
+    return createByIdStatement(this.deleteByIdSql, id);
+  }
+
+  private DbPlainStatement createByIdStatement(String sql, Id<?> id) {
+
+    AbstractCriteriaParameters parameters = new CriteriaParametersIndexed(this.dialect);
+    parameters.addParameter(id.getPk(), null);
+    return new DbPlainStatement(sql, parameters, null);
+  }
+
+  /**
+   * @return the maximum number of {@link Id}s for a single call of {@link #selectAllById(List)} or
+   *         {@link #deleteAllById(List)}. Larger collections have to be split into chunks of this size.
+   */
+  public int getIdChunkSize() {
+
+    return this.idChunkSize;
+  }
+
+  /**
+   * @param ids the {@link List} of {@link Id}s of the entities to select. Must not be empty and must not contain more
+   *        than {@link #getIdChunkSize() chunk size} elements.
+   * @return the {@link DbPlainStatement} to select all {@link #getColumnNames() columns} of the entities with the
+   *         given {@link Id}s.
+   */
+  public DbPlainStatement selectAllById(List<? extends Id<?>> ids) {
+
+    return createByIdsStatement("SELECT " + this.selectColumns + " FROM ", this.selectByIdsSql, ids);
+  }
+
+  /**
+   * @param ids the {@link List} of {@link Id}s of the entities to delete. Must not be empty and must not contain more
+   *        than {@link #getIdChunkSize() chunk size} elements.
+   * @return the {@link DbPlainStatement} to delete the entities with the given {@link Id}s.
+   */
+  public DbPlainStatement deleteAllById(List<? extends Id<?>> ids) {
+
+    return createByIdsStatement("DELETE FROM ", this.deleteByIdsSql, ids);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private DbPlainStatement createByIdsStatement(String prefix, String[] sqlCache, List<? extends Id<?>> ids) {
+
+    int size = ids.size();
+    if ((size == 0) || (size > this.idChunkSize)) {
+      throw new IllegalArgumentException("Invalid number of IDs " + size + " - expected 1-" + this.idChunkSize + ".");
+    }
+    AbstractCriteriaParameters parameters = new CriteriaParametersIndexed(this.dialect);
+    if (this.idArrayType != null) {
+      String sql = sqlCache[ID_BUCKETS.length];
+      if (sql == null) {
+        sql = prefix + this.tableName + " WHERE " + this.idColumn + " = ANY(?)";
+        sqlCache[ID_BUCKETS.length] = sql;
+      }
+      List<Object> pks = new ArrayList<>(size);
+      for (Id<?> id : ids) {
+        pks.add(id.getPk());
+      }
+      parameters.addParameter((Collection) pks, this.idArrayType, null);
+      return new DbPlainStatement(sql, parameters, null);
+    }
+    int bucketIndex = 0;
+    while (ID_BUCKETS[bucketIndex] < size) {
+      bucketIndex++;
+    }
+    int bucket = ID_BUCKETS[bucketIndex];
+    String sql = sqlCache[bucketIndex];
+    if (sql == null) {
+      StringBuilder sb = new StringBuilder(prefix);
+      sb.append(this.tableName);
+      sb.append(" WHERE ");
+      sb.append(this.idColumn);
+      sb.append(" IN (?");
+      for (int i = 1; i < bucket; i++) {
+        sb.append(", ?");
+      }
+      sb.append(')');
+      sql = sb.toString();
+      sqlCache[bucketIndex] = sql;
+    }
+    for (Id<?> id : ids) {
+      parameters.addParameter(id.getPk(), null);
+    }
+    // pad with the last ID so the SQL only depends on the bucket size
+    Object lastPk = ids.get(size - 1).getPk();
+    for (int i = size; i < bucket; i++) {
+      parameters.addParameter(lastPk, null);
+    }
+    return new DbPlainStatement(sql, parameters, null);
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.tableName + "]";
+  }
+
+}
@@ -2,11 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.mapping.impl;
 
-import java.util.Iterator;
-
 import io.github.mmm.orm.mapping.DbMapper;
 import io.github.mmm.orm.result.DbResult;
-import io.github.mmm.orm.result.DbResultValue;
 
 /**
  * Abstract base implementation of {@link DbMapper} that can be composed.
@@ -19,13 +16,20 @@ public abstract class ComposableDbMapper<J> implements DbMapper<J> {
   @Override
   public J db2java(DbResult dbValue) {
 
-    return db2java(dbValue.iterator());
+    return db2java(dbValue, 0);
   }
 
   /**
-   * @param dbIterator the {@link Iterator} of {@link DbResultValue}s to map.
+   * @param dbResult the {@link DbResult} to map.
+   * @param offset the index of the first {@link DbResult#getValue(int) value} to map. As the columns are always in the
+   *        same order, each mapped column is bound to a fixed index relative to this offset.
    * @return the mapped Java object.
    */
-  public abstract J db2java(Iterator<DbResultValue<?>> dbIterator);
+  public abstract J db2java(DbResult dbResult, int offset);
+
+  /**
+   * @return the number of {@link DbResult#getValue(int) values} (columns) consumed by this mapper.
+   */
+  public abstract int getColumnCount();
 
 }
@@ -3,14 +3,12 @@
 package io.github.mmm.orm.mapping.impl;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
 import io.github.mmm.orm.mapping.DbBeanMapper;
 import io.github.mmm.orm.result.DbResult;
-import io.github.mmm.orm.result.DbResultValue;
 import io.github.mmm.orm.result.impl.DbResultPojo;
 
 /**
@@ -25,6 +23,8 @@ public class DbBeanMapperImpl<B extends WritableBean> extends ComposableDbMapper
 
   private final List<DbPropertyMapper<?>> propertyMappers;
 
+  private int columnCount;
+
   /**
    * The constructor.
    *
@@ -44,13 +44,13 @@ public class DbBeanMapperImpl<B extends WritableBean> extends ComposableDbMapper
 
     assert (this.bean.getProperty(propertyMapper.getPropertyName()) != null);
     this.propertyMappers.add(propertyMapper);
+    this.columnCount += propertyMapper.getColumnCount();
   }
 
   @Override
   public DbResult java2db(B source) {
 
-    // TODO compute size as capacity
-    DbResultPojo dbResult = new DbResultPojo();
+    DbResultPojo dbResult = new DbResultPojo(this.columnCount);
     for (DbPropertyMapper<?> mapper : this.propertyMappers) {
       mapper.java2db(source, dbResult);
     }
@@ -58,13 +58,31 @@ public class DbBeanMapperImpl<B extends WritableBean> extends ComposableDbMapper
   }
 
   @Override
-  public B db2java(Iterator<DbResultValue<?>> dbIterator) {
+  public B db2java(DbResult dbResult, int offset) {
 
     B resultBean = ReadableBean.copy(this.bean);
+    int index = offset;
     for (DbPropertyMapper<?> mapper : this.propertyMappers) {
-      mapper.db2java(dbIterator, resultBean);
+      mapper.db2java(dbResult, index, resultBean);
+      index += mapper.getColumnCount();
     }
     return resultBean;
   }
 
+  @Override
+  public void db2java(DbResult dbResult, B target) {
+
+    int index = 0;
+    for (DbPropertyMapper<?> mapper : this.propertyMappers) {
+      mapper.db2java(dbResult, index, target);
+      index += mapper.getColumnCount();
+    }
+  }
+
+  @Override
+  public int getColumnCount() {
+
+    return this.columnCount;
+  }
+
 }
@@ -2,11 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.mapping.impl;
 
-import java.util.Iterator;
-
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
-import io.github.mmm.orm.result.DbResultValue;
+import io.github.mmm.orm.result.DbResult;
 import io.github.mmm.orm.result.impl.DbResultPojo;
 import io.github.mmm.property.ReadableProperty;
 import io.github.mmm.property.WritableProperty;
@@ -53,9 +51,15 @@ public interface DbPropertyMapper<V> {
   void java2dbValue(V javaValue, DbResultPojo dbResult);
 
   /**
-   * @param dbIterator the {@link Iterator} of the {@link DbResultValue database values} to convert to Java.
-   * @param javaBean the {@link WritableBean} where to map the {@link DbResultValue}(s) to.
+   * @param dbResult the {@link DbResult} with the database values to convert to Java.
+   * @param offset the index of the first {@link DbResult#getValue(int) value} to map.
+   * @param javaBean the {@link WritableBean} where to map the database value(s) to.
+   */
+  void db2java(DbResult dbResult, int offset, WritableBean javaBean);
+
+  /**
+   * @return the number of {@link DbResult#getValue(int) values} (columns) consumed by this mapper.
    */
-  void db2java(Iterator<DbResultValue<?>> dbIterator, WritableBean javaBean);
+  int getColumnCount();
 
 }
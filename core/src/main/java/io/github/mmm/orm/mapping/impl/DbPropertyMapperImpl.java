@@ -2,11 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.mapping.impl;
 
-import java.util.Iterator;
-
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.bean.WritableBean;
-import io.github.mmm.orm.result.DbResultValue;
+import io.github.mmm.orm.result.DbResult;
 import io.github.mmm.orm.result.impl.DbResultPojo;
 import io.github.mmm.property.ReadableProperty;
 import io.github.mmm.property.WritableProperty;
@@ -66,12 +64,18 @@ public class DbPropertyMapperImpl<V> implements DbPropertyMapper<V> {
   }
 
   @Override
-  public void db2java(Iterator<DbResultValue<?>> dbIterator, WritableBean javaBean) {
+  public void db2java(DbResult dbResult, int offset, WritableBean javaBean) {
 
-    V value = this.valueMapper.db2java(dbIterator, null);
+    V value = this.valueMapper.db2java(dbResult, offset, null);
     javaBean.setDynamic(this.propertyName, value);
   }
 
+  @Override
+  public int getColumnCount() {
+
+    return this.valueMapper.getColumnCount();
+  }
+
   @Override
   public String toString() {
 
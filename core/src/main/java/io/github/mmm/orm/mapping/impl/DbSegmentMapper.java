@@ -2,11 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.mapping.impl;
 
-import java.util.Iterator;
-
 import io.github.mmm.base.lang.Builder;
 import io.github.mmm.orm.result.DbResult;
-import io.github.mmm.orm.result.DbResultValue;
 import io.github.mmm.orm.result.impl.DbResultPojo;
 import io.github.mmm.orm.result.impl.DbResultValueObject;
 import io.github.mmm.value.converter.TypeMapper;
@@ -30,6 +27,12 @@ public final class DbSegmentMapper<S, T> extends ComposableDbMapper<S> {
   /** The {@link TypeMapper#next()} {@link DbSegmentMapper}. */
   private final DbSegmentMapper<S, ?> next;
 
+  /** The number of columns of this segment itself (excluding {@link #next}). */
+  private final int width;
+
+  /** The number of columns of this segment including all {@link #next} siblings. */
+  private final int columnCount;
+
   /**
    * The constructor.
    *
@@ -75,6 +78,16 @@ public final class DbSegmentMapper<S, T> extends ComposableDbMapper<S> {
       throw new IllegalArgumentException(); // exactly on of child or entry must not be null
     }
     this.next = next;
+    if (this.child == null) {
+      this.width = 1;
+    } else {
+      this.width = this.child.columnCount;
+    }
+    if (this.next == null) {
+      this.columnCount = this.width;
+    } else {
+      this.columnCount = this.width + this.next.columnCount;
+    }
   }
 
   /**
@@ -134,7 +147,7 @@ public final class DbSegmentMapper<S, T> extends ComposableDbMapper<S> {
     if (this.child != null) {
       this.child.java2db(dbValue, dbResult);
     } else {
-      dbResult.add(this.dbResultValue.withValue(dbValue));
+      dbResult.add(this.dbResultValue, dbValue);
     }
     DbSegmentMapper<S, ?> current = this.next;
     while (current != null) {
@@ -144,26 +157,31 @@ public final class DbSegmentMapper<S, T> extends ComposableDbMapper<S> {
   }
 
   @Override
-  public S db2java(Iterator<DbResultValue<?>> dbIterator) {
+  public int getColumnCount() {
+
+    return this.columnCount;
+  }
+
+  @Override
+  public S db2java(DbResult dbResult, int offset) {
 
-    return db2java(dbIterator, null);
+    return db2java(dbResult, offset, null);
   }
 
   /**
-   * @param dbIterator the {@link Iterator} of the {@link DbResultValue database values} to convert to Java.
+   * @param dbResult the {@link DbResult} with the database values to convert to Java.
+   * @param offset the index of the first {@link DbResult#getValue(int) value} of this segment.
    * @param javaBuilder the optional {@link Builder} to build the converted Java value. May be {@code null}.
    * @return the Java value.
    */
-  @SuppressWarnings("unchecked")
-  public S db2java(Iterator<DbResultValue<?>> dbIterator, Builder<S> javaBuilder) {
+  public S db2java(DbResult dbResult, int offset, Builder<S> javaBuilder) {
 
     T dbValue;
     if (this.child != null) {
-      dbValue = this.child.db2java(dbIterator, null);
+      dbValue = this.child.db2java(dbResult, offset, null);
     } else {
-      DbResultValue<?> dbResultVal = dbIterator.next();
-      assert (dbResultVal.getName().equals(this.dbResultValue.getName()));
-      dbValue = (T) dbResultVal.getValue();
+      assert (dbResult.getName(offset).equals(this.dbResultValue.getName()));
+      dbValue = dbResult.getValue(offset, this.typeMapper.getTargetType());
     }
     S source;
     if (javaBuilder == null) {
@@ -172,9 +190,11 @@ public final class DbSegmentMapper<S, T> extends ComposableDbMapper<S> {
       } else {
         javaBuilder = this.typeMapper.sourceBuilder();
         this.typeMapper.with(javaBuilder, dbValue);
+        int index = offset + this.width;
         DbSegmentMapper<S, ?> current = this.next;
         while (current != null) {
-          current.db2java(dbIterator, javaBuilder);
+          current.db2java(dbResult, index, javaBuilder);
+          index += current.width;
           current = current.next;
         }
         source = javaBuilder.build();
@@ -43,40 +43,12 @@ public abstract class AbstractCriteriaParameters implements CriteriaParameters<C
     this.dialect = dialect;
   }
 
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   @Override
   public void onLiteral(Literal<?> literal, AppendableWriter out, CriteriaExpression<?> parent) {
 
     if (literal != null) {
-      Object value = literal.get();
-      if (value != null) {
-        int index = 0;
-        if (this.last != null) {
-          index = this.last.getIndex() + 1;
-        }
-        TypeMapping typeMapping = this.dialect.getOrm().getTypeMapping();
-        DbType dbType = null;
-        while (dbType == null) {
-          Class<?> valueClass = value.getClass();
-          TypeMapper typeMapper = typeMapping.getTypeMapper(valueClass);
-          if (typeMapper == null) {
-            throw new UnmappedTypeException(valueClass);
-          } else if (typeMapper instanceof DbType type) {
-            dbType = type;
-          } else if (typeMapper.next() == null) {
-            value = typeMapper.toTarget(value);
-          } else {
-            throw new ObjectMismatchException(valueClass, "atomic type");
-          }
-        }
-        CriteriaParameterImpl<?> param = createParameter(index, value, dbType, parent);
-        if (this.last == null) {
-          this.first = param;
-          this.last = param;
-        } else {
-          this.last.append(param);
-          this.last = param;
-        }
+      CriteriaParameterImpl<?> param = addParameter(literal.get(), parent);
+      if (param != null) {
         out.append(param.getPlaceholder());
         return;
       }
@@ -84,6 +56,63 @@ public abstract class AbstractCriteriaParameters implements CriteriaParameters<C
     out.append("null");
   }
 
+  /**
+   * @param value the value of the parameter to add. May be a Java object that will be converted to the according
+   *        {@link DbType}.
+   * @param parent the parent {@link CriteriaExpression} (see
+   *        {@link #onLiteral(Literal, AppendableWriter, CriteriaExpression)}). May be {@code null}.
+   * @return the added {@link CriteriaParameterImpl} or {@code null} if the given {@code value} was {@code null} and
+   *         therefore no parameter was added.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public CriteriaParameterImpl<?> addParameter(Object value, CriteriaExpression<?> parent) {
+
+    if (value == null) {
+      return null;
+    }
+    TypeMapping typeMapping = this.dialect.getOrm().getTypeMapping();
+    DbType dbType = null;
+    while (dbType == null) {
+      Class<?> valueClass = value.getClass();
+      TypeMapper typeMapper = typeMapping.getTypeMapper(valueClass);
+      if (typeMapper == null) {
+        throw new UnmappedTypeException(valueClass);
+      } else if (typeMapper instanceof DbType type) {
+        dbType = type;
+      } else if (typeMapper.next() == null) {
+        value = typeMapper.toTarget(value);
+      } else {
+        throw new ObjectMismatchException(valueClass, "atomic type");
+      }
+    }
+    return addParameter(value, dbType, parent);
+  }
+
+  /**
+   * @param <V> type of the {@code value}.
+   * @param value the value of the parameter to add. Must not be {@code null}.
+   * @param dbType the {@link DbType} to bind the given {@code value}.
+   * @param parent the parent {@link CriteriaExpression} (see
+   *        {@link #onLiteral(Literal, AppendableWriter, CriteriaExpression)}). May be {@code null}.
+   * @return the added {@link CriteriaParameterImpl}.
+   */
+  public <V> CriteriaParameterImpl<V> addParameter(V value, DbType<V, ?> dbType, CriteriaExpression<?> parent) {
+
+    int index = 0;
+    if (this.last != null) {
+      index = this.last.getIndex() + 1;
+    }
+    CriteriaParameterImpl<V> param = createParameter(index, value, dbType, parent);
+    if (this.last == null) {
+      this.first = param;
+      this.last = param;
+    } else {
+      this.last.append(param);
+      this.last = param;
+    }
+    return param;
+  }
+
   /**
    * @param <V> type of the {@code value}.
    * @param index the {@link CriteriaParameterImpl#getIndex() index}.
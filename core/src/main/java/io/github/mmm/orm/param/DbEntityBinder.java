@@ -0,0 +1,594 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.mmm.base.exception.ObjectMismatchException;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.bean.typemapping.TypeMapping;
+import io.github.mmm.entity.id.PkMapper;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.mapping.UnmappedTypeException;
+import io.github.mmm.orm.naming.DbNamingStrategy;
+import io.github.mmm.orm.type.DbType;
+import io.github.mmm.property.WritableProperty;
+import io.github.mmm.value.SimplePath;
+import io.github.mmm.value.converter.TypeMapper;
+
+/**
+ * Precompiled binder to insert {@link EntityBean entities} of a specific type. It holds the {@link #getSql() INSERT
+ * SQL} for all columns of the entity together with an array of slots (property, {@link TypeMapper} and {@link DbType})
+ * in the order of the JDBC parameters. Values are read from the entity and written directly to the
+ * {@link PreparedStatement} without creating {@link io.github.mmm.property.criteria.Literal}s or
+ * {@link CriteriaParameterImpl}s.<br>
+ * To insert an entity use its {@link #getTemplate(EntityBean) template} that only inserts the columns with a value so
+ * column {@code DEFAULT}s apply to {@code null} properties like with
+ * {@link io.github.mmm.orm.statement.IntoClause#valuesAll() valuesAll()}. For each distinct set of {@code null}
+ * columns a {@link Template} is created once and cached similar to {@link DbEntityUpdateBinder}. Entities with the
+ * same set of {@code null} columns share the same SQL and can therefore be batched.<br>
+ * Depending on the {@link AbstractDbDialect#getInsertReturning() dialect} it also provides
+ * {@link #getReturningTemplate(EntityBean) templates} to receive all {@link #getColumnNames() columns} of the inserted
+ * row in the same round trip so the server-side defaults are also returned.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @see io.github.mmm.orm.mapping.DbEntityModel#getInsertBinder()
+ * @since 1.0.0
+ */
+public final class DbEntityBinder<E extends EntityBean> {
+
+  /** The maximum number of {@link Template}s to cache for each kind of INSERT: {@value}. */
+  public static final int MAX_TEMPLATES = 64;
+
+  private final String tableName;
+
+  private final String sql;
+
+  /** The placeholders of a single row as {@code (?, ..., ?)}. */
+  private final String valuesRow;
+
+  private final Slot[] slots;
+
+  private final List<String> columnNames;
+
+  private final DbInsertReturning insertReturning;
+
+  private final Template fullTemplate;
+
+  private final Map<BitSet, Template> templates;
+
+  private final Template fullRowTemplate;
+
+  private final Map<BitSet, Template> returningTemplates;
+
+  /**
+   * The constructor.
+   *
+   * @param dialect the {@link AbstractDbDialect}.
+   * @param prototype the {@link EntityBean} used as template to determine the columns.
+   */
+  public DbEntityBinder(AbstractDbDialect<?> dialect, E prototype) {
+
+    super();
+    DbNamingStrategy namingStrategy = dialect.getNamingStrategy();
+    TypeMapping typeMapping = dialect.getOrm().getTypeMapping();
+    List<Slot> slotList = new ArrayList<>();
+    List<String> columnList = new ArrayList<>();
+    for (WritableProperty<?> property : prototype.getProperties()) {
+      if (!property.isTransient()) {
+        String propertyName = property.getName();
+        TypeMapper<?, ?> typeMapper = property.getTypeMapper();
+        if (typeMapper == null) {
+          Class<?> valueClass = property.getValueClass();
+          if (!isIgnored(valueClass, typeMapping)) {
+            columnList.add(namingStrategy.getColumnName(property));
+            slotList.add(new Slot(propertyName, null, valueClass, typeMapping));
+          }
+        } else {
+          do {
+            String name = namingStrategy.getColumnName(property, typeMapper);
+            columnList.add(namingStrategy.getColumnName(new SimplePath(property.parentPath(), name)));
+            slotList.add(new Slot(propertyName, typeMapper, typeMapper.getTargetType(), typeMapping));
+            typeMapper = typeMapper.next();
+          } while (typeMapper != null);
+        }
+      }
+    }
+    if (slotList.isEmpty()) {
+      throw new IllegalStateException("Entity must not be empty!");
+    }
+    this.slots = slotList.toArray(Slot[]::new);
+    this.columnNames = List.copyOf(columnList);
+    this.tableName = namingStrategy.getTableName(prototype);
+    this.valuesRow = createValuesRow(this.slots.length);
+    this.sql = "INSERT INTO " + this.tableName + "(" + String.join(", ", columnList) + ") VALUES " + this.valuesRow;
+    this.insertReturning = dialect.getInsertReturning();
+    BitSet none = new BitSet(this.slots.length);
+    this.fullTemplate = createTemplate(none, false);
+    this.templates = new ConcurrentHashMap<>();
+    this.templates.put(none, this.fullTemplate);
+    if (this.insertReturning == DbInsertReturning.NONE) {
+      this.fullRowTemplate = null;
+      this.returningTemplates = null;
+    } else {
+      this.fullRowTemplate = createTemplate(none, true);
+      this.returningTemplates = new ConcurrentHashMap<>();
+      this.returningTemplates.put(none, this.fullRowTemplate);
+    }
+  }
+
+  private static String createValuesRow(int parameterCount) {
+
+    StringBuilder values = new StringBuilder("(");
+    for (int i = 0; i < parameterCount; i++) {
+      if (i > 0) {
+        values.append(", ");
+      }
+      values.append('?');
+    }
+    values.append(')');
+    return values.toString();
+  }
+
+  private static boolean isIgnored(Class<?> valueClass, TypeMapping typeMapping) {
+
+    // same as DbBeanMapper so we do not bind columns that have not been created
+    if (typeMapping.getTypeMapper(valueClass) != null) {
+      return false;
+    }
+    return Collection.class.isAssignableFrom(valueClass) || Map.class.isAssignableFrom(valueClass);
+  }
+
+  /**
+   * @return the SQL of the INSERT statement with a JDBC parameter for each column. A {@code null} value is inserted as
+   *         SQL {@code NULL} so column {@code DEFAULT}s do not apply.
+   * @see #getTemplate(EntityBean)
+   */
+  public String getSql() {
+
+    return this.sql;
+  }
+
+  /**
+   * @param rows the number of rows to insert.
+   * @return the SQL of the INSERT statement with the given number of {@code VALUES} rows each with a JDBC parameter
+   *         for each column. For a single row this is the same as {@link #getSql()}.
+   * @see #bind(EntityBean, PreparedStatement, int, Connection)
+   */
+  public String getSql(int rows) {
+
+    if (rows == 1) {
+      return this.sql;
+    }
+    StringBuilder sb = new StringBuilder(this.sql.length() + (rows - 1) * (this.valuesRow.length() + 2));
+    sb.append(this.sql);
+    for (int i = 1; i < rows; i++) {
+      sb.append(", ");
+      sb.append(this.valuesRow);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @return the {@link DbInsertReturning} strategy of the {@link #getReturningSql() returning SQL}.
+   */
+  public DbInsertReturning getInsertReturning() {
+
+    return this.insertReturning;
+  }
+
+  /**
+   * @return the SQL of the INSERT statement for all columns that returns all {@link #getColumnNames() columns} of the
+   *         inserted row or {@code null} if {@link DbInsertReturning#NONE not supported}. In case of
+   *         {@link DbInsertReturning#GENERATED_KEYS} this is the same as {@link #getSql()} and the
+   *         {@link #getColumnNames() column names} have to be given when preparing the statement.
+   * @see #getReturningTemplate(EntityBean)
+   */
+  public String getReturningSql() {
+
+    if (this.fullRowTemplate == null) {
+      return null;
+    }
+    return this.fullRowTemplate.getSql();
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to insert.
+   * @return the {@link Template} that only inserts the columns with a value of the given {@link EntityBean} so column
+   *         {@code DEFAULT}s apply to its {@code null} properties. Once {@value #MAX_TEMPLATES} templates exist, the
+   *         template for all columns is used so {@code null} values are inserted and column {@code DEFAULT}s do not
+   *         apply.
+   */
+  public Template getTemplate(E entity) {
+
+    return getTemplate(entity, this.templates, this.fullTemplate, false);
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to insert.
+   * @return the {@link Template} that only inserts the columns with a value of the given {@link EntityBean} and
+   *         returns all {@link #getColumnNames() columns} of the inserted row or {@code null} if
+   *         {@link DbInsertReturning#NONE not supported}. Once {@value #MAX_TEMPLATES} templates exist, the template
+   *         for all columns is used so {@code null} values are inserted and server-side defaults do not apply.
+   */
+  public Template getReturningTemplate(E entity) {
+
+    if (this.returningTemplates == null) {
+      return null;
+    }
+    return getTemplate(entity, this.returningTemplates, this.fullRowTemplate, true);
+  }
+
+  private Template getTemplate(E entity, Map<BitSet, Template> templateMap, Template full, boolean returning) {
+
+    BitSet nulls = new BitSet(this.slots.length);
+    for (int i = 0; i < this.slots.length; i++) {
+      if (entity.get(this.slots[i].getProperty()) == null) {
+        nulls.set(i);
+      }
+    }
+    if (nulls.cardinality() == this.slots.length) {
+      // at least one column is required for a valid INSERT
+      return full;
+    }
+    Template template = templateMap.get(nulls);
+    if (template == null) {
+      if (templateMap.size() >= MAX_TEMPLATES) {
+        return full;
+      }
+      template = templateMap.computeIfAbsent(nulls, key -> createTemplate(key, returning));
+    }
+    return template;
+  }
+
+  /**
+   * @return the number of returning {@link Template}s currently cached.
+   */
+  public int getTemplateCount() {
+
+    if (this.returningTemplates == null) {
+      return 0;
+    }
+    return this.returningTemplates.size();
+  }
+
+  private Template createTemplate(BitSet nulls, boolean returning) {
+
+    int[] slotIndexes = new int[this.slots.length - nulls.cardinality()];
+    List<String> insertColumns = new ArrayList<>(slotIndexes.length);
+    int count = 0;
+    for (int i = 0; i < this.slots.length; i++) {
+      if (!nulls.get(i)) {
+        slotIndexes[count++] = i;
+        insertColumns.add(this.columnNames.get(i));
+      }
+    }
+    String columns = String.join(", ", insertColumns);
+    String insertInto = "INSERT INTO " + this.tableName + "(" + columns + ")";
+    String valuesTemplateRow = createValuesRow(slotIndexes.length);
+    String values = " VALUES " + valuesTemplateRow;
+    if (!returning) {
+      return new Template(insertInto + values, slotIndexes, valuesTemplateRow);
+    }
+    String returningSql = switch (this.insertReturning) {
+      case RETURNING -> insertInto + values + " RETURNING " + String.join(", ", this.columnNames);
+      case OUTPUT_INSERTED -> insertInto + " OUTPUT INSERTED." + String.join(", INSERTED.", this.columnNames)
+          + values;
+      default -> insertInto + values;
+    };
+    return new Template(returningSql, slotIndexes, null);
+  }
+
+  /**
+   * @return the {@link List} with the names of all columns in the order of the JDBC parameters.
+   */
+  public List<String> getColumnNames() {
+
+    return this.columnNames;
+  }
+
+  /**
+   * @param property the {@link WritableProperty#getName() name} of the property.
+   * @return the name of the (first) column the given property is mapped to.
+   * @throws IllegalArgumentException if the property is not mapped to a column.
+   */
+  public String getColumnName(String property) {
+
+    for (int i = 0; i < this.slots.length; i++) {
+      if (this.slots[i].getProperty().equals(property)) {
+        return this.columnNames.get(i);
+      }
+    }
+    throw new IllegalArgumentException("Property " + property + " is not mapped to a column.");
+  }
+
+  /**
+   * @return the number of JDBC parameters.
+   */
+  public int getParameterCount() {
+
+    return this.slots.length;
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to bind.
+   * @param statement the {@link PreparedStatement} created for the {@link #getSql() SQL}.
+   * @param connection the JDBC {@link Connection}.
+   * @throws SQLException on error.
+   */
+  @SuppressWarnings("exports")
+  public void bind(E entity, PreparedStatement statement, Connection connection) throws SQLException {
+
+    bind(entity, statement, 0, connection);
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to bind.
+   * @param statement the {@link PreparedStatement} created for the {@link #getSql(int) multi-row SQL}.
+   * @param row the index of the row (starting from {@code 0}) to bind the entity to.
+   * @param connection the JDBC {@link Connection}.
+   * @throws SQLException on error.
+   */
+  @SuppressWarnings("exports")
+  public void bind(E entity, PreparedStatement statement, int row, Connection connection) throws SQLException {
+
+    int offset = row * this.slots.length + 1;
+    for (int i = 0; i < this.slots.length; i++) {
+      this.slots[i].bind(entity, statement, offset + i, connection);
+    }
+  }
+
+  /**
+   * @param index the index of the JDBC parameter (starting from {@code 0}).
+   * @return the {@link Slot} for the given {@code index}.
+   */
+  Slot getSlot(int index) {
+
+    return this.slots[index];
+  }
+
+  @Override
+  public String toString() {
+
+    return this.sql;
+  }
+
+  /**
+   * A precompiled INSERT statement for a specific set of columns that may also return all
+   * {@link #getColumnNames() columns} of the inserted row.
+   *
+   * @see DbEntityBinder#getTemplate(EntityBean)
+   * @see DbEntityBinder#getReturningTemplate(EntityBean)
+   */
+  public final class Template {
+
+    private final String sql;
+
+    private final int[] slotIndexes;
+
+    /** The placeholders of a single row or {@code null} if returning. */
+    private final String valuesRow;
+
+    private Template(String sql, int[] slotIndexes, String valuesRow) {
+
+      super();
+      this.sql = sql;
+      this.slotIndexes = slotIndexes;
+      this.valuesRow = valuesRow;
+    }
+
+    /**
+     * @return the SQL of the INSERT statement.
+     */
+    public String getSql() {
+
+      return this.sql;
+    }
+
+    /**
+     * @param rows the number of rows to insert.
+     * @return the SQL of the INSERT statement with the given number of {@code VALUES} rows. For a single row this is
+     *         the same as {@link #getSql()}.
+     * @throws IllegalStateException if multiple rows are requested from a
+     *         {@link DbEntityBinder#getReturningTemplate(EntityBean) returning template}.
+     * @see #bind(EntityBean, PreparedStatement, int, Connection)
+     */
+    public String getSql(int rows) {
+
+      if (rows == 1) {
+        return this.sql;
+      } else if (this.valuesRow == null) {
+        throw new IllegalStateException("Returning template does not support multiple rows.");
+      }
+      StringBuilder sb = new StringBuilder(this.sql.length() + (rows - 1) * (this.valuesRow.length() + 2));
+      sb.append(this.sql);
+      for (int i = 1; i < rows; i++) {
+        sb.append(", ");
+        sb.append(this.valuesRow);
+      }
+      return sb.toString();
+    }
+
+    /**
+     * @return the number of JDBC parameters for a single row.
+     */
+    public int getParameterCount() {
+
+      return this.slotIndexes.length;
+    }
+
+    /**
+     * @param entity the {@link EntityBean} to bind.
+     * @param statement the {@link PreparedStatement} created for the {@link #getSql() SQL}.
+     * @param connection the JDBC {@link Connection}.
+     * @throws SQLException on error.
+     */
+    @SuppressWarnings("exports")
+    public void bind(E entity, PreparedStatement statement, Connection connection) throws SQLException {
+
+      bind(entity, statement, 0, connection);
+    }
+
+    /**
+     * @param entity the {@link EntityBean} to bind.
+     * @param statement the {@link PreparedStatement} created for the {@link #getSql(int) multi-row SQL}.
+     * @param row the index of the row (starting from {@code 0}) to bind the entity to.
+     * @param connection the JDBC {@link Connection}.
+     * @throws SQLException on error.
+     */
+    @SuppressWarnings("exports")
+    public void bind(E entity, PreparedStatement statement, int row, Connection connection) throws SQLException {
+
+      int index = row * this.slotIndexes.length + 1;
+      for (int slot : this.slotIndexes) {
+        DbEntityBinder.this.slots[slot].bind(entity, statement, index++, connection);
+      }
+    }
+
+    @Override
+    public String toString() {
+
+      return this.sql;
+    }
+
+  }
+
+  /**
+   * A single JDBC parameter.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  static final class Slot {
+
+    private static final TypeMapper[] NO_CONVERTERS = new TypeMapper[0];
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private final String property;
+
+    private final TypeMapper typeMapper;
+
+    private final TypeMapping typeMapping;
+
+    /** The {@link Types SQL type} to bind {@code null} or {@link #UNKNOWN}. */
+    private volatile int nullSqlType;
+
+    private volatile Resolution resolution;
+
+    private Slot(String property, TypeMapper<?, ?> typeMapper, Class<?> valueClass, TypeMapping typeMapping) {
+
+      super();
+      this.property = property;
+      this.typeMapper = typeMapper;
+      this.typeMapping = typeMapping;
+      int sqlType = UNKNOWN;
+      try {
+        Resolution staticResolution = resolve(valueClass);
+        this.resolution = staticResolution;
+        sqlType = staticResolution.dbType.getSqlType();
+        if ((sqlType == -1) || (sqlType == Types.NULL)) {
+          sqlType = UNKNOWN;
+        }
+      } catch (RuntimeException e) {
+        // type can only be determined from the actual value
+      }
+      this.nullSqlType = sqlType;
+    }
+
+    String getProperty() {
+
+      return this.property;
+    }
+
+    void bind(EntityBean entity, PreparedStatement statement, int index, Connection connection) throws SQLException {
+
+      bindValue(entity.get(this.property), statement, index, connection);
+    }
+
+    void bindValue(Object propertyValue, PreparedStatement statement, int index, Connection connection)
+        throws SQLException {
+
+      Object value = propertyValue;
+      if ((value != null) && (this.typeMapper != null)
+          && !((value instanceof Number) && (this.typeMapper instanceof PkMapper))) {
+        value = this.typeMapper.toTarget(value);
+      }
+      if (value == null) {
+        statement.setNull(index, getNullSqlType(statement, index));
+        return;
+      }
+      Class<?> valueClass = value.getClass();
+      Resolution r = this.resolution;
+      if ((r == null) || (r.valueClass != valueClass)) {
+        r = resolve(valueClass);
+        this.resolution = r;
+      }
+      for (TypeMapper converter : r.converters) {
+        value = converter.toTarget(value);
+      }
+      r.dbType.setJavaParameter(statement, index, value, connection);
+    }
+
+    private int getNullSqlType(PreparedStatement statement, int index) {
+
+      int sqlType = this.nullSqlType;
+      if (sqlType == UNKNOWN) {
+        // no standard SQL type for the Java type so we ask the driver once for the type of the column
+        try {
+          sqlType = statement.getParameterMetaData().getParameterType(index);
+        } catch (SQLException | RuntimeException e) {
+          sqlType = Types.NULL;
+        }
+        this.nullSqlType = sqlType;
+      }
+      return sqlType;
+    }
+
+    // same logic as AbstractCriteriaParameters.addParameter but based on the type so the result can be reused
+    private Resolution resolve(Class<?> valueClass) {
+
+      List<TypeMapper> converters = null;
+      Class<?> type = valueClass;
+      while (true) {
+        TypeMapper mapper = this.typeMapping.getTypeMapper(type);
+        if (mapper == null) {
+          throw new UnmappedTypeException(type);
+        } else if (mapper instanceof DbType dbType) {
+          TypeMapper[] array = NO_CONVERTERS;
+          if (converters != null) {
+            array = converters.toArray(TypeMapper[]::new);
+          }
+          return new Resolution(valueClass, array, dbType);
+        } else if (mapper.next() == null) {
+          if (converters == null) {
+            converters = new ArrayList<>(2);
+          }
+          converters.add(mapper);
+          type = mapper.getTargetType();
+        } else {
+          throw new ObjectMismatchException(type, "atomic type");
+        }
+      }
+    }
+
+  }
+
+  /**
+   * @param valueClass the {@link Class} of the value.
+   * @param converters the {@link TypeMapper}s to apply before the value can be bound via {@code dbType}.
+   * @param dbType the {@link DbType} to bind the value.
+   */
+  @SuppressWarnings("rawtypes")
+  private record Resolution(Class<?> valueClass, TypeMapper[] converters, DbType dbType) {
+  }
+
+}
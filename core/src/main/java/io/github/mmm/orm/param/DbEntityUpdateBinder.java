@@ -0,0 +1,265 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+
+/**
+ * Precompiled binder to update {@link EntityBean entities} of a specific type by {@link Id}. The modified properties
+ * of an entity are determined as {@link #getDirtyProperties(EntityBean, EntityBean) dirty bitset} where each bit
+ * stands for a {@link #getProperties() property}. For each distinct bitset a {@link Template} with the UPDATE SQL is
+ * created once and cached so the SQL text only depends on the set of modified properties and the prepared statements
+ * can be reused. To limit the number of templates for wide tables the {@link #getFullRowTemplate() full-row template}
+ * updating all columns is used once {@value #MAX_TEMPLATES} templates exist.<br>
+ * Like the {@link DbEntityBinder} values are read from the entity and written directly to the
+ * {@link PreparedStatement}. The revision is always updated and used for optimistic locking.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @see io.github.mmm.orm.mapping.DbEntityModel#getUpdateBinder()
+ * @since 1.0.0
+ */
+public final class DbEntityUpdateBinder<E extends EntityBean> {
+
+  /** The maximum number of {@link Template}s to cache: {@value}. */
+  public static final int MAX_TEMPLATES = 64;
+
+  private final DbEntityBinder<E> binder;
+
+  private final String tableName;
+
+  private final List<String> properties;
+
+  /** The index of the property for each slot of the binder or {@code -1} for the primary key. */
+  private final int[] slotProperties;
+
+  private final int idSlot;
+
+  private final int revisionSlot;
+
+  private final Template fullRowTemplate;
+
+  private final Map<BitSet, Template> templates;
+
+  /**
+   * The constructor.
+   *
+   * @param binder the {@link DbEntityBinder} for the same entity type to reuse its columns and parameter bindings.
+   * @param tableName the name of the database table.
+   * @param pkProperty the {@link io.github.mmm.property.ReadableProperty#getName() name} of the primary key property.
+   */
+  public DbEntityUpdateBinder(DbEntityBinder<E> binder, String tableName, String pkProperty) {
+
+    super();
+    this.binder = binder;
+    this.tableName = tableName;
+    int slotCount = binder.getParameterCount();
+    this.slotProperties = new int[slotCount];
+    List<String> propertyList = new ArrayList<>();
+    int id = -1;
+    int revision = -1;
+    for (int i = 0; i < slotCount; i++) {
+      String property = binder.getSlot(i).getProperty();
+      if (property.equals(pkProperty)) {
+        this.slotProperties[i] = -1;
+        if (id == -1) {
+          id = i;
+        } else {
+          revision = i;
+        }
+      } else {
+        int propertyIndex = propertyList.size() - 1;
+        if ((propertyIndex < 0) || !propertyList.get(propertyIndex).equals(property)) {
+          propertyList.add(property);
+          propertyIndex++;
+        }
+        this.slotProperties[i] = propertyIndex;
+      }
+    }
+    if (id == -1) {
+      throw new IllegalStateException("Primary key " + pkProperty + " not mapped for table " + tableName);
+    }
+    this.idSlot = id;
+    this.revisionSlot = revision;
+    this.properties = List.copyOf(propertyList);
+    BitSet all = new BitSet(propertyList.size());
+    all.set(0, propertyList.size());
+    this.fullRowTemplate = createTemplate(all);
+    this.templates = new ConcurrentHashMap<>();
+    this.templates.put(all, this.fullRowTemplate);
+  }
+
+  /**
+   * @return the {@link List} with the names of the updatable properties. The index of a property is the index of its
+   *         bit in the {@link #getDirtyProperties(EntityBean, EntityBean) dirty bitset}.
+   */
+  public List<String> getProperties() {
+
+    return this.properties;
+  }
+
+  /**
+   * @param entity the {@link EntityBean} with the new values to update.
+   * @param managed the {@link EntityBean} with the values currently persisted in the database.
+   * @return the {@link BitSet} with a bit set for each {@link #getProperties() property} that has been modified.
+   */
+  public BitSet getDirtyProperties(E entity, E managed) {
+
+    int size = this.properties.size();
+    BitSet dirty = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      String property = this.properties.get(i);
+      if (!Objects.equals(entity.get(property), managed.get(property))) {
+        dirty.set(i);
+      }
+    }
+    return dirty;
+  }
+
+  /**
+   * @param dirty the {@link #getDirtyProperties(EntityBean, EntityBean) dirty bitset}. Must not be modified
+   *        afterwards.
+   * @return the {@link Template} updating the columns of the given {@link #getProperties() properties} or
+   *         {@code null} if there is nothing to update (no property modified and no revision).
+   */
+  public Template getTemplate(BitSet dirty) {
+
+    if (dirty.isEmpty() && (this.revisionSlot == -1)) {
+      return null;
+    }
+    Template template = this.templates.get(dirty);
+    if (template == null) {
+      if (this.templates.size() >= MAX_TEMPLATES) {
+        return this.fullRowTemplate;
+      }
+      template = this.templates.computeIfAbsent(dirty, this::createTemplate);
+    }
+    return template;
+  }
+
+  /**
+   * @return the {@link Template} updating all columns. Its {@link Template#getSql() SQL} is the same for every update
+   *         of this entity type.
+   */
+  public Template getFullRowTemplate() {
+
+    return this.fullRowTemplate;
+  }
+
+  /**
+   * @return the number of {@link Template}s currently cached.
+   */
+  public int getTemplateCount() {
+
+    return this.templates.size();
+  }
+
+  private Template createTemplate(BitSet dirty) {
+
+    List<String> columns = this.binder.getColumnNames();
+    StringBuilder sql = new StringBuilder("UPDATE ");
+    sql.append(this.tableName);
+    sql.append(" SET ");
+    int[] setSlots = new int[this.slotProperties.length];
+    int setCount = 0;
+    for (int i = 0; i < this.slotProperties.length; i++) {
+      int propertyIndex = this.slotProperties[i];
+      if ((i == this.revisionSlot) || ((propertyIndex >= 0) && dirty.get(propertyIndex))) {
+        if (setCount > 0) {
+          sql.append(", ");
+        }
+        sql.append(columns.get(i));
+        sql.append(" = ?");
+        setSlots[setCount++] = i;
+      }
+    }
+    sql.append(" WHERE ");
+    sql.append(columns.get(this.idSlot));
+    sql.append(" = ?");
+    if (this.revisionSlot >= 0) {
+      sql.append(" AND ");
+      sql.append(columns.get(this.revisionSlot));
+      sql.append(" = ?");
+    }
+    int[] slots = new int[setCount];
+    System.arraycopy(setSlots, 0, slots, 0, setCount);
+    return new Template(sql.toString(), slots);
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.tableName + "]";
+  }
+
+  /**
+   * A precompiled UPDATE statement for a specific set of modified columns.
+   */
+  public final class Template {
+
+    private final String sql;
+
+    private final int[] setSlots;
+
+    private Template(String sql, int[] setSlots) {
+
+      super();
+      this.sql = sql;
+      this.setSlots = setSlots;
+    }
+
+    /**
+     * @return the SQL of the UPDATE statement.
+     */
+    public String getSql() {
+
+      return this.sql;
+    }
+
+    /**
+     * @param entity the {@link EntityBean} with the new values to update.
+     * @param id the current {@link Id} of the persisted entity used for optimistic locking.
+     * @param newId the new {@link Id} with the updated {@link Id#getRevision() revision}.
+     * @param statement the {@link PreparedStatement} created for the {@link #getSql() SQL}.
+     * @param connection the JDBC {@link Connection}.
+     * @throws SQLException on error.
+     */
+    @SuppressWarnings("exports")
+    public void bind(E entity, Id<?> id, Id<?> newId, PreparedStatement statement, Connection connection)
+        throws SQLException {
+
+      DbEntityBinder<E> entityBinder = DbEntityUpdateBinder.this.binder;
+      int revision = DbEntityUpdateBinder.this.revisionSlot;
+      int index = 1;
+      for (int slot : this.setSlots) {
+        if (slot == revision) {
+          entityBinder.getSlot(slot).bindValue(newId, statement, index++, connection);
+        } else {
+          entityBinder.getSlot(slot).bind(entity, statement, index++, connection);
+        }
+      }
+      entityBinder.getSlot(DbEntityUpdateBinder.this.idSlot).bindValue(id, statement, index++, connection);
+      if (revision >= 0) {
+        entityBinder.getSlot(revision).bindValue(id, statement, index, connection);
+      }
+    }
+
+    @Override
+    public String toString() {
+
+      return this.sql;
+    }
+
+  }
+
+}
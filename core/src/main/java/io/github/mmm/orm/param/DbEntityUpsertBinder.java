@@ -0,0 +1,175 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.dialect.DbUpsert;
+
+/**
+ * Precompiled binder to insert {@link EntityBean entities} of a specific type or update them if a row with the same
+ * {@link Id#getPk() primary key} already exists (upsert) in a single statement using the native
+ * {@link AbstractDbDialect#getUpsert() syntax of the dialect}. Therefore it is not required to know if an entity with
+ * an {@link Id} already exists so no SELECT is needed and entities can be batched. There are two {@link Template}s:
+ * one {@link #getTemplate(boolean) verifying} the {@link Id#getRevision() revision} of an existing row for optimistic
+ * locking and one without verification.<br>
+ * Like the {@link DbEntityBinder} values are read from the entity and written directly to the
+ * {@link PreparedStatement}.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @see io.github.mmm.orm.mapping.DbEntityModel#getUpsertBinder()
+ * @since 1.0.0
+ */
+public final class DbEntityUpsertBinder<E extends EntityBean> {
+
+  private final DbEntityBinder<E> binder;
+
+  private final String tableName;
+
+  private final int idSlot;
+
+  private final int revisionSlot;
+
+  private final Template template;
+
+  private final Template revisionTemplate;
+
+  /**
+   * The constructor.
+   *
+   * @param dialect the {@link AbstractDbDialect}. Must not {@link DbUpsert#NONE disable} upsert.
+   * @param binder the {@link DbEntityBinder} for the same entity type to reuse its columns and parameter bindings.
+   * @param tableName the name of the database table.
+   * @param pkProperty the {@link io.github.mmm.property.ReadableProperty#getName() name} of the primary key property.
+   */
+  public DbEntityUpsertBinder(AbstractDbDialect<?> dialect, DbEntityBinder<E> binder, String tableName,
+      String pkProperty) {
+
+    super();
+    this.binder = binder;
+    this.tableName = tableName;
+    int slotCount = binder.getParameterCount();
+    int id = -1;
+    int revision = -1;
+    for (int i = 0; i < slotCount; i++) {
+      if (binder.getSlot(i).getProperty().equals(pkProperty)) {
+        if (id == -1) {
+          id = i;
+        } else {
+          revision = i;
+        }
+      }
+    }
+    if (id == -1) {
+      throw new IllegalStateException("Primary key " + pkProperty + " not mapped for table " + tableName);
+    }
+    this.idSlot = id;
+    this.revisionSlot = revision;
+    List<String> columns = binder.getColumnNames();
+    String idColumn = columns.get(id);
+    String sql = dialect.createFormatter().formatUpsert(tableName, columns, idColumn, null);
+    if (sql == null) {
+      throw new IllegalStateException("Upsert not supported by dialect " + dialect);
+    }
+    this.template = new Template(sql, 0);
+    if (revision == -1) {
+      this.revisionTemplate = this.template;
+    } else {
+      String revisionSql = dialect.createFormatter().formatUpsert(tableName, columns, idColumn, columns.get(revision));
+      if (revisionSql == null) {
+        this.revisionTemplate = null;
+      } else {
+        this.revisionTemplate = new Template(revisionSql, 1);
+      }
+    }
+  }
+
+  /**
+   * @param verifyRevision - {@code true} to only update an existing row if it still has the expected
+   *        {@link Id#getRevision() revision} (optimistic locking), {@code false} to update it unconditionally.
+   * @return the according {@link Template}. If the entity has no revision, the same {@link Template} is returned for
+   *         both cases. Will be {@code null} if {@code verifyRevision} is {@code true} but the
+   *         {@link DbUpsert#isDetectingConflict() dialect can not detect a revision conflict}.
+   */
+  public Template getTemplate(boolean verifyRevision) {
+
+    if (verifyRevision) {
+      return this.revisionTemplate;
+    }
+    return this.template;
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.tableName + "]";
+  }
+
+  /**
+   * A precompiled upsert statement with or without verification of the revision.
+   */
+  public final class Template {
+
+    private final String sql;
+
+    private final int revisionParameters;
+
+    private Template(String sql, int revisionParameters) {
+
+      super();
+      this.sql = sql;
+      this.revisionParameters = revisionParameters;
+    }
+
+    /**
+     * @return the SQL of the upsert statement.
+     */
+    public String getSql() {
+
+      return this.sql;
+    }
+
+    /**
+     * @param entity the {@link EntityBean} to insert or update.
+     * @param id the current {@link Id} of the entity with the expected {@link Id#getRevision() revision} of an
+     *        existing row.
+     * @param newId the new {@link Id} to store (typically with the updated {@link Id#getRevision() revision}).
+     * @param statement the {@link PreparedStatement} created for the {@link #getSql() SQL}.
+     * @param connection the JDBC {@link Connection}.
+     * @throws SQLException on error.
+     */
+    @SuppressWarnings("exports")
+    public void bind(E entity, Id<?> id, Id<?> newId, PreparedStatement statement, Connection connection)
+        throws SQLException {
+
+      DbEntityBinder<E> entityBinder = DbEntityUpsertBinder.this.binder;
+      int revision = DbEntityUpsertBinder.this.revisionSlot;
+      int slotCount = entityBinder.getParameterCount();
+      int index = 1;
+      for (int slot = 0; slot < slotCount; slot++) {
+        if ((slot == DbEntityUpsertBinder.this.idSlot) || (slot == revision)) {
+          entityBinder.getSlot(slot).bindValue(newId, statement, index++, connection);
+        } else {
+          entityBinder.getSlot(slot).bind(entity, statement, index++, connection);
+        }
+      }
+      for (int i = 0; i < this.revisionParameters; i++) {
+        entityBinder.getSlot(revision).bindValue(id, statement, index++, connection);
+      }
+    }
+
+    @Override
+    public String toString() {
+
+      return this.sql;
+    }
+
+  }
+
+}
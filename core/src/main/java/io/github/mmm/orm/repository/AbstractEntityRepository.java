@@ -2,6 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.repository;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
 import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.entity.Entity;
 import io.github.mmm.entity.bean.EntityBean;
@@ -91,6 +96,35 @@ public abstract class AbstractEntityRepository<E extends EntityBean> implements
    */
   protected abstract E doFindById(Id<E> id);
 
+  @Override
+  public final List<E> findAllById(Iterable<Id<E>> ids) {
+
+    List<E> entities = doFindAllById(ids);
+    for (E entity : entities) {
+      this.listenerAdapter.postLoad(entity);
+    }
+    return entities;
+  }
+
+  /**
+   * @param ids the {@link Iterable} of {@link Id}s of the requested {@link EntityBean entities}.
+   * @return the {@link List} with the requested {@link EntityBean entities} that exist. Override with a bulk operation
+   *         to avoid a {@link #doFindById(Id) single lookup} per {@link Id}.
+   * @see #findAllById(Iterable)
+   */
+  protected List<E> doFindAllById(Iterable<Id<E>> ids) {
+
+    List<E> entities = new ArrayList<>();
+    for (Id<E> id : ids) {
+      verifyEntityClass(id.getEntityClass());
+      E entity = doFindById(id);
+      if (entity != null) {
+        entities.add(entity);
+      }
+    }
+    return entities;
+  }
+
   @Override
   public final Id<E> save(E entity) {
 
@@ -108,6 +142,103 @@ public abstract class AbstractEntityRepository<E extends EntityBean> implements
     return id;
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public void saveAll(E... entities) {
+
+    saveAll(Arrays.asList(entities));
+  }
+
+  @Override
+  public void saveAll(Iterable<E> entities) {
+
+    reserveTransientIds(entities);
+    List<E> inserts = new ArrayList<>();
+    for (E entity : entities) {
+      Id<E> id = Id.from(entity);
+      if (id.isTransient()) {
+        id = getIdGenerator().generate(id);
+        entity.setId(id);
+        this.listenerAdapter.preInsert(entity);
+        inserts.add(entity);
+      } else {
+        if (!inserts.isEmpty()) {
+          // preserve order in case the update refers to a previously inserted entity
+          doInsertAll(inserts);
+          inserts.clear();
+        }
+        this.listenerAdapter.preUpdate(entity);
+        doUpdate(entity);
+      }
+    }
+    if (!inserts.isEmpty()) {
+      doInsertAll(inserts);
+    }
+  }
+
+  private void reserveTransientIds(Iterable<E> entities) {
+
+    if (entities instanceof Collection<E> collection) {
+      int count = 0;
+      for (E entity : collection) {
+        if (Id.from(entity).isTransient()) {
+          count++;
+        }
+      }
+      if (count > 1) {
+        reserveIds(count);
+      }
+    }
+  }
+
+  @Override
+  public void upsertAll(Iterable<E> entities) {
+
+    reserveTransientIds(entities);
+    List<E> inserts = new ArrayList<>();
+    List<E> upserts = new ArrayList<>();
+    for (E entity : entities) {
+      Id<E> id = Id.from(entity);
+      if (id.isTransient()) {
+        if (!upserts.isEmpty()) {
+          // preserve order in case the insert refers to a previously upserted entity
+          doUpsertAll(upserts);
+          upserts.clear();
+        }
+        id = getIdGenerator().generate(id);
+        entity.setId(id);
+        this.listenerAdapter.preInsert(entity);
+        inserts.add(entity);
+      } else {
+        if (!inserts.isEmpty()) {
+          doInsertAll(inserts);
+          inserts.clear();
+        }
+        // it is unknown if the entity exists so it is treated like an update for the listeners
+        this.listenerAdapter.preUpdate(entity);
+        upserts.add(entity);
+      }
+    }
+    if (!inserts.isEmpty()) {
+      doInsertAll(inserts);
+    }
+    if (!upserts.isEmpty()) {
+      doUpsertAll(upserts);
+    }
+  }
+
+  /**
+   * Called by {@link #saveAll(Iterable)} before the given number of new {@link Id}s will be
+   * {@link IdGenerator#generate(Id) generated}. Override to allocate them in advance (e.g. with a single round trip to
+   * the database sequence).
+   *
+   * @param count the number of new {@link Id}s that will be generated.
+   */
+  protected void reserveIds(int count) {
+
+    // nothing by default
+  }
+
   /**
    * Internal method for the raw insert of an {@link EntityBean} to the underlying store.
    *
@@ -115,6 +246,20 @@ public abstract class AbstractEntityRepository<E extends EntityBean> implements
    */
   protected abstract void doInsert(E entity);
 
+  /**
+   * Internal method for the raw insert of multiple {@link EntityBean}s to the underlying store. Override to implement
+   * as bulk operation.
+   *
+   * @param entities the {@link List} of {@link EntityBean}s to insert.
+   * @see #saveAll(Iterable)
+   */
+  protected void doInsertAll(List<E> entities) {
+
+    for (E entity : entities) {
+      doInsert(entity);
+    }
+  }
+
   /**
    * Internal method for the raw update of an {@link EntityBean} in the underlying store.
    *
@@ -122,6 +267,26 @@ public abstract class AbstractEntityRepository<E extends EntityBean> implements
    */
   protected abstract void doUpdate(E entity);
 
+  /**
+   * Internal method to insert or update multiple {@link EntityBean}s that all have an {@link Id} but may not exist in
+   * the underlying store. This default implementation {@link #doFindById(Id) looks up} each entity to decide if it has
+   * to be {@link #doInsert(EntityBean) inserted} or {@link #doUpdate(EntityBean) updated}. Override to implement as
+   * bulk operation.
+   *
+   * @param entities the {@link List} of {@link EntityBean}s to insert or update.
+   * @see #upsertAll(Iterable)
+   */
+  protected void doUpsertAll(List<E> entities) {
+
+    for (E entity : entities) {
+      if (doFindById(Id.from(entity)) == null) {
+        doInsert(entity);
+      } else {
+        doUpdate(entity);
+      }
+    }
+  }
+
   @Override
   public final boolean deleteById(Id<E> id) {
 
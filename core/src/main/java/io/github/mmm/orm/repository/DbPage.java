@@ -0,0 +1,65 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.repository;
+
+import java.util.List;
+
+import io.github.mmm.orm.repository.operation.DbFindOperations;
+import io.github.mmm.orm.statement.select.SelectStatement;
+
+/**
+ * A single page of results from {@link DbFindOperations#findPage(SelectStatement, DbPageToken) keyset pagination}.
+ *
+ * @param <E> type of the {@link #getItems() items}.
+ * @since 1.0.0
+ */
+public final class DbPage<E> {
+
+  private final List<E> items;
+
+  private final DbPageToken next;
+
+  /**
+   * The constructor.
+   *
+   * @param items the {@link #getItems() items}.
+   * @param next the {@link #getNext() next token}.
+   */
+  public DbPage(List<E> items, DbPageToken next) {
+
+    super();
+    this.items = items;
+    this.next = next;
+  }
+
+  /**
+   * @return the {@link List} with the items of this page.
+   */
+  public List<E> getItems() {
+
+    return this.items;
+  }
+
+  /**
+   * @return the {@link DbPageToken} to get the next page or {@code null} if this is the last page.
+   */
+  public DbPageToken getNext() {
+
+    return this.next;
+  }
+
+  /**
+   * @return {@code true} if there is a next page, {@code false} otherwise.
+   */
+  public boolean hasNext() {
+
+    return (this.next != null);
+  }
+
+  @Override
+  public String toString() {
+
+    return this.items.size() + " item(s)" + ((this.next == null) ? "" : " next " + this.next);
+  }
+
+}
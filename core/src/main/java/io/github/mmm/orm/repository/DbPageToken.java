@@ -0,0 +1,184 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.repository;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import io.github.mmm.orm.repository.operation.DbFindOperations;
+import io.github.mmm.orm.statement.select.SelectStatement;
+
+/**
+ * Opaque continuation token for keyset pagination via {@link DbFindOperations#findPage(SelectStatement, DbPageToken)}.
+ * It holds the values of the last row of the previous page for each ordering of the {@link SelectStatement}. The
+ * {@link #toString() string representation} can be handed out to clients (e.g. in a REST API) and converted back via
+ * {@link #of(String)}. It is URL safe and encodes the type of each value so no metadata is needed for parsing.
+ *
+ * @since 1.0.0
+ */
+public final class DbPageToken {
+
+  private static final char SEPARATOR = '.';
+
+  private final List<Object> values;
+
+  /**
+   * The constructor.
+   *
+   * @param values the {@link #getValues() values}.
+   */
+  public DbPageToken(List<Object> values) {
+
+    super();
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("Page token requires at least one value.");
+    }
+    for (Object value : values) {
+      getType(value);
+    }
+    this.values = List.copyOf(values);
+  }
+
+  /**
+   * @return the {@link List} with the values of the last row of the previous page in the order of the orderings.
+   */
+  public List<Object> getValues() {
+
+    return this.values;
+  }
+
+  @Override
+  public int hashCode() {
+
+    return this.values.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+
+    if (obj == this) {
+      return true;
+    } else if (!(obj instanceof DbPageToken other)) {
+      return false;
+    }
+    return this.values.equals(other.values);
+  }
+
+  @Override
+  public String toString() {
+
+    Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    StringBuilder sb = new StringBuilder();
+    for (Object value : this.values) {
+      if (sb.length() > 0) {
+        sb.append(SEPARATOR);
+      }
+      String encoded = getType(value) + value.toString();
+      sb.append(encoder.encodeToString(encoded.getBytes(StandardCharsets.UTF_8)));
+    }
+    return sb.toString();
+  }
+
+  private static char getType(Object value) {
+
+    if (value instanceof String) {
+      return 's';
+    } else if (value instanceof Long) {
+      return 'l';
+    } else if (value instanceof Integer) {
+      return 'i';
+    } else if (value instanceof Short) {
+      return 'h';
+    } else if (value instanceof Byte) {
+      return 'b';
+    } else if (value instanceof Double) {
+      return 'd';
+    } else if (value instanceof Float) {
+      return 'f';
+    } else if (value instanceof BigDecimal) {
+      return 'D';
+    } else if (value instanceof BigInteger) {
+      return 'I';
+    } else if (value instanceof Boolean) {
+      return 'z';
+    } else if (value instanceof UUID) {
+      return 'u';
+    } else if (value instanceof Instant) {
+      return 'T';
+    } else if (value instanceof LocalDate) {
+      return 'a';
+    } else if (value instanceof LocalTime) {
+      return 't';
+    } else if (value instanceof LocalDateTime) {
+      return 'A';
+    } else if (value instanceof OffsetDateTime) {
+      return 'O';
+    } else if (value == null) {
+      throw new IllegalArgumentException("Page token does not support null values.");
+    }
+    throw new IllegalArgumentException("Page token does not support value of type " + value.getClass().getName());
+  }
+
+  private static Object parseValue(char type, String value) {
+
+    return switch (type) {
+      case 's' -> value;
+      case 'l' -> Long.valueOf(value);
+      case 'i' -> Integer.valueOf(value);
+      case 'h' -> Short.valueOf(value);
+      case 'b' -> Byte.valueOf(value);
+      case 'd' -> Double.valueOf(value);
+      case 'f' -> Float.valueOf(value);
+      case 'D' -> new BigDecimal(value);
+      case 'I' -> new BigInteger(value);
+      case 'z' -> Boolean.valueOf(value);
+      case 'u' -> UUID.fromString(value);
+      case 'T' -> Instant.parse(value);
+      case 'a' -> LocalDate.parse(value);
+      case 't' -> LocalTime.parse(value);
+      case 'A' -> LocalDateTime.parse(value);
+      case 'O' -> OffsetDateTime.parse(value);
+      default -> throw new IllegalArgumentException("Invalid page token type '" + type + "'.");
+    };
+  }
+
+  /**
+   * @param token the {@link #toString() string representation} of the {@link DbPageToken}.
+   * @return the parsed {@link DbPageToken} or {@code null} if the given {@code token} is {@code null} or empty.
+   * @throws IllegalArgumentException if the given {@code token} is invalid.
+   */
+  public static DbPageToken of(String token) {
+
+    if ((token == null) || token.isEmpty()) {
+      return null;
+    }
+    Base64.Decoder decoder = Base64.getUrlDecoder();
+    List<Object> values = new ArrayList<>();
+    int start = 0;
+    int length = token.length();
+    while (start <= length) {
+      int end = token.indexOf(SEPARATOR, start);
+      if (end < 0) {
+        end = length;
+      }
+      String decoded = new String(decoder.decode(token.substring(start, end)), StandardCharsets.UTF_8);
+      if (decoded.isEmpty()) {
+        throw new IllegalArgumentException("Invalid page token: " + token);
+      }
+      values.add(parseValue(decoded.charAt(0), decoded.substring(1)));
+      start = end + 1;
+    }
+    return new DbPageToken(values);
+  }
+
+}
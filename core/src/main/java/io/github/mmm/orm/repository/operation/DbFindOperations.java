@@ -2,7 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.repository.operation;
 
+import java.util.stream.Stream;
+
 import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.orm.repository.DbPage;
+import io.github.mmm.orm.repository.DbPageToken;
 import io.github.mmm.orm.statement.NonUniqueResultException;
 import io.github.mmm.orm.statement.select.SelectStatement;
 
@@ -20,6 +24,28 @@ public interface DbFindOperations<E extends EntityBean> extends EntityFindOperat
    */
   Iterable<E> findByQuery(SelectStatement<E> statement);
 
+  /**
+   * @param statement the {@link SelectStatement} to query the requested entities.
+   * @return a {@link Stream} with the matching {@link EntityBean entities} lazily read from the database.
+   * @see #streamByQuery(SelectStatement, boolean)
+   */
+  default Stream<E> streamByQuery(SelectStatement<E> statement) {
+
+    return streamByQuery(statement, false);
+  }
+
+  /**
+   * Unlike {@link #findByQuery(SelectStatement)} this method does not hold all results in memory. The returned
+   * {@link Stream} has to be consumed within the current transaction and should be {@link Stream#close() closed} (e.g.
+   * via try-with-resources).
+   *
+   * @param statement the {@link SelectStatement} to query the requested entities.
+   * @param detached - {@code true} to skip registering the entities in the session (first-level cache) so they can be
+   *        garbage collected after processing, {@code false} otherwise.
+   * @return a {@link Stream} with the matching {@link EntityBean entities} lazily read from the database.
+   */
+  Stream<E> streamByQuery(SelectStatement<E> statement, boolean detached);
+
   /**
    * @param statement the {@link SelectStatement} to query the requested entity. Should produce a single result or no
    *        result.
@@ -28,4 +54,20 @@ public interface DbFindOperations<E extends EntityBean> extends EntityFindOperat
    */
   E findOneByQuery(SelectStatement<E> statement);
 
+  /**
+   * Keyset (seek) pagination: instead of skipping rows via OFFSET the values of the last row of the previous page are
+   * used as predicate so deep pages are as fast as the first one (given an index for the orderings). The
+   * {@link SelectStatement#getOrderBy() orderings} of the {@code statement} are implicitly extended with the primary
+   * key as tie-breaker to make the order total. The {@code statement} itself is not modified but only used as template
+   * for the query of the requested page.
+   *
+   * @param statement the {@link SelectStatement} to query the requested entities. Its
+   *        {@link SelectStatement#getLimit() limit} is the page size and must be present while an offset must not be
+   *        present. The {@link SelectStatement#getOrderBy() orderings} must only use properties of the selected entity
+   *        that are never {@code null}.
+   * @param token the {@link DbPage#getNext() token} of the previous page or {@code null} for the first page.
+   * @return the {@link DbPage} with the matching {@link EntityBean entities}.
+   */
+  DbPage<E> findPage(SelectStatement<E> statement, DbPageToken token);
+
 }
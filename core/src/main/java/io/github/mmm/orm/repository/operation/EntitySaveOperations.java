@@ -43,4 +43,16 @@ public interface EntitySaveOperations<E extends EntityBean> {
     }
   }
 
+  /**
+   * Inserts or updates the given {@link EntityBean entities}. Unlike {@link #saveAll(Iterable)} an entity that already
+   * has an {@link Id} does not have to exist so this is suitable to import or synchronize entities from other systems
+   * (e.g. with {@link Id}s assigned externally). Entities that have an {@link Id} are inserted if they do not exist and
+   * updated otherwise without loading them first. If supported by the database this is done with its native upsert
+   * syntax as batch operation. Like for {@link #save(EntityBean) save} the {@link Id#getRevision() revision} of an
+   * existing entity is verified and updated. Transient entities are inserted with a new {@link Id}.
+   *
+   * @param entities the {@link Iterable} of {@link EntityBean entities} to insert or update.
+   */
+  void upsertAll(Iterable<E> entities);
+
 }
@@ -24,6 +24,19 @@ public interface DbResult extends Iterable<DbResultValue<?>> {
    */
   <V> V getValue(int i);
 
+  /**
+   * @param <V> type of the value.
+   * @param i the index of the requested value. Has to be in the range from {@code 0} to {@link #getSize() size-1}.
+   * @param type the expected {@link Class} of the value. Allows implementations to read the value directly in the
+   *        requested type (e.g. via typed getters of a JDBC {@link java.sql.ResultSet}) avoiding generic access and
+   *        conversion.
+   * @return the requested result value.
+   */
+  default <V> V getValue(int i, Class<V> type) {
+
+    return getValue(i);
+  }
+
   /**
    * @param i the index of the requested name. Has to be in the range from {@code 0} to {@link #getSize() size-1}.
    * @return the requested database name (e.g. column name, alias, selection).
@@ -15,7 +15,9 @@ import io.github.mmm.orm.result.DbResultValue;
  */
 public class DbResultPojo extends AbstractDbResult {
 
-  private final List<DbResultValue<?>> values;
+  private final List<DbResultValue<?>> cells;
+
+  private final List<Object> values;
 
   /**
    * The constructor.
@@ -33,6 +35,7 @@ public class DbResultPojo extends AbstractDbResult {
   public DbResultPojo(int capacity) {
 
     super();
+    this.cells = new ArrayList<>(capacity);
     this.values = new ArrayList<>(capacity);
   }
 
@@ -41,13 +44,53 @@ public class DbResultPojo extends AbstractDbResult {
    */
   public void add(DbResultValue<?> cell) {
 
-    this.values.add(cell);
+    this.cells.add(cell);
+    this.values.add(cell.getValue());
+  }
+
+  /**
+   * Adds a value without creating a new {@link DbResultValue} instance for it.
+   *
+   * @param <V> type of the value.
+   * @param template the {@link DbResultValue} providing {@link DbResultValue#getName() name} and
+   *        {@link DbResultValue#getDeclaration() declaration}.
+   * @param value the actual {@link DbResultValue#getValue() value}.
+   */
+  public <V> void add(DbResultValue<V> template, V value) {
+
+    this.cells.add(template);
+    this.values.add(value);
   }
 
+  @SuppressWarnings({ "rawtypes", "unchecked" })
   @Override
   protected DbResultValue<?> get(int i) {
 
-    return this.values.get(i);
+    DbResultValue cell = this.cells.get(i);
+    Object value = this.values.get(i);
+    if (cell.getValue() != value) {
+      cell = cell.withValue(value);
+    }
+    return cell;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <V> V getValue(int i) {
+
+    return (V) this.values.get(i);
+  }
+
+  @Override
+  public String getName(int i) {
+
+    return this.cells.get(i).getName();
+  }
+
+  @Override
+  public String getDeclaration(int i) {
+
+    return this.cells.get(i).getDeclaration();
   }
 
   @Override
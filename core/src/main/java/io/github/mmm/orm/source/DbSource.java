@@ -114,12 +114,201 @@ public final class DbSource {
   /** Default value of {@link #KEY_SEQUENCE_INCREMENT sequence_increment}. */
   public static final int VALUE_SEQUENCE_INCREMENT_DEFAULT = 10;
 
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the number of remaining pooled sequence values at
+   * which the next block is fetched asynchronously in the background. Use {@code 0} to disable prefetching.
+   */
+  public static final String KEY_SEQUENCE_PREFETCH = "sequence_prefetch";
+
+  /** Default value of {@link #KEY_SEQUENCE_PREFETCH sequence_prefetch}. */
+  public static final int VALUE_SEQUENCE_PREFETCH_DEFAULT = 0;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the strategy to generate new IDs. Will use
+   * {@link #VALUE_ID_GENERATOR_SEQUENCE sequence} if undefined.
+   *
+   * @see #VALUE_ID_GENERATOR_SEQUENCE
+   * @see #VALUE_ID_GENERATOR_HILO
+   * @see #VALUE_ID_GENERATOR_TIME
+   * @see #VALUE_ID_GENERATOR_UUID
+   */
+  public static final String KEY_ID_GENERATOR = "id_generator";
+
+  /** Value of {@link #KEY_ID_GENERATOR id_generator} to use a database sequence (default). */
+  public static final String VALUE_ID_GENERATOR_SEQUENCE = "sequence";
+
+  /**
+   * Value of {@link #KEY_ID_GENERATOR id_generator} to lease ranges of {@link #KEY_ID_RANGE_SIZE id_range_size} IDs
+   * from a range table (hi/lo). Only a single round trip per range is required and no database sequence is needed.
+   */
+  public static final String VALUE_ID_GENERATOR_HILO = "hilo";
+
+  /**
+   * Value of {@link #KEY_ID_GENERATOR id_generator} to generate time-ordered 64-bit IDs partitioned by the
+   * {@link #KEY_NODE_ID node_id} without any database access.
+   */
+  public static final String VALUE_ID_GENERATOR_TIME = "time";
+
+  /** Value of {@link #KEY_ID_GENERATOR id_generator} to generate random UUIDs. */
+  public static final String VALUE_ID_GENERATOR_UUID = "uuid";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the number of IDs leased at once from the range
+   * table for {@link #VALUE_ID_GENERATOR_HILO hilo}.
+   */
+  public static final String KEY_ID_RANGE_SIZE = "id_range_size";
+
+  /** Default value of {@link #KEY_ID_RANGE_SIZE id_range_size}. */
+  public static final int VALUE_ID_RANGE_SIZE_DEFAULT = 1000;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the unique number of this node (from {@code 0} to
+   * {@code 1023}) used for {@link #VALUE_ID_GENERATOR_TIME time} based IDs. Every node of a cluster writing to the same
+   * database has to be configured with a different value.
+   */
+  public static final String KEY_NODE_ID = "node_id";
+
+  /** Default value of {@link #KEY_NODE_ID node_id}. */
+  public static final int VALUE_NODE_ID_DEFAULT = 0;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the maximum number of prepared statements cached
+   * per connection. Use {@code 0} to disable statement caching.
+   */
+  public static final String KEY_STATEMENT_CACHE_SIZE = "statement_cache_size";
+
+  /** Default value of {@link #KEY_STATEMENT_CACHE_SIZE statement_cache_size}. */
+  public static final int VALUE_STATEMENT_CACHE_SIZE_DEFAULT = 64;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the maximum number of statements sent to the
+   * database in a single batch (e.g. for bulk inserts).
+   */
+  public static final String KEY_BATCH_SIZE = "batch_size";
+
+  /** Default value of {@link #KEY_BATCH_SIZE batch_size}. */
+  public static final int VALUE_BATCH_SIZE_DEFAULT = 500;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} to insert multiple entities (e.g. via
+   * {@code saveAll}) with a single {@code INSERT} statement with multiple {@code VALUES} rows instead of a JDBC batch.
+   * The number of rows per statement is limited by {@link #KEY_BATCH_SIZE batch_size} and the dialect (see
+   * {@link io.github.mmm.orm.dialect.DbDialect#getMaxInsertRows()}). If {@code true} bulk inserts are much faster with
+   * drivers that send each statement of a batch in its own round trip (e.g. MySQL, MariaDB or SQLite).
+   */
+  public static final String KEY_MULTI_ROW_INSERT = "multi_row_insert";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} to enable write-behind mode. If {@code true} inserts
+   * and updates of entities are only recorded in the session and flushed to the database in batches at the end of the
+   * transaction (or before a query is executed).
+   */
+  public static final String KEY_WRITE_BEHIND = "write_behind";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} to enable reading back all columns of inserted rows
+   * in the same round trip (see {@link io.github.mmm.orm.dialect.DbInsertReturning}). If {@code true} values
+   * generated by the database (identity columns, defaults, computed columns or triggers) are written back into the
+   * inserted entities.
+   */
+  public static final String KEY_INSERT_RETURNING = "insert_returning";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} to always update all columns of an entity instead of
+   * only the modified ones. If {@code true} every update of an entity type uses the same SQL so a single prepared
+   * statement is reused and updates of different entities can always be batched at the cost of sending unmodified
+   * values.
+   */
+  public static final String KEY_FULL_ROW_UPDATE = "full_row_update";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the default
+   * {@link io.github.mmm.orm.tx.DbEntityMode#getValue() entity mode} of transactions. Will use
+   * {@link io.github.mmm.orm.tx.DbEntityMode#MANAGED managed} if undefined.
+   */
+  public static final String KEY_ENTITY_MODE = "entity_mode";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the number of rows to fetch from the database at
+   * once when streaming results (see {@link java.sql.Statement#setFetchSize(int)}).
+   */
+  public static final String KEY_FETCH_SIZE = "fetch_size";
+
+  /** Default value of {@link #KEY_FETCH_SIZE fetch_size}. */
+  public static final int VALUE_FETCH_SIZE_DEFAULT = 1000;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the comma separated list of entity types (by
+   * {@link io.github.mmm.bean.BeanType#getStableName() stable name}) to keep in the process-wide second-level cache
+   * shared across transactions. Use {@code *} for all types. Disabled if undefined.
+   */
+  public static final String KEY_ENTITY_CACHE = "entity_cache";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the maximum number of entities per type in the
+   * {@link #KEY_ENTITY_CACHE entity cache}. Can be overridden for a single type by appending {@code .} and its stable
+   * name to the key (e.g. {@code entity_cache_size.Country}).
+   */
+  public static final String KEY_ENTITY_CACHE_SIZE = "entity_cache_size";
+
+  /** Default value of {@link #KEY_ENTITY_CACHE_SIZE entity_cache_size}. */
+  public static final int VALUE_ENTITY_CACHE_SIZE_DEFAULT = 10000;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the time to live in seconds of entities in the
+   * {@link #KEY_ENTITY_CACHE entity cache} or {@code 0} for no expiry. Can be overridden for a single type like
+   * {@link #KEY_ENTITY_CACHE_SIZE}.
+   */
+  public static final String KEY_ENTITY_CACHE_TTL = "entity_cache_ttl";
+
+  /** Default value of {@link #KEY_ENTITY_CACHE_TTL entity_cache_ttl}. */
+  public static final int VALUE_ENTITY_CACHE_TTL_DEFAULT = 600;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the comma separated list of entity names (tables)
+   * whose query results shall be kept in the process-wide query cache. A query is cached if the main entity of its
+   * {@code FROM} clause is listed. Use {@code *} for all entities. Disabled if undefined.
+   */
+  public static final String KEY_QUERY_CACHE = "query_cache";
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the maximum total number of result rows in the
+   * {@link #KEY_QUERY_CACHE query cache}.
+   */
+  public static final String KEY_QUERY_CACHE_SIZE = "query_cache_size";
+
+  /** Default value of {@link #KEY_QUERY_CACHE_SIZE query_cache_size}. */
+  public static final int VALUE_QUERY_CACHE_SIZE_DEFAULT = 10000;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the time to live in seconds of results in the
+   * {@link #KEY_QUERY_CACHE query cache} or {@code 0} for no expiry.
+   */
+  public static final String KEY_QUERY_CACHE_TTL = "query_cache_ttl";
+
+  /** Default value of {@link #KEY_QUERY_CACHE_TTL query_cache_ttl}. */
+  public static final int VALUE_QUERY_CACHE_TTL_DEFAULT = 60;
+
+  /**
+   * {@link io.github.mmm.base.metainfo.MetaInfo#get(String) Key} for the maximum number of unresolved links of the
+   * same target type to load with a single query when the first of them is resolved. Will be limited to the
+   * {@link io.github.mmm.orm.dialect.DbDialect#getMaxParameters() maximum number of parameters} of the dialect.
+   */
+  public static final String KEY_LINK_BATCH_SIZE = "link_batch_size";
+
+  /** Default value of {@link #KEY_LINK_BATCH_SIZE link_batch_size}. */
+  public static final int VALUE_LINK_BATCH_SIZE_DEFAULT = 100;
+
   /**
    * The standard keys for the database connection. Other keys will be specific for particular implementations (e.g.
    * connection pools).
    */
   public static final Set<String> STANDARD_KEYS = Set.of(KEY_URL, KEY_USER, KEY_PASSWORD, KEY_DIALECT, KEY_TYPE,
-      KEY_POOL, KEY_KIND, KEY_SCHEMA, KEY_HOST, KEY_PORT, KEY_DATABASE, KEY_SEQUENCE_INCREMENT);
+      KEY_POOL, KEY_KIND, KEY_SCHEMA, KEY_HOST, KEY_PORT, KEY_DATABASE, KEY_SEQUENCE_INCREMENT,
+      KEY_SEQUENCE_PREFETCH, KEY_ID_GENERATOR, KEY_ID_RANGE_SIZE, KEY_NODE_ID, KEY_STATEMENT_CACHE_SIZE,
+      KEY_BATCH_SIZE, KEY_MULTI_ROW_INSERT, KEY_WRITE_BEHIND, KEY_INSERT_RETURNING, KEY_FULL_ROW_UPDATE,
+      KEY_ENTITY_MODE, KEY_FETCH_SIZE, KEY_ENTITY_CACHE, KEY_ENTITY_CACHE_SIZE, KEY_ENTITY_CACHE_TTL,
+      KEY_QUERY_CACHE, KEY_QUERY_CACHE_SIZE, KEY_QUERY_CACHE_TTL, KEY_LINK_BATCH_SIZE);
 
   private DbSource(String name) {
 
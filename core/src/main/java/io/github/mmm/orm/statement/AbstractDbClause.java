@@ -19,6 +19,23 @@ public abstract class AbstractDbClause implements DbClause {
     super();
   }
 
+  /**
+   * Has to be called by every method that modifies this clause. Discards the {@link DbStatementPlanCache cached plan}
+   * of the according {@link DbStatement} so a modified {@link DbStatement} is formatted again.
+   */
+  protected void onModified() {
+
+    DbStatement<?> statement = null;
+    if (this instanceof MainDbClause<?> mainClause) {
+      statement = mainClause.get();
+    } else if (this instanceof IncompleteStartClause startClause) {
+      statement = startClause.getStatement();
+    }
+    if (statement instanceof AbstractDbStatement<?> abstractStatement) {
+      abstractStatement.setPlan(null);
+    }
+  }
+
   @Override
   public String toString() {
 
@@ -22,6 +22,8 @@ public abstract class AbstractDbStatement<E> implements DbStatement<E> {
 
   private List<AbstractDbClause> clauses;
 
+  private volatile DbStatementPlan plan;
+
   @Override
   public List<? extends DbClause> getClauses() {
 
@@ -59,6 +61,23 @@ public abstract class AbstractDbStatement<E> implements DbStatement<E> {
     return DbStatementMarshalling.read(reader);
   }
 
+  /**
+   * @return the {@link DbStatementPlan} attached by the {@link DbStatementPlanCache} or {@code null} if not yet
+   *         formatted.
+   */
+  DbStatementPlan getPlan() {
+
+    return this.plan;
+  }
+
+  /**
+   * @param plan the {@link DbStatementPlan} to attach.
+   */
+  void setPlan(DbStatementPlan plan) {
+
+    this.plan = plan;
+  }
+
   /**
    * @return the {@link AliasMap} of this statement.
    */
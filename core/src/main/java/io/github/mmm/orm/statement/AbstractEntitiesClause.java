@@ -76,6 +76,7 @@ public abstract class AbstractEntitiesClause<R, E extends EntityBean, SELF exten
 
     Objects.requireNonNull(entityFragment);
     this.additionalEntities.add(entityFragment);
+    onModified();
     return self();
   }
 
@@ -87,6 +88,7 @@ public abstract class AbstractEntitiesClause<R, E extends EntityBean, SELF exten
     } else {
       EntitySubClause<?, ?> last = this.additionalEntities.get(this.additionalEntities.size() - 1);
       last.as(entityAlias);
+      onModified();
       return self();
     }
   }
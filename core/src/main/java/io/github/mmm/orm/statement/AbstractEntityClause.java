@@ -129,6 +129,7 @@ public abstract class AbstractEntityClause<R, E extends EntityBean, SELF extends
   public SELF as(String entityAlias) {
 
     setAlias(entityAlias);
+    onModified();
     return self();
   }
 
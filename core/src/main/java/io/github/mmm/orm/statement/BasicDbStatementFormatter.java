@@ -54,8 +54,10 @@ import io.github.mmm.orm.statement.insert.InsertValuesClause;
 import io.github.mmm.orm.statement.merge.MergeClause;
 import io.github.mmm.orm.statement.select.GroupByClause;
 import io.github.mmm.orm.statement.select.HavingClause;
+import io.github.mmm.orm.statement.select.LimitClause;
 import io.github.mmm.orm.statement.select.OrderByClause;
 import io.github.mmm.orm.statement.select.SelectClause;
+import io.github.mmm.orm.statement.select.SelectFetchClause;
 import io.github.mmm.orm.statement.select.SelectFromClause;
 import io.github.mmm.orm.statement.select.SelectSequenceNextValueClause;
 import io.github.mmm.orm.statement.select.SelectStatement;
@@ -314,6 +316,8 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
       formatHavingClause(having, context);
     } else if (clause instanceof OrderByClause<?> orderBy) {
       formatOrderByClause(orderBy, context);
+    } else if (clause instanceof LimitClause<?> limit) {
+      formatLimitClause(limit, context);
     } else if (clause instanceof ValuesClause<?, ?> values) {
       formatValuesClause(values, context);
     } else if (clause instanceof SetClause<?, ?> set) {
@@ -377,11 +381,18 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
   public void formatSelectClause(SelectClause<?> select, DbContext context) {
 
     if (select instanceof SelectSequenceNextValueClause seq) {
-      formatSelectSeqNextVal(seq);
+      if (seq.isRange()) {
+        formatSelectSeqNextValues(seq);
+      } else {
+        formatSelectSeqNextVal(seq);
+      }
       return;
     }
     writeIndent();
     write("SELECT ");
+    if (select.isDistinct()) {
+      write("DISTINCT ");
+    }
     SelectStatement<?> statement = select.getStatement();
     SelectFromClause<?, ?> selectFrom = null;
     if (statement != null) {
@@ -403,6 +414,23 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
     write(")");
   }
 
+  /**
+   * @param seq the {@link SelectSequenceNextValueClause} to format that is a
+   *        {@link SelectSequenceNextValueClause#isRange() range}. The {@link SelectSequenceNextValueClause#getCount()
+   *        number of values} is bound as JDBC parameter.
+   */
+  protected void formatSelectSeqNextValues(SelectSequenceNextValueClause seq) {
+
+    writeIndent();
+    write("WITH RECURSIVE SEQ_RANGE(N) AS (SELECT 1 UNION ALL SELECT N + 1 FROM SEQ_RANGE WHERE N < ");
+    onArg(seq.getCount(), 0, null);
+    write(") SELECT ");
+    write(SequenceNextValue.NEXT_VALUE);
+    write("(");
+    formatQualifiedName(seq.getSequenceName());
+    write(") FROM SEQ_RANGE");
+  }
+
   /**
    * @param delete the {@link DeleteClause} to format.
    * @param context the {@link DbContext}.
@@ -564,6 +592,10 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
     } else {
       if (isSelectAllByAlias()) {
         write(selectFrom.getAlias());
+        for (SelectFetchClause<?, ?> fetch : selectFrom.getFetches()) {
+          write(", ");
+          write(fetch.getAlias());
+        }
         write(" ");
       } else {
         write("* ");
@@ -582,9 +614,32 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
       assert (from.get() instanceof SelectStatement);
     } else {
       formatEntities(from);
+      if (from instanceof SelectFromClause<?, ?> selectFrom) {
+        for (SelectFetchClause<?, ?> fetch : selectFrom.getFetches()) {
+          formatFetch(fetch, selectFrom);
+        }
+      }
     }
   }
 
+  /**
+   * @param fetch the {@link SelectFetchClause} to format as {@code LEFT JOIN}.
+   * @param selectFrom the {@link SelectFromClause} owning the {@link SelectFetchClause}.
+   */
+  protected void formatFetch(SelectFetchClause<?, ?> fetch, SelectFromClause<?, ?> selectFrom) {
+
+    write(" LEFT JOIN ");
+    formatEntity(fetch);
+    write(" ON ");
+    write(fetch.getAlias());
+    write(".");
+    write(fetch.getEntity().Id().getName());
+    write(" = ");
+    write(selectFrom.getAlias());
+    write(".");
+    write(fetch.getLink().getName());
+  }
+
   /**
    * @param entities the {@link AbstractEntitiesClause} to format.
    */
@@ -685,6 +740,24 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
     }
   }
 
+  /**
+   * @param limit the {@link LimitClause}-{@link DbClause} to format.
+   * @param context the {@link DbContext}.
+   */
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    Literal<Integer> maxRows = limit.getLimit();
+    if (maxRows != null) {
+      write(" LIMIT ");
+      onArg(maxRows, 0, null);
+    }
+    Literal<Integer> offset = limit.getOffset();
+    if (offset != null) {
+      write(" OFFSET ");
+      onArg(offset, 0, null);
+    }
+  }
+
   /**
    * @param groupBy the {@link GroupByClause}-{@link DbClause} to format.
    * @param context the {@link DbContext}.
@@ -756,7 +829,49 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
         s = ", ";
       }
       write(")");
+      InsertValuesClause<?> insertValues = (InsertValuesClause<?>) values;
+      for (List<CriteriaObject<?>> row : insertValues.getRows()) {
+        insertValues.verifyRow(row);
+        args.clear();
+        int column = 0;
+        for (PropertyAssignment<?> assignment : assignments) {
+          collectArgs(assignment.getProperty(), row.get(column++), args);
+        }
+        formatValuesRow(args);
+      }
+    }
+  }
+
+  /**
+   * @param args the {@link List} with the {@link CriteriaObject values} of an additional row of a multi-row
+   *        {@link InsertValuesClause}.
+   */
+  protected void formatValuesRow(List<CriteriaObject<?>> args) {
+
+    write(", (");
+    String s = "";
+    for (int argIndex = 0; argIndex < args.size(); argIndex++) {
+      write(s);
+      onArg(args.get(argIndex), argIndex, null);
+      s = ", ";
     }
+    write(")");
+  }
+
+  @SuppressWarnings("rawtypes")
+  private void collectArgs(PropertyPath<?> property, CriteriaObject<?> value, List<CriteriaObject<?>> args) {
+
+    if ((this.dialect != null) && (property instanceof ReadableProperty<?> p)) {
+      TypeMapper typeMapper = p.getTypeMapper();
+      if (typeMapper != null) {
+        do {
+          collectArgs(null, mapValue(value, typeMapper), args);
+          typeMapper = typeMapper.next();
+        } while (typeMapper != null);
+        return;
+      }
+    }
+    args.add(value);
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -877,7 +992,13 @@ public class BasicDbStatementFormatter extends CriteriaFormatter implements DbSt
       for (DbColumnSpec column : columns) {
         properties.add(column.getProperty());
       }
-      DbBeanMapper<EntityBean> mapping = this.dialect.getOrm().createBeanMapper(entity, properties);
+      DbBeanMapper<EntityBean> mapping;
+      if (properties.size() == entity.getProperties().size()) {
+        // all columns (e.g. CREATE TABLE) - use cached mapper
+        mapping = this.dialect.getOrm().createBeanMapper(entity);
+      } else {
+        mapping = this.dialect.getOrm().createBeanMapper(entity, properties);
+      }
       DbResult dbResult = mapping.java2db(entity);
       for (DbResultValue<?> dbValue : dbResult) {
         String columnName = dbValue.getName();
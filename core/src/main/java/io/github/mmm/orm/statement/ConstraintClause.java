@@ -40,6 +40,7 @@ public abstract class ConstraintClause<E extends EntityBean, SELF extends Constr
 
     Objects.requireNonNull(property, "properety");
     this.properties.add(property);
+    onModified();
     return self();
   }
 
@@ -52,6 +53,7 @@ public abstract class ConstraintClause<E extends EntityBean, SELF extends Constr
     for (PropertyPath<?> property : paths) {
       and(property);
     }
+    onModified();
     return self();
   }
 
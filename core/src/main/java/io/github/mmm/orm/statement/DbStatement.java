@@ -109,6 +109,18 @@ public abstract interface DbStatement<E> extends MarshallingObject {
     return new SelectSequenceNextValueClause(sequenceName).getStatement();
   }
 
+  /**
+   * @param sequenceName the {@link DbQualifiedName} of the sequence to select.
+   * @param count the number of values to select.
+   * @return the {@link SelectStatement} to select multiple next values from the specified sequence in a single round
+   *         trip. The {@link SelectSequenceNextValueClause#getCount() count} is bound as parameter.
+   * @see SelectSequenceNextValueClause#isRange()
+   */
+  public static SelectStatement<Long> selectSeqNextValues(DbQualifiedName sequenceName, int count) {
+
+    return new SelectSequenceNextValueClause(sequenceName, count).getStatement();
+  }
+
   /**
    * Alternative for {@code new Delete().from(entity)}.
    *
@@ -60,6 +60,7 @@ import io.github.mmm.orm.statement.merge.MergeIntoClause;
 import io.github.mmm.orm.statement.merge.MergeStatement;
 import io.github.mmm.orm.statement.select.GroupByClause;
 import io.github.mmm.orm.statement.select.HavingClause;
+import io.github.mmm.orm.statement.select.LimitClause;
 import io.github.mmm.orm.statement.select.OrderByClause;
 import io.github.mmm.orm.statement.select.SelectClause;
 import io.github.mmm.orm.statement.select.SelectEntityClause;
@@ -642,6 +643,7 @@ public class DbStatementParser implements CharScannerParser<DbStatement<?>> {
     parseGroupBy(scanner, statement.getGroupBy());
     parseHaving(scanner, statement.getHaving());
     parseOrderBy(scanner, statement.getOrderBy());
+    parseLimit(scanner, statement.getLimit());
     // post process selections
     AliasMap aliasMap = ((AbstractDbStatement) statement).getAliasMap();
     List<CriteriaObject<?>> selections = (List<CriteriaObject<?>>) select.getSelections();
@@ -678,9 +680,24 @@ public class DbStatementParser implements CharScannerParser<DbStatement<?>> {
     // TODO: make optional (e.g. support sub-query instead)
     scanner.require("VALUES", true);
     scanner.skipWhile(' ');
+    parseValueRow(scanner, values, entity, properties);
+    if (values instanceof InsertValuesClause insertValues) {
+      scanner.skipWhile(' ');
+      while (scanner.expectOne(',')) {
+        insertValues.row();
+        scanner.skipWhile(' ');
+        parseValueRow(scanner, values, entity, properties);
+        scanner.skipWhile(' ');
+      }
+    }
+  }
+
+  private void parseValueRow(CharStreamScanner scanner, ValuesClause values, EntityBean entity,
+      List<ReadableProperty<?>> properties) {
+
     scanner.requireOne('(');
     int i = 0;
-    todo = true;
+    boolean todo = true;
     int columnCount = properties.size();
     while (todo) {
       if (i >= columnCount) {
@@ -796,6 +813,29 @@ public class DbStatementParser implements CharScannerParser<DbStatement<?>> {
 
   }
 
+  private void parseLimit(CharStreamScanner scanner, LimitClause<?> limit) {
+
+    scanner.skipWhile(NEWLINE_OR_SPACE);
+    if (scanner.expect(LimitClause.NAME_LIMIT, true)) {
+      limit.limit(parseLimitValue(scanner, LimitClause.NAME_LIMIT));
+      scanner.skipWhile(NEWLINE_OR_SPACE);
+    }
+    if (scanner.expect(LimitClause.NAME_OFFSET, true)) {
+      limit.offset(parseLimitValue(scanner, LimitClause.NAME_OFFSET));
+      scanner.skipWhile(NEWLINE_OR_SPACE);
+    }
+  }
+
+  private int parseLimitValue(CharStreamScanner scanner, String keyword) {
+
+    scanner.requireOneOrMore(NEWLINE_OR_SPACE);
+    Long number = scanner.readLong();
+    if (number == null) {
+      throw new IllegalArgumentException("Expected number after " + keyword);
+    }
+    return Math.toIntExact(number.longValue());
+  }
+
   private SelectClause parseSelect(CharStreamScanner scanner) {
 
     scanner.skipWhile(NEWLINE_OR_SPACE);
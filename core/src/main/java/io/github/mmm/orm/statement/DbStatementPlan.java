@@ -0,0 +1,16 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement;
+
+/**
+ * A {@link DbPlainStatement} formatted by the {@link DbStatementPlanCache#getDialect() dialect} of a
+ * {@link DbStatementPlanCache} and attached to the {@link AbstractDbStatement} it has been formatted from.
+ *
+ * @param cache the {@link DbStatementPlanCache} that created this plan.
+ * @param plainStatement the formatted {@link DbPlainStatement}.
+ * @since 1.0.0
+ * @see DbStatementPlanCache
+ */
+record DbStatementPlan(DbStatementPlanCache cache, DbPlainStatement plainStatement) {
+
+}
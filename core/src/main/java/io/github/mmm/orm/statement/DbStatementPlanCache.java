@@ -0,0 +1,93 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+
+/**
+ * Thread-safe cache of formatted {@link DbStatement}s for a specific {@link AbstractDbDialect dialect}. The cache is
+ * keyed by the {@link DbStatement} instance: the {@link DbPlainStatement} is attached to the {@link DbStatement} when
+ * it is formatted for the first time, so repeated executions of the same {@link DbStatement} (e.g. held in a constant
+ * or field) neither walk its clauses nor render SQL again. A new {@link DbStatement} instance is always formatted by
+ * the dialect, as computing a structural key would cost about as much as the formatting itself. Any modification of a
+ * {@link DbClause} via its fluent API discards the plan so a modified {@link DbStatement} is formatted again.<br>
+ * <b>ATTENTION:</b> Collections returned by getters of a {@link DbClause} (e.g.
+ * {@link PredicateClause#getPredicates()}) must not be modified directly as this bypasses the detection.
+ *
+ * @since 1.0.0
+ */
+public final class DbStatementPlanCache {
+
+  private final AbstractDbDialect<?> dialect;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * The constructor.
+   *
+   * @param dialect the {@link AbstractDbDialect} to format the {@link DbStatement}s.
+   */
+  public DbStatementPlanCache(AbstractDbDialect<?> dialect) {
+
+    super();
+    this.dialect = dialect;
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * @return the {@link AbstractDbDialect} to format the {@link DbStatement}s.
+   */
+  public AbstractDbDialect<?> getDialect() {
+
+    return this.dialect;
+  }
+
+  /**
+   * @return the number of {@link #format(DbStatement) formatted} statements served from a cached plan.
+   */
+  public long getHitCount() {
+
+    return this.hits.sum();
+  }
+
+  /**
+   * @return the number of {@link #format(DbStatement) formatted} statements that had to be rendered by the dialect.
+   */
+  public long getMissCount() {
+
+    return this.misses.sum();
+  }
+
+  /**
+   * @param statement the {@link DbStatement} to format.
+   * @return the formatted {@link DbPlainStatement} either from a cached plan or freshly formatted by the dialect.
+   */
+  public DbPlainStatement format(DbStatement<?> statement) {
+
+    if (statement instanceof AbstractDbStatement<?> abstractStatement) {
+      DbStatementPlan plan = abstractStatement.getPlan();
+      if ((plan != null) && (plan.cache() == this)) {
+        this.hits.increment();
+        return plan.plainStatement();
+      }
+      DbPlainStatement plainStatement = this.dialect.createFormatter().formatStatement(statement);
+      abstractStatement.setPlan(new DbStatementPlan(this, plainStatement));
+      this.misses.increment();
+      return plainStatement;
+    }
+    this.misses.increment();
+    return this.dialect.createFormatter().formatStatement(statement);
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.dialect.getId() + "]";
+  }
+
+}
@@ -52,11 +52,13 @@ public abstract class PredicateClause<E, SELF extends PredicateClause<E, SELF>>
           // AND should only be used here with predicated.
           // Boolean literal would not make sense in query as well after simplification.
           this.predicates.addAll((List) predicate.getArgs());
+          onModified();
           return self();
         }
       }
       this.predicates.add(predicate);
     }
+    onModified();
     return self();
   }
 
@@ -70,6 +72,7 @@ public abstract class PredicateClause<E, SELF extends PredicateClause<E, SELF>>
     for (CriteriaPredicate predicate : criteriaPredicates) {
       and(predicate);
     }
+    onModified();
     return self();
   }
 
@@ -43,6 +43,7 @@ public abstract class PropertyClause<E, SELF extends PropertyClause<E, SELF>> ex
 
     Objects.requireNonNull(property, "properety");
     this.properties.add(property);
+    onModified();
     return self();
   }
 
@@ -55,6 +56,7 @@ public abstract class PropertyClause<E, SELF extends PropertyClause<E, SELF>> ex
     for (PropertyPath<?> property : paths) {
       and(property);
     }
+    onModified();
     return self();
   }
 
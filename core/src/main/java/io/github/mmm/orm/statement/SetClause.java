@@ -33,6 +33,7 @@ public abstract class SetClause<E extends EntityBean, SELF extends SetClause<E,
 
     Objects.requireNonNull(assignment, "assignment");
     this.assignments.add(assignment);
+    onModified();
     return self();
   }
 
@@ -42,6 +43,7 @@ public abstract class SetClause<E extends EntityBean, SELF extends SetClause<E,
     for (PropertyAssignment<?> assignment : propertyAssignments) {
       set(assignment);
     }
+    onModified();
     return self();
   }
 
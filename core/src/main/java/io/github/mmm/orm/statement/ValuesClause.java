@@ -30,6 +30,7 @@ public abstract class ValuesClause<E extends EntityBean, SELF extends ValuesClau
 
     Objects.requireNonNull(assignment, "assignment");
     this.assignments.add(assignment);
+    onModified();
     return self();
   }
 
@@ -39,6 +40,7 @@ public abstract class ValuesClause<E extends EntityBean, SELF extends ValuesClau
     for (PropertyAssignment<?> assignment : propertyAssignments) {
       value(assignment);
     }
+    onModified();
     return self();
   }
 
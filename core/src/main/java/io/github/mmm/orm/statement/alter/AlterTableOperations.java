@@ -60,6 +60,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> addColumn(DbColumnSpec column) {
 
     this.operations.add(new TableAddColumnOperation(column));
+    onModified();
     return this;
   }
 
@@ -67,6 +68,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> addConstraint(DbConstraint constraint) {
 
     this.operations.add(new TableAddConstraintOperation(constraint));
+    onModified();
     return this;
   }
 
@@ -74,6 +76,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> dropColumn(DbColumnSpec column) {
 
     this.operations.add(new TableDropColumnOperation(column));
+    onModified();
     return this;
   }
 
@@ -81,6 +84,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> dropConstraint(DbConstraint constraint) {
 
     this.operations.add(new TableDropConstraintOperation(constraint));
+    onModified();
     return this;
   }
 
@@ -88,6 +92,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> dropConstraint(String constraint) {
 
     this.operations.add(new TableDropConstraintOperation(constraint));
+    onModified();
     return this;
   }
 
@@ -95,6 +100,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> renameColumn(DbColumnSpec column, DbColumnSpec newColumn) {
 
     this.operations.add(new TableRenameColumnOperation(column, newColumn));
+    onModified();
     return this;
   }
 
@@ -102,6 +108,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> renameConstraint(String constraint, String newName) {
 
     this.operations.add(new TableRenameConstraintOperation(constraint, newName));
+    onModified();
     return this;
   }
 
@@ -109,6 +116,7 @@ public class AlterTableOperations<E extends EntityBean> extends AbstractTypedCla
   public AlterTableOperations<E> renameConstraint(DbConstraint constraint, String newName) {
 
     this.operations.add(new TableRenameConstraintOperation(constraint, newName));
+    onModified();
     return this;
   }
 
@@ -47,6 +47,7 @@ public class CreateIndexColumns<E extends EntityBean> extends AbstractTypedClaus
   public CreateIndexColumns<E> column(DbColumnSpec column) {
 
     this.columns.add(column);
+    onModified();
     return this;
   }
 
@@ -56,6 +57,7 @@ public class CreateIndexColumns<E extends EntityBean> extends AbstractTypedClaus
     for (DbColumnSpec column : cols) {
       this.columns.add(column);
     }
+    onModified();
     return this;
   }
 
@@ -65,6 +67,7 @@ public class CreateIndexColumns<E extends EntityBean> extends AbstractTypedClaus
     for (ReadableProperty<?> property : properties) {
       column(property);
     }
+    onModified();
     return this;
   }
 
@@ -80,6 +80,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.startWith == null);
     this.startWith = Long.valueOf(start);
+    onModified();
     return this;
   }
 
@@ -99,6 +100,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.incrementBy == null);
     this.incrementBy = Integer.valueOf(increment);
+    onModified();
     return this;
   }
 
@@ -118,6 +120,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.minValue == null);
     this.minValue = Long.valueOf(min);
+    onModified();
     return this;
   }
 
@@ -137,6 +140,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.maxValue == null);
     this.maxValue = Long.valueOf(max);
+    onModified();
     return this;
   }
 
@@ -157,6 +161,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.cycle == null);
     this.cycle = Boolean.TRUE;
+    onModified();
     return this;
   }
 
@@ -169,6 +174,7 @@ public class CreateSequenceClause extends AbstractDbClause implements StartClaus
 
     assert (this.cycle == null);
     this.cycle = Boolean.FALSE;
+    onModified();
     return this;
   }
 
@@ -66,6 +66,7 @@ public class CreateTableContentsClause<E extends EntityBean>
   public CreateTableContentsClause<E> column(DbColumnSpec column) {
 
     this.columns.add(column);
+    onModified();
     return this;
   }
 
@@ -77,6 +78,7 @@ public class CreateTableContentsClause<E extends EntityBean>
   public CreateTableContentsClause<E> constraint(DbConstraint constraint) {
 
     this.constraints.add(constraint);
+    onModified();
     return this;
   }
 
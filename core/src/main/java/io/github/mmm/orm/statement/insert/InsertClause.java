@@ -33,7 +33,18 @@ public final class InsertClause extends AbstractDbClause implements IncompleteSt
    */
   public <E extends EntityBean> InsertIntoClause<E> into(E entity) {
 
-    InsertIntoClause<E> insertInto = new InsertIntoClause<>(this, entity);
+    return into(entity, null);
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param entity the {@link EntityBean entity} to insert into.
+   * @param entityName the {@link InsertIntoClause#getEntityName() entity name} (e.g. table name).
+   * @return the {@link InsertIntoClause} for fluent API calls.
+   */
+  public <E extends EntityBean> InsertIntoClause<E> into(E entity, String entityName) {
+
+    InsertIntoClause<E> insertInto = new InsertIntoClause<>(this, entity, entityName);
     this.statement = insertInto.getStatement();
     return insertInto;
   }
@@ -2,12 +2,19 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.statement.insert;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.statement.DbClause;
 import io.github.mmm.orm.statement.ValuesClause;
+import io.github.mmm.property.criteria.CriteriaObject;
+import io.github.mmm.property.criteria.PropertyAssignment;
 
 /**
- * {@link ValuesClause}-{@link DbClause} of an {@link InsertStatement}.
+ * {@link ValuesClause}-{@link DbClause} of an {@link InsertStatement}. The {@link #getAssignments() assignments} define
+ * the columns and the values of the first row. Further rows can be added via {@link #row()} to insert multiple rows
+ * with a single statement ({@code INSERT INTO t(...) VALUES (...), (...)}).
  *
  * @param <E> type of the {@link InsertIntoClause#getEntity() entity}.
  * @since 1.0.0
@@ -16,6 +23,8 @@ public class InsertValuesClause<E extends EntityBean> extends ValuesClause<E, In
 
   private final InsertStatement<E> statement;
 
+  private final List<List<CriteriaObject<?>>> rows;
+
   /**
    * The constructor.
    *
@@ -25,6 +34,66 @@ public class InsertValuesClause<E extends EntityBean> extends ValuesClause<E, In
 
     super();
     this.statement = statement;
+    this.rows = new ArrayList<>();
+  }
+
+  @Override
+  public InsertValuesClause<E> value(PropertyAssignment<?> assignment) {
+
+    if (this.rows.isEmpty()) {
+      return super.value(assignment);
+    }
+    List<CriteriaObject<?>> row = this.rows.get(this.rows.size() - 1);
+    int column = row.size();
+    if ((column >= this.assignments.size())
+        || !this.assignments.get(column).getProperty().equals(assignment.getProperty())) {
+      throw new IllegalArgumentException("Value for " + assignment.getProperty() + " in row " + (this.rows.size() + 1)
+          + " does not match the properties of the first row.");
+    }
+    row.add(assignment.getValue());
+    onModified();
+    return this;
+  }
+
+  /**
+   * Completes the current row and starts the next row. The next row has to assign the same properties in the same
+   * order as the first row.
+   *
+   * @return this {@link InsertValuesClause} for fluent API calls.
+   */
+  public InsertValuesClause<E> row() {
+
+    int columns = this.assignments.size();
+    if (columns == 0) {
+      throw new IllegalStateException("First row is empty.");
+    }
+    if (!this.rows.isEmpty()) {
+      verifyRow(this.rows.get(this.rows.size() - 1));
+    }
+    this.rows.add(new ArrayList<>(columns));
+    onModified();
+    return this;
+  }
+
+  /**
+   * @param row the {@link List} with the values of a row from {@link #getRows()}.
+   * @throws IllegalStateException if the given row is incomplete.
+   */
+  public void verifyRow(List<CriteriaObject<?>> row) {
+
+    if (row.size() != this.assignments.size()) {
+      throw new IllegalStateException(
+          "Row has " + row.size() + " value(s) but expected " + this.assignments.size() + ".");
+    }
+  }
+
+  /**
+   * @return the {@link List} with the rows of values added via {@link #row()} after the first row. Each row contains
+   *         the values in the order of the {@link #getAssignments() assignments}. Empty for a single row insert.
+   */
+  public List<List<CriteriaObject<?>>> getRows() {
+
+    return this.rows;
   }
 
   @Override
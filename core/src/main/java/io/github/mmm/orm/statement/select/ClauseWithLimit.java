@@ -0,0 +1,38 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement.select;
+
+import io.github.mmm.orm.statement.MainDbClause;
+
+/**
+ * {@link MainDbClause} allowing to {@link #limit(int) begin} a {@link LimitClause}-clause.
+ *
+ * @param <R> type of the result of the selection.
+ * @since 1.0.0
+ */
+public interface ClauseWithLimit<R> extends MainDbClause<R> {
+
+  @Override
+  SelectStatement<R> get();
+
+  /**
+   * @param maxRows the maximum number of rows to return.
+   * @return the {@link LimitClause}-clause for fluent API calls.
+   * @see LimitClause#limit(int)
+   */
+  default LimitClause<R> limit(int maxRows) {
+
+    return get().getLimit().limit(maxRows);
+  }
+
+  /**
+   * @param skipRows the number of rows to skip.
+   * @return the {@link LimitClause}-clause for fluent API calls.
+   * @see LimitClause#offset(int)
+   */
+  default LimitClause<R> offset(int skipRows) {
+
+    return get().getLimit().offset(skipRows);
+  }
+
+}
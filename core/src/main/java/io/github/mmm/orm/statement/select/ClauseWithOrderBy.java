@@ -11,7 +11,7 @@ import io.github.mmm.property.criteria.CriteriaOrdering;
  * @param <R> type of the result of the selection.
  * @since 1.0.0
  */
-public interface ClauseWithOrderBy<R> extends MainDbClause<R> {
+public interface ClauseWithOrderBy<R> extends ClauseWithLimit<R> {
 
   @Override
   SelectStatement<R> get();
@@ -0,0 +1,113 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement.select;
+
+import io.github.mmm.orm.statement.AbstractTypedClause;
+import io.github.mmm.orm.statement.DbClause;
+import io.github.mmm.orm.statement.MainDbClause;
+import io.github.mmm.property.criteria.Literal;
+
+/**
+ * A {@link LimitClause}-{@link DbClause} of an SQL {@link SelectStatement} to restrict the number of rows to
+ * {@link #limit(int) return} and to {@link #offset(int) skip} (e.g. for pagination). The actual syntax depends on the
+ * database dialect (e.g. {@code LIMIT ? OFFSET ?}, {@code OFFSET ? ROWS FETCH NEXT ? ROWS ONLY} or {@code TOP (?)}).
+ * The values are kept as {@link Literal}s so they are bound as parameters and the SQL of the statement does not change
+ * from page to page.
+ *
+ * @param <R> type of the result of the selection.
+ * @since 1.0.0
+ */
+public class LimitClause<R> extends AbstractTypedClause<R, LimitClause<R>> implements MainDbClause<R> {
+
+  /** Name of {@link LimitClause} for marshaling. */
+  public static final String NAME_LIMIT = "LIMIT";
+
+  /** Name of the {@link #getOffset() offset} for marshaling. */
+  public static final String NAME_OFFSET = "OFFSET";
+
+  private final SelectStatement<R> statement;
+
+  private Literal<Integer> limit;
+
+  private Literal<Integer> offset;
+
+  /**
+   * The constructor.
+   *
+   * @param statement the owning {@link SelectStatement}.
+   */
+  public LimitClause(SelectStatement<R> statement) {
+
+    super();
+    this.statement = statement;
+  }
+
+  @Override
+  public boolean isOmit() {
+
+    return (this.limit == null) && (this.offset == null);
+  }
+
+  /**
+   * @param maxRows the maximum number of rows to return.
+   * @return this {@link LimitClause}-class itself for fluent API calls.
+   */
+  public LimitClause<R> limit(int maxRows) {
+
+    if (maxRows < 0) {
+      throw new IllegalArgumentException("Invalid limit '" + maxRows + "' - must not be negative.");
+    }
+    this.limit = Literal.of(Integer.valueOf(maxRows));
+    onModified();
+    return this;
+  }
+
+  /**
+   * @param skipRows the number of rows to skip before the first row to return.
+   * @return this {@link LimitClause}-class itself for fluent API calls.
+   */
+  public LimitClause<R> offset(int skipRows) {
+
+    if (skipRows < 0) {
+      throw new IllegalArgumentException("Invalid offset '" + skipRows + "' - must not be negative.");
+    }
+    this.offset = Literal.of(Integer.valueOf(skipRows));
+    onModified();
+    return this;
+  }
+
+  /**
+   * @return the {@link Literal} with the maximum number of rows to return or {@code null} for no limit.
+   */
+  public Literal<Integer> getLimit() {
+
+    return this.limit;
+  }
+
+  /**
+   * @return the {@link Literal} with the number of rows to skip or {@code null} for no offset.
+   */
+  public Literal<Integer> getOffset() {
+
+    return this.offset;
+  }
+
+  /**
+   * @return the maximum number of rows the query can return or {@code 0} for no limit. Can be used as
+   *         {@link java.sql.Statement#setMaxRows(int) max rows} of the JDBC statement.
+   */
+  public int getMaxRows() {
+
+    if (this.limit == null) {
+      return 0;
+    }
+    return this.limit.get().intValue();
+  }
+
+  @Override
+  public SelectStatement<R> get() {
+
+    return this.statement;
+  }
+
+}
@@ -8,7 +8,6 @@ import java.util.Objects;
 
 import io.github.mmm.orm.statement.AbstractTypedClause;
 import io.github.mmm.orm.statement.DbClause;
-import io.github.mmm.orm.statement.MainDbClause;
 import io.github.mmm.property.criteria.CriteriaOrdering;
 
 /**
@@ -17,7 +16,7 @@ import io.github.mmm.property.criteria.CriteriaOrdering;
  * @param <R> type of the result of the selection.
  * @since 1.0.0
  */
-public class OrderByClause<R> extends AbstractTypedClause<R, OrderByClause<R>> implements MainDbClause<R> {
+public class OrderByClause<R> extends AbstractTypedClause<R, OrderByClause<R>> implements ClauseWithLimit<R> {
 
   /** Name of {@link OrderByClause} for marshaling. */
   public static final String NAME_ORDER_BY = "ORDER BY";
@@ -52,6 +51,7 @@ public class OrderByClause<R> extends AbstractTypedClause<R, OrderByClause<R>> i
 
     Objects.requireNonNull(ordering);
     this.orderings.add(ordering);
+    onModified();
     return this;
   }
 
@@ -64,6 +64,7 @@ public class OrderByClause<R> extends AbstractTypedClause<R, OrderByClause<R>> i
     for (CriteriaOrdering ordering : criteriaOrderings) {
       and(ordering);
     }
+    onModified();
     return this;
   }
 
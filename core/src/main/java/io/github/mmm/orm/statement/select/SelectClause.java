@@ -177,6 +177,7 @@ public abstract class SelectClause<R> extends AbstractDbClause implements Incomp
   public SelectClause<R> distinct() {
 
     this.distinct = true;
+    onModified();
     return this;
   }
 
@@ -193,6 +194,7 @@ public abstract class SelectClause<R> extends AbstractDbClause implements Incomp
   protected SelectClause<R> and(CriteriaExpression<?> expression) {
 
     add(expression);
+    onModified();
     return this;
   }
 
@@ -205,6 +207,7 @@ public abstract class SelectClause<R> extends AbstractDbClause implements Incomp
     for (CriteriaExpression<?> aggregation : expressions) {
       add(aggregation);
     }
+    onModified();
     return this;
   }
 
@@ -215,6 +218,7 @@ public abstract class SelectClause<R> extends AbstractDbClause implements Incomp
   protected SelectClause<R> and(PropertyPath<?> property) {
 
     add(property);
+    onModified();
     return this;
   }
 
@@ -227,6 +231,7 @@ public abstract class SelectClause<R> extends AbstractDbClause implements Incomp
     for (PropertyPath<?> property : properties) {
       add(property);
     }
+    onModified();
     return this;
   }
 
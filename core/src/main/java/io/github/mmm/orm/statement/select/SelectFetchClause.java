@@ -0,0 +1,44 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement.select;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.property.link.LinkProperty;
+import io.github.mmm.orm.statement.AliasMap;
+import io.github.mmm.orm.statement.EntitySubClause;
+
+/**
+ * An {@link EntitySubClause} for an entity that is {@link SelectFromClause#fetch(LinkProperty) fetched} together with
+ * the {@link SelectFromClause#getEntity() primary entity} via {@code LEFT JOIN} on its {@link #getLink() link}.
+ *
+ * @param <R> type of the result of the selection.
+ * @param <E> type of the fetched {@link #getEntity() entity}.
+ * @since 1.0.0
+ */
+public class SelectFetchClause<R, E extends EntityBean> extends EntitySubClause<R, E> {
+
+  private final LinkProperty<E> link;
+
+  /**
+   * The constructor.
+   *
+   * @param aliasMap the {@link AliasMap}.
+   * @param entity the {@link #getEntity() entity} to fetch.
+   * @param link the {@link #getLink() link}.
+   */
+  public SelectFetchClause(AliasMap aliasMap, E entity, LinkProperty<E> link) {
+
+    super(aliasMap, entity);
+    this.link = link;
+  }
+
+  /**
+   * @return the {@link LinkProperty} of the {@link SelectFromClause#getEntity() primary entity} pointing to the
+   *         fetched {@link #getEntity() entity}.
+   */
+  public LinkProperty<E> getLink() {
+
+    return this.link;
+  }
+
+}
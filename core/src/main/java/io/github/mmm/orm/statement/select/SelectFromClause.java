@@ -2,7 +2,12 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.statement.select;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.bean.BeanFactory;
 import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.property.link.LinkProperty;
 import io.github.mmm.orm.statement.AliasMap;
 import io.github.mmm.orm.statement.FromClause;
 import io.github.mmm.property.criteria.CriteriaPredicate;
@@ -19,6 +24,8 @@ public class SelectFromClause<R, E extends EntityBean> extends FromClause<R, E,
 
   private final SelectStatement<R> statement;
 
+  private final List<SelectFetchClause<R, ?>> fetches;
+
   /**
    * The constructor.
    *
@@ -42,6 +49,35 @@ public class SelectFromClause<R, E extends EntityBean> extends FromClause<R, E,
     super(new AliasMap(), entity, entityName);
     this.statement = new SelectStatement<>(select, this);
     select.statement = this.statement;
+    this.fetches = new ArrayList<>();
+  }
+
+  /**
+   * Fetches the entity referenced by the given {@link LinkProperty} together with the {@link #getEntity() primary
+   * entity} in the same query (via {@code LEFT JOIN}) so resolving the link does not require an additional query.
+   *
+   * @param <T> type of the linked {@link EntityBean}.
+   * @param link the {@link LinkProperty} of the {@link #getEntity() primary entity} to fetch.
+   * @return this {@link SelectFromClause} for fluent API calls.
+   */
+  public <T extends EntityBean> SelectFromClause<R, E> fetch(LinkProperty<T> link) {
+
+    E entity = getEntity();
+    if ((entity == null) || (entity.getProperty(link.getName()) != link)) {
+      throw new IllegalArgumentException("Can only fetch link of primary entity but got " + link.getName());
+    }
+    T target = BeanFactory.get().create(link.getEntityClass());
+    this.fetches.add(new SelectFetchClause<>(getAliasMap(), target, link));
+    onModified();
+    return this;
+  }
+
+  /**
+   * @return the {@link List} of {@link SelectFetchClause}s for the {@link #fetch(LinkProperty) fetched} links.
+   */
+  public List<SelectFetchClause<R, ?>> getFetches() {
+
+    return this.fetches;
   }
 
   @Override
@@ -115,6 +115,7 @@ public final class SelectProjectionClause<R extends WritableBean> extends Select
 
     Objects.requireNonNull(projectionProperty, "projectionProperty");
     add(projectionProperty);
+    onModified();
     return this;
   }
 
@@ -127,6 +128,7 @@ public final class SelectProjectionClause<R extends WritableBean> extends Select
     for (ProjectionProperty<?> property : projectionProperties) {
       add(property);
     }
+    onModified();
     return this;
   }
 
@@ -134,6 +136,7 @@ public final class SelectProjectionClause<R extends WritableBean> extends Select
   public SelectProjectionClause<R> distinct() {
 
     super.distinct();
+    onModified();
     return this;
   }
 
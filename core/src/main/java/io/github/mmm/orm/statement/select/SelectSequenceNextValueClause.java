@@ -5,6 +5,7 @@ package io.github.mmm.orm.statement.select;
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.criteria.SequenceNextValue;
 import io.github.mmm.orm.metadata.DbQualifiedName;
+import io.github.mmm.property.criteria.Literal;
 
 /**
  * {@link SelectClause} to get the next value of a database sequence.
@@ -15,6 +16,8 @@ public class SelectSequenceNextValueClause extends SelectClause<Long> {
 
   private final SequenceNextValue selection;
 
+  private final Literal<Integer> count;
+
   /**
    * The constructor.
    *
@@ -22,8 +25,25 @@ public class SelectSequenceNextValueClause extends SelectClause<Long> {
    */
   public SelectSequenceNextValueClause(DbQualifiedName sequenceName) {
 
+    this(sequenceName, null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param sequenceName the {@link #getSequenceName() sequence name}.
+   * @param count the {@link #getCount() number of values} to select.
+   */
+  public SelectSequenceNextValueClause(DbQualifiedName sequenceName, int count) {
+
+    this(sequenceName, toCount(count));
+  }
+
+  private SelectSequenceNextValueClause(DbQualifiedName sequenceName, Literal<Integer> count) {
+
     super(null);
     this.selection = new SequenceNextValue(sequenceName);
+    this.count = count;
     setResultName(VALUE_RESULT_SEQ_NEXT_VAL);
     add(this.selection);
     this.statement = new SelectStatement<>(this, null);
@@ -45,6 +65,34 @@ public class SelectSequenceNextValueClause extends SelectClause<Long> {
     return this.selection.getSequenceName();
   }
 
+  private static Literal<Integer> toCount(int count) {
+
+    if (count < 1) {
+      throw new IllegalArgumentException("Invalid count '" + count + "' - must be positive.");
+    }
+    return Literal.of(Integer.valueOf(count));
+  }
+
+  /**
+   * @return the {@link Literal} with the number of values to select if {@link #isRange() range} or {@code null} to
+   *         select a single next value. It is bound as JDBC parameter so the SQL does not change with the number of
+   *         values.
+   */
+  public Literal<Integer> getCount() {
+
+    return this.count;
+  }
+
+  /**
+   * @return {@code true} to select multiple next values of the sequence in a single statement (one row per value)
+   *         where the number of values is given by {@link #getCount()}, {@code false} otherwise (to select a single
+   *         next value).
+   */
+  public boolean isRange() {
+
+    return (this.count != null);
+  }
+
   @Override
   public <E extends EntityBean> SelectFromClause<Long, E> from(E entity) {
 
@@ -67,6 +115,6 @@ public class SelectSequenceNextValueClause extends SelectClause<Long> {
   @Override
   public boolean isSelectSingle() {
 
-    return true;
+    return (this.count == null);
   }
 }
@@ -46,6 +46,7 @@ public class SelectSingleClause<R> extends SelectClause<R> {
   public SelectSingleClause<R> distinct() {
 
     super.distinct();
+    onModified();
     return this;
   }
 
@@ -32,6 +32,8 @@ public class SelectStatement<R> extends AbstractDbStatement<R> {
 
   private final OrderByClause<R> orderBy;
 
+  private final LimitClause<R> limit;
+
   /**
    * The constructor.
    *
@@ -47,6 +49,7 @@ public class SelectStatement<R> extends AbstractDbStatement<R> {
     this.groupBy = new GroupByClause<>(this);
     this.having = new HavingClause<>(this);
     this.orderBy = new OrderByClause<>(this);
+    this.limit = new LimitClause<>(this);
   }
 
   /**
@@ -107,6 +110,14 @@ public class SelectStatement<R> extends AbstractDbStatement<R> {
     return this.orderBy;
   }
 
+  /**
+   * @return the {@link LimitClause}-{@link DbClause}.
+   */
+  public LimitClause<R> getLimit() {
+
+    return this.limit;
+  }
+
   @Override
   protected void addClauses(Consumer<AbstractDbClause> consumer) {
 
@@ -116,6 +127,7 @@ public class SelectStatement<R> extends AbstractDbStatement<R> {
     consumer.accept(this.groupBy);
     consumer.accept(this.having);
     consumer.accept(this.orderBy);
+    consumer.accept(this.limit);
   }
 
   @Override
@@ -0,0 +1,72 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.tx;
+
+import io.github.mmm.orm.source.DbSource;
+
+/**
+ * Enum with the modes how entities are handled within a transaction. Can be configured for a {@link DbSource} via
+ * {@link DbSource#KEY_ENTITY_MODE} or for a single transaction via
+ * {@link DbTransactionExecutor#doInTx(DbEntityMode, java.util.concurrent.Callable)}.
+ *
+ * @since 1.0.0
+ */
+public enum DbEntityMode {
+
+  /**
+   * Entities are managed in the session (first-level cache) so modifications are detected and only changed columns
+   * are updated (default).
+   */
+  MANAGED("managed"),
+
+  /**
+   * Entities are handed out as immutable read-only beans without registering them in the session. Inserts and updates
+   * are rejected and the JDBC connection is {@link java.sql.Connection#setReadOnly(boolean) marked as read-only}.
+   */
+  READ_ONLY("read_only"),
+
+  /**
+   * Entities are neither registered in the session nor tracked. Selected entities are plain mutable beans and updates
+   * are sent straight to the database updating all columns (still using the revision for optimistic locking).
+   */
+  STATELESS("stateless");
+
+  private final String value;
+
+  private DbEntityMode(String value) {
+
+    this.value = value;
+  }
+
+  /**
+   * @return the value for {@link DbSource#KEY_ENTITY_MODE}.
+   */
+  public String getValue() {
+
+    return this.value;
+  }
+
+  @Override
+  public String toString() {
+
+    return this.value;
+  }
+
+  /**
+   * @param value the {@link #getValue() value} of the requested {@link DbEntityMode}. May be {@code null}.
+   * @return the according {@link DbEntityMode}. Will be {@link #MANAGED} if {@code value} is {@code null}.
+   */
+  public static DbEntityMode of(String value) {
+
+    if (value == null) {
+      return MANAGED;
+    }
+    for (DbEntityMode mode : values()) {
+      if (mode.value.equals(value)) {
+        return mode;
+      }
+    }
+    throw new IllegalArgumentException("Unknown entity mode '" + value + "'.");
+  }
+
+}
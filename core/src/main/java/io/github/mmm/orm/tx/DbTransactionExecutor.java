@@ -60,6 +60,19 @@ public interface DbTransactionExecutor {
    */
   <R> R doInTx(Callable<R> task);
 
+  /**
+   * Executes a {@link Callable} task in a transaction with a specific {@link DbEntityMode} and returns the result of
+   * it. E.g. use {@link DbEntityMode#READ_ONLY} for tasks that only read data to avoid the overhead of managing the
+   * entities in the session.
+   *
+   * @param <R> type of the result.
+   * @param mode the {@link DbEntityMode} for the transaction overriding the
+   *        {@link DbSource#KEY_ENTITY_MODE configured default}.
+   * @param task the {@link Callable} to execute in a transaction.
+   * @return the result of {@link Callable#call()}.
+   */
+  <R> R doInTx(DbEntityMode mode, Callable<R> task);
+
   /**
    * @return the {@link DbTransaction} or {@code null} if no transaction is currently active for this executor.
    */
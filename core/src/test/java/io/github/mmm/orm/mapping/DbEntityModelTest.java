@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.mapping;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkId;
+import io.github.mmm.orm.statement.Person;
+import io.github.mmm.orm.statement.SqlDialect;
+
+/**
+ * Test of {@link DbEntityModel}.
+ */
+class DbEntityModelTest extends Assertions {
+
+  /** Test of {@link DbEntityModel} for {@link Person}. */
+  @Test
+  void testPerson() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    // act
+    DbEntityModel<Person> model = dialect.getEntityModel(Person.of());
+    // assert
+    assertThat(model.getTableName()).isEqualTo("PERSON");
+    assertThat(model.getIdColumn()).isEqualTo("ID");
+    assertThat(model.getRevisionColumn()).isEqualTo("REV");
+    assertThat(model.getColumnNames()).containsExactly("AGE", "BIRTHDAY", "ID", "REV", "NAME", "SINGLE");
+    assertThat(model.getSelectByIdSql())
+        .isEqualTo("SELECT AGE, BIRTHDAY, ID, REV, NAME, SINGLE FROM PERSON WHERE ID = ?");
+    assertThat(model.getDeleteByIdSql()).isEqualTo("DELETE FROM PERSON WHERE ID = ?");
+    assertThat(dialect.getEntityModel(Person.of())).isSameAs(model);
+  }
+
+  /** Test of {@link DbEntityModel#selectAllById(List)} and {@link DbEntityModel#deleteAllById(List)}. */
+  @Test
+  void testByIds() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    DbEntityModel<Person> model = dialect.getEntityModel(Person.of());
+    Id<Person> id1 = PkId.of(Person.class, 1L);
+    Id<Person> id2 = PkId.of(Person.class, 2L);
+    Id<Person> id3 = PkId.of(Person.class, 3L);
+    // act
+    String select2 = model.selectAllById(List.of(id1, id2)).getStatement();
+    String select3 = model.selectAllById(List.of(id1, id2, id3)).getStatement();
+    String delete1 = model.deleteAllById(List.of(id1)).getStatement();
+    // assert
+    assertThat(model.getIdChunkSize()).isEqualTo(1024);
+    assertThat(select2)
+        .isEqualTo("SELECT AGE, BIRTHDAY, ID, REV, NAME, SINGLE FROM PERSON WHERE ID IN (?, ?, ?, ?)");
+    assertThat(select3).isSameAs(select2);
+    assertThat(delete1).isEqualTo("DELETE FROM PERSON WHERE ID IN (?)");
+    assertThatThrownBy(() -> model.selectAllById(List.of())).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
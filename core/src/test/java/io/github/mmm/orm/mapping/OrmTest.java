@@ -66,6 +66,27 @@ class OrmTest {
     assertThat(city.isEqual(city2)).isTrue();
   }
 
+  /** Test that the {@link DbBeanMapper} of an entity is cached and independent of the given instance. */
+  @Test
+  void testBeanMapperCached() {
+
+    // arrange
+    OrmImpl orm = (OrmImpl) createOrm();
+    City city = City.of();
+    city.Name().set("Frankfurt");
+
+    // act
+    DbBeanMapper<City> mapping1 = orm.createBeanMapper(city);
+    DbBeanMapper<City> mapping2 = orm.createBeanMapper(City.of());
+    orm.clearCache();
+    DbBeanMapper<City> mapping3 = orm.createBeanMapper(city);
+
+    // assert
+    assertThat(mapping2).isSameAs(mapping1);
+    assertThat(mapping3).isNotSameAs(mapping1);
+    assertThat(orm.withNamingStrategy(DbNamingStrategy.of()).createBeanMapper(city)).isNotSameAs(mapping3);
+  }
+
   private void checkCell(Iterator<DbResultValue<?>> dbValueIterator, String dbName, Object value, String declaration) {
 
     assertThat(dbValueIterator).hasNext();
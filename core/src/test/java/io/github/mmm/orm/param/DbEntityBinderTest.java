@@ -0,0 +1,100 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.id.PkId;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.statement.Person;
+import io.github.mmm.orm.statement.SqlDialect;
+
+/**
+ * Test of {@link DbEntityBinder}.
+ */
+class DbEntityBinderTest extends Assertions {
+
+  /** Test that the INSERT SQL contains all columns independent of the values of the entity. */
+  @Test
+  void testSqlWithAllColumns() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    Person p = Person.of();
+    p.Name().set("John Doe");
+    // act
+    DbEntityBinder<Person> binder = dialect.getEntityBinder(p);
+    // assert
+    assertThat(binder.getSql())
+        .isEqualTo("INSERT INTO PERSON(AGE, BIRTHDAY, ID, REV, NAME, SINGLE) VALUES (?, ?, ?, ?, ?, ?)");
+    assertThat(binder.getParameterCount()).isEqualTo(6);
+    assertThat(binder.getColumnNames()).containsExactly("AGE", "BIRTHDAY", "ID", "REV", "NAME", "SINGLE");
+    assertThat(binder.getInsertReturning()).isSameAs(DbInsertReturning.GENERATED_KEYS);
+    assertThat(binder.getReturningSql()).isEqualTo(binder.getSql());
+    assertThat(dialect.getEntityBinder(Person.of())).isSameAs(binder);
+  }
+
+  /** Test of {@link DbEntityBinder#getSql(int)} for multiple VALUES rows. */
+  @Test
+  void testMultiRowSql() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    // act
+    DbEntityBinder<Person> binder = dialect.getEntityBinder(Person.of());
+    // assert
+    assertThat(binder.getSql(1)).isSameAs(binder.getSql());
+    assertThat(binder.getSql(3)).isEqualTo("INSERT INTO PERSON(AGE, BIRTHDAY, ID, REV, NAME, SINGLE) VALUES "
+        + "(?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?), (?, ?, ?, ?, ?, ?)");
+  }
+
+  /** Test that {@link DbEntityBinder#getTemplate(io.github.mmm.entity.bean.EntityBean)} omits null columns. */
+  @Test
+  void testTemplateWithoutNullColumns() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    Person p = Person.of();
+    p.Id().set(new RevisionedIdVersion<>(PkId.of(Person.class, 4711L), 1L));
+    p.Name().set("John Doe");
+    DbEntityBinder<Person> binder = dialect.getEntityBinder(p);
+    // act
+    DbEntityBinder<Person>.Template template = binder.getTemplate(p);
+    // assert
+    assertThat(template.getSql()).isEqualTo("INSERT INTO PERSON(ID, REV, NAME) VALUES (?, ?, ?)");
+    assertThat(template.getSql(2)).isEqualTo("INSERT INTO PERSON(ID, REV, NAME) VALUES (?, ?, ?), (?, ?, ?)");
+    assertThat(template.getParameterCount()).isEqualTo(3);
+    assertThat(binder.getTemplate(p)).isSameAs(template);
+    p.Age().set(42);
+    assertThat(binder.getTemplate(p).getSql()).isEqualTo("INSERT INTO PERSON(AGE, ID, REV, NAME) VALUES (?, ?, ?, ?)");
+  }
+
+  /** Test that {@link DbEntityBinder#getReturningTemplate(io.github.mmm.entity.bean.EntityBean)} omits null columns. */
+  @Test
+  void testReturningTemplateWithoutNullColumns() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect() {
+      @Override
+      public DbInsertReturning getInsertReturning() {
+
+        return DbInsertReturning.RETURNING;
+      }
+    };
+    Person p = Person.of();
+    p.Id().set(new RevisionedIdVersion<>(PkId.of(Person.class, 4711L), 1L));
+    p.Name().set("John Doe");
+    DbEntityBinder<Person> binder = dialect.getEntityBinder(p);
+    // act
+    DbEntityBinder<Person>.Template template = binder.getReturningTemplate(p);
+    // assert
+    assertThat(template.getSql()).isEqualTo(
+        "INSERT INTO PERSON(ID, REV, NAME) VALUES (?, ?, ?) RETURNING AGE, BIRTHDAY, ID, REV, NAME, SINGLE");
+    assertThat(binder.getReturningSql()).isEqualTo(binder.getSql() + " RETURNING AGE, BIRTHDAY, ID, REV, NAME, SINGLE");
+    assertThat(binder.getReturningTemplate(p)).isSameAs(template);
+    assertThat(binder.getTemplateCount()).isEqualTo(2);
+  }
+
+}
@@ -0,0 +1,63 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import java.util.BitSet;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.orm.mapping.DbEntityModel;
+import io.github.mmm.orm.statement.Person;
+import io.github.mmm.orm.statement.SqlDialect;
+
+/**
+ * Test of {@link DbEntityUpdateBinder}.
+ */
+class DbEntityUpdateBinderTest extends Assertions {
+
+  /** Test that only the modified columns are updated and templates are reused for the same set of columns. */
+  @Test
+  void testDirtyColumns() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    DbEntityUpdateBinder<Person> binder = dialect.getEntityModel(Person.of()).getUpdateBinder();
+    Person managed = Person.of();
+    managed.Name().set("John Doe");
+    managed.Age().set(42);
+    Person entity = Person.of();
+    entity.Name().set("Joe Doe");
+    entity.Age().set(42);
+    // act
+    BitSet dirty = binder.getDirtyProperties(entity, managed);
+    DbEntityUpdateBinder<Person>.Template template = binder.getTemplate(dirty);
+    // assert
+    assertThat(binder.getProperties()).containsExactly("Age", "Birthday", "Name", "Single");
+    assertThat(dirty.cardinality()).isEqualTo(1);
+    assertThat(dirty.get(2)).isTrue();
+    assertThat(template.getSql()).isEqualTo("UPDATE PERSON SET REV = ?, NAME = ? WHERE ID = ? AND REV = ?");
+    assertThat(binder.getTemplate(binder.getDirtyProperties(entity, managed))).isSameAs(template);
+    assertThat(binder.getTemplate(new BitSet()).getSql())
+        .isEqualTo("UPDATE PERSON SET REV = ? WHERE ID = ? AND REV = ?");
+  }
+
+  /** Test that the full-row template updates all columns except the primary key. */
+  @Test
+  void testFullRow() {
+
+    // arrange
+    SqlDialect dialect = new SqlDialect();
+    DbEntityModel<Person> model = dialect.getEntityModel(Person.of());
+    DbEntityUpdateBinder<Person> binder = model.getUpdateBinder();
+    BitSet all = new BitSet();
+    all.set(0, binder.getProperties().size());
+    // act
+    DbEntityUpdateBinder<Person>.Template template = binder.getFullRowTemplate();
+    // assert
+    assertThat(template.getSql()).isEqualTo(
+        "UPDATE PERSON SET AGE = ?, BIRTHDAY = ?, REV = ?, NAME = ?, SINGLE = ? WHERE ID = ? AND REV = ?");
+    assertThat(binder.getTemplate(all)).isSameAs(template);
+  }
+
+}
@@ -0,0 +1,82 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.param;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.orm.dialect.DbUpsert;
+import io.github.mmm.orm.statement.Person;
+import io.github.mmm.orm.statement.SqlDialect;
+
+/**
+ * Test of {@link DbEntityUpsertBinder}.
+ */
+class DbEntityUpsertBinderTest extends Assertions {
+
+  private static final String INSERT = "INSERT INTO PERSON(AGE, BIRTHDAY, ID, REV, NAME, SINGLE) "
+      + "VALUES (?, ?, ?, ?, ?, ?)";
+
+  private static DbEntityUpsertBinder<Person> getUpsertBinder(DbUpsert upsert) {
+
+    SqlDialect dialect = new SqlDialect() {
+      @Override
+      public DbUpsert getUpsert() {
+
+        return upsert;
+      }
+    };
+    return dialect.getEntityModel(Person.of()).getUpsertBinder();
+  }
+
+  /** Test that no binder is created if the dialect does not support upsert. */
+  @Test
+  void testNone() {
+
+    assertThat(getUpsertBinder(DbUpsert.NONE)).isNull();
+  }
+
+  /** Test of {@link DbUpsert#ON_CONFLICT}. */
+  @Test
+  void testOnConflict() {
+
+    // arrange
+    DbEntityUpsertBinder<Person> binder = getUpsertBinder(DbUpsert.ON_CONFLICT);
+    // act + assert
+    assertThat(binder.getTemplate(false).getSql()).isEqualTo(INSERT + " ON CONFLICT (ID) DO UPDATE SET "
+        + "AGE = EXCLUDED.AGE, BIRTHDAY = EXCLUDED.BIRTHDAY, REV = EXCLUDED.REV, NAME = EXCLUDED.NAME, "
+        + "SINGLE = EXCLUDED.SINGLE");
+    assertThat(binder.getTemplate(true).getSql()).isEqualTo(INSERT + " ON CONFLICT (ID) DO UPDATE SET "
+        + "AGE = EXCLUDED.AGE, BIRTHDAY = EXCLUDED.BIRTHDAY, REV = EXCLUDED.REV, NAME = EXCLUDED.NAME, "
+        + "SINGLE = EXCLUDED.SINGLE WHERE PERSON.REV = ?");
+  }
+
+  /** Test of {@link DbUpsert#ON_DUPLICATE_KEY}. */
+  @Test
+  void testOnDuplicateKey() {
+
+    // arrange
+    DbEntityUpsertBinder<Person> binder = getUpsertBinder(DbUpsert.ON_DUPLICATE_KEY);
+    // act + assert
+    assertThat(binder.getTemplate(false).getSql()).isEqualTo(INSERT + " AS new ON DUPLICATE KEY UPDATE "
+        + "AGE = new.AGE, BIRTHDAY = new.BIRTHDAY, REV = new.REV, NAME = new.NAME, SINGLE = new.SINGLE");
+    // revision conflicts can not be detected so the revision has to be verified explicitly
+    assertThat(binder.getTemplate(true)).isNull();
+  }
+
+  /** Test of {@link DbUpsert#MERGE}. */
+  @Test
+  void testMerge() {
+
+    // arrange
+    DbEntityUpsertBinder<Person> binder = getUpsertBinder(DbUpsert.MERGE);
+    // act + assert
+    assertThat(binder.getTemplate(true).getSql()).isEqualTo("MERGE INTO PERSON t USING "
+        + "(VALUES (?, ?, ?, ?, ?, ?)) s(AGE, BIRTHDAY, ID, REV, NAME, SINGLE) ON (t.ID = s.ID) "
+        + "WHEN MATCHED AND t.REV = ? THEN UPDATE SET AGE = s.AGE, BIRTHDAY = s.BIRTHDAY, REV = s.REV, "
+        + "NAME = s.NAME, SINGLE = s.SINGLE WHEN NOT MATCHED THEN INSERT (AGE, BIRTHDAY, ID, REV, NAME, SINGLE) "
+        + "VALUES (s.AGE, s.BIRTHDAY, s.ID, s.REV, s.NAME, s.SINGLE)");
+    assertThat(binder.getTemplate(false).getSql()).doesNotContain("WHEN MATCHED AND");
+  }
+
+}
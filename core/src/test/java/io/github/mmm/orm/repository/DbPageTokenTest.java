@@ -0,0 +1,46 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link DbPageToken}.
+ */
+class DbPageTokenTest extends Assertions {
+
+  /** Test that {@link DbPageToken#toString()} and {@link DbPageToken#of(String)} round trip values with their types. */
+  @Test
+  void testRoundTrip() {
+
+    // arrange
+    List<Object> values = List.of("Doe.John/ü", Long.valueOf(4711), Integer.valueOf(42), new BigDecimal("1.50"),
+        Boolean.TRUE, UUID.randomUUID(), Instant.parse("2024-01-31T23:59:59.123Z"), LocalDate.of(1999, 12, 31));
+    DbPageToken token = new DbPageToken(values);
+    // act
+    String string = token.toString();
+    DbPageToken parsed = DbPageToken.of(string);
+    // assert
+    assertThat(string).matches("[A-Za-z0-9_.-]+");
+    assertThat(parsed).isEqualTo(token);
+    assertThat(parsed.getValues()).containsExactlyElementsOf(values);
+    assertThat(DbPageToken.of(null)).isNull();
+    assertThat(DbPageToken.of("")).isNull();
+  }
+
+  /** Test that unsupported values are rejected. */
+  @Test
+  void testInvalid() {
+
+    assertThatThrownBy(() -> new DbPageToken(List.of(new Object()))).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DbPageToken.of("eA")).isInstanceOf(IllegalArgumentException.class);
+  }
+
+}
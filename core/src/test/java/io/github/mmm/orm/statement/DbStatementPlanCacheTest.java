@@ -0,0 +1,140 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.statement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.id.PkId;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+import io.github.mmm.orm.param.CriteriaParameterImpl;
+import io.github.mmm.orm.statement.insert.InsertClause;
+import io.github.mmm.orm.statement.insert.InsertStatement;
+import io.github.mmm.orm.statement.select.SelectStatement;
+
+/**
+ * Test of {@link DbStatementPlanCache}.
+ */
+class DbStatementPlanCacheTest extends Assertions {
+
+  /** Test that formatting the same {@link SelectStatement} instance again reuses the formatted statement. */
+  @Test
+  void testSelectSameInstance() {
+
+    // arrange
+    DbStatementPlanCache cache = new DbStatementPlanCache(new SqlDialect());
+    Person p = Person.of();
+    SelectStatement<Person> statement = DbStatement.select(p).as("p").where(p.Age().ge(18), p.Name().like("John*"))
+        .get();
+    // act
+    DbPlainStatement plain1 = cache.format(statement);
+    DbPlainStatement plain2 = cache.format(statement);
+    // assert
+    assertThat(cache.getMissCount()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(plain2).isSameAs(plain1);
+    assertThat(getValues(plain2)).containsExactly(18, "John%");
+  }
+
+  /** Test that a new {@link DbStatement} instance is formatted with its own parameters. */
+  @Test
+  void testSelectNewInstance() {
+
+    // arrange
+    DbStatementPlanCache cache = new DbStatementPlanCache(new SqlDialect());
+    Person p = Person.of();
+    // act
+    DbPlainStatement plain1 = cache
+        .format(DbStatement.select(p).as("p").where(p.Age().ge(18), p.Name().like("John*")).get());
+    DbPlainStatement plain2 = cache
+        .format(DbStatement.select(p).as("p").where(p.Age().ge(21), p.Name().like("Jane*")).get());
+    // assert
+    assertThat(cache.getMissCount()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(plain2.getStatement()).isEqualTo(plain1.getStatement());
+    assertThat(getValues(plain1)).containsExactly(18, "John%");
+    assertThat(getValues(plain2)).containsExactly(21, "Jane%");
+  }
+
+  /** Test that modifying a {@link DbStatement} after it has been formatted discards the cached plan. */
+  @Test
+  void testModifiedAfterFormat() {
+
+    // arrange
+    DbStatementPlanCache cache = new DbStatementPlanCache(new SqlDialect());
+    Person p = Person.of();
+    SelectStatement<Person> statement = DbStatement.select(p).as("p").where(p.Age().ge(18)).get();
+    DbPlainStatement plain1 = cache.format(statement);
+    // act
+    statement.getWhere().and(p.Name().like("John*"));
+    DbPlainStatement plain2 = cache.format(statement);
+    statement.getLimit().limit(10);
+    DbPlainStatement plain3 = cache.format(statement);
+    DbPlainStatement plain4 = cache.format(statement);
+    // assert
+    assertThat(cache.getMissCount()).isEqualTo(3);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(plain2.getStatement()).isNotEqualTo(plain1.getStatement());
+    assertThat(getValues(plain1)).containsExactly(18);
+    assertThat(getValues(plain2)).containsExactly(18, "John%");
+    assertThat(plain3.getStatement()).isNotEqualTo(plain2.getStatement());
+    assertThat(plain4).isSameAs(plain3);
+  }
+
+  /** Test that a {@link DbStatement} formatted for one dialect is formatted again for another dialect. */
+  @Test
+  void testOtherDialect() {
+
+    // arrange
+    DbStatementPlanCache cache1 = new DbStatementPlanCache(new SqlDialect());
+    DbStatementPlanCache cache2 = new DbStatementPlanCache(new SqlDialect());
+    Person p = Person.of();
+    SelectStatement<Person> statement = DbStatement.select(p).as("p").where(p.Age().ge(18)).get();
+    // act
+    DbPlainStatement plain1 = cache1.format(statement);
+    DbPlainStatement plain2 = cache2.format(statement);
+    DbPlainStatement plain3 = cache2.format(statement);
+    // assert
+    assertThat(plain2).isNotSameAs(plain1);
+    assertThat(plain3).isSameAs(plain2);
+    assertThat(cache1.getMissCount()).isEqualTo(1);
+    assertThat(cache2.getMissCount()).isEqualTo(1);
+    assertThat(cache2.getHitCount()).isEqualTo(1);
+  }
+
+  /** Test that an {@link io.github.mmm.orm.statement.insert.InsertStatement} with a decomposed ID is cached. */
+  @Test
+  void testInsertWithMappedId() {
+
+    // arrange
+    DbStatementPlanCache cache = new DbStatementPlanCache(new SqlDialect());
+    Person p = Person.of();
+    p.Name().set("John Doe");
+    p.Single().setValue(true);
+    p.Id().set(new RevisionedIdVersion<>(PkId.of(Person.class, 4711L), 1L));
+    InsertStatement<Person> statement = new InsertClause().into(p).valuesAll().get();
+    DbPlainStatement plain1 = cache.format(statement);
+    // values are captured when the statement is built
+    p.Name().set("Jane Doe");
+    // act
+    DbPlainStatement plain2 = cache.format(statement);
+    // assert
+    assertThat(plain1.getStatement()).isEqualTo("INSERT INTO PERSON(ID, REV, NAME, SINGLE) VALUES (?, ?, ?, ?)");
+    assertThat(plain2).isSameAs(plain1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(getValues(plain2)).containsExactly(4711L, 1L, "John Doe", Boolean.TRUE);
+  }
+
+  private static List<Object> getValues(DbPlainStatement plainStatement) {
+
+    List<Object> values = new ArrayList<>();
+    for (Object param : plainStatement.getParameters()) {
+      values.add(((CriteriaParameterImpl<?>) param).getValue());
+    }
+    return values;
+  }
+
+}
@@ -25,6 +25,23 @@ class InsertTest extends DbStatementTest {
     check(insertStatement, "INSERT INTO Person(Name, Single) VALUES ('John Doe', TRUE)", true);
   }
 
+  /** Test {@link InsertValuesClause#row()} to insert multiple rows with a single statement. */
+  @Test
+  void testInsertMultipleRows() {
+
+    // arrange
+    Person p = Person.of();
+    // act
+    InsertStatement<Person> insertStatement = new InsertClause().into(p).value(p.Name(), "John Doe")
+        .value(p.Single(), true).row().value(p.Name(), "Jane Doe").value(p.Single(), false).get();
+    // assert
+    check(insertStatement, "INSERT INTO Person(Name, Single) VALUES ('John Doe', TRUE), ('Jane Doe', FALSE)", true);
+    check(insertStatement, "INSERT INTO Person(Name, Single) VALUES ('John Doe', TRUE), ('Jane Doe', FALSE)",
+        "INSERT INTO PERSON(NAME, SINGLE) VALUES (?, ?), (?, ?)");
+    assertThatThrownBy(() -> insertStatement.getValues().row().value(p.Single(), true))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   /** Test {@link InsertClause} with simple literal values. */
   @Test
   void testInsertAllValues() {
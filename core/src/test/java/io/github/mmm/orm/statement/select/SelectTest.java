@@ -4,7 +4,10 @@ package io.github.mmm.orm.statement.select;
 
 import org.junit.jupiter.api.Test;
 
+import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.mapping.DbEntityModel;
 import io.github.mmm.orm.metadata.DbName;
+import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.param.CriteriaParametersNamed;
 import io.github.mmm.orm.statement.BasicDbStatementFormatter;
 import io.github.mmm.orm.statement.BasicDbStatementFormatterUseAsBeforeAlias;
@@ -15,6 +18,7 @@ import io.github.mmm.orm.statement.DbStatementTest;
 import io.github.mmm.orm.statement.Person;
 import io.github.mmm.orm.statement.Result;
 import io.github.mmm.orm.statement.Song;
+import io.github.mmm.orm.statement.SqlDialect;
 import io.github.mmm.orm.test.TestDialect;
 import io.github.mmm.property.criteria.CriteriaAggregation;
 
@@ -96,6 +100,47 @@ class SelectTest extends DbStatementTest {
         true);
   }
 
+  /** Test of {@link LimitClause} with pseudo-SQL, parsing and SQL of dialect. */
+  @Test
+  void testSelectLimitOffset() {
+
+    // arrange
+    Person p = Person.of();
+    // act
+    SelectStatement<Person> query = DbStatement.select(p).as("p").where(p.Age().ge(18)).orderBy(p.Name().asc())
+        .limit(10).offset(20).get();
+    DbDialectStatementFormatter formatter = new SqlDialect().createFormatter();
+    formatter.formatStatement(query);
+    // assert
+    check(query, "SELECT p FROM Person p WHERE p.Age >= 18 ORDER BY p.Name ASC LIMIT 10 OFFSET 20", true);
+    assertThat(query.getLimit().getMaxRows()).isEqualTo(10);
+    assertThat(formatter.toString()).endsWith(" LIMIT ? OFFSET ?");
+    check(DbStatement.select(p).as("p").offset(5).get(), "SELECT p FROM Person p OFFSET 5", true);
+  }
+
+  /** Test of {@link SelectFromClause#fetch(io.github.mmm.entity.property.link.LinkProperty) fetch joins}. */
+  @Test
+  void testSelectFetch() {
+
+    // arrange
+    Song s = Song.of();
+    SqlDialect dialect = new SqlDialect();
+    DbEntityModel<Song> songModel = dialect.getEntityModel(s);
+    DbEntityModel<Person> personModel = dialect.getEntityModel(Person.of());
+    // act
+    SelectStatement<Song> query = DbStatement.select(s).as("s").fetch(s.Composer()).get();
+    DbDialectStatementFormatter formatter = dialect.createFormatter();
+    formatter.formatStatement(query);
+    // assert
+    assertThat(query).hasToString("SELECT s, p FROM Song s LEFT JOIN Person p ON p.Id = s.Composer");
+    assertThat(personModel.getSelectColumns("p")).isEqualTo("p.AGE, p.BIRTHDAY, p.ID, p.REV, p.NAME, p.SINGLE");
+    assertThat(formatter).hasToString("SELECT " + songModel.getSelectColumns("s") + ", "
+        + personModel.getSelectColumns("p") + " FROM " + songModel.getTableName() + " s LEFT JOIN PERSON p ON p.ID = s."
+        + songModel.getColumnName("Composer"));
+    assertThatThrownBy(() -> DbStatement.select(s).fetch(Song.of().Composer()))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
   /** Test creation of {@link SelectStatement} and verifying resulting pseudo-SQL. */
   @Test
   void testSelectEmbeddedProperties() {
@@ -124,4 +169,20 @@ class SelectTest extends DbStatementTest {
     check(query, "SELECT NEXTVAL(MY_SEQUENCE)", true);
   }
 
+  /** Test of {@link DbStatement#selectSeqNextValues(DbQualifiedName, int)} formatted as SQL. */
+  @Test
+  void testSelectSequenceNextValues() {
+
+    // arrange
+    DbQualifiedName sequenceName = new DbQualifiedName(null, null, DbName.of("MY_SEQUENCE"));
+    // act
+    SelectStatement<Long> query = DbStatement.selectSeqNextValues(sequenceName, 5);
+    DbPlainStatement plainStatement = new TestDialect().createFormatter().formatStatement(query);
+    // assert
+    assertThat(plainStatement.getStatement())
+        .isEqualTo("WITH RECURSIVE SEQ_RANGE(N) AS (SELECT 1 UNION ALL SELECT N + 1 FROM SEQ_RANGE WHERE N < ?) "
+            + "SELECT NEXTVAL(MY_SEQUENCE) FROM SEQ_RANGE");
+    assertThat(plainStatement.getNext()).isNull();
+  }
+
 }
@@ -5,6 +5,7 @@ package io.github.mmm.orm.db.derby.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -48,4 +49,10 @@ public final class DerbyDialect extends AbstractDbDialect<DerbyDialect> {
     return new DerbyFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.NONE;
+  }
+
 }
@@ -2,8 +2,10 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.db.derby.dialect;
 
+import io.github.mmm.orm.dialect.DbContext;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.LimitClause;
 
 /**
  * {@link DbDialectStatementFormatter} for Derby Database.
@@ -34,4 +36,10 @@ public class DerbyFormatter extends DbDialectStatementFormatter {
     super(dialect, parametersFactory, indentation);
   }
 
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    formatOffsetFetch(limit);
+  }
+
 }
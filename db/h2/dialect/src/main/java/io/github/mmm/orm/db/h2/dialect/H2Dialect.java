@@ -7,6 +7,7 @@ import java.util.Map;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 import io.github.mmm.orm.source.DbSource;
 
@@ -51,6 +52,12 @@ public class H2Dialect extends AbstractDbDialect<H2Dialect> {
     return new H2Formatter(this);
   }
 
+  @Override
+  public boolean isSupportingSequenceRange() {
+
+    return true;
+  }
+
   @Override
   public void autoConfigure(Map<String, String> config, DbSource source) {
 
@@ -66,4 +73,16 @@ public class H2Dialect extends AbstractDbDialect<H2Dialect> {
     return kind + ":h2:mem:";
   }
 
+  @Override
+  public boolean isSupportingArrayParameter() {
+
+    return true;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.MERGE;
+  }
+
 }
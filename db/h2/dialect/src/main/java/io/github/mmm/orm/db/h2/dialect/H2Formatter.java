@@ -42,4 +42,14 @@ public class H2Formatter extends DbDialectStatementFormatter {
     formatQualifiedName(seq.getSequenceName());
   }
 
+  @Override
+  protected void formatSelectSeqNextValues(SelectSequenceNextValueClause seq) {
+
+    write("SELECT NEXT VALUE FOR ");
+    formatQualifiedName(seq.getSequenceName());
+    write(" FROM SYSTEM_RANGE(1, ");
+    onArg(seq.getCount(), 0, null);
+    write(")");
+  }
+
 }
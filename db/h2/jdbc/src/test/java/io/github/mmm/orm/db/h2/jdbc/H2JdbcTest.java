@@ -1,10 +1,114 @@
 package io.github.mmm.orm.db.h2.jdbc;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.orm.connection.DbConnection;
+import io.github.mmm.orm.source.DbSource;
 import io.github.mmm.orm.test.JdbcTest;
+import io.github.mmm.orm.test.Ticket;
+import io.github.mmm.orm.test.TicketRepository;
+import io.github.mmm.orm.tx.DbTransactionExecutor;
 
 /**
  * Test of H2 database support.
  */
 public class H2JdbcTest extends JdbcTest {
 
+  @Override
+  protected String getUrl(DbSource source) {
+
+    // named in-memory database that is not dropped when the last connection is closed
+    return "jdbc:h2:mem:" + source.getId() + ";DB_CLOSE_DELAY=-1";
+  }
+
+  /** Test that the {@code DEFAULT} of a column applies to a {@code null} property saved via the repository. */
+  @Test
+  void testSaveDefault() {
+
+    try {
+      DbSource source = createSource("save_default");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> createTicketTable(executor));
+      // arrange
+      Ticket ticket = Ticket.of();
+      ticket.Title().set("Fix bug");
+      Ticket closed = Ticket.of();
+      closed.Title().set("Fix typo");
+      closed.Status().set("CLOSED");
+      // act
+      Id<Ticket> id = executor.doInTx(() -> {
+        TicketRepository repository = new TicketRepository();
+        repository.save(closed);
+        return repository.save(ticket);
+      });
+      // assert
+      assertThat(ticket.Status().get()).isNull();
+      executor.doInTx(() -> {
+        TicketRepository repository = new TicketRepository();
+        assertThat(repository.findById(id).Status().get()).isEqualTo("NEW");
+        assertThat(repository.findById(Id.from(closed)).Status().get()).isEqualTo("CLOSED");
+        return null;
+      });
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private static Void createTicketTable(DbTransactionExecutor executor) throws SQLException {
+
+    Connection connection = ((DbConnection) executor.getTransaction()).unwrap(Connection.class);
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE TICKET(ID BIGINT PRIMARY KEY, REV BIGINT, STATUS VARCHAR(20) DEFAULT 'NEW', "
+          + "TITLE VARCHAR(255))");
+    }
+    new TicketRepository().createSequence();
+    return null;
+  }
+
+  /**
+   * Test that the {@code DEFAULT} of a column applies to a {@code null} property and is written back into the entity
+   * when {@link DbSource#KEY_INSERT_RETURNING insert returning} is enabled.
+   */
+  @Test
+  void testInsertReturningDefault() {
+
+    try {
+      DbSource source = createSource("insert_returning", DbSource.KEY_INSERT_RETURNING, "true");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> createTicketTable(executor));
+      // arrange
+      Ticket ticket = Ticket.of();
+      ticket.Title().set("Fix bug");
+      Ticket ticket2 = Ticket.of();
+      ticket2.Title().set("Fix typo");
+      Ticket closed = Ticket.of();
+      closed.Title().set("Fix test");
+      closed.Status().set("CLOSED");
+      // act
+      executor.doInTx(() -> {
+        TicketRepository repository = new TicketRepository();
+        repository.save(ticket);
+        repository.saveAll(ticket2, closed);
+        return null;
+      });
+      // assert
+      assertThat(ticket.Status().get()).isEqualTo("NEW");
+      assertThat(ticket.Title().get()).isEqualTo("Fix bug");
+      assertThat(ticket.getId().getRevision()).isEqualTo(1L);
+      assertThat(ticket2.Status().get()).isEqualTo("NEW");
+      assertThat(closed.Status().get()).isEqualTo("CLOSED");
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
 }
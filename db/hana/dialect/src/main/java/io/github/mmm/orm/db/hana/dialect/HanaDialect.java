@@ -5,6 +5,8 @@ package io.github.mmm.orm.db.hana.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -48,4 +50,23 @@ public final class HanaDialect extends AbstractDbDialect<HanaDialect> {
     return new HanaFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.NONE;
+  }
+
+  @Override
+  public int getMaxInsertRows() {
+
+    // multiple rows in VALUES are not supported
+    return 1;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.MERGE;
+  }
+
 }
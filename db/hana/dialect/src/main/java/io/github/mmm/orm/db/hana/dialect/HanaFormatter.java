@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.db.hana.dialect;
 
+import java.util.List;
+
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
 
@@ -34,4 +36,18 @@ public class HanaFormatter extends DbDialectStatementFormatter {
     super(dialect, parametersFactory, indentation);
   }
 
+  @Override
+  protected void formatMergeSource(List<String> columns) {
+
+    write("(SELECT ");
+    String separator = "";
+    for (String column : columns) {
+      write(separator);
+      write("? AS ");
+      write(column);
+      separator = ", ";
+    }
+    write(" FROM DUMMY) s");
+  }
+
 }
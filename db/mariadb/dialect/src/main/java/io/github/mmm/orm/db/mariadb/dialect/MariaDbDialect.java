@@ -5,6 +5,8 @@ package io.github.mmm.orm.db.mariadb.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -48,4 +50,22 @@ public final class MariaDbDialect extends AbstractDbDialect<MariaDbDialect> {
     return new MariaDbFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.RETURNING;
+  }
+
+  @Override
+  public boolean isSupportingSequenceRange() {
+
+    return true;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.ON_DUPLICATE_KEY;
+  }
+
 }
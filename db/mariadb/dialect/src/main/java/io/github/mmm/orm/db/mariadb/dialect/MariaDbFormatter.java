@@ -2,8 +2,12 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.db.mariadb.dialect;
 
+import java.util.List;
+
+import io.github.mmm.orm.dialect.DbContext;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.LimitClause;
 
 /**
  * {@link DbDialectStatementFormatter} for MariaDB.
@@ -35,4 +39,21 @@ public class MariaDbFormatter extends DbDialectStatementFormatter {
     super(dialect, parametersFactory, indentation);
   }
 
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    if (limit.getLimit() == null) {
+      // OFFSET is only supported after LIMIT so use the maximum value for unlimited
+      write(" LIMIT 18446744073709551615");
+    }
+    super.formatLimitClause(limit, context);
+  }
+
+  @Override
+  protected void formatOnDuplicateKey(String idColumn, List<String> updateColumns) {
+
+    // MariaDB does not support the row alias of MySQL
+    formatOnDuplicateKey(idColumn, updateColumns, false);
+  }
+
 }
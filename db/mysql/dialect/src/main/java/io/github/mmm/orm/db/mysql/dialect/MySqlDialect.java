@@ -5,6 +5,8 @@ package io.github.mmm.orm.db.mysql.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -48,4 +50,23 @@ public final class MySqlDialect extends AbstractDbDialect<MySqlDialect> {
     return new MySqlFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.NONE;
+  }
+
+  @Override
+  public int getStreamFetchSize(int fetchSize) {
+
+    // MySQL Connector/J only streams row by row with this magic value and otherwise reads the entire result
+    return Integer.MIN_VALUE;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.ON_DUPLICATE_KEY;
+  }
+
 }
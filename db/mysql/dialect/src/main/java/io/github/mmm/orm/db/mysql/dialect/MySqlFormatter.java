@@ -4,8 +4,10 @@ package io.github.mmm.orm.db.mysql.dialect;
 
 import io.github.mmm.orm.ddl.constraint.DbConstraint;
 import io.github.mmm.orm.ddl.operation.TableOperationType;
+import io.github.mmm.orm.dialect.DbContext;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.LimitClause;
 
 /**
  * {@link DbDialectStatementFormatter} for MySQL Database.
@@ -56,4 +58,14 @@ public class MySqlFormatter extends DbDialectStatementFormatter {
     }
   }
 
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    if (limit.getLimit() == null) {
+      // OFFSET is only supported after LIMIT so use the maximum value for unlimited
+      write(" LIMIT 18446744073709551615");
+    }
+    super.formatLimitClause(limit, context);
+  }
+
 }
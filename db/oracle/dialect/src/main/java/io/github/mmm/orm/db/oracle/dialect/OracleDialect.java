@@ -7,6 +7,7 @@ import java.util.Map;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 import io.github.mmm.orm.source.DbSource;
 
@@ -57,10 +58,43 @@ public class OracleDialect extends AbstractDbDialect<OracleDialect> {
     return new OracleFormatter(this);
   }
 
+  @Override
+  public boolean isSupportingBatchReturning() {
+
+    // the driver does not support generated keys for batches
+    return false;
+  }
+
+  @Override
+  public boolean isSupportingSequenceRange() {
+
+    return true;
+  }
+
   @Override
   protected String autoConfigureUrl(Map<String, String> config, DbSource source, String kind) {
 
     return kind + ":oracle:thin:@//localhost:1521/xepdb1";
   }
 
+  @Override
+  public int getMaxParameters() {
+
+    // ORA-01795: maximum number of expressions in a list is 1000
+    return 1000;
+  }
+
+  @Override
+  public int getMaxInsertRows() {
+
+    // multiple rows in VALUES are only supported since Oracle 23ai
+    return 1;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.MERGE;
+  }
+
 }
@@ -2,8 +2,13 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.db.oracle.dialect;
 
+import java.util.List;
+
+import io.github.mmm.orm.dialect.DbContext;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.LimitClause;
+import io.github.mmm.orm.statement.select.SelectSequenceNextValueClause;
 
 /**
  * {@link DbDialectStatementFormatter} for Oracle Database.
@@ -35,4 +40,47 @@ public class OracleFormatter extends DbDialectStatementFormatter {
     super(dialect, parametersFactory, indentation);
   }
 
+  @Override
+  protected void formatSelectSeqNextValues(SelectSequenceNextValueClause seq) {
+
+    writeIndent();
+    write("SELECT ");
+    formatQualifiedName(seq.getSequenceName());
+    write(".NEXTVAL FROM DUAL CONNECT BY LEVEL <= ");
+    onArg(seq.getCount(), 0, null);
+  }
+
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    formatOffsetFetch(limit);
+  }
+
+  @Override
+  protected void formatMergeSource(List<String> columns) {
+
+    // VALUES as table constructor is only supported since Oracle 23ai
+    write("(SELECT ");
+    String separator = "";
+    for (String column : columns) {
+      write(separator);
+      write("? ");
+      write(column);
+      separator = ", ";
+    }
+    write(" FROM DUAL) s");
+  }
+
+  @Override
+  protected void formatMergeMatched(CharSequence set, String condition) {
+
+    // Oracle does not support "WHEN MATCHED AND" but a WHERE clause for the UPDATE
+    write(" WHEN MATCHED THEN UPDATE SET ");
+    write(set.toString());
+    if (condition != null) {
+      write(" WHERE ");
+      write(condition);
+    }
+  }
+
 }
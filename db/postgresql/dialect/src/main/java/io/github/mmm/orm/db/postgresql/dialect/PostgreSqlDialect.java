@@ -5,6 +5,8 @@ package io.github.mmm.orm.db.postgresql.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -48,4 +50,35 @@ public class PostgreSqlDialect extends AbstractDbDialect<PostgreSqlDialect> {
     return new PostgreSqlFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.RETURNING;
+  }
+
+  @Override
+  public boolean isSupportingBatchReturning() {
+
+    // the driver appends RETURNING itself and supports it for batches
+    return true;
+  }
+
+  @Override
+  public boolean isSupportingSequenceRange() {
+
+    return true;
+  }
+
+  @Override
+  public boolean isSupportingArrayParameter() {
+
+    return true;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.ON_CONFLICT;
+  }
+
 }
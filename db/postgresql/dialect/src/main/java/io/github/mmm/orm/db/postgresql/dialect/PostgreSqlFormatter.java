@@ -4,6 +4,7 @@ package io.github.mmm.orm.db.postgresql.dialect;
 
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.SelectSequenceNextValueClause;
 
 /**
  * {@link DbDialectStatementFormatter} for PostgreSQL Database.
@@ -35,4 +36,15 @@ public class PostgreSqlFormatter extends DbDialectStatementFormatter {
     super(dialect, parametersFactory, indentation);
   }
 
+  @Override
+  protected void formatSelectSeqNextValues(SelectSequenceNextValueClause seq) {
+
+    writeIndent();
+    write("SELECT NEXTVAL('");
+    formatQualifiedName(seq.getSequenceName());
+    write("') FROM GENERATE_SERIES(1, ");
+    onArg(seq.getCount(), 0, null);
+    write(")");
+  }
+
 }
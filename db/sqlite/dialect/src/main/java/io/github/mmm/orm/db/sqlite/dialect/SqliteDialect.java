@@ -7,6 +7,8 @@ import java.util.Map;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 import io.github.mmm.orm.source.DbSource;
 
@@ -54,6 +56,18 @@ public class SqliteDialect extends AbstractDbDialect<SqliteDialect> {
     return new SqliteFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.RETURNING;
+  }
+
+  @Override
+  public boolean isSupportingSequenceRange() {
+
+    return true;
+  }
+
   @Override
   public void autoConfigure(Map<String, String> config, DbSource source) {
 
@@ -75,4 +89,24 @@ public class SqliteDialect extends AbstractDbDialect<SqliteDialect> {
     return true; // this is a lie but we better emulate sequence as table
   }
 
+  @Override
+  public int getMaxParameters() {
+
+    // SQLITE_MAX_VARIABLE_NUMBER of older versions
+    return 999;
+  }
+
+  @Override
+  public int getMaxInsertRows() {
+
+    // SQLITE_MAX_COMPOUND_SELECT of older versions
+    return 500;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.ON_CONFLICT;
+  }
+
 }
@@ -8,6 +8,7 @@ import io.github.mmm.orm.param.CriteriaParametersFactory;
 import io.github.mmm.orm.statement.AbstractEntityClause;
 import io.github.mmm.orm.statement.SetClause;
 import io.github.mmm.orm.statement.create.CreateSequenceClause;
+import io.github.mmm.orm.statement.select.LimitClause;
 import io.github.mmm.orm.statement.select.SelectSequenceNextValueClause;
 import io.github.mmm.orm.statement.update.UpdateClause;
 
@@ -91,17 +92,49 @@ public class SqliteFormatter extends DbDialectStatementFormatter {
   @Override
   protected void formatSelectSeqNextVal(SelectSequenceNextValueClause seq) {
 
+    // statements are executed in reverse order so the UPDATE locks the sequence before the new value is read
+    writeIndent();
+    write("SELECT NEXT_VALUE - INCREMENT_VALUE FROM ");
+    formatQualifiedName(seq.getSequenceName());
+    write(" WHERE ID = 1");
+
+    newStatement();
+
     writeIndent();
     write("UPDATE ");
     formatQualifiedName(seq.getSequenceName());
     write(" SET NEXT_VALUE = NEXT_VALUE + INCREMENT_VALUE WHERE ID = 1");
+  }
+
+  @Override
+  protected void formatSelectSeqNextValues(SelectSequenceNextValueClause seq) {
+
+    // statements are executed in reverse order so the range is computed downwards from the advanced value
+    writeIndent();
+    write("WITH RECURSIVE SEQ_RANGE(N) AS (SELECT 1 UNION ALL SELECT N + 1 FROM SEQ_RANGE WHERE N < ");
+    onArg(seq.getCount(), 0, null);
+    write(") SELECT NEXT_VALUE - N * INCREMENT_VALUE FROM ");
+    formatQualifiedName(seq.getSequenceName());
+    write(", SEQ_RANGE WHERE ID = 1 ORDER BY N DESC");
 
     newStatement();
 
     writeIndent();
-    write("SELECT NEXT_VALUE FROM ");
+    write("UPDATE ");
     formatQualifiedName(seq.getSequenceName());
+    write(" SET NEXT_VALUE = NEXT_VALUE + INCREMENT_VALUE * ");
+    onArg(seq.getCount(), 0, null);
     write(" WHERE ID = 1");
   }
 
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    if (limit.getLimit() == null) {
+      // OFFSET is only supported after LIMIT where a negative value means unlimited
+      write(" LIMIT -1");
+    }
+    super.formatLimitClause(limit, context);
+  }
+
 }
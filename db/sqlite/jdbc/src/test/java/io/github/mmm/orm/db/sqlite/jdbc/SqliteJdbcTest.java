@@ -1,12 +1,13 @@
 package io.github.mmm.orm.db.sqlite.jdbc;
 
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
 import org.junit.jupiter.api.BeforeAll;
 
-import io.github.mmm.orm.db.sqlite.dialect.SqliteDialect;
+import io.github.mmm.orm.source.DbSource;
 import io.github.mmm.orm.test.JdbcTest;
 
 /**
@@ -17,12 +18,20 @@ class SqliteJdbcTest extends JdbcTest {
   @BeforeAll
   static void setup() {
 
-    Path path = Path.of("target").resolve(SqliteDialect.DEFAULT_DB);
-    try {
-      Files.deleteIfExists(path);
+    // delete the default database as well as the databases of the sources created by the tests
+    try (DirectoryStream<Path> databases = Files.newDirectoryStream(Path.of("target"), "*.db")) {
+      for (Path path : databases) {
+        Files.delete(path);
+      }
     } catch (IOException e) {
       e.printStackTrace();
     }
   }
 
+  @Override
+  protected String getUrl(DbSource source) {
+
+    return "jdbc:sqlite:target/" + source.getId() + ".db";
+  }
+
 }
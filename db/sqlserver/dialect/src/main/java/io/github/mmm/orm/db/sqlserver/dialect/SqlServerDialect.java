@@ -5,6 +5,8 @@ package io.github.mmm.orm.db.sqlserver.dialect;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
 import io.github.mmm.orm.mapping.Orm;
 
 /**
@@ -50,4 +52,23 @@ public class SqlServerDialect extends AbstractDbDialect<SqlServerDialect> {
     return new SqlServerFormatter(this);
   }
 
+  @Override
+  public DbInsertReturning getInsertReturning() {
+
+    return DbInsertReturning.OUTPUT_INSERTED;
+  }
+
+  @Override
+  public int getMaxParameters() {
+
+    // limit is 2100 parameters per request, keep some headroom for additional parameters of the statement
+    return 2000;
+  }
+
+  @Override
+  public DbUpsert getUpsert() {
+
+    return DbUpsert.MERGE;
+  }
+
 }
@@ -2,9 +2,16 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.db.sqlserver.dialect;
 
+import java.util.List;
+
 import io.github.mmm.orm.ddl.operation.TableOperationType;
+import io.github.mmm.orm.dialect.DbContext;
 import io.github.mmm.orm.dialect.DbDialectStatementFormatter;
 import io.github.mmm.orm.param.CriteriaParametersFactory;
+import io.github.mmm.orm.statement.select.LimitClause;
+import io.github.mmm.orm.statement.select.SelectClause;
+import io.github.mmm.orm.statement.select.SelectFromClause;
+import io.github.mmm.orm.statement.select.SelectStatement;
 
 /**
  * {@link DbDialectStatementFormatter} for <a href="https://docs.microsoft.com/en-us/sql/">MS SQL Server</a>.
@@ -45,4 +52,43 @@ public class SqlServerFormatter extends DbDialectStatementFormatter {
     }
   }
 
+  @Override
+  protected void formatSelections(SelectClause<?> select, SelectFromClause<?, ?> selectFrom) {
+
+    SelectStatement<?> statement = select.getStatement();
+    if ((statement != null) && isTop(statement.getLimit())) {
+      write("TOP (");
+      onArg(statement.getLimit().getLimit(), 0, null);
+      write(") ");
+    }
+    super.formatSelections(select, selectFrom);
+  }
+
+  @Override
+  public void formatLimitClause(LimitClause<?> limit, DbContext context) {
+
+    if (isTop(limit)) {
+      return;
+    }
+    if (limit.get().getOrderBy().isOmit()) {
+      // OFFSET is only supported after ORDER BY
+      write(" ORDER BY (SELECT NULL)");
+    }
+    formatOffsetFetch(limit);
+  }
+
+  @Override
+  protected void formatMerge(String tableName, List<String> columns, String idColumn, List<String> updateColumns,
+      String revisionColumn) {
+
+    super.formatMerge(tableName, columns, idColumn, updateColumns, revisionColumn);
+    // a MERGE statement must be terminated by a semicolon
+    write(";");
+  }
+
+  private static boolean isTop(LimitClause<?> limit) {
+
+    return (limit.getOffset() == null) && (limit.getLimit() != null);
+  }
+
 }
@@ -0,0 +1,61 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.db.sqlserver.dialect;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.orm.statement.DbStatement;
+import io.github.mmm.orm.statement.select.SelectStatement;
+import io.github.mmm.orm.test.Person;
+
+/**
+ * Test of {@link SqlServerFormatter}.
+ */
+class SqlServerFormatterTest extends Assertions {
+
+  /** Test of {@code TOP} for a limit without offset. */
+  @Test
+  void testSelectTop() {
+
+    // arrange
+    Person p = Person.of();
+    SelectStatement<Person> query = DbStatement.select(p).as("p").where(p.Name().eq("John")).limit(10).get();
+    SqlServerFormatter formatter = new SqlServerFormatter(new SqlServerDialect());
+    // act
+    formatter.formatStatement(query);
+    // assert
+    assertThat(formatter.toString()).startsWith("SELECT TOP (?) ").doesNotContain("OFFSET", "FETCH");
+  }
+
+  /** Test of {@code TOP} after {@code DISTINCT} as required by SQL Server. */
+  @Test
+  void testSelectDistinctTop() {
+
+    // arrange
+    Person p = Person.of();
+    SelectStatement<String> query = DbStatement.select(p.Name()).distinct().from(p).as("p").limit(10).get();
+    SqlServerFormatter formatter = new SqlServerFormatter(new SqlServerDialect());
+    // act
+    formatter.formatStatement(query);
+    // assert
+    assertThat(formatter.toString()).startsWith("SELECT DISTINCT TOP (?) ").doesNotContain("OFFSET", "FETCH");
+  }
+
+  /** Test of {@code OFFSET} and {@code FETCH} if an offset is given. */
+  @Test
+  void testSelectOffsetFetch() {
+
+    // arrange
+    Person p = Person.of();
+    SelectStatement<String> query = DbStatement.select(p.Name()).distinct().from(p).as("p").offset(20).limit(10)
+        .get();
+    SqlServerFormatter formatter = new SqlServerFormatter(new SqlServerDialect());
+    // act
+    formatter.formatStatement(query);
+    // assert
+    assertThat(formatter.toString()).startsWith("SELECT DISTINCT ").doesNotContain("TOP")
+        .endsWith(" ORDER BY (SELECT NULL) OFFSET ? ROWS FETCH NEXT ? ROWS ONLY");
+  }
+
+}
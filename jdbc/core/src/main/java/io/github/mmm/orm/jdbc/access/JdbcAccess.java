@@ -6,48 +6,55 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import io.github.mmm.bean.ReadableBean;
+import io.github.mmm.bean.WritableBean;
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.id.GenericId;
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.entity.id.OptimisicLockException;
 import io.github.mmm.entity.id.sequence.IdSequence;
 import io.github.mmm.entity.property.id.PkProperty;
+import io.github.mmm.orm.connection.DbConnectionData;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.dialect.DbInsertReturning;
+import io.github.mmm.orm.dialect.DbUpsert;
+import io.github.mmm.orm.jdbc.connection.JdbcCachedStatement;
 import io.github.mmm.orm.jdbc.connection.JdbcConnection;
+import io.github.mmm.orm.jdbc.connection.JdbcStatementCache;
 import io.github.mmm.orm.jdbc.result.JdbcResult;
+import io.github.mmm.orm.jdbc.result.JdbcResultIterator;
+import io.github.mmm.orm.jdbc.sequence.JdbcRangeSequence;
 import io.github.mmm.orm.jdbc.sequence.JdbcSequence;
 import io.github.mmm.orm.jdbc.session.JdbcSession;
+import io.github.mmm.orm.mapping.DbMapper2Java;
 import io.github.mmm.orm.metadata.DbName;
 import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.metadata.DbTable;
 import io.github.mmm.orm.naming.DbNamingStrategy;
 import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.param.DbEntityBinder;
+import io.github.mmm.orm.param.DbEntityUpdateBinder;
+import io.github.mmm.orm.param.DbEntityUpsertBinder;
 import io.github.mmm.orm.result.DbResult;
 import io.github.mmm.orm.spi.access.AbstractDbAccess;
+import io.github.mmm.orm.spi.access.DbLinkResolver;
 import io.github.mmm.orm.spi.session.DbEntityHolder;
 import io.github.mmm.orm.spi.session.DbEntitySession;
 import io.github.mmm.orm.statement.DbPlainStatement;
-import io.github.mmm.orm.statement.DbStatement;
 import io.github.mmm.orm.statement.NonUniqueResultException;
-import io.github.mmm.orm.statement.insert.InsertClause;
-import io.github.mmm.orm.statement.insert.InsertStatement;
-import io.github.mmm.orm.statement.select.SelectEntityClause;
 import io.github.mmm.orm.statement.select.SelectStatement;
-import io.github.mmm.orm.statement.update.UpdateClause;
-import io.github.mmm.orm.statement.update.UpdateSetClause;
-import io.github.mmm.orm.statement.update.UpdateStatement;
-import io.github.mmm.property.WritableProperty;
-import io.github.mmm.property.criteria.CriteriaPredicate;
-import io.github.mmm.property.criteria.PredicateOperator;
-import io.github.mmm.property.criteria.PropertyAssignment;
-import io.github.mmm.value.SimplePath;
+import io.github.mmm.orm.tx.DbEntityMode;
 
 /**
  * Implementation of {@link io.github.mmm.orm.spi.access.DbAccess} using JDBC.
@@ -83,29 +90,324 @@ public class JdbcAccess extends AbstractDbAccess {
 
   private <E extends EntityBean> void doInsert(E entity) {
 
-    InsertStatement<E> insert = new InsertClause().into(entity).valuesAll().get();
-    long rowCount = insert(insert);
+    DbEntityMode mode = getWritableEntityMode(entity);
+    onModified(entity.getType().getStableName());
+    JdbcUnitOfWork unitOfWork = getSession().getUnitOfWork();
+    if (unitOfWork != null) {
+      unitOfWork.insert(registerInserted(entity));
+      return;
+    }
+    long rowCount = insert(getDialect().getEntityBinder(entity), entity);
     assert (rowCount == 1);
-    E managed = ReadableBean.copy(entity);
+    if (mode == DbEntityMode.MANAGED) {
+      registerInserted(entity);
+    }
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to modify.
+   * @return the {@link JdbcSession#getEntityMode() entity mode} of the current session.
+   * @throws IllegalStateException if the session is {@link DbEntityMode#READ_ONLY read-only}.
+   */
+  private DbEntityMode getWritableEntityMode(EntityBean entity) {
+
+    DbEntityMode mode = getSession().getEntityMode();
+    if (mode == DbEntityMode.READ_ONLY) {
+      throw new IllegalStateException("Cannot modify entity of type " + entity.getType().getQualifiedName()
+          + " in read-only transaction!");
+    }
+    return mode;
+  }
+
+  private <E extends EntityBean> long insert(DbEntityBinder<E> binder, E entity) {
+
+    JdbcSession session = getSession();
+    if (isInsertReturning(session, binder)) {
+      return insertReturning(session, binder, entity);
+    }
+    DbEntityBinder<E>.Template template = binder.getTemplate(entity);
+    String sql = template.getSql();
+    LOG.debug("Executing SQL:\n{}", sql);
+    try (JdbcCachedStatement cachedStatement = session.getJdbcConnection().getStatementCache().prepare(sql)) {
+      PreparedStatement jdbcStatement = cachedStatement.get();
+      template.bind(entity, jdbcStatement, session.getConnection());
+      return jdbcStatement.executeLargeUpdate();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + sql, e);
+    }
+  }
+
+  private static boolean isInsertReturning(JdbcSession session, DbEntityBinder<?> binder) {
+
+    return session.getConnectionData().isInsertReturning() && (binder.getReturningSql() != null);
+  }
+
+  private <E extends EntityBean> long insertReturning(JdbcSession session, DbEntityBinder<E> binder, E entity) {
+
+    JdbcStatementCache statementCache = session.getJdbcConnection().getStatementCache();
+    DbInsertReturning insertReturning = binder.getInsertReturning();
+    DbEntityBinder<E>.Template template = binder.getReturningTemplate(entity);
+    String sql = template.getSql();
+    LOG.debug("Executing SQL with returning:\n{}", sql);
+    try (JdbcCachedStatement cachedStatement = (insertReturning == DbInsertReturning.GENERATED_KEYS)
+        ? statementCache.prepare(sql, binder.getColumnNames())
+        : statementCache.prepare(sql)) {
+      PreparedStatement jdbcStatement = cachedStatement.get();
+      template.bind(entity, jdbcStatement, session.getConnection());
+      long rowCount;
+      ResultSet resultSet;
+      if (insertReturning == DbInsertReturning.GENERATED_KEYS) {
+        rowCount = jdbcStatement.executeLargeUpdate();
+        resultSet = jdbcStatement.getGeneratedKeys();
+      } else {
+        rowCount = 1;
+        resultSet = jdbcStatement.executeQuery();
+      }
+      try (ResultSet rs = resultSet) {
+        if (rs.next()) {
+          getDialect().getOrm().createBeanMapper(entity).db2java(new JdbcResult(rs), entity);
+        }
+      }
+      return rowCount;
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + sql, e);
+    }
+  }
+
+  private <E extends EntityBean> DbEntityHolder<E> registerInserted(E entity) {
+
     DbEntitySession<E> entitySession = getSession().get(entity);
-    entitySession.put(managed);
+    return entitySession.putCopy(entity);
+  }
+
+  @Override
+  public void insertAll(Iterable<? extends EntityBean> entities) {
+
+    JdbcSession session = getSession();
+    if (session.getUnitOfWork() != null) {
+      for (EntityBean entity : entities) {
+        doInsert(entity);
+      }
+      return;
+    }
+    AbstractDbDialect<?> dialect = getDialect();
+    DbConnectionData connectionData = session.getConnectionData();
+    int batchSize = connectionData.getBatchSize();
+    boolean multiRow = connectionData.isMultiRowInsert() && (dialect.getMaxInsertRows() > 1);
+    DbEntityBinder<EntityBean>.Template rowsTemplate = null;
+    int maxRows = 0;
+    List<EntityBean> rows = new ArrayList<>();
+    List<LongConsumer> rowCallbacks = new ArrayList<>();
+    try (JdbcBatch batch = new JdbcBatch(session, batchSize)) {
+      for (EntityBean entity : entities) {
+        boolean managed = (getWritableEntityMode(entity) == DbEntityMode.MANAGED);
+        onModified(entity.getType().getStableName());
+        LongConsumer callback = updateCount -> {
+          assert (updateCount == 1) || (updateCount == Statement.SUCCESS_NO_INFO);
+          if (managed) {
+            registerInserted(entity);
+          }
+        };
+        DbEntityBinder<EntityBean> binder = dialect.getEntityBinder(entity);
+        if (isInsertReturning(session, binder)) {
+          insertRows(session, batch, rowsTemplate, rows, rowCallbacks);
+          if (dialect.isSupportingBatchReturning()) {
+            batch.add(binder, entity, callback,
+                result -> dialect.getOrm().createBeanMapper(entity).db2java(result, entity));
+          } else {
+            // returning values can not be batched with this dialect
+            batch.flush();
+            insertReturning(session, binder, entity);
+            callback.accept(1);
+          }
+        } else if (multiRow) {
+          // only entities with the same null columns can be inserted with the same statement
+          DbEntityBinder<EntityBean>.Template template = binder.getTemplate(entity);
+          if ((template != rowsTemplate) || (rows.size() >= maxRows)) {
+            insertRows(session, batch, rowsTemplate, rows, rowCallbacks);
+            rowsTemplate = template;
+            int maxParameterRows = dialect.getMaxParameters() / template.getParameterCount();
+            maxRows = Math.max(1, Math.min(Math.min(dialect.getMaxInsertRows(), maxParameterRows), batchSize));
+          }
+          rows.add(entity);
+          rowCallbacks.add(callback);
+        } else {
+          batch.add(binder, entity, callback);
+        }
+      }
+      insertRows(session, batch, rowsTemplate, rows, rowCallbacks);
+      batch.flush();
+    }
+  }
+
+  /**
+   * Inserts the given entities with a single INSERT statement with multiple VALUES rows.
+   *
+   * @param session the {@link JdbcSession}.
+   * @param batch the {@link JdbcBatch} with pending entities that have been added before and are therefore flushed
+   *        first to preserve the order of the inserts.
+   * @param template the {@link DbEntityBinder#getTemplate(EntityBean) template} for all the given entities.
+   * @param rows the {@link List} of {@link EntityBean entities} to insert. Will be cleared.
+   * @param callbacks the {@link List} of callbacks for each entity to invoke after the insert. Will be cleared.
+   */
+  private void insertRows(JdbcSession session, JdbcBatch batch, DbEntityBinder<EntityBean>.Template template,
+      List<EntityBean> rows, List<LongConsumer> callbacks) {
+
+    int size = rows.size();
+    if (size == 0) {
+      return;
+    }
+    batch.flush();
+    String sql = template.getSql(size);
+    LOG.debug("Executing SQL with {} rows:\n{}", size, sql);
+    try (JdbcCachedStatement cachedStatement = session.getJdbcConnection().getStatementCache().prepare(sql)) {
+      PreparedStatement jdbcStatement = cachedStatement.get();
+      Connection connection = session.getConnection();
+      for (int row = 0; row < size; row++) {
+        template.bind(rows.get(row), jdbcStatement, row, connection);
+      }
+      long rowCount = jdbcStatement.executeLargeUpdate();
+      assert (rowCount == size) || (rowCount == Statement.SUCCESS_NO_INFO);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL with " + size + " rows: " + sql, e);
+    }
+    for (LongConsumer callback : callbacks) {
+      callback.accept(1);
+    }
+    rows.clear();
+    callbacks.clear();
+  }
+
+  @Override
+  public void upsertAll(Iterable<? extends EntityBean> entities, boolean verifyRevision) {
+
+    AbstractDbDialect<?> dialect = getDialect();
+    DbUpsert upsert = dialect.getUpsert();
+    if ((upsert == DbUpsert.NONE) || (verifyRevision && !upsert.isDetectingConflict())) {
+      // a revision conflict can not be detected from the update count so the revision has to be verified explicitly
+      super.upsertAll(entities, verifyRevision);
+      return;
+    }
+    JdbcSession session = getSession();
+    JdbcUnitOfWork unitOfWork = session.getUnitOfWork();
+    if (unitOfWork != null) {
+      // pending changes may affect the same rows and have to be written first
+      unitOfWork.flush();
+    }
+    try (JdbcBatch batch = new JdbcBatch(session, session.getConnectionData().getBatchSize())) {
+      for (EntityBean entity : entities) {
+        upsert(batch, dialect, entity, verifyRevision);
+      }
+      batch.flush();
+    }
+  }
+
+  private <E extends EntityBean> void upsert(JdbcBatch batch, AbstractDbDialect<?> dialect, E entity,
+      boolean verifyRevision) {
+
+    Id<E> id = Id.from(entity);
+    if (id.getPk() == null) {
+      throw new IllegalStateException(
+          "Cannot upsert entity of type " + entity.getType().getQualifiedName() + " without primary key.");
+    }
+    DbEntityMode mode = getWritableEntityMode(entity);
+    onModified(entity, id);
+    boolean revision = (id.getRevision() != null);
+    Id<?> newId = revision ? ((GenericId<E, ?, ?, ?>) id).updateRevision() : id;
+    boolean verify = verifyRevision && revision;
+    DbEntityUpsertBinder<E> upsertBinder = dialect.getEntityModel(entity).getUpsertBinder();
+    DbEntityUpsertBinder<E>.Template template = upsertBinder.getTemplate(verify);
+    batch.add(template, entity, id, newId, updateCount -> {
+      if (verify && (updateCount == 0)) {
+        // the row exists but has a different revision
+        throw new OptimisicLockException(id, entity.getType().getQualifiedName());
+      }
+      entity.Id().set(newId);
+      if (mode == DbEntityMode.MANAGED) {
+        DbEntitySession<E> entitySession = getSession().get(entity);
+        DbEntityHolder<E> holder = entitySession.get(id);
+        if (holder == null) {
+          entitySession.putCopy(entity);
+        } else {
+          holder.update(entity);
+        }
+      }
+    });
   }
 
   @Override
   public <E extends EntityBean> E selectById(Id<E> id, E prototype) {
 
+    DbEntityMode mode = getSession().getEntityMode();
+    if (mode != DbEntityMode.MANAGED) {
+      E entity = selectByIdCached(id, prototype);
+      if ((entity != null) && (mode == DbEntityMode.READ_ONLY)) {
+        entity = WritableBean.getReadOnly(entity);
+      }
+      return entity;
+    }
     DbEntitySession<E> entitySession = getSession().get(prototype);
     DbEntityHolder<E> holder = entitySession.get(id);
     E entity;
     if (holder == null) {
-      SelectStatement<E> select = new SelectEntityClause<>(prototype).from().where(prototype.Id().eq(id)).get();
-      entity = selectOne(select);
+      entity = selectByIdCached(id, prototype);
     } else {
       entity = holder.getExternal();
     }
     return entity;
   }
 
+  @Override
+  public <R> Stream<R> selectStream(SelectStatement<R> statement, boolean detached) {
+
+    JdbcSession session = getSession();
+    JdbcUnitOfWork unitOfWork = session.getUnitOfWork();
+    if (unitOfWork != null) {
+      unitOfWork.flush();
+    }
+    DbPlainStatement plainStatement = getDialect().getStatementPlanCache().format(statement);
+    if (plainStatement.getNext() != null) {
+      // multiple statements can not be streamed via a single cursor
+      return StreamSupport.stream(select(statement).spliterator(), false);
+    }
+    DbLinkResolver linkResolver = null;
+    if (!detached && statement.getSelect().isSelectEntity()) {
+      linkResolver = new DbLinkResolver(this);
+    }
+    DbMapper2Java<R> mapper = createMapper(statement, detached, linkResolver);
+    String sql = plainStatement.getStatement();
+    LOG.debug("Executing SQL as stream:\n{}", sql);
+    PreparedStatement jdbcStatement = null;
+    try {
+      // not taken from statement cache as the cursor stays open while the stream is consumed
+      jdbcStatement = session.getConnection().prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+          ResultSet.CONCUR_READ_ONLY);
+      jdbcStatement.setFetchSize(getDialect().getStreamFetchSize(session.getConnectionData().getFetchSize()));
+      int maxRows = statement.getLimit().getMaxRows();
+      if (maxRows > 0) {
+        jdbcStatement.setMaxRows(maxRows);
+      }
+      AbstractCriteriaParameters parameters = plainStatement.getParameters().cast();
+      parameters.apply(jdbcStatement, session.getConnection());
+      ResultSet resultSet = jdbcStatement.executeQuery();
+      Stream<R> stream = new JdbcResultIterator<>(jdbcStatement, resultSet, mapper, sql).stream();
+      if (linkResolver != null) {
+        DbLinkResolver resolver = linkResolver;
+        stream = stream.peek(result -> resolver.register((EntityBean) result));
+      }
+      return stream;
+    } catch (SQLException e) {
+      if (jdbcStatement != null) {
+        try {
+          jdbcStatement.close();
+        } catch (SQLException e2) {
+          e.addSuppressed(e2);
+        }
+      }
+      throw new IllegalStateException("Failed to execute SQL: " + sql, e);
+    }
+  }
+
   @Override
   public void update(EntityBean entity) {
 
@@ -120,6 +422,12 @@ public class JdbcAccess extends AbstractDbAccess {
       throw new IllegalStateException(
           "Cannot update entity of type " + entity.getType().getQualifiedName() + " because it is transient.");
     }
+    DbEntityMode mode = getWritableEntityMode(entity);
+    onModified(entity, id);
+    if (mode == DbEntityMode.STATELESS) {
+      doUpdateStateless(entity, id);
+      return;
+    }
     DbEntitySession<E> entitySession = getSession().get(entity);
     DbEntityHolder<E> holder = entitySession.get(id);
     if (holder == null) {
@@ -131,37 +439,21 @@ public class JdbcAccess extends AbstractDbAccess {
       throw new OptimisicLockException(id, entity.getType().getQualifiedName());
     }
     Id<?> newId = ((GenericId<E, ?, ?, ?>) id).updateRevision();
-    UpdateClause<EntityBean> updateEntity = DbStatement.update(entity);
-    SimplePath rev = new SimplePath(pk.parentPath(), Id.COLUMN_REVISION);
-    // setAll sets all assignments given as varargs
-    // we provide no arguments just to get access to the SET clause (UpdateSet)
-    // this allows us to build the clause dynamically
-    // otherwise we would need to add the first assignment to UpdateClause
-    // and then all following assignments to the returned UpdateSet.
-    UpdateSetClause<EntityBean> set = updateEntity.setAll();
-    for (WritableProperty<?> property : entity.getProperties()) {
-      if (!property.isTransient()) {
-        PropertyAssignment<?> assignment;
-        if (property == pk) {
-          assignment = PropertyAssignment.of(rev, newId.getRevision());
-        } else {
-          Object managedValue = managed.get(property.getName());
-          Object updateValue = property.get();
-          if (Objects.equals(updateValue, managedValue)) {
-            continue;
-          }
-          assignment = PropertyAssignment.ofValue(property);
-        }
-        set = set.set(assignment);
-      }
+    JdbcUnitOfWork unitOfWork = getSession().getUnitOfWork();
+    if (unitOfWork != null) {
+      unitOfWork.update(holder);
+      pk.set(newId);
+      holder.update(entity);
+      return;
     }
-    if (set == null) {
+    DbEntityUpdateBinder<E> updateBinder = getDialect().getEntityModel(entity).getUpdateBinder();
+    boolean fullRow = getSession().getConnectionData().isFullRowUpdate();
+    DbEntityUpdateBinder<E>.Template template = getUpdateTemplate(updateBinder, entity, managed, fullRow);
+    if (template == null) {
       LOG.debug("Omitting update of {} with ID {} because nothing has changed.", entity.getType().getStableName(), id);
       return;
     }
-    UpdateStatement<EntityBean> update = set.where(pk.eq(id))
-        .and(CriteriaPredicate.of(rev, PredicateOperator.EQ, id.getRevision())).get();
-    long updateCount = update(update);
+    long updateCount = update(template, entity, id, newId);
     if (updateCount == 0) {
       throw new OptimisicLockException(id, entity.getType().getQualifiedName());
     }
@@ -170,23 +462,88 @@ public class JdbcAccess extends AbstractDbAccess {
     holder.update(entity);
   }
 
+  private <E extends EntityBean> void doUpdateStateless(E entity, Id<E> id) {
+
+    // without a managed copy we can not detect modifications and send all columns straight to the database
+    Id<?> newId = ((GenericId<E, ?, ?, ?>) id).updateRevision();
+    DbEntityUpdateBinder<E> updateBinder = getDialect().getEntityModel(entity).getUpdateBinder();
+    long updateCount = update(updateBinder.getFullRowTemplate(), entity, id, newId);
+    if (updateCount == 0) {
+      throw new OptimisicLockException(id, entity.getType().getQualifiedName());
+    }
+    assert (updateCount == 1);
+    entity.Id().set(newId);
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param updateBinder the {@link DbEntityUpdateBinder} for the type of the given {@link EntityBean}.
+   * @param entity the {@link EntityBean} with the new values to update.
+   * @param managed the {@link EntityBean} with the values currently persisted in the database.
+   * @param fullRow - {@code true} to update all columns (see
+   *        {@link io.github.mmm.orm.source.DbSource#KEY_FULL_ROW_UPDATE}), {@code false} otherwise.
+   * @return the {@link DbEntityUpdateBinder.Template} to update the modified columns or {@code null} if nothing has to
+   *         be updated.
+   */
+  static <E extends EntityBean> DbEntityUpdateBinder<E>.Template getUpdateTemplate(
+      DbEntityUpdateBinder<E> updateBinder, E entity, E managed, boolean fullRow) {
+
+    if (fullRow) {
+      return updateBinder.getFullRowTemplate();
+    }
+    return updateBinder.getTemplate(updateBinder.getDirtyProperties(entity, managed));
+  }
+
+  private <E extends EntityBean> long update(DbEntityUpdateBinder<E>.Template template, E entity, Id<?> id,
+      Id<?> newId) {
+
+    JdbcSession session = getSession();
+    String sql = template.getSql();
+    LOG.debug("Executing SQL:\n{}", sql);
+    try (JdbcCachedStatement cachedStatement = session.getJdbcConnection().getStatementCache().prepare(sql)) {
+      PreparedStatement jdbcStatement = cachedStatement.get();
+      template.bind(entity, id, newId, jdbcStatement, session.getConnection());
+      return jdbcStatement.executeLargeUpdate();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + sql, e);
+    }
+  }
+
   @Override
   protected long executeSql(DbPlainStatement plainStatement, Consumer<DbResult> receiver, boolean unique) {
 
+    return executeSql(plainStatement, receiver, unique, 0);
+  }
+
+  @Override
+  protected long executeSql(DbPlainStatement plainStatement, Consumer<DbResult> receiver, boolean unique,
+      int maxRows) {
+
     Objects.requireNonNull(plainStatement);
-    Connection connection = getSession().getConnection();
+    JdbcSession session = getSession();
+    JdbcUnitOfWork unitOfWork = session.getUnitOfWork();
+    if (unitOfWork != null) {
+      // pending changes have to be visible for queries and have to be applied before deletes and bulk operations
+      unitOfWork.flush();
+    }
+    Connection connection = session.getConnection();
+    JdbcStatementCache statementCache = session.getJdbcConnection().getStatementCache();
     DbPlainStatement current = plainStatement;
     long count = 0;
     boolean resultReceived = false;
     while (current != null) {
       String sql = current.getStatement();
       LOG.debug("Executing SQL:\n{}", sql);
-      try (PreparedStatement jdbcStatement = connection.prepareStatement(sql)) {
+      try (JdbcCachedStatement cachedStatement = statementCache.prepare(sql)) {
+        PreparedStatement jdbcStatement = cachedStatement.get();
         AbstractCriteriaParameters parameters = current.getParameters().cast();
         parameters.apply(jdbcStatement, connection);
         if (receiver == null) {
           count += jdbcStatement.executeLargeUpdate();
         } else {
+          // LIMIT and OFFSET are bound as parameters so the same cached statement is reused with different limits
+          // and max rows has to be set on every call (0 for no limit) to never apply a stale value
+          jdbcStatement.setMaxRows(maxRows);
           boolean dataResult = jdbcStatement.execute();
           if (dataResult) {
             resultReceived = true;
@@ -199,13 +556,15 @@ public class JdbcAccess extends AbstractDbAccess {
                   jdbcResult.setResultSet(resultSet);
                 }
                 while (resultSet.next()) {
-                  receiver.accept(jdbcResult);
-                  count++;
-                  if (unique) {
-                    resultSet.last();
-                    int size = resultSet.getRow();
+                  if (unique && (count > 0)) {
+                    int size = 2;
+                    while (resultSet.next()) {
+                      size++;
+                    }
                     throw new NonUniqueResultException(size, sql);
                   }
+                  receiver.accept(jdbcResult);
+                  count++;
                 }
               }
             } while (jdbcStatement.getMoreResults());
@@ -231,6 +590,21 @@ public class JdbcAccess extends AbstractDbAccess {
     return new JdbcSequence(sequenceName);
   }
 
+  @Override
+  public IdSequence createIdRangeSequence(DbQualifiedName tableName, String rangeName, int rangeSize) {
+
+    return new JdbcRangeSequence(tableName, rangeName, rangeSize);
+  }
+
+  @Override
+  public void createIdRangeTable(DbQualifiedName tableName) {
+
+    JdbcConnection jdbcConnection = getSession().getJdbcConnection();
+    if (jdbcConnection.getMetaData().getTable(tableName) == null) {
+      createTable(JdbcRangeSequence.createTable(tableName));
+    }
+  }
+
   @Override
   public void syncTable(EntityBean entity) {
 
@@ -0,0 +1,330 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.access;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.orm.jdbc.connection.JdbcCachedStatement;
+import io.github.mmm.orm.jdbc.connection.JdbcStatementCache;
+import io.github.mmm.orm.jdbc.result.JdbcResult;
+import io.github.mmm.orm.jdbc.session.JdbcSession;
+import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.param.DbEntityBinder;
+import io.github.mmm.orm.param.DbEntityUpdateBinder;
+import io.github.mmm.orm.param.DbEntityUpsertBinder;
+import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.statement.DbPlainStatement;
+
+/**
+ * Collects {@link DbPlainStatement}s or entities {@link DbEntityBinder bound} for insertion,
+ * {@link DbEntityUpdateBinder update} or {@link DbEntityUpsertBinder upsert} and executes them as JDBC batch.
+ * Consecutive statements with the same SQL share a single {@link PreparedStatement} and are sent to the database via
+ * {@link Statement#executeLargeBatch()} whenever the SQL changes or the {@link #getBatchSize() batch size} is reached.
+ *
+ * @since 1.0.0
+ */
+public final class JdbcBatch implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcBatch.class);
+
+  private final Connection connection;
+
+  private final JdbcStatementCache statementCache;
+
+  private final int batchSize;
+
+  private final List<LongConsumer> callbacks;
+
+  private final List<Consumer<DbResult>> resultCallbacks;
+
+  private JdbcCachedStatement statement;
+
+  private String sql;
+
+  private List<String> generatedKeys;
+
+  private long rowCount;
+
+  /**
+   * The constructor.
+   *
+   * @param session the {@link JdbcSession}.
+   * @param batchSize the {@link #getBatchSize() batch size}.
+   */
+  public JdbcBatch(JdbcSession session, int batchSize) {
+
+    super();
+    this.connection = session.getConnection();
+    this.statementCache = session.getJdbcConnection().getStatementCache();
+    if (batchSize < 1) {
+      this.batchSize = 1;
+    } else {
+      this.batchSize = batchSize;
+    }
+    this.callbacks = new ArrayList<>(Math.min(this.batchSize, 1024));
+    this.resultCallbacks = new ArrayList<>();
+  }
+
+  /**
+   * @return the maximum number of statements to send to the database in a single batch.
+   */
+  public int getBatchSize() {
+
+    return this.batchSize;
+  }
+
+  /**
+   * @return the total number of rows affected by the batches {@link #flush() executed} so far.
+   */
+  public long getRowCount() {
+
+    return this.rowCount;
+  }
+
+  /**
+   * @param plainStatement the {@link DbPlainStatement} to add to the batch. Has to be a single statement without
+   *        {@link DbPlainStatement#getNext() next}.
+   * @param callback the {@link LongConsumer} that receives the update count of this statement after the batch has been
+   *        executed. May be {@link Statement#SUCCESS_NO_INFO} if the JDBC driver does not provide the update count. May
+   *        be {@code null}.
+   */
+  public void add(DbPlainStatement plainStatement, LongConsumer callback) {
+
+    if (plainStatement.getNext() != null) {
+      throw new IllegalArgumentException("Multiple statements can not be batched: " + plainStatement);
+    }
+    String currentSql = plainStatement.getStatement();
+    try {
+      PreparedStatement jdbcStatement = prepare(currentSql, null);
+      AbstractCriteriaParameters parameters = plainStatement.getParameters().cast();
+      parameters.apply(jdbcStatement, this.connection);
+      jdbcStatement.addBatch();
+      this.callbacks.add(callback);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + currentSql, e);
+    }
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param binder the {@link DbEntityBinder} for the given {@link EntityBean}.
+   * @param entity the {@link EntityBean} to bind via its {@link DbEntityBinder#getTemplate(EntityBean) template} and
+   *        add to the batch. Consecutive entities share the same SQL if they have the same {@code null} properties.
+   * @param callback the {@link LongConsumer} that receives the update count (see
+   *        {@link #add(DbPlainStatement, LongConsumer)}). May be {@code null}.
+   */
+  public <E extends EntityBean> void add(DbEntityBinder<E> binder, E entity, LongConsumer callback) {
+
+    DbEntityBinder<E>.Template template = binder.getTemplate(entity);
+    String currentSql = template.getSql();
+    try {
+      PreparedStatement jdbcStatement = prepare(currentSql, null);
+      template.bind(entity, jdbcStatement, this.connection);
+      jdbcStatement.addBatch();
+      this.callbacks.add(callback);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + currentSql, e);
+    }
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param template the {@link DbEntityUpdateBinder.Template} to update the given {@link EntityBean}.
+   * @param entity the {@link EntityBean} with the new values to update.
+   * @param id the current {@link Id} of the persisted entity used for optimistic locking.
+   * @param newId the new {@link Id} with the updated {@link Id#getRevision() revision}.
+   * @param callback the {@link LongConsumer} that receives the update count (see
+   *        {@link #add(DbPlainStatement, LongConsumer)}). May be {@code null}.
+   */
+  public <E extends EntityBean> void add(DbEntityUpdateBinder<E>.Template template, E entity, Id<?> id, Id<?> newId,
+      LongConsumer callback) {
+
+    String currentSql = template.getSql();
+    try {
+      PreparedStatement jdbcStatement = prepare(currentSql, null);
+      template.bind(entity, id, newId, jdbcStatement, this.connection);
+      jdbcStatement.addBatch();
+      this.callbacks.add(callback);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + currentSql, e);
+    }
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param template the {@link DbEntityUpsertBinder.Template} to insert or update the given {@link EntityBean}.
+   * @param entity the {@link EntityBean} to insert or update.
+   * @param id the current {@link Id} of the entity with the expected {@link Id#getRevision() revision}.
+   * @param newId the new {@link Id} to store.
+   * @param callback the {@link LongConsumer} that receives the update count (see
+   *        {@link #add(DbPlainStatement, LongConsumer)}). May be {@code null}.
+   */
+  public <E extends EntityBean> void add(DbEntityUpsertBinder<E>.Template template, E entity, Id<?> id, Id<?> newId,
+      LongConsumer callback) {
+
+    String currentSql = template.getSql();
+    try {
+      PreparedStatement jdbcStatement = prepare(currentSql, null);
+      template.bind(entity, id, newId, jdbcStatement, this.connection);
+      jdbcStatement.addBatch();
+      this.callbacks.add(callback);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + currentSql, e);
+    }
+  }
+
+  /**
+   * Like {@link #add(DbEntityBinder, EntityBean, LongConsumer)} but also receives all
+   * {@link DbEntityBinder#getColumnNames() columns} of the inserted row via {@link Statement#getGeneratedKeys()}.
+   * Requires a dialect {@link io.github.mmm.orm.dialect.AbstractDbDialect#isSupportingBatchReturning() supporting}
+   * this.
+   *
+   * @param <E> type of the {@link EntityBean}.
+   * @param binder the {@link DbEntityBinder} for the given {@link EntityBean}.
+   * @param entity the {@link EntityBean} to bind via its {@link DbEntityBinder#getReturningTemplate(EntityBean)
+   *        returning template} and add to the batch.
+   * @param callback the {@link LongConsumer} that receives the update count (see
+   *        {@link #add(DbPlainStatement, LongConsumer)}). May be {@code null}.
+   * @param resultCallback the {@link Consumer} that receives the {@link DbResult} with the inserted row after the
+   *        batch has been executed.
+   */
+  public <E extends EntityBean> void add(DbEntityBinder<E> binder, E entity, LongConsumer callback,
+      Consumer<DbResult> resultCallback) {
+
+    DbEntityBinder<E>.Template template = binder.getReturningTemplate(entity);
+    String currentSql = template.getSql();
+    try {
+      PreparedStatement jdbcStatement = prepare(currentSql, binder.getColumnNames());
+      template.bind(entity, jdbcStatement, this.connection);
+      jdbcStatement.addBatch();
+      this.callbacks.add(callback);
+      this.resultCallbacks.add(resultCallback);
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute SQL: " + currentSql, e);
+    }
+  }
+
+  private PreparedStatement prepare(String currentSql, List<String> currentGeneratedKeys) throws SQLException {
+
+    boolean changed = !currentSql.equals(this.sql) || !Objects.equals(currentGeneratedKeys, this.generatedKeys);
+    if (changed || (this.callbacks.size() >= this.batchSize)) {
+      flush();
+      if (changed) {
+        closeStatement();
+        if (currentGeneratedKeys == null) {
+          this.statement = this.statementCache.prepare(currentSql);
+        } else {
+          this.statement = this.statementCache.prepare(currentSql, currentGeneratedKeys);
+        }
+        this.sql = currentSql;
+        this.generatedKeys = currentGeneratedKeys;
+      }
+    }
+    return this.statement.get();
+  }
+
+  /**
+   * Executes the pending statements.
+   */
+  public void flush() {
+
+    if (this.callbacks.isEmpty()) {
+      return;
+    }
+    LOG.debug("Executing batch of {} statements with SQL:\n{}", this.callbacks.size(), this.sql);
+    try {
+      long[] updateCounts = this.statement.get().executeLargeBatch();
+      int size = this.callbacks.size();
+      for (int i = 0; i < size; i++) {
+        long updateCount = Statement.SUCCESS_NO_INFO;
+        if (i < updateCounts.length) {
+          updateCount = updateCounts[i];
+        }
+        if (updateCount == Statement.EXECUTE_FAILED) {
+          throw new IllegalStateException("Failed to execute SQL in batch at index " + i + ": " + this.sql);
+        } else if (updateCount > 0) {
+          this.rowCount += updateCount;
+        }
+        LongConsumer callback = this.callbacks.get(i);
+        if (callback != null) {
+          callback.accept(updateCount);
+        }
+      }
+      if (!this.resultCallbacks.isEmpty()) {
+        readGeneratedKeys();
+      }
+    } catch (SQLException e) {
+      try {
+        this.statement.get().clearBatch();
+      } catch (SQLException e2) {
+        e.addSuppressed(e2);
+      }
+      throw new IllegalStateException("Failed to execute SQL: " + this.sql, e);
+    } finally {
+      this.callbacks.clear();
+      this.resultCallbacks.clear();
+    }
+  }
+
+  private void readGeneratedKeys() throws SQLException {
+
+    try (ResultSet rs = this.statement.get().getGeneratedKeys()) {
+      JdbcResult result = new JdbcResult(rs);
+      int size = this.resultCallbacks.size();
+      for (int i = 0; i < size; i++) {
+        if (!rs.next()) {
+          throw new IllegalStateException(
+              "Expected " + size + " generated rows but only got " + i + " for SQL: " + this.sql);
+        }
+        Consumer<DbResult> resultCallback = this.resultCallbacks.get(i);
+        if (resultCallback != null) {
+          resultCallback.accept(result);
+        }
+      }
+    }
+  }
+
+  private void closeStatement() throws SQLException {
+
+    if (this.statement != null) {
+      this.statement.close();
+      this.statement = null;
+      this.sql = null;
+      this.generatedKeys = null;
+    }
+  }
+
+  /**
+   * Discards pending statements that have not been {@link #flush() flushed} (e.g. due to an error) and releases the
+   * {@link java.sql.PreparedStatement}.
+   */
+  @Override
+  public void close() {
+
+    try {
+      if (!this.callbacks.isEmpty()) {
+        this.callbacks.clear();
+        this.resultCallbacks.clear();
+        this.statement.get().clearBatch();
+      }
+      closeStatement();
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to close statement for SQL: " + this.sql, e);
+    }
+  }
+
+}
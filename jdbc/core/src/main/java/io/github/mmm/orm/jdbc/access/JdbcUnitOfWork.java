@@ -0,0 +1,244 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.access;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.github.mmm.bean.ReadableBean;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.OptimisicLockException;
+import io.github.mmm.entity.property.id.FkProperty;
+import io.github.mmm.entity.property.link.LinkProperty;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.jdbc.session.JdbcSession;
+import io.github.mmm.orm.param.DbEntityUpdateBinder;
+import io.github.mmm.orm.spi.session.DbEntityHolder;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Unit of work for the write-behind mode of a {@link JdbcSession} (see
+ * {@link io.github.mmm.orm.source.DbSource#KEY_WRITE_BEHIND}). Inserts and updates of entities are only recorded and
+ * sent to the database on {@link #flush()}. Multiple modifications of the same entity within a transaction therefore
+ * result in a single statement. On {@link #flush()} the pending changes are ordered so that referenced entities are
+ * inserted before the entities linking to them, grouped by table and by the set of changed columns, and executed as
+ * {@link JdbcBatch}. Deletes are not recorded but executed immediately like queries and bulk statements. Therefore the
+ * pending changes are flushed before any such statement so that all modifications reach the database in the order they
+ * have been made.
+ *
+ * @since 1.0.0
+ */
+public final class JdbcUnitOfWork {
+
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcUnitOfWork.class);
+
+  private final JdbcSession session;
+
+  private final Map<DbEntityHolder<?>, Change> changes;
+
+  /**
+   * The constructor.
+   *
+   * @param session the owning {@link JdbcSession}.
+   */
+  public JdbcUnitOfWork(JdbcSession session) {
+
+    super();
+    this.session = session;
+    this.changes = new LinkedHashMap<>();
+  }
+
+  /**
+   * @return {@code true} if there are pending changes to {@link #flush()}, {@code false} otherwise.
+   */
+  public boolean isDirty() {
+
+    return !this.changes.isEmpty();
+  }
+
+  /**
+   * @param holder the {@link DbEntityHolder} of the new entity that has been put into the session.
+   */
+  void insert(DbEntityHolder<?> holder) {
+
+    this.changes.putIfAbsent(holder, new Change(holder, null));
+  }
+
+  /**
+   * Has to be called before the {@link DbEntityHolder} is {@link DbEntityHolder#update(EntityBean) updated}.
+   *
+   * @param holder the {@link DbEntityHolder} of the managed entity that is about to be updated.
+   */
+  void update(DbEntityHolder<?> holder) {
+
+    if (!this.changes.containsKey(holder)) {
+      EntityBean original = ReadableBean.copy(holder.getInternal());
+      this.changes.put(holder, new Change(holder, original));
+    }
+  }
+
+  /**
+   * Sends all pending changes to the database.
+   */
+  public void flush() {
+
+    if (this.changes.isEmpty()) {
+      return;
+    }
+    List<Change> changeList = new ArrayList<>(this.changes.values());
+    this.changes.clear();
+    Map<Class<?>, List<Change>> changesByType = new LinkedHashMap<>();
+    for (Change change : changeList) {
+      changesByType.computeIfAbsent(change.getInternal().getJavaClass(), k -> new ArrayList<>()).add(change);
+    }
+    List<Class<?>> types = sortByDependencies(changesByType);
+    LOG.debug("Flushing {} changes of {} entity types.", changeList.size(), types.size());
+    AbstractDbDialect<?> dialect = (AbstractDbDialect<?>) this.session.getConnectionData().getDialect();
+    boolean fullRow = this.session.getConnectionData().isFullRowUpdate();
+    List<EntityBean> inserts = new ArrayList<>();
+    List<Row> updates = new ArrayList<>();
+    for (Class<?> type : types) {
+      int updateStart = updates.size();
+      for (Change change : changesByType.get(type)) {
+        EntityBean entity = change.getInternal();
+        if (change.original == null) {
+          // inserts keep the order of insertion, consecutive ones with the same null columns share a batch
+          inserts.add(entity);
+        } else {
+          Row row = createUpdate(entity, change.original, dialect, fullRow);
+          if (row != null) {
+            updates.add(row);
+          }
+        }
+      }
+      // group rows with the same SQL (same set of columns) into a single batch
+      updates.subList(updateStart, updates.size()).sort(Comparator.comparing(Row::sql));
+    }
+    try (JdbcBatch batch = new JdbcBatch(this.session, this.session.getConnectionData().getBatchSize())) {
+      for (EntityBean entity : inserts) {
+        batch.add(dialect.getEntityBinder(entity), entity, updateCount -> {
+          assert (updateCount == 1) || (updateCount == Statement.SUCCESS_NO_INFO);
+        });
+      }
+      for (Row row : updates) {
+        row.adder.accept(batch);
+      }
+      batch.flush();
+    }
+  }
+
+  private static <E extends EntityBean> Row createUpdate(E entity, EntityBean original, AbstractDbDialect<?> dialect,
+      boolean fullRow) {
+
+    @SuppressWarnings("unchecked")
+    E originalEntity = (E) original;
+    Id<E> originalId = Id.from(originalEntity);
+    Id<E> newId = Id.from(entity);
+    DbEntityUpdateBinder<E> updateBinder = dialect.getEntityModel(entity).getUpdateBinder();
+    DbEntityUpdateBinder<E>.Template template = JdbcAccess.getUpdateTemplate(updateBinder, entity, originalEntity,
+        fullRow);
+    if (template == null) {
+      return null;
+    }
+    LongConsumer callback = updateCount -> {
+      if (updateCount == 0) {
+        throw new OptimisicLockException(originalId, entity.getType().getQualifiedName());
+      }
+      assert (updateCount == 1) || (updateCount == Statement.SUCCESS_NO_INFO);
+    };
+    return new Row(template.getSql(), batch -> batch.add(template, entity, originalId, newId, callback));
+  }
+
+  /**
+   * @param changesByType the {@link Change}s grouped by entity type.
+   * @return the entity types in the order to insert them so that referenced types come first. In case of cyclic
+   *         dependencies the remaining types are appended in the order of their first modification.
+   */
+  private static List<Class<?>> sortByDependencies(Map<Class<?>, List<Change>> changesByType) {
+
+    Map<Class<?>, Set<Class<?>>> dependencyMap = new LinkedHashMap<>();
+    for (Map.Entry<Class<?>, List<Change>> entry : changesByType.entrySet()) {
+      Set<Class<?>> dependencies = new HashSet<>();
+      for (Change change : entry.getValue()) {
+        dependencies.addAll(getDependencies(change.getInternal()));
+      }
+      dependencies.remove(entry.getKey());
+      dependencies.retainAll(changesByType.keySet());
+      dependencyMap.put(entry.getKey(), dependencies);
+    }
+    Set<Class<?>> sorted = new LinkedHashSet<>();
+    boolean progress = true;
+    while (progress && (sorted.size() < dependencyMap.size())) {
+      progress = false;
+      for (Map.Entry<Class<?>, Set<Class<?>>> entry : dependencyMap.entrySet()) {
+        Class<?> type = entry.getKey();
+        if (!sorted.contains(type) && sorted.containsAll(entry.getValue())) {
+          sorted.add(type);
+          progress = true;
+        }
+      }
+    }
+    if (sorted.size() < dependencyMap.size()) {
+      LOG.debug("Cyclic dependencies between entity types {} - falling back to order of modification.",
+          dependencyMap.keySet());
+      sorted.addAll(dependencyMap.keySet());
+    }
+    return new ArrayList<>(sorted);
+  }
+
+  private static Set<Class<?>> getDependencies(EntityBean entity) {
+
+    Set<Class<?>> dependencies = new HashSet<>();
+    for (WritableProperty<?> property : entity.getProperties()) {
+      if (property instanceof LinkProperty<?> link) {
+        dependencies.add(link.getEntityClass());
+      } else if (property instanceof FkProperty<?> fk) {
+        Id<?> id = fk.get();
+        if (id != null) {
+          dependencies.add(id.getEntityClass());
+        }
+      }
+    }
+    return dependencies;
+  }
+
+  /**
+   * A pending change of an entity.
+   *
+   * @param holder the {@link DbEntityHolder} of the modified entity.
+   * @param original the copy of the entity as currently persisted in the database or {@code null} for a new entity
+   *        that has to be inserted.
+   */
+  private record Change(DbEntityHolder<?> holder, EntityBean original) {
+
+    private EntityBean getInternal() {
+
+      return this.holder.getInternal();
+    }
+
+  }
+
+  /**
+   * A pending UPDATE statement for the {@link JdbcBatch}.
+   *
+   * @param sql the SQL of the UPDATE statement.
+   * @param adder the {@link Consumer} that {@link JdbcBatch#add(DbEntityUpdateBinder.Template, EntityBean, Id, Id,
+   *        LongConsumer) adds} the bound statement to the {@link JdbcBatch}.
+   */
+  private record Row(String sql, Consumer<JdbcBatch> adder) {
+  }
+
+}
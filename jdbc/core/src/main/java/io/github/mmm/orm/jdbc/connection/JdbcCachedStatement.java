@@ -0,0 +1,74 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.connection;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Handle for a {@link PreparedStatement} provided by {@link JdbcStatementCache}. Use with try-with-resources so that
+ * {@link #close()} hands the {@link PreparedStatement} back to the cache.
+ *
+ * @since 1.0.0
+ */
+public final class JdbcCachedStatement implements AutoCloseable {
+
+  private final PreparedStatement statement;
+
+  private final boolean cached;
+
+  private boolean inUse;
+
+  private boolean evicted;
+
+  /**
+   * The constructor.
+   *
+   * @param statement the {@link #get() prepared statement}.
+   * @param cached - {@code true} if owned by the {@link JdbcStatementCache}, {@code false} otherwise.
+   */
+  JdbcCachedStatement(PreparedStatement statement, boolean cached) {
+
+    super();
+    this.statement = statement;
+    this.cached = cached;
+    this.inUse = !cached;
+  }
+
+  /**
+   * @return the {@link PreparedStatement}. Must not be closed by the caller.
+   */
+  public PreparedStatement get() {
+
+    return this.statement;
+  }
+
+  boolean acquire() {
+
+    if (this.inUse) {
+      return false;
+    }
+    this.inUse = true;
+    return true;
+  }
+
+  void evict() throws SQLException {
+
+    this.evicted = true;
+    if (!this.inUse) {
+      this.statement.close();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+
+    this.inUse = false;
+    if (!this.cached || this.evicted) {
+      this.statement.close();
+    } else {
+      this.statement.clearParameters();
+    }
+  }
+
+}
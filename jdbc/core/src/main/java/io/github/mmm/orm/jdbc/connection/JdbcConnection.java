@@ -3,8 +3,10 @@
 package io.github.mmm.orm.jdbc.connection;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 
 import io.github.mmm.orm.connection.DbConnection;
+import io.github.mmm.orm.connection.DbStatementStatistics;
 import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.jdbc.impl.metadata.JdbcMetaData;
 import io.github.mmm.orm.metadata.DbMetaData;
@@ -22,6 +24,8 @@ public class JdbcConnection implements DbConnection, DbTransaction {
 
   private final DbDialect dialect;
 
+  private final JdbcStatementCache statementCache;
+
   private JdbcMetaData metaData;
 
   private boolean open;
@@ -35,10 +39,25 @@ public class JdbcConnection implements DbConnection, DbTransaction {
    */
   public JdbcConnection(Connection connection, DbSource source, DbDialect dialect) {
 
+    this(connection, source, dialect, DbSource.VALUE_STATEMENT_CACHE_SIZE_DEFAULT);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param connection the JDBC {@link Connection}.
+   * @param source the {@link #getSource() source}-
+   * @param dialect the {@link DbDialect}.
+   * @param statementCacheSize the {@link JdbcStatementCache#getCapacity() capacity} of the
+   *        {@link #getStatementCache() statement cache}.
+   */
+  public JdbcConnection(Connection connection, DbSource source, DbDialect dialect, int statementCacheSize) {
+
     super();
     this.connection = connection;
     this.source = source;
     this.dialect = dialect;
+    this.statementCache = new JdbcStatementCache(connection, statementCacheSize);
     this.open = true;
   }
 
@@ -62,6 +81,29 @@ public class JdbcConnection implements DbConnection, DbTransaction {
     return this.connection;
   }
 
+  /**
+   * @return the {@link JdbcStatementCache} to prepare statements for this connection.
+   */
+  public JdbcStatementCache getStatementCache() {
+
+    return this.statementCache;
+  }
+
+  @Override
+  public DbStatementStatistics getStatementStatistics() {
+
+    return this.statementCache;
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> type) {
+
+    if (type.isInstance(this.connection)) {
+      return type.cast(this.connection);
+    }
+    return DbConnection.super.unwrap(type);
+  }
+
   @Override
   public DbMetaData getMetaData() {
 
@@ -71,9 +113,10 @@ public class JdbcConnection implements DbConnection, DbTransaction {
     return this.metaData;
   }
 
-  void close() {
+  void close() throws SQLException {
 
     this.open = false;
+    this.statementCache.close();
   }
 
 }
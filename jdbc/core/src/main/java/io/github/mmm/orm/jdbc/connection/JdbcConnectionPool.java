@@ -4,6 +4,7 @@ package io.github.mmm.orm.jdbc.connection;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.sql.DataSource;
 
@@ -25,6 +26,12 @@ public class JdbcConnectionPool implements DbConnectionPool<JdbcConnection> {
 
   private final JdbcConnectionPoolProvider provider;
 
+  private final int statementCacheSize;
+
+  private final LongAdder statementCacheHits;
+
+  private final LongAdder statementCacheMisses;
+
   /**
    * The constructor.
    *
@@ -36,11 +43,47 @@ public class JdbcConnectionPool implements DbConnectionPool<JdbcConnection> {
   public JdbcConnectionPool(DataSource dataSource, DbSource source, DbDialect dialect,
       JdbcConnectionPoolProvider provider) {
 
+    this(dataSource, source, dialect, provider, DbSource.VALUE_STATEMENT_CACHE_SIZE_DEFAULT);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param dataSource the {@link DataSource} pre-configured as connection pool.
+   * @param source the {@link DbSource}.
+   * @param dialect the {@link DbDialect}.
+   * @param provider the {@link JdbcConnectionPoolProvider} who created this pool.
+   * @param statementCacheSize the {@link DbSource#KEY_STATEMENT_CACHE_SIZE statement cache size}.
+   */
+  public JdbcConnectionPool(DataSource dataSource, DbSource source, DbDialect dialect,
+      JdbcConnectionPoolProvider provider, int statementCacheSize) {
+
     super();
     this.dataSource = dataSource;
     this.source = source;
     this.dialect = dialect;
     this.provider = provider;
+    this.statementCacheSize = statementCacheSize;
+    this.statementCacheHits = new LongAdder();
+    this.statementCacheMisses = new LongAdder();
+  }
+
+  /**
+   * @return the total number of {@link JdbcStatementCache#getHitCount() statement cache hits} of all
+   *         {@link #release(JdbcConnection) released} connections.
+   */
+  public long getStatementCacheHitCount() {
+
+    return this.statementCacheHits.sum();
+  }
+
+  /**
+   * @return the total number of {@link JdbcStatementCache#getMissCount() statement cache misses} of all
+   *         {@link #release(JdbcConnection) released} connections.
+   */
+  public long getStatementCacheMissCount() {
+
+    return this.statementCacheMisses.sum();
   }
 
   @Override
@@ -49,7 +92,7 @@ public class JdbcConnectionPool implements DbConnectionPool<JdbcConnection> {
     try {
       Connection connection = this.dataSource.getConnection();
       connection.setAutoCommit(false);
-      return new JdbcConnection(connection, this.source, this.dialect);
+      return new JdbcConnection(connection, this.source, this.dialect, this.statementCacheSize);
     } catch (SQLException e) {
       throw new IllegalStateException("Unable to acquire connection!", e);
     }
@@ -58,9 +101,15 @@ public class JdbcConnectionPool implements DbConnectionPool<JdbcConnection> {
   @Override
   public void release(JdbcConnection connection) {
 
+    JdbcStatementCache statementCache = connection.getStatementCache();
+    this.statementCacheHits.add(statementCache.getHitCount());
+    this.statementCacheMisses.add(statementCache.getMissCount());
     try {
-      connection.connection.close();
-      connection.close();
+      try {
+        connection.close();
+      } finally {
+        connection.connection.close();
+      }
     } catch (SQLException e) {
       throw new IllegalStateException("Unable to release connection!", e);
     }
@@ -27,7 +27,9 @@ public abstract class JdbcConnectionPoolProvider implements DbConnectionPoolProv
   public DbConnectionPool<JdbcConnection> create(DbSource source, MetaInfo config, DbDialect dialect) {
 
     DataSource dataSource = createDataSource(config);
-    return new JdbcConnectionPool(dataSource, source, dialect, this);
+    int statementCacheSize = config.getAsInteger(DbSource.KEY_STATEMENT_CACHE_SIZE,
+        DbSource.VALUE_STATEMENT_CACHE_SIZE_DEFAULT);
+    return new JdbcConnectionPool(dataSource, source, dialect, this, statementCacheSize);
   }
 
   /**
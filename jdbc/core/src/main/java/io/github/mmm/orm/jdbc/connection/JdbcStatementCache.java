@@ -0,0 +1,209 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.connection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import io.github.mmm.orm.connection.DbStatementStatistics;
+
+/**
+ * Cache for {@link PreparedStatement}s of a single {@link JdbcConnection}. It keeps up to {@link #getCapacity()
+ * capacity} statements open and evicts the least recently used one when that limit is exceeded. As a
+ * {@link JdbcConnection} is only used by a single transaction, this class is intentionally not thread-safe.
+ *
+ * @since 1.0.0
+ */
+public final class JdbcStatementCache implements DbStatementStatistics {
+
+  private final Connection connection;
+
+  private final int capacity;
+
+  private final Map<Key, JdbcCachedStatement> statements;
+
+  private long hitCount;
+
+  private long missCount;
+
+  /**
+   * The constructor.
+   *
+   * @param connection the JDBC {@link Connection} to prepare the statements with.
+   * @param capacity the {@link #getCapacity() capacity}.
+   */
+  JdbcStatementCache(Connection connection, int capacity) {
+
+    super();
+    this.connection = connection;
+    this.capacity = capacity;
+    if (capacity > 0) {
+      this.statements = new LinkedHashMap<>(16, 0.75f, true);
+    } else {
+      this.statements = null;
+    }
+  }
+
+  /**
+   * @return the maximum number of {@link PreparedStatement}s kept open by this cache. A value less or equal to zero
+   *         means that caching is disabled.
+   */
+  public int getCapacity() {
+
+    return this.capacity;
+  }
+
+  /**
+   * @return the number of {@link PreparedStatement}s currently cached.
+   */
+  public int getSize() {
+
+    if (this.statements == null) {
+      return 0;
+    }
+    return this.statements.size();
+  }
+
+  /**
+   * @return the number of {@link #prepare(String, int, int) requests} that could be served from this cache.
+   */
+  @Override
+  public long getHitCount() {
+
+    return this.hitCount;
+  }
+
+  /**
+   * @return the number of {@link #prepare(String, int, int) requests} that had to prepare a new
+   *         {@link PreparedStatement}.
+   */
+  @Override
+  public long getMissCount() {
+
+    return this.missCount;
+  }
+
+  /**
+   * @param sql the SQL to prepare.
+   * @return the {@link JdbcCachedStatement} for a {@link ResultSet#TYPE_FORWARD_ONLY forward-only} and
+   *         {@link ResultSet#CONCUR_READ_ONLY read-only} {@link ResultSet}.
+   * @throws SQLException on error.
+   * @see #prepare(String, int, int)
+   */
+  public JdbcCachedStatement prepare(String sql) throws SQLException {
+
+    return prepare(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+  }
+
+  /**
+   * @param sql the SQL to prepare.
+   * @param resultSetType the {@link ResultSet#getType() result set type}.
+   * @param resultSetConcurrency the {@link ResultSet#getConcurrency() result set concurrency}.
+   * @return the {@link JdbcCachedStatement} that has to be {@link JdbcCachedStatement#close() closed} after use (e.g.
+   *         via try-with-resources). Closing will hand the {@link PreparedStatement} back to this cache rather than
+   *         closing it physically.
+   * @throws SQLException on error.
+   */
+  public JdbcCachedStatement prepare(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+
+    return prepare(new Key(sql, resultSetType, resultSetConcurrency, null));
+  }
+
+  /**
+   * @param sql the SQL of the INSERT statement to prepare.
+   * @param generatedKeys the {@link List} with the names of the columns to return via
+   *        {@link java.sql.Statement#getGeneratedKeys()}.
+   * @return the {@link JdbcCachedStatement} (see {@link #prepare(String, int, int)}).
+   * @throws SQLException on error.
+   */
+  public JdbcCachedStatement prepare(String sql, List<String> generatedKeys) throws SQLException {
+
+    return prepare(new Key(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY, generatedKeys));
+  }
+
+  private JdbcCachedStatement prepare(Key key) throws SQLException {
+
+    if (this.statements == null) {
+      this.missCount++;
+      return new JdbcCachedStatement(prepareStatement(key), false);
+    }
+    JdbcCachedStatement cached = this.statements.get(key);
+    if (cached != null) {
+      if (cached.acquire()) {
+        this.hitCount++;
+        return cached;
+      }
+      // statement is still in use (e.g. nested query while iterating its result) so we can not share it
+      this.missCount++;
+      return new JdbcCachedStatement(prepareStatement(key), false);
+    }
+    this.missCount++;
+    cached = new JdbcCachedStatement(prepareStatement(key), true);
+    cached.acquire();
+    this.statements.put(key, cached);
+    evict();
+    return cached;
+  }
+
+  private PreparedStatement prepareStatement(Key key) throws SQLException {
+
+    if (key.generatedKeys != null) {
+      return this.connection.prepareStatement(key.sql, key.generatedKeys.toArray(String[]::new));
+    }
+    return this.connection.prepareStatement(key.sql, key.resultSetType, key.resultSetConcurrency);
+  }
+
+  private void evict() throws SQLException {
+
+    int overflow = this.statements.size() - this.capacity;
+    if (overflow <= 0) {
+      return;
+    }
+    Iterator<Entry<Key, JdbcCachedStatement>> iterator = this.statements.entrySet().iterator();
+    while ((overflow > 0) && iterator.hasNext()) {
+      JdbcCachedStatement eldest = iterator.next().getValue();
+      iterator.remove();
+      eldest.evict();
+      overflow--;
+    }
+  }
+
+  /**
+   * Closes all cached {@link PreparedStatement}s.
+   *
+   * @throws SQLException on error.
+   */
+  void close() throws SQLException {
+
+    if (this.statements == null) {
+      return;
+    }
+    SQLException error = null;
+    for (JdbcCachedStatement cached : this.statements.values()) {
+      try {
+        cached.evict();
+      } catch (SQLException e) {
+        if (error == null) {
+          error = e;
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
+    this.statements.clear();
+    if (error != null) {
+      throw error;
+    }
+  }
+
+  private record Key(String sql, int resultSetType, int resultSetConcurrency, List<String> generatedKeys) {
+  }
+
+}
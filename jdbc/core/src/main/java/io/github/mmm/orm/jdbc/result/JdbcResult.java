@@ -2,9 +2,19 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.jdbc.result;
 
+import java.math.BigDecimal;
+import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.util.UUID;
 
 import io.github.mmm.orm.result.DbResult;
 
@@ -44,6 +54,75 @@ public class JdbcResult implements DbResult {
     }
   }
 
+  @SuppressWarnings("unchecked")
+  @Override
+  public <V> V getValue(int i, Class<V> type) {
+
+    int column = i + 1;
+    try {
+      Object value;
+      if ((type == null) || (type == Object.class)) {
+        value = this.resultSet.getObject(column);
+      } else if (type == String.class) {
+        value = this.resultSet.getString(column);
+      } else if (type == Long.class) {
+        long l = this.resultSet.getLong(column);
+        value = this.resultSet.wasNull() ? null : Long.valueOf(l);
+      } else if (type == Integer.class) {
+        int integer = this.resultSet.getInt(column);
+        value = this.resultSet.wasNull() ? null : Integer.valueOf(integer);
+      } else if (type == Boolean.class) {
+        boolean b = this.resultSet.getBoolean(column);
+        value = this.resultSet.wasNull() ? null : Boolean.valueOf(b);
+      } else if (type == Double.class) {
+        double d = this.resultSet.getDouble(column);
+        value = this.resultSet.wasNull() ? null : Double.valueOf(d);
+      } else if (type == Float.class) {
+        float f = this.resultSet.getFloat(column);
+        value = this.resultSet.wasNull() ? null : Float.valueOf(f);
+      } else if (type == Short.class) {
+        short sh = this.resultSet.getShort(column);
+        value = this.resultSet.wasNull() ? null : Short.valueOf(sh);
+      } else if (type == Byte.class) {
+        byte b = this.resultSet.getByte(column);
+        value = this.resultSet.wasNull() ? null : Byte.valueOf(b);
+      } else if (type == BigDecimal.class) {
+        value = this.resultSet.getBigDecimal(column);
+      } else if (type == byte[].class) {
+        value = this.resultSet.getBytes(column);
+      } else if (type == Timestamp.class) {
+        value = this.resultSet.getTimestamp(column);
+      } else if (type == Date.class) {
+        value = this.resultSet.getDate(column);
+      } else if (type == Time.class) {
+        value = this.resultSet.getTime(column);
+      } else if (isJdbc42Type(type)) {
+        try {
+          value = this.resultSet.getObject(column, type);
+        } catch (SQLException e) {
+          // drivers are free to reject the conversion with any SQLException
+          value = this.resultSet.getObject(column);
+        }
+      } else {
+        value = this.resultSet.getObject(column);
+      }
+      return (V) value;
+    } catch (SQLException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @param type the requested {@link Class}.
+   * @return {@code true} if the given {@link Class} is one of the types that JDBC 4.2 drivers have to support for
+   *         {@link ResultSet#getObject(int, Class)} or a {@link UUID}, {@code false} otherwise.
+   */
+  private static boolean isJdbc42Type(Class<?> type) {
+
+    return (type == LocalDate.class) || (type == LocalTime.class) || (type == LocalDateTime.class)
+        || (type == OffsetTime.class) || (type == OffsetDateTime.class) || (type == UUID.class);
+  }
+
   @Override
   public String getName(int i) {
 
@@ -0,0 +1,139 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.result;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.github.mmm.orm.mapping.DbMapper2Java;
+
+/**
+ * {@link Iterator} that lazily reads and maps the rows of a forward-only JDBC {@link ResultSet}. The
+ * {@link PreparedStatement} and {@link ResultSet} are owned by this iterator and released on {@link #close()} or
+ * automatically once the last row has been read.
+ *
+ * @param <R> type of the mapped result objects.
+ * @since 1.0.0
+ */
+public class JdbcResultIterator<R> implements Iterator<R>, AutoCloseable {
+
+  private final PreparedStatement statement;
+
+  private final ResultSet resultSet;
+
+  private final JdbcResult result;
+
+  private final DbMapper2Java<R> mapper;
+
+  private final String sql;
+
+  private boolean hasNext;
+
+  private boolean closed;
+
+  /**
+   * The constructor.
+   *
+   * @param statement the executed {@link PreparedStatement}.
+   * @param resultSet the {@link ResultSet} to iterate.
+   * @param mapper the {@link DbMapper2Java} to map each row.
+   * @param sql the SQL of the query for error messages.
+   */
+  public JdbcResultIterator(PreparedStatement statement, ResultSet resultSet, DbMapper2Java<R> mapper, String sql) {
+
+    super();
+    this.statement = statement;
+    this.resultSet = resultSet;
+    this.result = new JdbcResult(resultSet);
+    this.mapper = mapper;
+    this.sql = sql;
+    this.hasNext = advance();
+  }
+
+  private boolean advance() {
+
+    try {
+      boolean next = this.resultSet.next();
+      if (!next) {
+        close();
+      }
+      return next;
+    } catch (SQLException e) {
+      close(e);
+      throw new IllegalStateException("Failed to read result of SQL: " + this.sql, e);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+
+    return this.hasNext;
+  }
+
+  @Override
+  public R next() {
+
+    if (!this.hasNext) {
+      throw new NoSuchElementException();
+    }
+    R next = this.mapper.db2java(this.result);
+    this.hasNext = advance();
+    return next;
+  }
+
+  /**
+   * @return a sequential {@link Stream} of the remaining results that {@link #close() closes} this iterator when
+   *         {@link Stream#close() closed} itself.
+   */
+  public Stream<R> stream() {
+
+    Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    return StreamSupport.stream(spliterator, false).onClose(this::close);
+  }
+
+  @Override
+  public void close() {
+
+    close(null);
+  }
+
+  private void close(SQLException error) {
+
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    this.hasNext = false;
+    SQLException failure = error;
+    try {
+      this.resultSet.close();
+    } catch (SQLException e) {
+      failure = addError(failure, e);
+    }
+    try {
+      this.statement.close();
+    } catch (SQLException e) {
+      failure = addError(failure, e);
+    }
+    if ((error == null) && (failure != null)) {
+      throw new IllegalStateException("Failed to close result of SQL: " + this.sql, failure);
+    }
+  }
+
+  private static SQLException addError(SQLException failure, SQLException e) {
+
+    if (failure == null) {
+      return e;
+    }
+    failure.addSuppressed(e);
+    return failure;
+  }
+
+}
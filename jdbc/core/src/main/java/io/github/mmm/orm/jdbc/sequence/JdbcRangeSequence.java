@@ -0,0 +1,222 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.sequence;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.sequence.IdSequence;
+import io.github.mmm.orm.ddl.DbColumnSpec;
+import io.github.mmm.orm.ddl.constraint.PrimaryKeyConstraint;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.jdbc.connection.JdbcCachedStatement;
+import io.github.mmm.orm.jdbc.session.JdbcSession;
+import io.github.mmm.orm.metadata.DbQualifiedName;
+import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.spi.sequence.IdRange;
+import io.github.mmm.orm.statement.DbPlainStatement;
+import io.github.mmm.orm.statement.DbStatement;
+import io.github.mmm.orm.statement.DbStatementPlanCache;
+import io.github.mmm.orm.statement.create.CreateTableClause;
+import io.github.mmm.orm.statement.create.CreateTableStatement;
+import io.github.mmm.orm.statement.insert.InsertClause;
+import io.github.mmm.orm.statement.insert.InsertStatement;
+import io.github.mmm.orm.statement.select.SelectFromClause;
+import io.github.mmm.orm.statement.select.SelectStatement;
+import io.github.mmm.orm.statement.update.UpdateClause;
+import io.github.mmm.orm.statement.update.UpdateStatement;
+
+/**
+ * Implementation of {@link IdSequence} for the hi/lo strategy that leases ranges of IDs from a simple range table
+ * instead of a database sequence. Each call of {@link #next(Id)} claims the next range of {@code rangeSize} IDs with an
+ * optimistic update ({@code UPDATE ... SET NEXT_VALUE = new WHERE NAME = ? AND NEXT_VALUE = old}) and returns the
+ * start of the claimed range. Combine with {@link io.github.mmm.orm.spi.sequence.IdSequencePooled} using
+ * {@code rangeSize} as increment to hand out the IDs of a range from memory. The claim is executed and committed in its
+ * own transaction so a range is never handed out twice even if the calling transaction is rolled back. This makes it
+ * safe for multiple cluster nodes using the same database. All statements are built as {@link DbStatement}s for the
+ * {@link IdRange} entity and formatted by the {@link AbstractDbDialect dialect}.
+ *
+ * @since 1.0.0
+ */
+public class JdbcRangeSequence implements IdSequence {
+
+  private static final long START_VALUE = 1000000000000L;
+
+  private static final int MAX_ATTEMPTS = 100;
+
+  /** {@link SQLException#getSQLState() SQL state} class for integrity constraint violations. */
+  private static final String SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION = "23";
+
+  private final DbQualifiedName tableName;
+
+  private final String name;
+
+  private final long rangeSize;
+
+  private final IdRange range;
+
+  private final SelectStatement<Long> selectStatement;
+
+  /**
+   * The constructor.
+   *
+   * @param tableName the {@link DbQualifiedName} of the range table.
+   * @param name the name of the range (e.g. the name of the sequence it replaces). Each name has its own row in the
+   *        range table.
+   * @param rangeSize the number of IDs to claim at once.
+   */
+  public JdbcRangeSequence(DbQualifiedName tableName, String name, long rangeSize) {
+
+    super();
+    if (rangeSize < 1) {
+      throw new IllegalArgumentException("Invalid range size '" + rangeSize + "' - must be positive.");
+    }
+    this.tableName = tableName;
+    this.name = name;
+    this.rangeSize = rangeSize;
+    this.range = IdRange.of();
+    // constant statement so it is only formatted once by the dialect
+    this.selectStatement = new SelectFromClause<>(DbStatement.select(this.range.NextValue()), this.range,
+        tableName.toString()).where(this.range.Name().eq(name)).get();
+  }
+
+  /**
+   * @param tableName the {@link DbQualifiedName} of the range table.
+   * @return the {@link CreateTableStatement} to create the range table.
+   */
+  public static CreateTableStatement<IdRange> createTable(DbQualifiedName tableName) {
+
+    IdRange range = IdRange.of();
+    DbColumnSpec name = new DbColumnSpec(range.Name());
+    return new CreateTableClause<>(range, tableName.toString()).column(name).column(range.NextValue())
+        .constraint(new PrimaryKeyConstraint("PK_" + tableName.getName(), name)).get();
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    JdbcSession session = JdbcSession.get();
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      try {
+        long start = JdbcSession.doInTx(session.getConnectionData(), this::claim);
+        if (start >= 0) {
+          return start;
+        }
+      } catch (ConcurrentClaimException e) {
+        // transaction has been rolled back, retry
+      }
+    }
+    throw new IllegalStateException("Failed to claim ID range '" + this.name + "' from table " + this.tableName
+        + " after " + MAX_ATTEMPTS + " attempts due to concurrent modifications.");
+  }
+
+  /**
+   * @return the start of the claimed range or {@code -1} if the claim failed due to a concurrent modification.
+   */
+  private long claim() {
+
+    JdbcSession session = JdbcSession.get();
+    DbStatementPlanCache planCache = ((AbstractDbDialect<?>) session.getConnectionData().getDialect())
+        .getStatementPlanCache();
+    IdRange range = this.range;
+    String entityName = this.tableName.toString();
+    DbPlainStatement plainStatement = planCache.format(this.selectStatement);
+    try {
+      long current = -1;
+      try (JdbcCachedStatement cachedStatement = prepare(session, plainStatement);
+          ResultSet rs = cachedStatement.get().executeQuery()) {
+        if (rs.next()) {
+          current = rs.getLong(1);
+        }
+      }
+      if (current == -1) {
+        InsertStatement<IdRange> insert = new InsertClause().into(range, entityName).value(range.Name(), this.name)
+            .value(range.NextValue(), Long.valueOf(START_VALUE + this.rangeSize)).get();
+        plainStatement = planCache.format(insert);
+        try (JdbcCachedStatement cachedStatement = prepare(session, plainStatement)) {
+          cachedStatement.get().executeUpdate();
+        } catch (SQLException e) {
+          if (isIntegrityConstraintViolation(e)) {
+            // inserted concurrently by another node
+            throw new ConcurrentClaimException();
+          }
+          throw e;
+        }
+        return START_VALUE;
+      }
+      UpdateStatement<IdRange> update = new UpdateClause<>(range, entityName)
+          .set(range.NextValue(), Long.valueOf(current + this.rangeSize))
+          .where(range.Name().eq(this.name), range.NextValue().eq(Long.valueOf(current))).get();
+      plainStatement = planCache.format(update);
+      try (JdbcCachedStatement cachedStatement = prepare(session, plainStatement)) {
+        if (cachedStatement.get().executeUpdate() == 1) {
+          return current;
+        }
+        return -1;
+      }
+    } catch (SQLException e) {
+      throw new IllegalStateException("Failed to execute " + plainStatement.getStatement(), e);
+    }
+  }
+
+  private static JdbcCachedStatement prepare(JdbcSession session, DbPlainStatement plainStatement)
+      throws SQLException {
+
+    JdbcCachedStatement cachedStatement = session.getJdbcConnection().getStatementCache()
+        .prepare(plainStatement.getStatement());
+    try {
+      PreparedStatement statement = cachedStatement.get();
+      AbstractCriteriaParameters parameters = plainStatement.getParameters().cast();
+      parameters.apply(statement, session.getConnection());
+      return cachedStatement;
+    } catch (SQLException | RuntimeException e) {
+      try {
+        cachedStatement.close();
+      } catch (SQLException e2) {
+        e.addSuppressed(e2);
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Drivers are not required to throw {@link java.sql.SQLIntegrityConstraintViolationException} (e.g. PostgreSQL and
+   * SQLite do not) so the standard {@link SQLException#getSQLState() SQL state} class is checked instead.
+   *
+   * @param e the {@link SQLException} to check.
+   * @return {@code true} if the given {@link SQLException} or one of its {@link SQLException#getNextException() chained
+   *         exceptions} is an integrity constraint violation, {@code false} otherwise.
+   */
+  private static boolean isIntegrityConstraintViolation(SQLException e) {
+
+    SQLException current = e;
+    while (current != null) {
+      String sqlState = current.getSQLState();
+      if ((sqlState != null) && sqlState.startsWith(SQL_STATE_INTEGRITY_CONSTRAINT_VIOLATION)) {
+        return true;
+      }
+      current = current.getNextException();
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+
+    return this.tableName + "[" + this.name + "]";
+  }
+
+  private static final class ConcurrentClaimException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private ConcurrentClaimException() {
+
+      super(null, null, false, false);
+    }
+
+  }
+
+}
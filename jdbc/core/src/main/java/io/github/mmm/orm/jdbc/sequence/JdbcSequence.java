@@ -2,25 +2,30 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.jdbc.sequence;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.entity.id.sequence.IdSequence;
-import io.github.mmm.orm.dialect.DbDialect;
+import io.github.mmm.orm.dialect.AbstractDbDialect;
+import io.github.mmm.orm.jdbc.connection.JdbcCachedStatement;
+import io.github.mmm.orm.jdbc.connection.JdbcStatementCache;
 import io.github.mmm.orm.jdbc.session.JdbcSession;
 import io.github.mmm.orm.metadata.DbName;
 import io.github.mmm.orm.metadata.DbQualifiedName;
+import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.spi.sequence.IdSequenceBulk;
 import io.github.mmm.orm.statement.DbPlainStatement;
 import io.github.mmm.orm.statement.DbStatement;
 import io.github.mmm.orm.statement.select.SelectStatement;
 
 /**
- * Implementation of {@link IdSequence} backed by a database sequence using JDBC.
+ * Implementation of {@link IdSequence} backed by a database sequence using JDBC. If the
+ * {@link AbstractDbDialect#isSupportingSequenceRange() dialect supports it}, {@link #next(Id, int) multiple values} are
+ * selected in a single round trip.
  */
-public class JdbcSequence implements IdSequence {
+public class JdbcSequence implements IdSequenceBulk {
 
   private final DbQualifiedName sequenceName;
 
@@ -52,32 +57,76 @@ public class JdbcSequence implements IdSequence {
   public long next(Id<?> template) {
 
     JdbcSession session = JdbcSession.get();
-    DbDialect dialect = session.getConnectionData().getDialect();
-    Connection connection = session.getConnection();
-    DbPlainStatement plainStatement = dialect.createFormatter().formatStatement(this.statement);
-    long id = -1;
+    AbstractDbDialect<?> dialect = (AbstractDbDialect<?>) session.getConnectionData().getDialect();
+    long[] values = new long[1];
+    execute(session, dialect.getStatementPlanCache().format(this.statement), values);
+    return values[0];
+  }
+
+  @Override
+  public long[] next(Id<?> template, int count) {
+
+    if (count < 0) {
+      throw new IllegalArgumentException("Invalid count '" + count + "' - must not be negative.");
+    }
+    long[] values = new long[count];
+    JdbcSession session = JdbcSession.get();
+    AbstractDbDialect<?> dialect = (AbstractDbDialect<?>) session.getConnectionData().getDialect();
+    if ((count <= 1) || !dialect.isSupportingSequenceRange()) {
+      for (int i = 0; i < count; i++) {
+        values[i] = next(template);
+      }
+      return values;
+    }
+    SelectStatement<Long> rangeStatement = DbStatement.selectSeqNextValues(this.sequenceName, count);
+    execute(session, dialect.getStatementPlanCache().format(rangeStatement), values);
+    return values;
+  }
+
+  /**
+   * Executes all statements of the given {@link DbPlainStatement} in order. Dialects without native sequences may
+   * need multiple statements (e.g. to advance and then read the sequence) so the values are read from whichever
+   * statement returns a {@link ResultSet}.
+   *
+   * @param session the {@link JdbcSession}.
+   * @param plainStatement the {@link DbPlainStatement} to execute.
+   * @param values the array where to store the received sequence values.
+   */
+  private static void execute(JdbcSession session, DbPlainStatement plainStatement, long[] values) {
+
+    JdbcStatementCache statementCache = session.getJdbcConnection().getStatementCache();
+    int size = -1;
     while (plainStatement != null) {
       String sql = plainStatement.getStatement();
-      try {
-        PreparedStatement preparedStatement = connection.prepareStatement(sql);
-        if (id == -1) {
-          ResultSet rs = preparedStatement.executeQuery();
-          if (rs.next()) {
-            id = rs.getLong(1);
-            assert (id != -1);
-          } else {
-            throw new SQLException("ResultSet empty");
+      try (JdbcCachedStatement cachedStatement = statementCache.prepare(sql)) {
+        PreparedStatement preparedStatement = cachedStatement.get();
+        AbstractCriteriaParameters parameters = plainStatement.getParameters().cast();
+        parameters.apply(preparedStatement, session.getConnection());
+        if (preparedStatement.execute()) {
+          if (size != -1) {
+            throw new SQLException("Multiple statements returned a ResultSet");
+          }
+          size = 0;
+          try (ResultSet rs = preparedStatement.getResultSet()) {
+            while (rs.next()) {
+              if (size == values.length) {
+                throw new SQLException("ResultSet has more than " + values.length + " rows");
+              }
+              values[size++] = rs.getLong(1);
+            }
+          }
+          if (size < values.length) {
+            throw new SQLException("ResultSet has only " + size + " of " + values.length + " rows");
           }
-        } else {
-          preparedStatement.execute();
         }
       } catch (SQLException e) {
         throw new IllegalStateException("Failed to execute " + sql, e);
       }
       plainStatement = plainStatement.getNext();
     }
-    assert (id != -1);
-    return id;
+    if (size == -1) {
+      throw new IllegalStateException("No statement returned a ResultSet");
+    }
   }
 
 }
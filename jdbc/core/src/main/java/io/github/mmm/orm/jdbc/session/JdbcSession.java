@@ -6,12 +6,17 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.concurrent.Callable;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import io.github.mmm.orm.connection.DbConnectionData;
+import io.github.mmm.orm.jdbc.access.JdbcUnitOfWork;
 import io.github.mmm.orm.jdbc.connection.JdbcConnection;
 import io.github.mmm.orm.jdbc.connection.JdbcConnectionPool;
 import io.github.mmm.orm.jdbc.tx.JdbcTransactionExecutor;
 import io.github.mmm.orm.source.DbSource;
 import io.github.mmm.orm.spi.session.AbstractDbSession;
+import io.github.mmm.orm.tx.DbEntityMode;
 import io.github.mmm.orm.tx.DbTransaction;
 
 /**
@@ -19,23 +24,33 @@ import io.github.mmm.orm.tx.DbTransaction;
  */
 public class JdbcSession extends AbstractDbSession implements DbTransaction {
 
+  private static final Logger LOG = LoggerFactory.getLogger(JdbcSession.class);
+
   private static final ScopedValue<JdbcSession> SESSION_HOLDER = ScopedValue.newInstance();
 
   final Connection connection;
 
   final JdbcConnection jdbcConnection;
 
+  private final JdbcUnitOfWork unitOfWork;
+
   /**
    * The constructor.
    *
    * @param jdbcConnection the {@link JdbcConnection}.
    * @param connectionData the {@link DbConnectionData}.
+   * @param entityMode the {@link #getEntityMode() entity mode} or {@code null} for the default.
    */
-  private JdbcSession(JdbcConnection jdbcConnection, DbConnectionData connectionData) {
+  private JdbcSession(JdbcConnection jdbcConnection, DbConnectionData connectionData, DbEntityMode entityMode) {
 
-    super(connectionData);
+    super(connectionData, entityMode);
     this.jdbcConnection = jdbcConnection;
     this.connection = jdbcConnection.getConnection();
+    if (connectionData.isWriteBehind() && (this.entityMode == DbEntityMode.MANAGED)) {
+      this.unitOfWork = new JdbcUnitOfWork(this);
+    } else {
+      this.unitOfWork = null;
+    }
   }
 
   /**
@@ -54,6 +69,27 @@ public class JdbcSession extends AbstractDbSession implements DbTransaction {
     return this.jdbcConnection;
   }
 
+  /**
+   * @return the {@link JdbcUnitOfWork} collecting the pending changes in
+   *         {@link io.github.mmm.orm.source.DbSource#KEY_WRITE_BEHIND write-behind} mode or {@code null} if changes are
+   *         written immediately (default or if not {@link DbEntityMode#MANAGED managed}).
+   */
+  public JdbcUnitOfWork getUnitOfWork() {
+
+    return this.unitOfWork;
+  }
+
+  /**
+   * Sends all pending changes of the {@link #getUnitOfWork() unit of work} to the database. Will be called
+   * automatically before the transaction is committed.
+   */
+  public void flush() {
+
+    if (this.unitOfWork != null) {
+      this.unitOfWork.flush();
+    }
+  }
+
   @Override
   public boolean isOpen() {
 
@@ -87,15 +123,44 @@ public class JdbcSession extends AbstractDbSession implements DbTransaction {
    */
   public static <R> R doInTx(DbConnectionData connectionData, Callable<R> task) {
 
+    return doInTx(connectionData, null, task);
+  }
+
+  /**
+   * @param <R> type of the returned result.
+   * @param connectionData the {@link DbConnectionData}.
+   * @param entityMode the {@link DbEntityMode} or {@code null} for the {@link DbConnectionData#getEntityMode()
+   *        default}.
+   * @param task the {@link Callable} task to run in transaction.
+   * @return the result of {@link Callable#call()}.
+   * @see JdbcTransactionExecutor#doInTx(DbEntityMode, Callable)
+   */
+  public static <R> R doInTx(DbConnectionData connectionData, DbEntityMode entityMode, Callable<R> task) {
+
     Connection connection = null;
     JdbcConnection jdbcConnection = null;
+    boolean readOnly = false;
     JdbcConnectionPool connectionPool = (JdbcConnectionPool) connectionData.getPool();
     try {
       jdbcConnection = connectionPool.acquire();
-      JdbcSession session = new JdbcSession(jdbcConnection, connectionData);
-      R result = ScopedValue.where(SESSION_HOLDER, session).call(() -> task.call());
+      JdbcSession session = new JdbcSession(jdbcConnection, connectionData, entityMode);
       connection = session.getConnection();
+      if (session.getEntityMode() == DbEntityMode.READ_ONLY) {
+        try {
+          connection.setReadOnly(true);
+          readOnly = true;
+        } catch (SQLException e) {
+          // only a hint for the driver (e.g. SQLite does not support this) - modifications are rejected anyhow
+          LOG.debug("Failed to set read-only flag of connection.", e);
+        }
+      }
+      R result = ScopedValue.where(SESSION_HOLDER, session).call(() -> {
+        R taskResult = task.call();
+        session.flush();
+        return taskResult;
+      });
       connection.commit();
+      session.afterCommit();
       return result;
     } catch (Throwable t) {
       if (connection != null) {
@@ -112,6 +177,14 @@ public class JdbcSession extends AbstractDbSession implements DbTransaction {
       }
       throw new IllegalStateException(t);
     } finally {
+      if (readOnly) {
+        try {
+          // reset before the connection is returned to the pool
+          connection.setReadOnly(false);
+        } catch (SQLException e) {
+          LOG.warn("Failed to reset read-only flag of connection.", e);
+        }
+      }
       connectionPool.release(jdbcConnection);
     }
   }
@@ -6,6 +6,7 @@ import java.util.concurrent.Callable;
 
 import io.github.mmm.orm.connection.DbConnectionData;
 import io.github.mmm.orm.jdbc.session.JdbcSession;
+import io.github.mmm.orm.tx.DbEntityMode;
 import io.github.mmm.orm.tx.DbTransaction;
 import io.github.mmm.orm.tx.DbTransactionExecutor;
 
@@ -33,6 +34,12 @@ public class JdbcTransactionExecutor implements DbTransactionExecutor {
     return JdbcSession.doInTx(this.connectionData, task);
   }
 
+  @Override
+  public <R> R doInTx(DbEntityMode mode, Callable<R> task) {
+
+    return JdbcSession.doInTx(this.connectionData, mode, task);
+  }
+
   @Override
   public DbTransaction getTransaction() {
 
@@ -0,0 +1,193 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.jdbc.connection;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link JdbcStatementCache}.
+ */
+class JdbcStatementCacheTest extends Assertions {
+
+  private static final String SQL_A = "SELECT A FROM T";
+
+  private static final String SQL_B = "SELECT B FROM T";
+
+  private static final String SQL_C = "SELECT C FROM T";
+
+  /** Test that a second prepare of the same SQL reuses the {@link PreparedStatement}. */
+  @Test
+  void testReuse() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 2);
+    // act
+    PreparedStatement first = prepareAndClose(cache, SQL_A);
+    PreparedStatement second = prepareAndClose(cache, SQL_A);
+    // assert
+    assertThat(second).isSameAs(first);
+    assertThat(connection.preparedSql).containsExactly(SQL_A);
+    assertThat(connection.closed).isEmpty();
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(1);
+  }
+
+  /** Test that the least recently used statement is evicted and closed when the capacity is exceeded. */
+  @Test
+  void testEvictLeastRecentlyUsed() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 2);
+    PreparedStatement a = prepareAndClose(cache, SQL_A);
+    PreparedStatement b = prepareAndClose(cache, SQL_B);
+    // act
+    // access A so B becomes the least recently used statement
+    assertThat(prepareAndClose(cache, SQL_A)).isSameAs(a);
+    PreparedStatement c = prepareAndClose(cache, SQL_C);
+    PreparedStatement b2 = prepareAndClose(cache, SQL_B);
+    // assert
+    assertThat(connection.closed).containsExactlyInAnyOrder(b, a);
+    assertThat(connection.closed).doesNotContain(c, b2);
+    assertThat(b2).isNotSameAs(b);
+    assertThat(connection.preparedSql).containsExactly(SQL_A, SQL_B, SQL_C, SQL_B);
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.getHitCount()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(4);
+  }
+
+  /** Test that a statement evicted while in use is closed when it is handed back. */
+  @Test
+  void testEvictInUse() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 1);
+    JdbcCachedStatement inUse = cache.prepare(SQL_A);
+    // act
+    prepareAndClose(cache, SQL_B);
+    // assert
+    assertThat(connection.closed).isEmpty();
+    inUse.close();
+    assertThat(connection.closed).containsExactly(inUse.get());
+  }
+
+  /** Test that the same SQL prepared again while still in use gets its own statement that is closed after use. */
+  @Test
+  void testPrepareWhileInUse() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 2);
+    // act
+    PreparedStatement nested;
+    try (JdbcCachedStatement outer = cache.prepare(SQL_A)) {
+      nested = prepareAndClose(cache, SQL_A);
+      // assert
+      assertThat(nested).isNotSameAs(outer.get());
+      assertThat(connection.closed).containsExactly(nested);
+    }
+    assertThat(cache.getSize()).isEqualTo(1);
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  /** Test that every statement is closed after use if the cache is disabled. */
+  @Test
+  void testDisabled() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 0);
+    // act
+    PreparedStatement first = prepareAndClose(cache, SQL_A);
+    PreparedStatement second = prepareAndClose(cache, SQL_A);
+    // assert
+    assertThat(second).isNotSameAs(first);
+    assertThat(connection.closed).containsExactlyInAnyOrder(first, second);
+    assertThat(cache.getSize()).isZero();
+    assertThat(cache.getHitCount()).isZero();
+    assertThat(cache.getMissCount()).isEqualTo(2);
+  }
+
+  /** Test that {@link JdbcStatementCache#close()} closes all cached statements. */
+  @Test
+  void testClose() throws SQLException {
+
+    // arrange
+    FakeConnection connection = new FakeConnection();
+    JdbcStatementCache cache = new JdbcStatementCache(connection.connection, 2);
+    PreparedStatement a = prepareAndClose(cache, SQL_A);
+    PreparedStatement b = prepareAndClose(cache, SQL_B);
+    // act
+    cache.close();
+    // assert
+    assertThat(connection.closed).containsExactlyInAnyOrder(a, b);
+    assertThat(cache.getSize()).isZero();
+  }
+
+  private static PreparedStatement prepareAndClose(JdbcStatementCache cache, String sql) throws SQLException {
+
+    try (JdbcCachedStatement cached = cache.prepare(sql)) {
+      return cached.get();
+    }
+  }
+
+  /**
+   * Fake JDBC {@link Connection} recording the prepared SQL and the closed {@link PreparedStatement}s.
+   */
+  private static class FakeConnection {
+
+    private final List<String> preparedSql = new ArrayList<>();
+
+    private final Set<PreparedStatement> closed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private final Connection connection = (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+          if (method.getName().equals("prepareStatement")) {
+            String sql = (String) args[0];
+            this.preparedSql.add(sql);
+            return createStatement(sql);
+          }
+          throw new UnsupportedOperationException(method.getName());
+        });
+
+    private PreparedStatement createStatement(String sql) {
+
+      return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+          new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+            switch (method.getName()) {
+              case "close" -> this.closed.add((PreparedStatement) proxy);
+              case "clearParameters" -> {
+                // nothing to do
+              }
+              case "hashCode" -> {
+                return Integer.valueOf(System.identityHashCode(proxy));
+              }
+              case "equals" -> {
+                return Boolean.valueOf(proxy == args[0]);
+              }
+              case "toString" -> {
+                return sql;
+              }
+              default -> throw new UnsupportedOperationException(method.getName());
+            }
+            return null;
+          });
+    }
+
+  }
+
+}
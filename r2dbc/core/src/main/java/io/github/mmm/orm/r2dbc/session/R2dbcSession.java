@@ -11,6 +11,7 @@ import io.github.mmm.orm.r2dbc.connection.R2dbcConnectionPool;
 import io.github.mmm.orm.r2dbc.tx.R2dbcTransactionExecutor;
 import io.github.mmm.orm.source.DbSource;
 import io.github.mmm.orm.spi.session.AbstractDbSession;
+import io.github.mmm.orm.tx.DbEntityMode;
 import io.github.mmm.orm.tx.DbTransaction;
 import io.r2dbc.spi.Connection;
 import reactor.core.publisher.Mono;
@@ -29,10 +30,11 @@ public class R2dbcSession extends AbstractDbSession implements DbTransaction {
    *
    * @param jdbcConnection the {@link R2dbcConnection}.
    * @param connectionData the {@link DbConnectionData}.
+   * @param entityMode the {@link #getEntityMode() entity mode} or {@code null} for the default.
    */
-  private R2dbcSession(R2dbcConnection jdbcConnection, DbConnectionData connectionData) {
+  private R2dbcSession(R2dbcConnection jdbcConnection, DbConnectionData connectionData, DbEntityMode entityMode) {
 
-    super(connectionData);
+    super(connectionData, entityMode);
     this.r2dbcConnection = jdbcConnection;
   }
 
@@ -86,11 +88,26 @@ public class R2dbcSession extends AbstractDbSession implements DbTransaction {
    */
   public static <R> R doInTx(DbConnectionData connectionData, CallableOp<R, Exception> task) {
 
+    return doInTx(connectionData, null, task);
+  }
+
+  /**
+   * @param <R> type of the returned result.
+   * @param connectionData the {@link DbConnectionData}.
+   * @param entityMode the {@link DbEntityMode} or {@code null} for the {@link DbConnectionData#getEntityMode()
+   *        default}.
+   * @param task the {@link Callable} task to run in transaction.
+   * @return the result of {@link Callable#call()}.
+   * @see R2dbcTransactionExecutor#doInTx(DbEntityMode, Callable)
+   */
+  public static <R> R doInTx(DbConnectionData connectionData, DbEntityMode entityMode,
+      CallableOp<R, Exception> task) {
+
     R2dbcConnection jdbcConnection = null;
     R2dbcConnectionPool connectionPool = (R2dbcConnectionPool) connectionData.getPool();
     try {
       jdbcConnection = connectionPool.acquire();
-      R2dbcSession session = new R2dbcSession(jdbcConnection, connectionData);
+      R2dbcSession session = new R2dbcSession(jdbcConnection, connectionData, entityMode);
       Mono<Connection> connection = session.getR2dbcConnection().getConnection();
       R result = ScopedValue.where(SESSION, session).call(task);
       return result;
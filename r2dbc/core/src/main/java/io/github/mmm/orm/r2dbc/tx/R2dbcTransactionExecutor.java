@@ -6,6 +6,7 @@ import java.util.concurrent.Callable;
 
 import io.github.mmm.orm.connection.DbConnectionData;
 import io.github.mmm.orm.r2dbc.session.R2dbcSession;
+import io.github.mmm.orm.tx.DbEntityMode;
 import io.github.mmm.orm.tx.DbTransaction;
 import io.github.mmm.orm.tx.DbTransactionExecutor;
 
@@ -33,6 +34,12 @@ public class R2dbcTransactionExecutor implements DbTransactionExecutor {
     return R2dbcSession.doInTx(this.connectionData, () -> task.call());
   }
 
+  @Override
+  public <R> R doInTx(DbEntityMode mode, Callable<R> task) {
+
+    return R2dbcSession.doInTx(this.connectionData, mode, () -> task.call());
+  }
+
   @Override
   public DbTransaction getTransaction() {
 
@@ -14,4 +14,29 @@ public interface DbConnection {
    */
   DbMetaData getMetaData();
 
+  /**
+   * @return the {@link DbStatementStatistics} of this connection or {@code null} if not available.
+   */
+  default DbStatementStatistics getStatementStatistics() {
+
+    return null;
+  }
+
+  /**
+   * Gives access to the underlying native connection (e.g. {@code java.sql.Connection}) for special purposes like
+   * tests without depending on the implementation of this {@link DbConnection}.
+   *
+   * @param <T> type of the requested connection.
+   * @param type the {@link Class} reflecting the requested connection type.
+   * @return the underlying connection (or this {@link DbConnection} itself) as the given {@code type}.
+   * @throws IllegalArgumentException if this {@link DbConnection} can not be unwrapped to the given {@code type}.
+   */
+  default <T> T unwrap(Class<T> type) {
+
+    if (type.isInstance(this)) {
+      return type.cast(this);
+    }
+    throw new IllegalArgumentException("Cannot unwrap " + getClass().getName() + " to " + type.getName());
+  }
+
 }
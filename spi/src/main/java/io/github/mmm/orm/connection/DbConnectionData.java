@@ -6,6 +6,9 @@ import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.metadata.DbName;
 import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.source.DbSource;
+import io.github.mmm.orm.spi.cache.DbEntityCache;
+import io.github.mmm.orm.spi.cache.DbQueryCache;
+import io.github.mmm.orm.tx.DbEntityMode;
 
 /**
  * Interface for the data corresponding to a {@link DbSource}.
@@ -91,6 +94,180 @@ public interface DbConnectionData {
     return getConfig().getAsInteger(DbSource.KEY_SEQUENCE_INCREMENT, DbSource.VALUE_SEQUENCE_INCREMENT_DEFAULT);
   }
 
+  /**
+   * @return the {@link DbSource#KEY_SEQUENCE_PREFETCH sequence prefetch} value.
+   */
+  default int getSequencePrefetch() {
+
+    return getConfig().getAsInteger(DbSource.KEY_SEQUENCE_PREFETCH, DbSource.VALUE_SEQUENCE_PREFETCH_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_ID_GENERATOR ID generator} strategy.
+   */
+  default String getIdGenerator() {
+
+    String idGenerator = getConfig().get(DbSource.KEY_ID_GENERATOR);
+    if (idGenerator == null) {
+      idGenerator = DbSource.VALUE_ID_GENERATOR_SEQUENCE;
+    }
+    return idGenerator;
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_ID_RANGE_SIZE ID range size}.
+   */
+  default int getIdRangeSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_ID_RANGE_SIZE, DbSource.VALUE_ID_RANGE_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_NODE_ID node ID}.
+   */
+  default int getNodeId() {
+
+    return getConfig().getAsInteger(DbSource.KEY_NODE_ID, DbSource.VALUE_NODE_ID_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_STATEMENT_CACHE_SIZE statement cache size}.
+   */
+  default int getStatementCacheSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_STATEMENT_CACHE_SIZE, DbSource.VALUE_STATEMENT_CACHE_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_BATCH_SIZE batch size}.
+   */
+  default int getBatchSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_BATCH_SIZE, DbSource.VALUE_BATCH_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return {@code true} if {@link DbSource#KEY_MULTI_ROW_INSERT multi-row insert} is enabled, {@code false} otherwise
+   *         (default).
+   */
+  default boolean isMultiRowInsert() {
+
+    return Boolean.parseBoolean(getConfig().get(DbSource.KEY_MULTI_ROW_INSERT));
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_FETCH_SIZE fetch size}.
+   */
+  default int getFetchSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_FETCH_SIZE, DbSource.VALUE_FETCH_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_ENTITY_CACHE entity cache} types or {@code null} if disabled.
+   */
+  default String getEntityCacheTypes() {
+
+    return getConfig().get(DbSource.KEY_ENTITY_CACHE);
+  }
+
+  /**
+   * @param type the {@link io.github.mmm.bean.BeanType#getStableName() stable name} of the entity type.
+   * @return the {@link DbSource#KEY_ENTITY_CACHE_SIZE entity cache size} for the given type.
+   */
+  default int getEntityCacheSize(String type) {
+
+    int size = getConfig().getAsInteger(DbSource.KEY_ENTITY_CACHE_SIZE, DbSource.VALUE_ENTITY_CACHE_SIZE_DEFAULT);
+    return getConfig().getAsInteger(DbSource.KEY_ENTITY_CACHE_SIZE + "." + type, size);
+  }
+
+  /**
+   * @param type the {@link io.github.mmm.bean.BeanType#getStableName() stable name} of the entity type.
+   * @return the {@link DbSource#KEY_ENTITY_CACHE_TTL entity cache TTL} in seconds for the given type.
+   */
+  default int getEntityCacheTtl(String type) {
+
+    int ttl = getConfig().getAsInteger(DbSource.KEY_ENTITY_CACHE_TTL, DbSource.VALUE_ENTITY_CACHE_TTL_DEFAULT);
+    return getConfig().getAsInteger(DbSource.KEY_ENTITY_CACHE_TTL + "." + type, ttl);
+  }
+
+  /**
+   * @return the process-wide {@link DbEntityCache} (second-level cache) of this {@link DbSource}.
+   */
+  DbEntityCache getEntityCache();
+
+  /**
+   * @return the {@link DbSource#KEY_QUERY_CACHE query cache} entity names or {@code null} if disabled.
+   */
+  default String getQueryCacheEntities() {
+
+    return getConfig().get(DbSource.KEY_QUERY_CACHE);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_QUERY_CACHE_SIZE query cache size}.
+   */
+  default int getQueryCacheSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_QUERY_CACHE_SIZE, DbSource.VALUE_QUERY_CACHE_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return the {@link DbSource#KEY_QUERY_CACHE_TTL query cache TTL} in seconds.
+   */
+  default int getQueryCacheTtl() {
+
+    return getConfig().getAsInteger(DbSource.KEY_QUERY_CACHE_TTL, DbSource.VALUE_QUERY_CACHE_TTL_DEFAULT);
+  }
+
+  /**
+   * @return the process-wide {@link DbQueryCache} of this {@link DbSource}.
+   */
+  DbQueryCache getQueryCache();
+
+  /**
+   * @return the {@link DbSource#KEY_LINK_BATCH_SIZE link batch size}.
+   */
+  default int getLinkBatchSize() {
+
+    return getConfig().getAsInteger(DbSource.KEY_LINK_BATCH_SIZE, DbSource.VALUE_LINK_BATCH_SIZE_DEFAULT);
+  }
+
+  /**
+   * @return {@code true} if {@link DbSource#KEY_WRITE_BEHIND write-behind} mode is enabled, {@code false} otherwise
+   *         (default).
+   */
+  default boolean isWriteBehind() {
+
+    return Boolean.parseBoolean(getConfig().get(DbSource.KEY_WRITE_BEHIND));
+  }
+
+  /**
+   * @return {@code true} if {@link DbSource#KEY_INSERT_RETURNING insert returning} is enabled, {@code false} otherwise
+   *         (default).
+   */
+  default boolean isInsertReturning() {
+
+    return Boolean.parseBoolean(getConfig().get(DbSource.KEY_INSERT_RETURNING));
+  }
+
+  /**
+   * @return {@code true} if {@link DbSource#KEY_FULL_ROW_UPDATE full-row update} is enabled, {@code false} otherwise
+   *         (default).
+   */
+  default boolean isFullRowUpdate() {
+
+    return Boolean.parseBoolean(getConfig().get(DbSource.KEY_FULL_ROW_UPDATE));
+  }
+
+  /**
+   * @return the default {@link DbSource#KEY_ENTITY_MODE entity mode} for transactions.
+   */
+  default DbEntityMode getEntityMode() {
+
+    return DbEntityMode.of(getConfig().get(DbSource.KEY_ENTITY_MODE));
+  }
+
   /**
    * @return the {@link DbConnectionPool} used to manage {@link io.github.mmm.orm.connection.DbConnection connections}.
    */
@@ -0,0 +1,33 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.connection;
+
+/**
+ * Statistics about the statements prepared via a {@link DbConnection}. Intended for monitoring and tests (e.g. to
+ * verify the number of statements sent to the database).
+ *
+ * @see DbConnection#getStatementStatistics()
+ * @since 1.0.0
+ */
+public interface DbStatementStatistics {
+
+  /**
+   * @return the number of requests to prepare a statement that could be served from the cache.
+   */
+  long getHitCount();
+
+  /**
+   * @return the number of requests to prepare a statement that had to prepare a new statement.
+   */
+  long getMissCount();
+
+  /**
+   * @return the total number of requests to prepare a statement ({@link #getHitCount() hits} plus
+   *         {@link #getMissCount() misses}).
+   */
+  default long getPrepareCount() {
+
+    return getHitCount() + getMissCount();
+  }
+
+}
@@ -9,6 +9,8 @@ import io.github.mmm.orm.dialect.DbDialect;
 import io.github.mmm.orm.metadata.DbName;
 import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.source.DbSource;
+import io.github.mmm.orm.spi.cache.DbEntityCache;
+import io.github.mmm.orm.spi.cache.DbQueryCache;
 
 /**
  * Implementation of {@link DbConnectionData}.
@@ -25,6 +27,10 @@ public class DbConnectionDataImpl implements DbConnectionData {
 
   private final DbQualifiedName qualifiedNameTemplate;
 
+  private final DbEntityCache entityCache;
+
+  private final DbQueryCache queryCache;
+
   /**
    * The constructor.
    *
@@ -42,6 +48,8 @@ public class DbConnectionDataImpl implements DbConnectionData {
     this.pool = pool;
     this.qualifiedNameTemplate = new DbQualifiedName(DbName.of(getCatalog()), DbName.of(getSchema()),
         DbName.of("template"));
+    this.entityCache = new DbEntityCache(this);
+    this.queryCache = new DbQueryCache(this);
   }
 
   @Override
@@ -74,6 +82,18 @@ public class DbConnectionDataImpl implements DbConnectionData {
     return this.qualifiedNameTemplate;
   }
 
+  @Override
+  public DbEntityCache getEntityCache() {
+
+    return this.entityCache;
+  }
+
+  @Override
+  public DbQueryCache getQueryCache() {
+
+    return this.queryCache;
+  }
+
   @Override
   public String toString() {
 
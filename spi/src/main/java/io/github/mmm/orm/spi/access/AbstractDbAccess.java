@@ -1,7 +1,11 @@
 package io.github.mmm.orm.spi.access;
 
 import java.util.ArrayList;
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.Consumer;
 
 import io.github.mmm.entity.bean.EntityBean;
@@ -9,28 +13,38 @@ import io.github.mmm.entity.id.Id;
 import io.github.mmm.entity.id.sequence.IdSequence;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.dialect.DbDialect;
+import io.github.mmm.orm.mapping.DbEntityModel;
 import io.github.mmm.orm.mapping.DbMapper;
 import io.github.mmm.orm.mapping.DbMapper2Java;
 import io.github.mmm.orm.mapping.Orm;
 import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.spi.access.impl.DbMapperFetchAdapter;
+import io.github.mmm.orm.spi.access.impl.DbMapperFetchAdapter.Fetch;
+import io.github.mmm.orm.spi.access.impl.DbMapperReadOnlyAdapter;
 import io.github.mmm.orm.spi.access.impl.DbMapperRetrievalAdapter;
+import io.github.mmm.orm.spi.cache.DbEntityCacheRegion;
+import io.github.mmm.orm.spi.cache.DbQueryCache;
+import io.github.mmm.orm.spi.cache.DbResultRecorder;
+import io.github.mmm.orm.spi.session.DbEntityHolder;
 import io.github.mmm.orm.spi.session.DbEntitySession;
 import io.github.mmm.orm.spi.session.DbSession;
-import io.github.mmm.orm.statement.BasicDbStatementFormatter;
 import io.github.mmm.orm.statement.DbPlainStatement;
 import io.github.mmm.orm.statement.DbStatement;
 import io.github.mmm.orm.statement.create.CreateIndexStatement;
 import io.github.mmm.orm.statement.create.CreateSequenceStatement;
 import io.github.mmm.orm.statement.create.CreateTableStatement;
-import io.github.mmm.orm.statement.delete.DeleteClause;
 import io.github.mmm.orm.statement.delete.DeleteStatement;
 import io.github.mmm.orm.statement.insert.InsertStatement;
 import io.github.mmm.orm.statement.merge.MergeStatement;
+import io.github.mmm.orm.statement.select.LimitClause;
 import io.github.mmm.orm.statement.select.SelectClause;
+import io.github.mmm.orm.statement.select.SelectFetchClause;
+import io.github.mmm.orm.statement.select.SelectFromClause;
 import io.github.mmm.orm.statement.select.SelectStatement;
 import io.github.mmm.orm.statement.update.UpdateStatement;
 import io.github.mmm.orm.statement.upsert.UpsertStatement;
+import io.github.mmm.orm.tx.DbEntityMode;
 
 /**
  * Abstract base implementation of {@link DbAccess}.
@@ -80,11 +94,63 @@ public abstract class AbstractDbAccess implements DbAccess {
    */
   protected long executeStatement(DbStatement<?> statement, Consumer<DbResult> receiver, boolean unique) {
 
-    BasicDbStatementFormatter formatter = getDialect().createFormatter();
-    DbPlainStatement plainStatement = formatter.formatStatement(statement);
+    if (!statement.getType().isQuery() && getSession().getConnectionData().getQueryCache().isEnabled()) {
+      for (String entityName : DbQueryCache.getEntityNames(statement)) {
+        onModified(entityName);
+      }
+    }
+    DbPlainStatement plainStatement = getDialect().getStatementPlanCache().format(statement);
     return executeSql(plainStatement, receiver, unique);
   }
 
+  /**
+   * Like {@link #executeStatement(DbStatement, Consumer, boolean)} but uses the {@link DbQueryCache} if enabled for the
+   * main entity of the given {@link SelectStatement}. The cache is bypassed if any table of the query has been
+   * {@link DbSession#isModified(String) modified} in the current transaction.
+   *
+   * @param statement the {@link SelectStatement} to execute.
+   * @param receiver the {@link Consumer} of the {@link DbResult}s.
+   * @param unique {@code true} if a unique {@link DbResult} is expected, {@code false} otherwise.
+   * @return the number of rows that have been selected.
+   */
+  protected long executeQuery(SelectStatement<?> statement, Consumer<DbResult> receiver, boolean unique) {
+
+    DbPlainStatement plainStatement = getDialect().getStatementPlanCache().format(statement);
+    int maxRows = statement.getLimit().getMaxRows();
+    DbSession session = getSession();
+    DbQueryCache cache = session.getConnectionData().getQueryCache();
+    Set<String> tables = cache.getTables(statement);
+    Object key = null;
+    if ((tables != null) && !isModified(session, tables)) {
+      key = cache.createKey(plainStatement);
+    }
+    if (key == null) {
+      return executeSql(plainStatement, receiver, unique, maxRows);
+    }
+    List<DbResult> results = cache.get(key);
+    if (results != null) {
+      for (DbResult result : results) {
+        receiver.accept(result);
+      }
+      return results.size();
+    }
+    long sequence = cache.getSequence();
+    DbResultRecorder recorder = new DbResultRecorder(receiver);
+    long count = executeSql(plainStatement, recorder, unique, maxRows);
+    cache.put(key, tables, recorder.getResults(), sequence);
+    return count;
+  }
+
+  private static boolean isModified(DbSession session, Set<String> tables) {
+
+    for (String table : tables) {
+      if (session.isModified(table)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Low-level and DB/orm specific method method to execute a query.
    *
@@ -98,6 +164,22 @@ public abstract class AbstractDbAccess implements DbAccess {
    */
   protected abstract long executeSql(DbPlainStatement statement, Consumer<DbResult> receiver, boolean unique);
 
+  /**
+   * Like {@link #executeSql(DbPlainStatement, Consumer, boolean)} but for a query with a {@link LimitClause}. The
+   * formatted SQL already restricts the number of rows, the given {@code maxRows} is only a safety net (e.g.
+   * {@link java.sql.Statement#setMaxRows(int)}). The default implementation ignores {@code maxRows}.
+   *
+   * @param statement the {@link DbPlainStatement}.
+   * @param receiver the {@link Consumer} of the {@link DbResult}s.
+   * @param unique {@code true} if a unique {@link DbResult} is expected, {@code false} otherwise.
+   * @param maxRows the {@link LimitClause#getMaxRows() maximum number of rows} or {@code 0} for no limit.
+   * @return the number of rows that have been selected.
+   */
+  protected long executeSql(DbPlainStatement statement, Consumer<DbResult> receiver, boolean unique, int maxRows) {
+
+    return executeSql(statement, receiver, unique);
+  }
+
   @Override
   public void createTable(CreateTableStatement<?> statement) {
 
@@ -128,8 +210,9 @@ public abstract class AbstractDbAccess implements DbAccess {
     if ((id == null) || (id.getPk() == null)) {
       return false;
     }
-    DeleteStatement<E> statement = new DeleteClause().from(prototype).where(prototype.Id().eq(id)).get();
-    long count = delete(statement);
+    onModified(prototype, id);
+    DbPlainStatement statement = getDialect().getEntityModel(prototype).deleteById(id);
+    long count = executeSql(statement, null, false);
     if (count > 0) {
       assert (count == 1);
       return true;
@@ -139,27 +222,27 @@ public abstract class AbstractDbAccess implements DbAccess {
     }
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public <E extends EntityBean> int deleteAllById(Iterable<Id<E>> ids, E prototype) {
 
     if (ids == null) {
       return 0;
     }
-    Collection<Id<?>> idCollection;
-    if (ids instanceof Collection c) {
-      idCollection = c;
-    } else {
-      idCollection = new ArrayList<>();
-      for (Id<E> id : ids) {
-        idCollection.add(id);
+    List<Id<E>> idList = new ArrayList<>();
+    for (Id<E> id : ids) {
+      if ((id != null) && (id.getPk() != null)) {
+        onModified(prototype, id);
+        idList.add(id);
       }
     }
-    if (idCollection.isEmpty()) {
-      return 0;
+    DbEntityModel<E> model = getDialect().getEntityModel(prototype);
+    int chunkSize = model.getIdChunkSize();
+    int size = idList.size();
+    long count = 0;
+    for (int start = 0; start < size; start += chunkSize) {
+      List<Id<E>> chunk = idList.subList(start, Math.min(size, start + chunkSize));
+      count += executeSql(model.deleteAllById(chunk), null, false);
     }
-    DeleteStatement<E> statement = new DeleteClause().from(prototype).where(prototype.Id().in(idCollection)).get();
-    long count = executeStatement(statement);
     assert (count >= 0) && (count < Integer.MAX_VALUE);
     return (int) count;
   }
@@ -188,31 +271,304 @@ public abstract class AbstractDbAccess implements DbAccess {
     return executeStatement(statement);
   }
 
-  @SuppressWarnings({ "rawtypes", "unchecked" })
+  /**
+   * This default implementation emulates the upsert by {@link #selectById(Id, EntityBean) selecting} each entity and
+   * then {@link #insert(EntityBean) inserting} or {@link #update(EntityBean) updating} it. Override with a bulk
+   * operation using the {@link io.github.mmm.orm.dialect.AbstractDbDialect#getUpsert() native upsert} of the dialect.
+   */
+  @Override
+  public void upsertAll(Iterable<? extends EntityBean> entities, boolean verifyRevision) {
+
+    for (EntityBean entity : entities) {
+      upsert(entity, verifyRevision);
+    }
+  }
+
+  private <E extends EntityBean> void upsert(E entity, boolean verifyRevision) {
+
+    Id<E> id = Id.from(entity);
+    E existing = selectById(id, entity);
+    if (existing == null) {
+      insert(entity);
+    } else {
+      if (!verifyRevision || (id.getRevision() == null)) {
+        // overwrite unconditionally by taking over the current revision
+        entity.setId(existing.getId());
+      }
+      update(entity);
+    }
+  }
+
   @Override
   public <R> Iterable<R> select(SelectStatement<R> statement) {
 
+    DbLinkResolver linkResolver = null;
+    if (statement.getSelect().isSelectEntity()) {
+      linkResolver = new DbLinkResolver(this);
+    }
+    DbMapper2Java<R> mapper = createMapper(statement, false, linkResolver);
+    DbResultReceiverMultiple<R> receiver = new DbResultReceiverMultiple<>(mapper);
+    executeQuery(statement, receiver, false);
+    List<R> results = receiver.getResults();
+    if (linkResolver != null) {
+      for (R result : results) {
+        linkResolver.register((EntityBean) result);
+      }
+    }
+    return results;
+  }
+
+  /**
+   * @param <R> type of the result objects.
+   * @param select the {@link SelectClause} of the query.
+   * @param detached - {@code true} to map entities without registering them in the session, {@code false} otherwise.
+   *        Entities are never registered if the session is not {@link DbEntityMode#MANAGED managed}.
+   * @return the {@link DbMapper2Java} to map the {@link DbResult}s to the result objects.
+   */
+  @SuppressWarnings("unchecked")
+  protected <R> DbMapper2Java<R> createMapper(SelectClause<R> select, boolean detached) {
+
     Orm orm = getDialect().getOrm();
-    SelectClause<R> select = statement.getSelect();
     DbMapper2Java<R> mapper = orm.createMapper(select);
     if (select.isSelectEntity()) {
-      DbEntitySession dbEntitySession = getSession().get((EntityBean) select.getResultBean());
-      mapper = new DbMapperRetrievalAdapter(mapper, dbEntitySession);
+      mapper = adaptEntityMapper(mapper, (EntityBean) select.getResultBean(), detached);
+    }
+    return mapper;
+  }
+
+  /**
+   * @param <R> type of the result objects.
+   * @param statement the {@link SelectStatement} of the query.
+   * @param detached - {@code true} to map entities without registering them in the session, {@code false} otherwise.
+   * @param linkResolver the {@link DbLinkResolver} for the selected entities or {@code null} if no entities are
+   *        selected.
+   * @return the {@link DbMapper2Java} to map the {@link DbResult}s to the result objects including the
+   *         {@link SelectFromClause#fetch(io.github.mmm.entity.property.link.LinkProperty) fetched} entities.
+   * @see #createMapper(SelectClause, boolean)
+   */
+  protected <R> DbMapper2Java<R> createMapper(SelectStatement<R> statement, boolean detached,
+      DbLinkResolver linkResolver) {
+
+    DbMapper2Java<R> mapper = createMapper(statement.getSelect(), detached);
+    return adaptFetchMapper(statement, mapper, detached, linkResolver);
+  }
+
+  /**
+   * @param <R> type of the result objects.
+   * @param statement the {@link SelectStatement} of the query.
+   * @param mapper the {@link DbMapper2Java} for the primary entity.
+   * @param detached - {@code true} to map entities without registering them in the session, {@code false} otherwise.
+   * @param linkResolver the {@link DbLinkResolver} for the selected entities or {@code null} if no entities are
+   *        selected.
+   * @return the given {@link DbMapper2Java} or a {@link DbMapperFetchAdapter} if the query has
+   *         {@link SelectFromClause#getFetches() fetches}.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  protected <R> DbMapper2Java<R> adaptFetchMapper(SelectStatement<R> statement, DbMapper2Java<R> mapper,
+      boolean detached, DbLinkResolver linkResolver) {
+
+    SelectFromClause<R, ?> from = statement.getFrom();
+    List<SelectFetchClause<R, ?>> fetchClauses = from.getFetches();
+    if ((linkResolver == null) || fetchClauses.isEmpty()) {
+      return mapper;
+    }
+    AbstractDbDialect<?> dialect = getDialect();
+    // the columns of the fetched entities follow the columns of the primary entity in the order of the fetches
+    int offset = dialect.getEntityModel(from.getEntity()).getColumnNames().size();
+    List<Fetch> fetches = new ArrayList<>(fetchClauses.size());
+    for (SelectFetchClause<R, ?> fetchClause : fetchClauses) {
+      EntityBean target = fetchClause.getEntity();
+      int size = dialect.getEntityModel(target).getColumnNames().size();
+      DbMapper2Java fetchMapper = adaptEntityMapper(dialect.getOrm().createBeanMapper(target), target, detached);
+      fetches.add(new Fetch(fetchClause.getLink().getEntityClass(), fetchMapper, offset, size));
+      offset += size;
+    }
+    return new DbMapperFetchAdapter<>(mapper, fetches, linkResolver);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private DbMapper2Java adaptEntityMapper(DbMapper2Java mapper, EntityBean prototype, boolean detached) {
+
+    DbSession session = getSession();
+    DbEntityMode mode = session.getEntityMode();
+    if (mode == DbEntityMode.READ_ONLY) {
+      return new DbMapperReadOnlyAdapter(mapper);
+    } else if (!detached && (mode == DbEntityMode.MANAGED)) {
+      DbEntitySession dbEntitySession = session.get(prototype);
+      return new DbMapperRetrievalAdapter(mapper, dbEntitySession);
+    }
+    return mapper;
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param id the {@link Id} of the requested {@link EntityBean entity}.
+   * @param prototype the {@link EntityBean} prototype.
+   * @return the {@link EntityBean entity} selected from the database via the precompiled
+   *         {@link io.github.mmm.orm.mapping.DbEntityModel#getSelectByIdSql() select by ID} or {@code null} if not
+   *         found.
+   */
+  protected <E extends EntityBean> E doSelectById(Id<E> id, E prototype) {
+
+    AbstractDbDialect<?> dialect = getDialect();
+    DbPlainStatement statement = dialect.getEntityModel(prototype).selectById(id);
+    DbMapper<E> mapper = dialect.getOrm().createBeanMapper(prototype);
+    DbResultReceiverSingle<E> receiver = new DbResultReceiverSingle<>(mapper);
+    executeSql(statement, receiver, true);
+    return receiver.getResult();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public <E extends EntityBean> List<E> selectAllById(Iterable<Id<E>> ids, E prototype) {
+
+    DbSession session = getSession();
+    DbEntitySession<E> entitySession = null;
+    if (session.getEntityMode() == DbEntityMode.MANAGED) {
+      entitySession = session.get(prototype);
+    }
+    Map<Object, E> entities = new HashMap<>();
+    Map<Object, Id<E>> misses = new LinkedHashMap<>();
+    for (Id<E> id : ids) {
+      Object pk = (id == null) ? null : id.getPk();
+      if ((pk != null) && !entities.containsKey(pk)) {
+        DbEntityHolder<E> holder = null;
+        if (entitySession != null) {
+          holder = entitySession.get(id);
+        }
+        if (holder == null) {
+          misses.putIfAbsent(pk, id);
+        } else {
+          entities.put(pk, holder.getExternal());
+        }
+      }
+    }
+    if (!misses.isEmpty()) {
+      AbstractDbDialect<?> dialect = getDialect();
+      DbEntityModel<E> model = dialect.getEntityModel(prototype);
+      DbMapper2Java<E> mapper = adaptEntityMapper(dialect.getOrm().createBeanMapper(prototype), prototype, false);
+      DbLinkResolver linkResolver = new DbLinkResolver(this);
+      List<Id<E>> idList = new ArrayList<>(misses.values());
+      int chunkSize = model.getIdChunkSize();
+      int size = idList.size();
+      for (int start = 0; start < size; start += chunkSize) {
+        List<Id<E>> chunk = idList.subList(start, Math.min(size, start + chunkSize));
+        DbResultReceiverMultiple<E> receiver = new DbResultReceiverMultiple<>(mapper);
+        executeSql(model.selectAllById(chunk), receiver, false);
+        for (E entity : receiver.getResults()) {
+          linkResolver.register(entity);
+          entities.put(entity.getId().getPk(), entity);
+        }
+      }
+    }
+    List<E> result = new ArrayList<>(entities.size());
+    for (Id<E> id : ids) {
+      Object pk = (id == null) ? null : id.getPk();
+      E entity = entities.get(pk);
+      if (entity != null) {
+        result.add(entity);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Like {@link #doSelectById(Id, EntityBean)} but uses the {@link io.github.mmm.orm.spi.cache.DbEntityCache
+   * second-level cache} if enabled for the type of the entity. The cache is bypassed for entities
+   * {@link DbSession#isModified(EntityBean, Object) modified} in the current transaction. An entity loaded from the
+   * database is only put into the cache after the transaction has been committed.
+   *
+   * @param <E> type of the {@link EntityBean}.
+   * @param id the {@link Id} of the requested {@link EntityBean entity}.
+   * @param prototype the {@link EntityBean} prototype.
+   * @return the {@link EntityBean entity} from the cache or the database or {@code null} if not found.
+   */
+  protected <E extends EntityBean> E selectByIdCached(Id<E> id, E prototype) {
+
+    DbSession session = getSession();
+    DbEntityCacheRegion<E> region = session.getConnectionData().getEntityCache().getRegion(prototype);
+    Object pk = id.getPk();
+    if ((region == null) || (pk == null) || session.isModified(prototype, pk)) {
+      return connectLinks(doSelectById(id, prototype));
+    }
+    E entity = region.get(pk);
+    if (entity == null) {
+      long sequence = region.getSequence();
+      entity = doSelectById(id, prototype);
+      if (entity != null) {
+        Object[] snapshot = region.snapshot(entity);
+        session.onCommit(() -> region.put(pk, snapshot, sequence));
+      }
+    }
+    return connectLinks(entity);
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param entity the loaded {@link EntityBean} or {@code null}.
+   * @return the given {@link EntityBean} with its {@link io.github.mmm.entity.link.Link}s connected to a
+   *         {@link DbLinkResolver}.
+   */
+  protected <E extends EntityBean> E connectLinks(E entity) {
+
+    if (entity != null) {
+      new DbLinkResolver(this).register(entity);
+    }
+    return entity;
+  }
+
+  /**
+   * Has to be called whenever an entity is updated or deleted to invalidate it in the
+   * {@link io.github.mmm.orm.spi.cache.DbEntityCache second-level cache} and its table in the {@link DbQueryCache}
+   * after commit.
+   *
+   * @param prototype the {@link EntityBean} or prototype of the modified entity.
+   * @param id the {@link Id} of the modified entity.
+   */
+  protected void onModified(EntityBean prototype, Id<?> id) {
+
+    onModified(prototype.getType().getStableName());
+    DbSession session = getSession();
+    DbEntityCacheRegion<?> region = session.getConnectionData().getEntityCache().getRegion(prototype);
+    Object pk = id.getPk();
+    if ((region == null) || (pk == null)) {
+      return;
+    }
+    session.markModified(prototype, pk);
+    session.onCommit(() -> region.invalidate(pk));
+  }
+
+  /**
+   * Has to be called whenever a table is modified (e.g. by inserting, updating or deleting an entity) to invalidate the
+   * {@link DbQueryCache} after commit.
+   *
+   * @param entityName the {@link io.github.mmm.orm.statement.AbstractEntityClause#getEntityName() entity name} of the
+   *        modified table.
+   */
+  protected void onModified(String entityName) {
+
+    DbSession session = getSession();
+    DbQueryCache cache = session.getConnectionData().getQueryCache();
+    if (cache.isEnabled() && session.markModified(entityName)) {
+      session.onCommit(() -> cache.invalidate(entityName));
     }
-    DbResultReceiverMultiple<R> receiver = new DbResultReceiverMultiple<>(mapper);
-    executeStatement(statement, receiver, false);
-    return receiver.getResults();
   }
 
   @Override
   public <R> R selectOne(SelectStatement<R> statement) {
 
-    Orm orm = getDialect().getOrm();
-    SelectClause<R> select = statement.getSelect();
-    DbMapper<R> mapper = orm.createMapper(select);
+    DbLinkResolver linkResolver = null;
+    if (statement.getSelect().isSelectEntity()) {
+      linkResolver = new DbLinkResolver(this);
+    }
+    DbMapper2Java<R> mapper = createMapper(statement, false, linkResolver);
     DbResultReceiverSingle<R> receiver = new DbResultReceiverSingle<>(mapper);
-    executeStatement(statement, receiver, true);
-    return receiver.getResult();
+    executeQuery(statement, receiver, true);
+    R result = receiver.getResult();
+    if ((linkResolver != null) && (result != null)) {
+      linkResolver.register((EntityBean) result);
+    }
+    return result;
   }
 
   /**
@@ -221,4 +577,21 @@ public abstract class AbstractDbAccess implements DbAccess {
    */
   public abstract IdSequence createIdSequence(DbQualifiedName sequenceName);
 
+  /**
+   * @param tableName the {@link DbQualifiedName} of the range table.
+   * @param rangeName the name of the range in the range table.
+   * @param rangeSize the number of IDs to lease at once.
+   * @return the {@link IdSequence} implementation leasing ranges of IDs from the given range table (hi/lo). Each
+   *         {@link IdSequence#next(io.github.mmm.entity.id.Id) next value} is the start of a new range.
+   */
+  public abstract IdSequence createIdRangeSequence(DbQualifiedName tableName, String rangeName, int rangeSize);
+
+  /**
+   * Creates the range table for {@link #createIdRangeSequence(DbQualifiedName, String, int)} if it does not already
+   * exist.
+   *
+   * @param tableName the {@link DbQualifiedName} of the range table.
+   */
+  public abstract void createIdRangeTable(DbQualifiedName tableName);
+
 }
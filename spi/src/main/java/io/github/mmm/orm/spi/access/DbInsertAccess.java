@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.spi.access;
 
+import java.util.Arrays;
+
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.statement.insert.InsertStatement;
 
@@ -28,6 +30,14 @@ public interface DbInsertAccess {
    */
   default void insertAll(EntityBean... entities) {
 
+    insertAll(Arrays.asList(entities));
+  }
+
+  /**
+   * @param entities the {@link Iterable} with the {@link EntityBean}s to insert as batch operation.
+   */
+  default void insertAll(Iterable<? extends EntityBean> entities) {
+
     for (EntityBean entity : entities) {
       insert(entity);
     }
@@ -0,0 +1,177 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.access;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.link.IdLink;
+import io.github.mmm.entity.link.Link;
+import io.github.mmm.entity.property.link.LinkProperty;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Resolver for the {@link IdLink}s of {@link EntityBean entities} loaded by the same query to avoid the N+1 problem.
+ * All unresolved {@link Link}s of {@link #register(EntityBean) registered} entities are collected per target type.
+ * When the first of these {@link Link}s is {@link Link#getTarget() resolved}, all pending {@link Link}s of the same
+ * target type are loaded with {@code IN} queries in chunks of the configured
+ * {@link io.github.mmm.orm.source.DbSource#KEY_LINK_BATCH_SIZE link batch size}. The {@link Link}s of the loaded
+ * targets are again resolved in batches. Like lazy loading in general, {@link Link}s can only be
+ * resolved while the transaction is still active.
+ *
+ * @since 1.0.0
+ */
+public class DbLinkResolver implements Function<Id<?>, EntityBean> {
+
+  private final AbstractDbAccess access;
+
+  private final int batchSize;
+
+  private final Map<Class<?>, Batch> batches;
+
+  /**
+   * The constructor.
+   *
+   * @param access the {@link AbstractDbAccess} used to load the {@link Link#getTarget() targets}.
+   */
+  public DbLinkResolver(AbstractDbAccess access) {
+
+    super();
+    this.access = access;
+    int size = access.getSession().getConnectionData().getLinkBatchSize();
+    this.batchSize = Math.max(1, Math.min(size, access.getDialect().getMaxParameters()));
+    this.batches = new HashMap<>();
+  }
+
+  /**
+   * @param entity the loaded {@link EntityBean} whose unresolved {@link Link}s shall be resolved by this resolver.
+   */
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  public void register(EntityBean entity) {
+
+    for (WritableProperty<?> property : entity.getProperties()) {
+      if (property instanceof LinkProperty<?> linkProperty) {
+        Link<?> link = linkProperty.get();
+        if ((link instanceof IdLink idLink) && !link.isResolved()) {
+          Id<?> id = link.getId();
+          if ((id != null) && (id.getPk() != null)) {
+            this.batches.computeIfAbsent(linkProperty.getEntityClass(), Batch::new).add(id);
+            idLink.setResolver(this);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * @param entityClass the {@link LinkProperty#getEntityClass() entity class} of the {@link Link}s pointing to the
+   *        given target.
+   * @param target the {@link EntityBean entity} that has already been loaded (e.g. via
+   *        {@link io.github.mmm.orm.statement.select.SelectFromClause#fetch(LinkProperty) fetch join}) so
+   *        {@link Link}s to it are resolved without a query.
+   */
+  public void addResolved(Class<?> entityClass, EntityBean target) {
+
+    Batch batch = this.batches.computeIfAbsent(entityClass, Batch::new);
+    Object pk = target.getId().getPk();
+    batch.pending.remove(pk);
+    batch.resolved.put(pk, target);
+  }
+
+  @Override
+  public EntityBean apply(Id<?> id) {
+
+    if ((id == null) || (id.getPk() == null)) {
+      return null;
+    }
+    Batch batch = null;
+    Class<?> entityClass = id.getEntityClass();
+    if (entityClass != null) {
+      batch = this.batches.get(entityClass);
+    } else {
+      for (Batch candidate : this.batches.values()) {
+        if (candidate.contains(id.getPk())) {
+          batch = candidate;
+          break;
+        }
+      }
+    }
+    if (batch == null) {
+      return null;
+    }
+    return batch.resolve(id);
+  }
+
+  private class Batch {
+
+    private final Class<?> entityClass;
+
+    private final Map<Object, Id<?>> pending;
+
+    private final Map<Object, EntityBean> resolved;
+
+    private EntityBean prototype;
+
+    private Batch(Class<?> entityClass) {
+
+      super();
+      this.entityClass = entityClass;
+      this.pending = new LinkedHashMap<>();
+      this.resolved = new HashMap<>();
+    }
+
+    private void add(Id<?> id) {
+
+      Object pk = id.getPk();
+      if (!this.resolved.containsKey(pk)) {
+        this.pending.putIfAbsent(pk, id);
+      }
+    }
+
+    private boolean contains(Object pk) {
+
+      return this.pending.containsKey(pk) || this.resolved.containsKey(pk);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private EntityBean resolve(Id<?> id) {
+
+      Object pk = id.getPk();
+      EntityBean target = this.resolved.get(pk);
+      if (target != null) {
+        return target;
+      }
+      if (this.prototype == null) {
+        this.prototype = (EntityBean) BeanFactory.get().create((Class) this.entityClass);
+      }
+      if (!this.pending.containsKey(pk)) {
+        // link of an entity not loaded by the query of this resolver
+        target = DbLinkResolver.this.access.selectById((Id) id, this.prototype);
+        if (target != null) {
+          this.resolved.put(pk, target);
+        }
+        return target;
+      }
+      List<Id<?>> ids = new ArrayList<>(this.pending.values());
+      this.pending.clear();
+      int size = ids.size();
+      for (int start = 0; start < size; start += DbLinkResolver.this.batchSize) {
+        List<Id<?>> chunk = ids.subList(start, Math.min(size, start + DbLinkResolver.this.batchSize));
+        // the links of the loaded targets are connected by the select itself
+        for (EntityBean entity : DbLinkResolver.this.access.selectAllById((List) chunk, this.prototype)) {
+          this.resolved.put(entity.getId().getPk(), entity);
+        }
+      }
+      return this.resolved.get(pk);
+    }
+
+  }
+
+}
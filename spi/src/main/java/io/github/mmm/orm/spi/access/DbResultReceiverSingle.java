@@ -4,7 +4,7 @@ package io.github.mmm.orm.spi.access;
 
 import java.util.function.Consumer;
 
-import io.github.mmm.orm.mapping.DbMapper;
+import io.github.mmm.orm.mapping.DbMapper2Java;
 import io.github.mmm.orm.result.DbResult;
 import io.github.mmm.orm.statement.NonUniqueResultException;
 
@@ -21,9 +21,9 @@ public class DbResultReceiverSingle<R> extends DbResultReceiver<R> {
   /**
    * The constructor.
    *
-   * @param mapper the {@link DbMapper}.
+   * @param mapper the {@link DbMapper2Java}.
    */
-  public DbResultReceiverSingle(DbMapper<R> mapper) {
+  public DbResultReceiverSingle(DbMapper2Java<R> mapper) {
 
     super(mapper);
   }
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.spi.access;
 
+import java.util.List;
+import java.util.stream.Stream;
+
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.orm.statement.NonUniqueResultException;
@@ -19,6 +22,31 @@ public interface DbSelectAccess {
    */
   <R> Iterable<R> select(SelectStatement<R> statement);
 
+  /**
+   * @param <R> type of the result objects to select.
+   * @param statement the {@link SelectStatement} to query the requested objects.
+   * @return a {@link Stream} with the matching objects lazily read from the database.
+   * @see #selectStream(SelectStatement, boolean)
+   */
+  default <R> Stream<R> selectStream(SelectStatement<R> statement) {
+
+    return selectStream(statement, false);
+  }
+
+  /**
+   * Unlike {@link #select(SelectStatement)} this method does not hold all results in memory but reads them lazily from
+   * the database while the returned {@link Stream} is consumed. This allows to process very large results. The
+   * {@link Stream} has to be consumed within the current transaction and should be {@link Stream#close() closed} (e.g.
+   * via try-with-resources) to release the underlying database resources.
+   *
+   * @param <R> type of the result objects to select.
+   * @param statement the {@link SelectStatement} to query the requested objects.
+   * @param detached - {@code true} to map selected {@link EntityBean entities} without registering them in the session
+   *        (first-level cache) so they can be garbage collected after processing, {@code false} otherwise.
+   * @return a {@link Stream} with the matching objects lazily read from the database.
+   */
+  <R> Stream<R> selectStream(SelectStatement<R> statement, boolean detached);
+
   /**
    * @param <R> type of the result object to select.
    * @param statement the {@link SelectStatement} to query the requested object. Should produce a single result or no
@@ -36,4 +64,16 @@ public interface DbSelectAccess {
    */
   <E extends EntityBean> E selectById(Id<E> id, E prototype);
 
+  /**
+   * Unlike calling {@link #selectById(Id, EntityBean)} for each {@link Id} this method first looks up the entities
+   * from the current session and loads only the missing ones with as few statements as possible.
+   *
+   * @param <E> type of the {@link EntityBean} to select.
+   * @param ids the {@link Iterable} of {@link EntityBean#Id() IDs} of the {@link EntityBean}s to select.
+   * @param prototype the (empty) {@link EntityBean} instance to act as template.
+   * @return the {@link List} with the {@link EntityBean}s for the given {@link Id}s in the same order. {@link Id}s
+   *         where no such {@link EntityBean} exists are omitted.
+   */
+  <E extends EntityBean> List<E> selectAllById(Iterable<Id<E>> ids, E prototype);
+
 }
@@ -2,10 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.spi.access;
 
+import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.statement.upsert.UpsertStatement;
 
 /**
- * Interface providing support for {@link #execute(UpsertStatement)}.
+ * Interface providing support for {@link #execute(UpsertStatement)} and {@link #upsertAll(Iterable, boolean)}.
  */
 public interface DbUpsertAccess {
 
@@ -15,4 +16,20 @@ public interface DbUpsertAccess {
    */
   long execute(UpsertStatement<?> statement);
 
+  /**
+   * Inserts the given entities or updates them if they already exist. Unlike an update, an entity with an
+   * {@link io.github.mmm.entity.id.Id} does not have to be loaded before so this is suitable to import or synchronize
+   * entities from other systems. If supported by the dialect this is done via native upsert statements executed as
+   * batch operation.
+   *
+   * @param entities the {@link Iterable} with the {@link EntityBean}s to insert or update. Each has to have an
+   *        {@link io.github.mmm.entity.id.Id#getPk() primary key}.
+   * @param verifyRevision - {@code true} to verify that an existing entity still has the
+   *        {@link io.github.mmm.entity.id.Id#getRevision() revision} of the given entity (optimistic locking),
+   *        {@code false} to overwrite it unconditionally.
+   * @throws io.github.mmm.entity.id.OptimisicLockException if {@code verifyRevision} is {@code true} and an existing
+   *         entity has a different revision.
+   */
+  void upsertAll(Iterable<? extends EntityBean> entities, boolean verifyRevision);
+
 }
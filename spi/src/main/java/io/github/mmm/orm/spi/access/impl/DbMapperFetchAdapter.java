@@ -0,0 +1,119 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.access.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.property.id.PkProperty;
+import io.github.mmm.orm.mapping.DbMapper2Java;
+import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.spi.access.DbLinkResolver;
+
+/**
+ * Adapter on {@link DbMapper2Java} for a query with
+ * {@link io.github.mmm.orm.statement.select.SelectFromClause#fetch(io.github.mmm.entity.property.link.LinkProperty)
+ * fetched} links. The primary entity is mapped by the delegate from the beginning of the row while each fetched entity
+ * is mapped from the {@link DbResultSegment segment} of its columns and {@link DbLinkResolver#addResolved(Class,
+ * EntityBean) added} to the {@link DbLinkResolver} so the link is resolved without an additional query.
+ *
+ * @param <R> type of the result.
+ */
+public class DbMapperFetchAdapter<R> implements DbMapper2Java<R> {
+
+  private final DbMapper2Java<R> delegate;
+
+  private final List<Fetch> fetches;
+
+  private final DbLinkResolver linkResolver;
+
+  /**
+   * The constructor.
+   *
+   * @param delegate the {@link DbMapper2Java} for the primary entity.
+   * @param fetches the {@link Fetch}es for the fetched entities in the order of their columns.
+   * @param linkResolver the {@link DbLinkResolver} to add the fetched entities to.
+   */
+  public DbMapperFetchAdapter(DbMapper2Java<R> delegate, List<Fetch> fetches, DbLinkResolver linkResolver) {
+
+    super();
+    this.delegate = delegate;
+    this.fetches = fetches;
+    this.linkResolver = linkResolver;
+  }
+
+  @Override
+  public R db2java(DbResult dbValue) {
+
+    R result = this.delegate.db2java(dbValue);
+    for (Fetch fetch : this.fetches) {
+      EntityBean target = fetch.db2java(dbValue);
+      if (target != null) {
+        this.linkResolver.addResolved(fetch.entityClass, target);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Maps the columns of a single fetched entity.
+   */
+  public static class Fetch {
+
+    private final Class<?> entityClass;
+
+    private final DbMapper2Java<? extends EntityBean> mapper;
+
+    private final int offset;
+
+    private final int size;
+
+    private final Map<Object, EntityBean> entities;
+
+    private int idIndex;
+
+    /**
+     * The constructor.
+     *
+     * @param entityClass the {@link io.github.mmm.entity.property.link.LinkProperty#getEntityClass() entity class} of
+     *        the fetched link.
+     * @param mapper the {@link DbMapper2Java} for the fetched entity.
+     * @param offset the index of the first column of the fetched entity in the row.
+     * @param size the number of columns of the fetched entity.
+     */
+    public Fetch(Class<?> entityClass, DbMapper2Java<? extends EntityBean> mapper, int offset, int size) {
+
+      super();
+      this.entityClass = entityClass;
+      this.mapper = mapper;
+      this.offset = offset;
+      this.size = size;
+      this.entities = new HashMap<>();
+      this.idIndex = -1;
+    }
+
+    private EntityBean db2java(DbResult dbValue) {
+
+      DbResult segment = new DbResultSegment(dbValue, this.offset, this.size);
+      if (this.idIndex == -1) {
+        this.idIndex = segment.indexOfRequired(PkProperty.NAME);
+      }
+      Object pk = segment.getValue(this.idIndex);
+      if (pk == null) {
+        // no match of LEFT JOIN (link is null or dangling)
+        return null;
+      }
+      EntityBean entity = this.entities.get(pk);
+      if (entity == null) {
+        // the same target is typically joined for many rows but shall only be mapped once
+        entity = this.mapper.db2java(segment);
+        this.entities.put(pk, entity);
+      }
+      return entity;
+    }
+
+  }
+
+}
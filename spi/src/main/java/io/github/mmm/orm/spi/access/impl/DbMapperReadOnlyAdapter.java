@@ -0,0 +1,35 @@
+package io.github.mmm.orm.spi.access.impl;
+
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.orm.mapping.DbMapper2Java;
+import io.github.mmm.orm.result.DbResult;
+
+/**
+ * Adapter on {@link DbMapper2Java} that hands out entities as {@link EntityBean#getReadOnly() read-only} beans without
+ * registering them in the first level cache (see {@link io.github.mmm.orm.tx.DbEntityMode#READ_ONLY}).
+ *
+ * @param <E> type of the {@link EntityBean}.
+ */
+public class DbMapperReadOnlyAdapter<E extends EntityBean> implements DbMapper2Java<E> {
+
+  private final DbMapper2Java<E> delegate;
+
+  /**
+   * The constructor.
+   *
+   * @param delegate the {@link DbMapper2Java} to adapt.
+   */
+  public DbMapperReadOnlyAdapter(DbMapper2Java<E> delegate) {
+
+    super();
+    this.delegate = delegate;
+  }
+
+  @Override
+  public E db2java(DbResult dbValue) {
+
+    return WritableBean.getReadOnly(this.delegate.db2java(dbValue));
+  }
+
+}
@@ -0,0 +1,64 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.access.impl;
+
+import io.github.mmm.orm.result.DbResult;
+
+/**
+ * Implementation of {@link DbResult} as view on a consecutive segment of the values of another {@link DbResult} (e.g.
+ * the columns of a fetched entity within a joined row).
+ */
+public class DbResultSegment implements DbResult {
+
+  private final DbResult delegate;
+
+  private final int offset;
+
+  private final int size;
+
+  /**
+   * The constructor.
+   *
+   * @param delegate the {@link DbResult} to view.
+   * @param offset the index of the first value of the segment in the given {@link DbResult}.
+   * @param size the {@link #getSize() size} of the segment.
+   */
+  public DbResultSegment(DbResult delegate, int offset, int size) {
+
+    super();
+    this.delegate = delegate;
+    this.offset = offset;
+    this.size = size;
+  }
+
+  @Override
+  public <V> V getValue(int i) {
+
+    return this.delegate.getValue(this.offset + i);
+  }
+
+  @Override
+  public <V> V getValue(int i, Class<V> type) {
+
+    return this.delegate.getValue(this.offset + i, type);
+  }
+
+  @Override
+  public String getName(int i) {
+
+    return this.delegate.getName(this.offset + i);
+  }
+
+  @Override
+  public String getDeclaration(int i) {
+
+    return this.delegate.getDeclaration(this.offset + i);
+  }
+
+  @Override
+  public int getSize() {
+
+    return this.size;
+  }
+
+}
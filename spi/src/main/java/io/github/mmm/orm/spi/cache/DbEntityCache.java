@@ -0,0 +1,107 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.cache;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.orm.connection.DbConnectionData;
+
+/**
+ * Process-wide second-level cache of entities shared across transactions of the same
+ * {@link io.github.mmm.orm.source.DbSource}. It is disabled by default and has to be enabled per entity type via
+ * {@link io.github.mmm.orm.source.DbSource#KEY_ENTITY_CACHE}. Each cached type has its own
+ * {@link DbEntityCacheRegion region}. Entities are only put into the cache and invalidated after the transaction has
+ * been committed so uncommitted data never leaks into other transactions. Only modifications of entities via
+ * {@code save}, {@code deleteById} or {@code deleteAllById} are tracked. Modifications via bulk statements or by other
+ * applications are only visible after the entries {@link io.github.mmm.orm.source.DbSource#KEY_ENTITY_CACHE_TTL
+ * expired}. Therefore use it for data that is read frequently and rarely modified (e.g. lookup tables).
+ *
+ * @since 1.0.0
+ */
+public final class DbEntityCache {
+
+  private static final String ALL = "*";
+
+  private final DbConnectionData connectionData;
+
+  private final Set<String> types;
+
+  private final Map<String, Optional<DbEntityCacheRegion<?>>> regions;
+
+  /**
+   * The constructor.
+   *
+   * @param connectionData the {@link DbConnectionData} with the configuration.
+   */
+  public DbEntityCache(DbConnectionData connectionData) {
+
+    super();
+    this.connectionData = connectionData;
+    this.types = new HashSet<>();
+    String typeList = connectionData.getEntityCacheTypes();
+    if (typeList != null) {
+      for (String type : typeList.split(",")) {
+        type = type.trim();
+        if (!type.isEmpty()) {
+          this.types.add(type);
+        }
+      }
+    }
+    this.regions = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * @return {@code true} if the cache is enabled for at least one entity type, {@code false} otherwise.
+   */
+  public boolean isEnabled() {
+
+    return !this.types.isEmpty();
+  }
+
+  /**
+   * @param <E> type of the {@link EntityBean}.
+   * @param prototype the {@link EntityBean} prototype.
+   * @return the {@link DbEntityCacheRegion} for the {@link EntityBean#getType() type} of the given {@link EntityBean}
+   *         or {@code null} if this type shall not be cached.
+   */
+  @SuppressWarnings("unchecked")
+  public <E extends EntityBean> DbEntityCacheRegion<E> getRegion(E prototype) {
+
+    if (this.types.isEmpty()) {
+      return null;
+    }
+    String key = prototype.getType().getQualifiedName();
+    Optional<DbEntityCacheRegion<?>> region = this.regions.get(key);
+    if (region == null) {
+      region = this.regions.computeIfAbsent(key, k -> createRegion(prototype));
+    }
+    return (DbEntityCacheRegion<E>) region.orElse(null);
+  }
+
+  private Optional<DbEntityCacheRegion<?>> createRegion(EntityBean prototype) {
+
+    String type = prototype.getType().getStableName();
+    if (!this.types.contains(type) && !this.types.contains(ALL)) {
+      return Optional.empty();
+    }
+    int size = this.connectionData.getEntityCacheSize(type);
+    int ttl = this.connectionData.getEntityCacheTtl(type);
+    return Optional.of(new DbEntityCacheRegion<>(prototype, size, ttl));
+  }
+
+  /**
+   * Removes all entries from all {@link DbEntityCacheRegion regions}.
+   */
+  public void clear() {
+
+    for (Optional<DbEntityCacheRegion<?>> region : this.regions.values()) {
+      region.ifPresent(DbEntityCacheRegion::clear);
+    }
+  }
+
+}
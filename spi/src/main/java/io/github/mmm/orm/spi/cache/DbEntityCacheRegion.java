@@ -0,0 +1,289 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.cache;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.orm.spi.session.impl.DbEntitySnapshotTemplate;
+
+/**
+ * Region of the {@link DbEntityCache} for a single {@link EntityBean#getType() type} of {@link EntityBean}. Entities
+ * are stored as immutable {@link DbEntitySnapshotTemplate#snapshot(EntityBean) snapshots} keyed by their
+ * {@link io.github.mmm.entity.id.Id#getPk() primary key} and a new {@link EntityBean} is restored for every
+ * {@link #get(Object) hit} so the cached state can never be modified. To reduce lock contention the entries are split
+ * into stripes by the hash of the primary key. Each stripe evicts its least recently used entries when full and entries
+ * expire after the configured time to live.<br>
+ * To prevent that a transaction puts a stale entity into the cache after another transaction modified it, each
+ * {@link #invalidate(Object) invalidation} increments the {@link #getSequence() sequence} and leaves a tombstone. A
+ * {@link #put(Object, Object[], long) put} is rejected if the entry has been invalidated or put after the
+ * {@link #getSequence() sequence} the given snapshot has been read at. As a tombstone may be evicted or expire before
+ * the stale put arrives, each stripe remembers the highest sequence of its removed tombstones and rejects all puts
+ * read before. Accordingly, {@link #clear()} rejects all puts read before it has been called.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @since 1.0.0
+ */
+public final class DbEntityCacheRegion<E extends EntityBean> {
+
+  private static final int STRIPES = 16;
+
+  private final DbEntitySnapshotTemplate<E> template;
+
+  private final Clock clock;
+
+  private final long ttlMillis;
+
+  private final Stripe[] stripes;
+
+  private final AtomicLong sequence;
+
+  /** The {@link #getSequence() sequence} of the last {@link #clear()}. */
+  private final AtomicLong clearedSequence;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * The constructor.
+   *
+   * @param prototype the {@link EntityBean} prototype.
+   * @param size the maximum number of entries.
+   * @param ttl the time to live in seconds or {@code 0} for no expiry.
+   */
+  public DbEntityCacheRegion(E prototype, int size, int ttl) {
+
+    this(prototype, size, ttl, Clock.systemUTC());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param prototype the {@link EntityBean} prototype.
+   * @param size the maximum number of entries.
+   * @param ttl the time to live in seconds or {@code 0} for no expiry.
+   * @param clock the {@link Clock} to determine the expiry of the entries.
+   */
+  public DbEntityCacheRegion(E prototype, int size, int ttl, Clock clock) {
+
+    super();
+    this.template = new DbEntitySnapshotTemplate<>(prototype);
+    this.clock = clock;
+    this.ttlMillis = ttl * 1000L;
+    int stripeCount = Math.max(1, Math.min(STRIPES, size / 64));
+    int stripeSize = Math.max(1, size / stripeCount);
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      this.stripes[i] = new Stripe(stripeSize);
+    }
+    this.sequence = new AtomicLong();
+    this.clearedSequence = new AtomicLong();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  private Stripe getStripe(Object pk) {
+
+    int hash = pk.hashCode();
+    hash ^= (hash >>> 16);
+    return this.stripes[Math.floorMod(hash, this.stripes.length)];
+  }
+
+  /**
+   * @return the current sequence. Has to be read before the entity is loaded from the database and passed to
+   *         {@link #put(Object, Object[], long)}.
+   */
+  public long getSequence() {
+
+    return this.sequence.get();
+  }
+
+  /**
+   * @param pk the {@link io.github.mmm.entity.id.Id#getPk() primary key} of the requested entity.
+   * @return a new {@link EntityBean} restored from the cached snapshot or {@code null} if not cached.
+   */
+  public E get(Object pk) {
+
+    Object[] values = null;
+    Stripe stripe = getStripe(pk);
+    synchronized (stripe) {
+      Entry entry = stripe.get(pk);
+      if (entry != null) {
+        if (entry.isExpired(this.clock.millis())) {
+          stripe.remove(pk);
+          stripe.onRemove(entry);
+        } else {
+          values = entry.values;
+        }
+      }
+    }
+    if (values == null) {
+      this.misses.increment();
+      return null;
+    }
+    this.hits.increment();
+    return this.template.restore(values);
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to snapshot.
+   * @return the snapshot to {@link #put(Object, Object[], long) put} into the cache later (e.g. after commit).
+   */
+  public Object[] snapshot(E entity) {
+
+    return this.template.snapshot(entity);
+  }
+
+  /**
+   * @param pk the {@link io.github.mmm.entity.id.Id#getPk() primary key} of the entity.
+   * @param values the {@link #snapshot(EntityBean) snapshot} of the entity.
+   * @param readSequence the {@link #getSequence() sequence} before the entity has been read from the database.
+   * @return {@code true} if the entity has been put into the cache, {@code false} if rejected because the entity has
+   *         been modified or put by another transaction in the meantime or the region has been {@link #clear()
+   *         cleared} after the given {@code readSequence}.
+   */
+  public boolean put(Object pk, Object[] values, long readSequence) {
+
+    if (readSequence < this.clearedSequence.get()) {
+      return false;
+    }
+    long expires = getExpires();
+    Stripe stripe = getStripe(pk);
+    synchronized (stripe) {
+      if (readSequence < stripe.removedTombstoneSequence) {
+        // a tombstone of this stripe that might have been for this entity is gone
+        return false;
+      }
+      Entry existing = stripe.get(pk);
+      if ((existing != null) && (existing.sequence > readSequence)) {
+        return false;
+      }
+      stripe.put(pk, new Entry(values, readSequence, expires));
+    }
+    return true;
+  }
+
+  /**
+   * @param pk the {@link io.github.mmm.entity.id.Id#getPk() primary key} of the entity that has been updated or
+   *        deleted.
+   */
+  public void invalidate(Object pk) {
+
+    long seq = this.sequence.incrementAndGet();
+    long expires = getExpires();
+    Stripe stripe = getStripe(pk);
+    synchronized (stripe) {
+      // tombstone to reject stale puts of transactions that read the entity before the invalidation
+      stripe.put(pk, new Entry(null, seq, expires));
+    }
+  }
+
+  private long getExpires() {
+
+    if (this.ttlMillis > 0) {
+      return this.clock.millis() + this.ttlMillis;
+    }
+    return 0;
+  }
+
+  /**
+   * Removes all entries. Snapshots read before are {@link #put(Object, Object[], long) rejected} afterwards.
+   */
+  public void clear() {
+
+    long seq = this.sequence.incrementAndGet();
+    this.clearedSequence.accumulateAndGet(seq, Math::max);
+    for (Stripe stripe : this.stripes) {
+      synchronized (stripe) {
+        stripe.clear();
+      }
+    }
+  }
+
+  /**
+   * @return the number of entries (including tombstones of invalidated entities).
+   */
+  public int getSize() {
+
+    int size = 0;
+    for (Stripe stripe : this.stripes) {
+      synchronized (stripe) {
+        size += stripe.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * @return the number of successful {@link #get(Object) lookups}.
+   */
+  public long getHitCount() {
+
+    return this.hits.sum();
+  }
+
+  /**
+   * @return the number of failed {@link #get(Object) lookups}.
+   */
+  public long getMissCount() {
+
+    return this.misses.sum();
+  }
+
+  /**
+   * A single stripe with LRU eviction.
+   */
+  private static final class Stripe extends LinkedHashMap<Object, Entry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int capacity;
+
+    /** The highest {@link Entry#sequence() sequence} of a tombstone that has been removed from this stripe. */
+    private long removedTombstoneSequence;
+
+    private Stripe(int capacity) {
+
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+
+      if (size() > this.capacity) {
+        onRemove(eldest.getValue());
+        return true;
+      }
+      return false;
+    }
+
+    private void onRemove(Entry entry) {
+
+      if ((entry.values == null) && (entry.sequence > this.removedTombstoneSequence)) {
+        this.removedTombstoneSequence = entry.sequence;
+      }
+    }
+
+  }
+
+  /**
+   * @param values the snapshot or {@code null} for a tombstone.
+   * @param sequence the {@link DbEntityCacheRegion#getSequence() sequence} of the entry.
+   * @param expires the {@link Clock#millis() time} when the entry expires or {@code 0} for no expiry.
+   */
+  private record Entry(Object[] values, long sequence, long expires) {
+
+    private boolean isExpired(long now) {
+
+      return (this.expires != 0) && (now > this.expires);
+    }
+
+  }
+
+}
@@ -0,0 +1,331 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.cache;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.mmm.orm.connection.DbConnectionData;
+import io.github.mmm.orm.param.AbstractCriteriaParameters;
+import io.github.mmm.orm.param.CriteriaParameterImpl;
+import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.statement.AbstractEntitiesClause;
+import io.github.mmm.orm.statement.AbstractEntityClause;
+import io.github.mmm.orm.statement.DbClause;
+import io.github.mmm.orm.statement.DbPlainStatement;
+import io.github.mmm.orm.statement.DbStatement;
+import io.github.mmm.orm.statement.EntitySubClause;
+import io.github.mmm.orm.statement.select.SelectFetchClause;
+import io.github.mmm.orm.statement.select.SelectFromClause;
+import io.github.mmm.orm.statement.select.SelectStatement;
+
+/**
+ * Process-wide cache of query results shared across transactions of the same
+ * {@link io.github.mmm.orm.source.DbSource}. It is disabled by default and has to be enabled per entity via
+ * {@link io.github.mmm.orm.source.DbSource#KEY_QUERY_CACHE}. Results are cached as recorded {@link DbResult rows}
+ * keyed by the SQL and its parameter values and mapped again for every hit. Each entry records the entities (tables)
+ * it has been read from and is {@link #invalidate(String) invalidated} as soon as a modification of any of these
+ * tables has been committed. Like for the {@link DbEntityCache} only modifications via this ORM are tracked, so other
+ * modifications are only visible after the entries {@link io.github.mmm.orm.source.DbSource#KEY_QUERY_CACHE_TTL
+ * expired}. The cache is bounded by the total number of cached rows and evicts the least recently used entries when
+ * full.
+ *
+ * @since 1.0.0
+ */
+public final class DbQueryCache {
+
+  private static final String ALL = "*";
+
+  private final Set<String> entities;
+
+  private final int maxRows;
+
+  private final long ttlNanos;
+
+  private final LinkedHashMap<Key, Entry> entries;
+
+  /** The {@link #sequence} of the latest {@link #invalidate(String) invalidation} per table. */
+  private final Map<String, Long> invalidations;
+
+  private long sequence;
+
+  private int rows;
+
+  private final LongAdder hits;
+
+  private final LongAdder misses;
+
+  /**
+   * The constructor.
+   *
+   * @param connectionData the {@link DbConnectionData} with the configuration.
+   */
+  public DbQueryCache(DbConnectionData connectionData) {
+
+    super();
+    this.entities = new HashSet<>();
+    String entityList = connectionData.getQueryCacheEntities();
+    if (entityList != null) {
+      for (String entity : entityList.split(",")) {
+        entity = entity.trim();
+        if (!entity.isEmpty()) {
+          this.entities.add(entity);
+        }
+      }
+    }
+    this.maxRows = connectionData.getQueryCacheSize();
+    this.ttlNanos = TimeUnit.SECONDS.toNanos(connectionData.getQueryCacheTtl());
+    this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    this.invalidations = new HashMap<>();
+    this.hits = new LongAdder();
+    this.misses = new LongAdder();
+  }
+
+  /**
+   * @return {@code true} if the cache is enabled for at least one entity, {@code false} otherwise.
+   */
+  public boolean isEnabled() {
+
+    return !this.entities.isEmpty();
+  }
+
+  /**
+   * @param statement the {@link SelectStatement}.
+   * @return the {@link Set} with the {@link AbstractEntityClause#getEntityName() entity names} (tables) the given
+   *         {@link SelectStatement} reads from or {@code null} if it shall not be cached.
+   */
+  public Set<String> getTables(SelectStatement<?> statement) {
+
+    if (this.entities.isEmpty()) {
+      return null;
+    }
+    String entityName = statement.getFrom().getEntityName();
+    if (!this.entities.contains(entityName) && !this.entities.contains(ALL)) {
+      return null;
+    }
+    return getEntityNames(statement);
+  }
+
+  /**
+   * @param statement the {@link DbStatement}.
+   * @return the {@link Set} with the {@link AbstractEntityClause#getEntityName() entity names} (tables) the given
+   *         {@link DbStatement} operates on.
+   */
+  public static Set<String> getEntityNames(DbStatement<?> statement) {
+
+    Set<String> names = new HashSet<>();
+    for (DbClause clause : statement.getClauses()) {
+      if (clause instanceof AbstractEntityClause<?, ?, ?> entityClause) {
+        addEntityName(names, entityClause);
+        if (clause instanceof AbstractEntitiesClause<?, ?, ?> entitiesClause) {
+          for (EntitySubClause<?, ?> additional : entitiesClause.getAdditionalEntities()) {
+            addEntityName(names, additional);
+          }
+        }
+        if (clause instanceof SelectFromClause<?, ?> selectFrom) {
+          for (SelectFetchClause<?, ?> fetch : selectFrom.getFetches()) {
+            addEntityName(names, fetch);
+          }
+        }
+      }
+    }
+    return names;
+  }
+
+  private static void addEntityName(Set<String> names, AbstractEntityClause<?, ?, ?> clause) {
+
+    String name = clause.getEntityName();
+    if (name != null) {
+      names.add(name);
+    }
+  }
+
+  /**
+   * @param statement the {@link DbPlainStatement} of the query.
+   * @return the key for the given {@link DbPlainStatement} or {@code null} if it can not be cached.
+   */
+  public Object createKey(DbPlainStatement statement) {
+
+    if (statement.getNext() != null) {
+      return null;
+    }
+    List<Object> values = new ArrayList<>();
+    if (statement.getParameters() != null) {
+      AbstractCriteriaParameters parameters = statement.getParameters().cast();
+      for (CriteriaParameterImpl<?> parameter : parameters) {
+        Object value = parameter.getValue();
+        if ((value != null) && value.getClass().isArray()) {
+          // arrays do not implement equals and hashCode
+          return null;
+        }
+        values.add(value);
+      }
+    }
+    return new Key(statement.getStatement(), values);
+  }
+
+  /**
+   * @return the current sequence. Has to be read before the query is executed and passed to
+   *         {@link #put(Object, Set, List, long)}.
+   */
+  public synchronized long getSequence() {
+
+    return this.sequence;
+  }
+
+  /**
+   * @param key the {@link #createKey(DbPlainStatement) key} of the query.
+   * @return the {@link List} of cached {@link DbResult rows} or {@code null} if not cached.
+   */
+  public List<DbResult> get(Object key) {
+
+    List<DbResult> result = null;
+    synchronized (this) {
+      Entry entry = this.entries.get(key);
+      if (entry != null) {
+        if (entry.isExpired(System.nanoTime())) {
+          remove(key);
+        } else {
+          result = entry.rows;
+        }
+      }
+    }
+    if (result == null) {
+      this.misses.increment();
+    } else {
+      this.hits.increment();
+    }
+    return result;
+  }
+
+  /**
+   * @param key the {@link #createKey(DbPlainStatement) key} of the query.
+   * @param tables the {@link #getTables(SelectStatement) tables} the query has read from.
+   * @param results the {@link DbResultRecorder#getResults() recorded rows} of the query.
+   * @param readSequence the {@link #getSequence() sequence} before the query has been executed.
+   * @return {@code true} if the results have been put into the cache, {@code false} if rejected because one of the
+   *         tables has been modified in the meantime or the results are too large.
+   */
+  public boolean put(Object key, Set<String> tables, List<DbResult> results, long readSequence) {
+
+    int size = results.size();
+    if (size > this.maxRows) {
+      return false;
+    }
+    long expires = 0;
+    if (this.ttlNanos > 0) {
+      expires = System.nanoTime() + this.ttlNanos;
+    }
+    Entry entry = new Entry(Set.copyOf(tables), List.copyOf(results), expires);
+    synchronized (this) {
+      for (String table : tables) {
+        Long invalidated = this.invalidations.get(table);
+        if ((invalidated != null) && (invalidated.longValue() > readSequence)) {
+          return false;
+        }
+      }
+      remove(key);
+      this.entries.put((Key) key, entry);
+      this.rows += size;
+      Iterator<Entry> iterator = this.entries.values().iterator();
+      while ((this.rows > this.maxRows) && iterator.hasNext()) {
+        this.rows -= iterator.next().rows.size();
+        iterator.remove();
+      }
+    }
+    return true;
+  }
+
+  private void remove(Object key) {
+
+    Entry entry = this.entries.remove(key);
+    if (entry != null) {
+      this.rows -= entry.rows.size();
+    }
+  }
+
+  /**
+   * Removes all entries that have been read from the given table and rejects pending
+   * {@link #put(Object, Set, List, long) puts} of queries executed before.
+   *
+   * @param table the {@link AbstractEntityClause#getEntityName() entity name} of the modified table.
+   */
+  public void invalidate(String table) {
+
+    synchronized (this) {
+      this.sequence++;
+      this.invalidations.put(table, Long.valueOf(this.sequence));
+      Iterator<Entry> iterator = this.entries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (entry.tables.contains(table)) {
+          this.rows -= entry.rows.size();
+          iterator.remove();
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all entries.
+   */
+  public synchronized void clear() {
+
+    this.sequence++;
+    for (String table : this.invalidations.keySet()) {
+      this.invalidations.put(table, Long.valueOf(this.sequence));
+    }
+    this.entries.clear();
+    this.rows = 0;
+  }
+
+  /**
+   * @return the total number of cached rows.
+   */
+  public synchronized int getRowCount() {
+
+    return this.rows;
+  }
+
+  /**
+   * @return the number of successful {@link #get(Object) lookups}.
+   */
+  public long getHitCount() {
+
+    return this.hits.sum();
+  }
+
+  /**
+   * @return the number of failed {@link #get(Object) lookups}.
+   */
+  public long getMissCount() {
+
+    return this.misses.sum();
+  }
+
+  private record Key(String sql, List<Object> parameters) {
+  }
+
+  /**
+   * @param tables the tables the results have been read from.
+   * @param rows the recorded rows.
+   * @param expires the {@link System#nanoTime() time} when the entry expires or {@code 0} for no expiry.
+   */
+  private record Entry(Set<String> tables, List<DbResult> rows, long expires) {
+
+    private boolean isExpired(long now) {
+
+      return (this.expires != 0) && (now - this.expires > 0);
+    }
+
+  }
+
+}
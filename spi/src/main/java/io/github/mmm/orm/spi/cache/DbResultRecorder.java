@@ -0,0 +1,146 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import io.github.mmm.orm.result.DbResult;
+
+/**
+ * {@link Consumer} of {@link DbResult} that delegates to another {@link Consumer} and records a detached copy of every
+ * row. Only the values actually read by the delegate are recorded exactly as they have been read (e.g. already
+ * converted via {@link DbResult#getValue(int, Class)}) so replaying the {@link #getResults() recorded rows} to the same
+ * kind of {@link Consumer} produces the same result.
+ *
+ * @since 1.0.0
+ * @see DbQueryCache
+ */
+public class DbResultRecorder implements Consumer<DbResult> {
+
+  private final Consumer<DbResult> delegate;
+
+  private final List<DbResult> results;
+
+  private final Recording recording;
+
+  /**
+   * The constructor.
+   *
+   * @param delegate the {@link Consumer} to delegate to.
+   */
+  public DbResultRecorder(Consumer<DbResult> delegate) {
+
+    super();
+    this.delegate = delegate;
+    this.results = new ArrayList<>();
+    this.recording = new Recording();
+  }
+
+  @Override
+  public void accept(DbResult result) {
+
+    this.recording.start(result);
+    this.delegate.accept(this.recording);
+    this.results.add(this.recording.copy());
+  }
+
+  /**
+   * @return the {@link List} of recorded {@link DbResult rows}.
+   */
+  public List<DbResult> getResults() {
+
+    return this.results;
+  }
+
+  private static class Recording implements DbResult {
+
+    private DbResult result;
+
+    private Object[] values;
+
+    private void start(DbResult dbResult) {
+
+      this.result = dbResult;
+      this.values = new Object[dbResult.getSize()];
+    }
+
+    private DbResult copy() {
+
+      int size = this.values.length;
+      String[] names = new String[size];
+      String[] declarations = new String[size];
+      for (int i = 0; i < size; i++) {
+        names[i] = this.result.getName(i);
+        declarations[i] = this.result.getDeclaration(i);
+      }
+      return new Copy(this.values, names, declarations);
+    }
+
+    @Override
+    public <V> V getValue(int i) {
+
+      V value = this.result.getValue(i);
+      this.values[i] = value;
+      return value;
+    }
+
+    @Override
+    public <V> V getValue(int i, Class<V> type) {
+
+      V value = this.result.getValue(i, type);
+      this.values[i] = value;
+      return value;
+    }
+
+    @Override
+    public String getName(int i) {
+
+      return this.result.getName(i);
+    }
+
+    @Override
+    public String getDeclaration(int i) {
+
+      return this.result.getDeclaration(i);
+    }
+
+    @Override
+    public int getSize() {
+
+      return this.values.length;
+    }
+
+  }
+
+  private record Copy(Object[] values, String[] names, String[] declarations) implements DbResult {
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V getValue(int i) {
+
+      return (V) this.values[i];
+    }
+
+    @Override
+    public String getName(int i) {
+
+      return this.names[i];
+    }
+
+    @Override
+    public String getDeclaration(int i) {
+
+      return this.declarations[i];
+    }
+
+    @Override
+    public int getSize() {
+
+      return this.values.length;
+    }
+
+  }
+
+}
@@ -2,32 +2,54 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.spi.repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import io.github.mmm.base.sort.SortOrder;
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkId;
 import io.github.mmm.entity.id.generator.IdGenerator;
 import io.github.mmm.entity.id.generator.SequenceIdGenerator;
 import io.github.mmm.entity.id.generator.UuidIdGenerator;
 import io.github.mmm.entity.id.sequence.IdSequence;
 import io.github.mmm.entity.property.id.FkProperty;
+import io.github.mmm.entity.property.id.PkProperty;
 import io.github.mmm.entity.property.link.LinkProperty;
 import io.github.mmm.orm.connection.DbConnectionData;
 import io.github.mmm.orm.dialect.AbstractDbDialect;
 import io.github.mmm.orm.metadata.DbName;
 import io.github.mmm.orm.metadata.DbQualifiedName;
 import io.github.mmm.orm.repository.AbstractEntityRepository;
+import io.github.mmm.orm.repository.DbPage;
+import io.github.mmm.orm.repository.DbPageToken;
 import io.github.mmm.orm.repository.DbRepository;
 import io.github.mmm.orm.source.DbSource;
 import io.github.mmm.orm.spi.access.AbstractDbAccess;
 import io.github.mmm.orm.spi.access.DbAccess;
 import io.github.mmm.orm.spi.sequence.IdSequencePooled;
+import io.github.mmm.orm.spi.sequence.IdSequenceTime;
 import io.github.mmm.orm.statement.DbStatement;
+import io.github.mmm.orm.statement.EntitySubClause;
 import io.github.mmm.orm.statement.create.CreateIndexStatement;
 import io.github.mmm.orm.statement.create.CreateSequenceClause;
 import io.github.mmm.orm.statement.create.CreateSequenceStatement;
 import io.github.mmm.orm.statement.delete.DeleteStatement;
+import io.github.mmm.orm.statement.select.LimitClause;
+import io.github.mmm.orm.statement.select.SelectEntityClause;
+import io.github.mmm.orm.statement.select.SelectFetchClause;
+import io.github.mmm.orm.statement.select.SelectFromClause;
 import io.github.mmm.orm.statement.select.SelectStatement;
+import io.github.mmm.orm.statement.select.SelectWhere;
 import io.github.mmm.orm.statement.update.UpdateStatement;
+import io.github.mmm.orm.tx.DbTransactionExecutor;
 import io.github.mmm.property.WritableProperty;
+import io.github.mmm.property.criteria.CriteriaOrdering;
+import io.github.mmm.property.criteria.CriteriaPredicate;
+import io.github.mmm.property.criteria.Literal;
+import io.github.mmm.property.criteria.PredicateOperator;
+import io.github.mmm.value.PropertyPath;
 
 /**
  * Abstract base implementation of {@link DbRepository}.
@@ -41,6 +63,9 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
   /** The default {@link #getSequenceName() sequence name}. */
   public static final String DEFAULT_SEQUENCE = "ENTITY_SEQUENCE";
 
+  /** The default name of the table to lease ID ranges from for {@link DbSource#VALUE_ID_GENERATOR_HILO hilo}. */
+  public static final String DEFAULT_ID_RANGE_TABLE = "ID_RANGE";
+
   private final AbstractDbAccess dbAccess;
 
   private final DbConnectionData connectionData;
@@ -48,6 +73,8 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
   /** {@link IdGenerator} used to {@link IdGenerator#generate(Id) generate} new unique {@link Id}s. */
   private final IdGenerator idGenerator;
 
+  private final IdSequencePooled pooledSequence;
+
   /**
    * The constructor.
    *
@@ -71,9 +98,28 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
     DbSource source = getSource();
     this.dbAccess = (AbstractDbAccess) DbAccess.get(source);
     this.connectionData = DbConnectionData.of(source);
+    IdSequencePooled pooled = null;
     if (idGenerator == null) {
+      String strategy = this.connectionData.getIdGenerator();
       AbstractDbDialect<?> dialect = this.dbAccess.getDialect();
-      if (dialect.isSupportingSequence()) {
+      if (DbSource.VALUE_ID_GENERATOR_TIME.equals(strategy)) {
+        idGenerator = new SequenceIdGenerator(new IdSequenceTime(this.connectionData.getNodeId()));
+      } else if (DbSource.VALUE_ID_GENERATOR_UUID.equals(strategy)) {
+        idGenerator = new UuidIdGenerator();
+      } else if (DbSource.VALUE_ID_GENERATOR_HILO.equals(strategy)) {
+        String rangeName = getSequenceName();
+        if (rangeName == null) {
+          idGenerator = new UuidIdGenerator();
+        } else {
+          int rangeSize = this.connectionData.getIdRangeSize();
+          IdSequence rangeSequence = this.dbAccess.createIdRangeSequence(getQualifiedIdRangeTableName(), rangeName,
+              rangeSize);
+          pooled = new IdSequencePooled(rangeSequence, rangeSize);
+          idGenerator = new SequenceIdGenerator(pooled);
+        }
+      } else if (!DbSource.VALUE_ID_GENERATOR_SEQUENCE.equals(strategy)) {
+        throw new IllegalStateException("Unsupported " + DbSource.KEY_ID_GENERATOR + " '" + strategy + "'.");
+      } else if (dialect.isSupportingSequence()) {
         DbQualifiedName sequenceName = getQualifiedSequenceName();
         if (sequenceName == null) {
           idGenerator = new UuidIdGenerator();
@@ -81,7 +127,16 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
           IdSequence idSequence = this.dbAccess.createIdSequence(sequenceName);
           int sequenceIncrement = this.connectionData.getSequenceIncrement();
           if (sequenceIncrement > 1) {
-            idSequence = new IdSequencePooled(idSequence, sequenceIncrement);
+            int sequencePrefetch = this.connectionData.getSequencePrefetch();
+            IdSequence prefetchSequence = null;
+            if (sequencePrefetch > 0) {
+              IdSequence sequence = idSequence;
+              // prefetching happens in a background thread that has no session so it needs its own transaction
+              prefetchSequence = template -> DbTransactionExecutor.get(source).doInTx(() -> sequence.next(template))
+                  .longValue();
+            }
+            pooled = new IdSequencePooled(idSequence, sequenceIncrement, sequencePrefetch, prefetchSequence);
+            idSequence = pooled;
           }
           idGenerator = new SequenceIdGenerator(idSequence);
         }
@@ -91,6 +146,7 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
       }
     }
     this.idGenerator = idGenerator;
+    this.pooledSequence = pooled;
   }
 
   /**
@@ -139,12 +195,28 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
     return this.connectionData.getQualifiedNameTemplate().withName(sequenceName);
   }
 
+  /**
+   * @return the {@link DbQualifiedName} of the table to lease ID ranges from if {@link DbSource#KEY_ID_GENERATOR
+   *         id_generator} is {@link DbSource#VALUE_ID_GENERATOR_HILO hilo}. The ranges are identified by the
+   *         {@link #getSequenceName() sequence name}.
+   */
+  protected DbQualifiedName getQualifiedIdRangeTableName() {
+
+    return this.connectionData.getQualifiedNameTemplate().withName(DEFAULT_ID_RANGE_TABLE);
+  }
+
   @Override
   public E doFindById(Id<E> id) {
 
     return this.dbAccess.selectById(id, this.prototype);
   }
 
+  @Override
+  protected List<E> doFindAllById(Iterable<Id<E>> ids) {
+
+    return this.dbAccess.selectAllById(ids, this.prototype);
+  }
+
   @Override
   public E findOneByQuery(SelectStatement<E> statement) {
 
@@ -159,6 +231,157 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
     return this.dbAccess.select(statement);
   }
 
+  @Override
+  public Stream<E> streamByQuery(SelectStatement<E> statement, boolean detached) {
+
+    verifyEntityClass(statement.getSelect().getResultBean().getJavaClass());
+    return this.dbAccess.selectStream(statement, detached);
+  }
+
+  @Override
+  public DbPage<E> findPage(SelectStatement<E> statement, DbPageToken token) {
+
+    verifyEntityClass(statement.getSelect().getResultBean().getJavaClass());
+    LimitClause<E> limit = statement.getLimit();
+    int pageSize = limit.getMaxRows();
+    if ((pageSize <= 0) || (limit.getOffset() != null)) {
+      throw new IllegalArgumentException("Keyset pagination requires a limit as page size and no offset.");
+    }
+    if (!statement.getGroupBy().isOmit() || !statement.getHaving().isOmit()) {
+      throw new IllegalArgumentException("Keyset pagination does not support GROUP BY or HAVING.");
+    }
+    SelectFromClause<E, ?> from = statement.getFrom();
+    EntityBean entity = from.getEntity();
+    List<CriteriaOrdering> orderings = new ArrayList<>(statement.getOrderBy().getOrderings());
+    boolean addId = true;
+    for (CriteriaOrdering ordering : orderings) {
+      if (ordering.getProperty() == entity.Id()) {
+        addId = false;
+        break;
+      }
+    }
+    if (addId) {
+      orderings.add(new CriteriaOrdering(entity.Id(), SortOrder.ASC));
+    }
+    // the given statement is left untouched as it may be reused (also concurrently) and carries its cached plan
+    SelectStatement<E> pageStatement = createPageStatement(statement, orderings, token, pageSize + 1);
+    List<E> items = new ArrayList<>(pageSize + 1);
+    for (E item : this.dbAccess.select(pageStatement)) {
+      items.add(item);
+    }
+    DbPageToken next = null;
+    if (items.size() > pageSize) {
+      items.remove(pageSize);
+      next = createPageToken(orderings, items.get(pageSize - 1));
+    }
+    return new DbPage<>(items, next);
+  }
+
+  /**
+   * @param statement the original {@link SelectStatement} to copy.
+   * @param orderings the {@link CriteriaOrdering}s including the {@link EntityBean#Id() ID}.
+   * @param token the {@link DbPageToken} of the previous page or {@code null} for the first page.
+   * @param maxRows the {@link LimitClause#getMaxRows() maximum number of rows} to select.
+   * @return a new {@link SelectStatement} with the same {@code FROM} and {@code WHERE} as the given
+   *         {@link SelectStatement} extended with the keyset predicate, the given {@link CriteriaOrdering}s and limit.
+   */
+  private SelectStatement<E> createPageStatement(SelectStatement<E> statement, List<CriteriaOrdering> orderings,
+      DbPageToken token, int maxRows) {
+
+    SelectFromClause<E, ?> from = statement.getFrom();
+    SelectEntityClause<E> select = new SelectEntityClause<>(statement.getSelect().getResultBean());
+    if (statement.getSelect().isDistinct()) {
+      select.distinct();
+    }
+    SelectFromClause<E, ?> pageFrom = new SelectFromClause<>(select, from.getEntity(), from.getEntityName());
+    if (from.hasAlias()) {
+      pageFrom.as(from.getAlias());
+    }
+    for (EntitySubClause<?, ?> additional : from.getAdditionalEntities()) {
+      String alias = null;
+      if (additional.hasAlias()) {
+        alias = additional.getAlias();
+      }
+      pageFrom.and(additional.getEntityName(), additional.getEntity(), alias);
+    }
+    for (SelectFetchClause<E, ?> fetch : from.getFetches()) {
+      pageFrom.fetch(fetch.getLink());
+    }
+    SelectStatement<E> pageStatement = pageFrom.get();
+    SelectWhere<E> where = pageStatement.getWhere();
+    for (CriteriaPredicate predicate : statement.getWhere().getPredicates()) {
+      where.and(predicate);
+    }
+    if (token != null) {
+      where.and(createKeysetPredicate(orderings, token));
+    }
+    for (CriteriaOrdering ordering : orderings) {
+      pageStatement.getOrderBy().and(ordering);
+    }
+    pageStatement.getLimit().limit(maxRows);
+    return pageStatement;
+  }
+
+  /**
+   * Creates the keyset predicate {@code (a, b, id) > (?, ?, ?)} expanded to
+   * {@code a > ? OR (a = ? AND (b > ? OR (b = ? AND id > ?)))} so it works for every database and mixed sort orders.
+   *
+   * @param orderings the {@link CriteriaOrdering}s.
+   * @param token the {@link DbPageToken} with the values of the last row of the previous page.
+   * @return the {@link CriteriaPredicate} matching the rows after the given {@link DbPageToken}.
+   */
+  private CriteriaPredicate createKeysetPredicate(List<CriteriaOrdering> orderings, DbPageToken token) {
+
+    List<Object> values = token.getValues();
+    int size = orderings.size();
+    if (values.size() != size) {
+      throw new IllegalArgumentException("Page token " + token + " has " + values.size() + " value(s) but query has "
+          + size + " ordering(s).");
+    }
+    CriteriaPredicate predicate = null;
+    for (int i = size - 1; i >= 0; i--) {
+      CriteriaOrdering ordering = orderings.get(i);
+      PropertyPath<?> property = ordering.getProperty();
+      Literal<?> value = createKeysetValue(property, values.get(i));
+      boolean asc = (ordering.getOrder() != SortOrder.DESC);
+      PredicateOperator afterOperator = asc ? PredicateOperator.GT : PredicateOperator.LT;
+      CriteriaPredicate after = afterOperator.expression(List.of(property, value));
+      if (predicate != null) {
+        CriteriaPredicate same = PredicateOperator.EQ.expression(List.of(property, value));
+        predicate = PredicateOperator.OR
+            .expression(List.of(after, PredicateOperator.AND.expression(List.of(same, predicate))));
+      } else {
+        predicate = after;
+      }
+    }
+    return predicate;
+  }
+
+  private Literal<?> createKeysetValue(PropertyPath<?> property, Object value) {
+
+    if (property instanceof PkProperty) {
+      value = PkId.of(getEntityClass(), value);
+    }
+    return Literal.of(value);
+  }
+
+  private DbPageToken createPageToken(List<CriteriaOrdering> orderings, E last) {
+
+    List<Object> values = new ArrayList<>(orderings.size());
+    for (CriteriaOrdering ordering : orderings) {
+      PropertyPath<?> property = ordering.getProperty();
+      Object value = last.get(property.getName());
+      if (value instanceof Id<?> id) {
+        value = id.getPk();
+      }
+      if (value == null) {
+        throw new IllegalStateException("Keyset pagination requires non-null values for ordering by " + property);
+      }
+      values.add(value);
+    }
+    return new DbPageToken(values);
+  }
+
   @Override
   public long delete(DeleteStatement<E> statement) {
 
@@ -177,18 +400,38 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
     return this.dbAccess.deleteAllById(ids, this.prototype);
   }
 
+  @Override
+  protected void reserveIds(int count) {
+
+    if (this.pooledSequence != null) {
+      this.pooledSequence.reserve(Id.from(this.prototype), count);
+    }
+  }
+
   @Override
   protected void doInsert(E entity) {
 
     this.dbAccess.insert(entity);
   }
 
+  @Override
+  protected void doInsertAll(List<E> entities) {
+
+    this.dbAccess.insertAll(entities);
+  }
+
   @Override
   protected void doUpdate(E entity) {
 
     this.dbAccess.update(entity);
   }
 
+  @Override
+  protected void doUpsertAll(List<E> entities) {
+
+    this.dbAccess.upsertAll(entities, isUseRevision());
+  }
+
   @Override
   public long update(UpdateStatement<E> statement) {
 
@@ -238,13 +481,18 @@ public abstract class AbstractDbRepository<E extends EntityBean> extends Abstrac
   }
 
   /**
-   * Create the ID sequence for the managed entity.
+   * Create the ID sequence for the managed entity. If {@link DbSource#KEY_ID_GENERATOR id_generator} is
+   * {@link DbSource#VALUE_ID_GENERATOR_HILO hilo} the range table is created instead (if not already existing).
    */
   public void createSequence() {
 
     AbstractDbDialect<?> dialect = this.dbAccess.getDialect();
-    getSource();
-    if (!dialect.isSupportingSequence()) {
+    String strategy = this.connectionData.getIdGenerator();
+    if (DbSource.VALUE_ID_GENERATOR_HILO.equals(strategy)) {
+      this.dbAccess.createIdRangeTable(getQualifiedIdRangeTableName());
+      return;
+    }
+    if (!dialect.isSupportingSequence() || !DbSource.VALUE_ID_GENERATOR_SEQUENCE.equals(strategy)) {
       return;
     }
     String sequenceName = getSequenceName();
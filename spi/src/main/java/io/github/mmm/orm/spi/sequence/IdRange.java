@@ -0,0 +1,36 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.sequence;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.property.number.longs.LongProperty;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * {@link EntityBean} for a row of the range table used by the hi/lo strategy to lease ranges of IDs. It is only used to
+ * build the statements for the range table and never stored as an entity itself.
+ *
+ * @since 1.0.0
+ */
+public interface IdRange extends EntityBean {
+
+  /**
+   * @return the name of the range (e.g. the name of the sequence it replaces) used as primary key.
+   */
+  StringProperty Name();
+
+  /**
+   * @return the start of the next range that has not yet been claimed.
+   */
+  LongProperty NextValue();
+
+  /**
+   * @return a new instance of {@link IdRange}.
+   */
+  static IdRange of() {
+
+    return BeanFactory.get().create(IdRange.class);
+  }
+
+}
@@ -0,0 +1,23 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.sequence;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.sequence.IdSequence;
+
+/**
+ * Extends {@link IdSequence} with the ability to get multiple next values in a single round trip to the database.
+ *
+ * @since 1.0.0
+ */
+public interface IdSequenceBulk extends IdSequence {
+
+  /**
+   * @param template the {@link Id} used as template (e.g. to determine the type of the entity).
+   * @param count the number of values to get.
+   * @return an array of length {@code count} with the next values of this sequence. The values are unique but not
+   *         necessarily consecutive (e.g. if other clients use the same sequence concurrently).
+   */
+  long[] next(Id<?> template, int count);
+
+}
@@ -3,8 +3,17 @@
 package io.github.mmm.orm.spi.sequence;
 
 import java.util.Objects;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.entity.id.sequence.IdSequence;
@@ -27,12 +36,13 @@ import io.github.mmm.entity.id.sequence.IdSequence;
  * And in your code, you must configure the increment value to the exact same value defined in the SQL for your sequence
  * (here {@code 10}) and obviously use the same sequence (here {@code ENTITY_SEQUENCE}). This way your Java application
  * will only request the next value from the database sequence for every 10 entities while the next 9 {@link Id}s can be
- * generated in memory. This implementation is thread-safe using {@link ReentrantLock}. If your Java application is shut
- * down or crashes before the "pool" of 10 {@link Id}s is fully utilized, you can end up in gaps so some numbers of your
- * {@link Id} space are wasted (at maximum {@code increment-1}). Further, this approach is also guaranteed to work if
- * multiple concurrent cluster nodes using the same approach to communicate with the same database. In case you have
- * clients or SQL statements not aware of this approach they will waste quite some {@link Id}s creating gaps. However,
- * still you are always guaranteed to get unique {@link Id}s.<br>
+ * generated in memory. This implementation is thread-safe and lock-free so it never blocks (or pins) a thread while
+ * handing out {@link Id}s from the current pool. If your Java application is shut down or crashes before the "pool" of
+ * 10 {@link Id}s is fully utilized, you can end up in gaps so some numbers of your {@link Id} space are wasted (at
+ * maximum {@code increment-1}). Further, this approach is also guaranteed to work if multiple concurrent cluster nodes
+ * using the same approach to communicate with the same database. In case you have clients or SQL statements not aware
+ * of this approach they will waste quite some {@link Id}s creating gaps. However, still you are always guaranteed to
+ * get unique {@link Id}s.<br>
  * <br>
  * If you require fully sequential {@link Id}s and cannot tolerate gaps, you should not use this strategy. Otherwise it
  * will boost your performance significantly. You can also increase the {@code increment} to a higher value (e.g. 20,
@@ -47,21 +57,37 @@ import io.github.mmm.entity.id.sequence.IdSequence;
  * overflows accidentally. While this is extremely unlikely to ever happen looking at the gigantic range of available
  * {@link Id}s but if that ever happens by accident (e.g. because some data-base script ran crazy), it is better to fail
  * fast and detect such error before causing even bigger harm. Please note that the above MAXVALUE is not the highest
- * positive long value ({@link Long#MAX_VALUE}) but a close value that is easy to remember and type without mistake.
+ * positive long value ({@link Long#MAX_VALUE}) but a close value that is easy to remember and type without mistake.<br>
+ * <br>
+ * Optionally a {@code prefetch} value can be configured. When only that many {@link Id}s are left in the current pool,
+ * the next pool is requested asynchronously in the background so that callers do not have to wait for the database
+ * when the current pool is exhausted. If no prefetched pool is available (yet), the next pool is fetched synchronously
+ * by exactly one of the calling threads while concurrent callers wait for its result.<br>
+ * For bulk operations you may {@link #reserve(Id, long) reserve} the pools for many {@link Id}s in advance with a
+ * single round trip if the underlying sequence is an {@link IdSequenceBulk}.
  *
  * @since 1.0.0
  */
 public class IdSequencePooled implements IdSequence {
 
-  private final Lock lock;
+  private static final Logger LOG = LoggerFactory.getLogger(IdSequencePooled.class);
+
+  private static final Executor PREFETCH_EXECUTOR = Executors
+      .newThreadPerTaskExecutor(Thread.ofVirtual().name("IdSequencePrefetch-", 0).factory());
 
   private final IdSequence sequence;
 
   private final long increment;
 
-  private long current;
+  private final long prefetch;
+
+  private final IdSequence prefetchSequence;
 
-  private long limit;
+  private final AtomicReference<Block> block;
+
+  private final AtomicReference<CompletableFuture<Block>> nextBlock;
+
+  private final ConcurrentLinkedQueue<Block> reserved;
 
   /**
    * The constructor.
@@ -72,38 +98,198 @@ public class IdSequencePooled implements IdSequence {
    */
   public IdSequencePooled(IdSequence sequence, long increment) {
 
+    this(sequence, increment, 0, null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param sequence the actual {@link IdSequence} that gives us the {@link IdSequence#next(Id) next value} from the
+   *        database.
+   * @param increment the "INCREMENT BY" value of the underlying database sequence that is used as pool size.
+   * @param prefetch the number of remaining {@link Id}s in the current pool when the next pool shall be fetched
+   *        asynchronously. Use {@code 0} to disable prefetching.
+   * @param prefetchSequence the {@link IdSequence} used to fetch the next pool asynchronously. As this happens in a
+   *        background thread it has to take care of its own connection and transaction. May be {@code null} to disable
+   *        prefetching.
+   */
+  public IdSequencePooled(IdSequence sequence, long increment, long prefetch, IdSequence prefetchSequence) {
+
     super();
     Objects.requireNonNull(sequence);
     if (increment < 3) {
       throw new IllegalArgumentException("Invalid increment '" + increment + "' - must be at least 3.");
     }
-    this.lock = new ReentrantLock();
+    if ((prefetch < 0) || (prefetch >= increment)) {
+      throw new IllegalArgumentException(
+          "Invalid prefetch '" + prefetch + "' - must be in the range from 0 to " + (increment - 1) + ".");
+    }
     this.sequence = sequence;
     this.increment = increment;
-    this.current = 0;
-    this.limit = 0;
+    if (prefetchSequence == null) {
+      this.prefetch = 0;
+    } else {
+      this.prefetch = prefetch;
+    }
+    this.prefetchSequence = prefetchSequence;
+    this.block = new AtomicReference<>(new Block(0, 0, 0));
+    this.nextBlock = new AtomicReference<>();
+    this.reserved = new ConcurrentLinkedQueue<>();
   }
 
   @Override
   public long next(Id<?> template) {
 
-    this.lock.lock();
+    while (true) {
+      Block current = this.block.get();
+      long id = current.counter.getAndIncrement();
+      if (id < current.limit) {
+        if (id == current.prefetchAt) {
+          prefetch(template);
+        }
+        return id;
+      }
+      refill(current, template);
+    }
+  }
+
+  /**
+   * Reserves the pools for the given number of {@link Id}s in advance. If the underlying sequence is an
+   * {@link IdSequenceBulk}, all missing pools are fetched in a single round trip so that a bulk insert does not have to
+   * query the database sequence for every pool. Otherwise this method has no effect and the pools are fetched on
+   * demand.
+   *
+   * @param template the {@link Id} used as template.
+   * @param count the number of {@link Id}s that will be requested via {@link #next(Id)}.
+   */
+  public void reserve(Id<?> template, long count) {
+
+    if (!(this.sequence instanceof IdSequenceBulk bulkSequence)) {
+      return;
+    }
+    Block current = this.block.get();
+    long available = Math.max(0, current.limit - current.counter.get());
+    for (Block reservedBlock : this.reserved) {
+      available += reservedBlock.limit - reservedBlock.counter.get();
+    }
+    long missing = count - available;
+    if (missing <= 0) {
+      return;
+    }
+    long blocks = Math.min((missing + this.increment - 1) / this.increment, Integer.MAX_VALUE);
+    for (long start : bulkSequence.next(template, (int) blocks)) {
+      this.reserved.add(createBlock(start));
+    }
+  }
+
+  private void refill(Block exhausted, Id<?> template) {
+
+    Block reservedBlock = this.reserved.poll();
+    if (reservedBlock != null) {
+      if (!this.block.compareAndSet(exhausted, reservedBlock)) {
+        this.reserved.add(reservedBlock);
+      }
+      return;
+    }
+    CompletableFuture<Block> future = this.nextBlock.get();
+    if (future == null) {
+      CompletableFuture<Block> fetching = new CompletableFuture<>();
+      if (this.nextBlock.compareAndSet(null, fetching)) {
+        try {
+          fetching.complete(fetch(this.sequence, template));
+        } catch (RuntimeException e) {
+          this.nextBlock.compareAndSet(fetching, null);
+          fetching.completeExceptionally(e);
+          throw e;
+        }
+      }
+      future = this.nextBlock.get();
+      if (future == null) {
+        return; // pool has already been refilled concurrently
+      }
+    }
+    Block next;
     try {
-      if (this.current == this.limit) {
-        this.current = this.sequence.next(template);
-        this.limit = this.current + this.increment;
+      next = future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
       }
-      assert (this.current < this.limit);
-      return this.current++;
-    } finally {
-      this.lock.unlock();
+      throw e;
+    }
+    if (next == null) {
+      // prefetch failed, retry synchronously
+      this.nextBlock.compareAndSet(future, null);
+    } else if (this.block.compareAndSet(exhausted, next)) {
+      this.nextBlock.compareAndSet(future, null);
+    }
+  }
+
+  private void prefetch(Id<?> template) {
+
+    if (!this.reserved.isEmpty()) {
+      return; // next pool has already been reserved
+    }
+    CompletableFuture<Block> future = new CompletableFuture<>();
+    if (!this.nextBlock.compareAndSet(null, future)) {
+      return; // next pool is already available or in progress
+    }
+    try {
+      PREFETCH_EXECUTOR.execute(() -> {
+        Block next = null;
+        try {
+          next = fetch(this.prefetchSequence, template);
+        } catch (RuntimeException e) {
+          LOG.warn("Failed to prefetch next pool of IDs - will fetch synchronously.", e);
+        }
+        future.complete(next);
+      });
+    } catch (RejectedExecutionException e) {
+      future.complete(null);
+    }
+  }
+
+  private Block fetch(IdSequence idSequence, Id<?> template) {
+
+    return createBlock(idSequence.next(template));
+  }
+
+  private Block createBlock(long start) {
+
+    long limit = start + this.increment;
+    long prefetchAt = -1;
+    if (this.prefetch > 0) {
+      prefetchAt = limit - this.prefetch;
     }
+    return new Block(start, limit, prefetchAt);
   }
 
   @Override
   public String toString() {
 
-    return this.current + "[" + this.limit + "]";
+    Block current = this.block.get();
+    return Math.min(current.counter.get(), current.limit) + "[" + current.limit + "]";
+  }
+
+  /**
+   * A pool of {@link Id}s from {@code start} (inclusive) to {@code limit} (exclusive).
+   */
+  private static final class Block {
+
+    private final AtomicLong counter;
+
+    private final long limit;
+
+    private final long prefetchAt;
+
+    private Block(long start, long limit, long prefetchAt) {
+
+      super();
+      this.counter = new AtomicLong(start);
+      this.limit = limit;
+      this.prefetchAt = prefetchAt;
+    }
+
   }
 
 }
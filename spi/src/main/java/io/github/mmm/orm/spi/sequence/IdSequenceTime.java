@@ -0,0 +1,105 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.sequence;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.sequence.IdSequence;
+
+/**
+ * Implementation of {@link IdSequence} generating time-ordered 64-bit values without any database access (similar to
+ * Snowflake IDs). Each value is composed of:
+ * <ul>
+ * <li>41 bits for the milliseconds since {@link #EPOCH} (good for about 69 years),</li>
+ * <li>10 bits for the node ID (from {@code 0} to {@value #MAX_NODE_ID}) and</li>
+ * <li>12 bits for a counter within the same millisecond.</li>
+ * </ul>
+ * As long as every node of a cluster writing to the same database uses a different node ID, all values are guaranteed
+ * to be unique. Values generated by the same node are strictly increasing even if the system clock is set back or more
+ * than 4096 values are requested within one millisecond (in both cases the time part continues from the last value).
+ * This implementation is thread-safe and lock-free.
+ *
+ * @since 1.0.0
+ */
+public class IdSequenceTime implements IdSequence {
+
+  /** The epoch (2020-01-01T00:00:00Z) the time part is relative to. */
+  public static final Instant EPOCH = Instant.parse("2020-01-01T00:00:00Z");
+
+  /** The maximum node ID: {@value}. */
+  public static final int MAX_NODE_ID = 1023;
+
+  private static final int NODE_BITS = 10;
+
+  private static final int COUNTER_BITS = 12;
+
+  private final Clock clock;
+
+  private final long epochMillis;
+
+  private final long node;
+
+  /** The last time (in bits above {@link #COUNTER_BITS}) and counter. */
+  private final AtomicLong state;
+
+  /**
+   * The constructor.
+   *
+   * @param nodeId the unique ID of this node (from {@code 0} to {@value #MAX_NODE_ID}).
+   */
+  public IdSequenceTime(int nodeId) {
+
+    this(nodeId, Clock.systemUTC());
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param nodeId the unique ID of this node (from {@code 0} to {@value #MAX_NODE_ID}).
+   * @param clock the {@link Clock} to get the current time from.
+   */
+  public IdSequenceTime(int nodeId, Clock clock) {
+
+    super();
+    Objects.requireNonNull(clock);
+    if ((nodeId < 0) || (nodeId > MAX_NODE_ID)) {
+      throw new IllegalArgumentException(
+          "Invalid node ID '" + nodeId + "' - must be in the range from 0 to " + MAX_NODE_ID + ".");
+    }
+    this.clock = clock;
+    this.epochMillis = EPOCH.toEpochMilli();
+    this.node = nodeId;
+    this.state = new AtomicLong();
+  }
+
+  @Override
+  public long next(Id<?> template) {
+
+    while (true) {
+      long last = this.state.get();
+      long time = this.clock.millis() - this.epochMillis;
+      long next;
+      if (time > (last >>> COUNTER_BITS)) {
+        next = time << COUNTER_BITS;
+      } else {
+        // same millisecond, clock set back or counter overflow: continue from last value
+        next = last + 1;
+      }
+      if (this.state.compareAndSet(last, next)) {
+        long counter = next & ((1L << COUNTER_BITS) - 1);
+        return ((next >>> COUNTER_BITS) << (NODE_BITS + COUNTER_BITS)) | (this.node << COUNTER_BITS) | counter;
+      }
+    }
+  }
+
+  @Override
+  public String toString() {
+
+    return getClass().getSimpleName() + "[" + this.node + "]";
+  }
+
+}
@@ -8,6 +8,7 @@ import java.util.Objects;
 import java.util.function.Function;
 
 import io.github.mmm.base.exception.DuplicateObjectException;
+import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.id.Id;
 
@@ -66,15 +67,34 @@ public abstract class AbstractDbEntitySession<E extends EntityBean> implements D
   public DbEntityHolder<E> put(E managedEntity, Id<E> id) {
 
     Objects.requireNonNull(managedEntity);
+    Object pk = getPk(id);
+    return register(pk, createHolder(managedEntity), managedEntity, id);
+  }
+
+  @Override
+  public DbEntityHolder<E> putCopy(E entity) {
+
+    Objects.requireNonNull(entity);
+    Id<E> id = Id.from(entity);
+    Object pk = getPk(id);
+    return register(pk, createHolderCopy(entity), entity, id);
+  }
+
+  private static Object getPk(Id<?> id) {
+
     Objects.requireNonNull(id);
     Object pk = id.getPk();
     if (pk == null) {
       throw new IllegalArgumentException("Missing primary key for given ID " + id);
     }
-    DbEntityHolder<E> holder = createHolder(managedEntity);
+    return pk;
+  }
+
+  private DbEntityHolder<E> register(Object pk, DbEntityHolder<E> holder, E entity, Id<E> id) {
+
     DbEntityHolder<E> duplicate = this.entityMap.putIfAbsent(pk, holder);
     if (duplicate != null) {
-      throw new DuplicateObjectException(managedEntity, id, duplicate); // should never happen
+      throw new DuplicateObjectException(entity, id, duplicate); // should never happen
     }
     return holder;
   }
@@ -85,6 +105,15 @@ public abstract class AbstractDbEntitySession<E extends EntityBean> implements D
    */
   protected abstract DbEntityHolder<E> createHolder(E managed);
 
+  /**
+   * @param entity the {@link EntityBean} that remains owned by the caller (see {@link #putCopy(EntityBean)}).
+   * @return the new {@link DbEntityHolder} instance holding the current state of the given {@link EntityBean}.
+   */
+  protected DbEntityHolder<E> createHolderCopy(E entity) {
+
+    return createHolder(ReadableBean.copy(entity));
+  }
+
   /**
    * Closes this session and releases allocated resources.
    */
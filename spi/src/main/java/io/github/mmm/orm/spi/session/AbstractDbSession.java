@@ -2,12 +2,17 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package io.github.mmm.orm.spi.session;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.connection.DbConnectionData;
 import io.github.mmm.orm.spi.session.impl.DbEntitySessionDefault;
+import io.github.mmm.orm.tx.DbEntityMode;
 
 /**
  * Database session data for a single transaction.
@@ -18,9 +23,18 @@ public abstract class AbstractDbSession implements DbSession {
 
   private Map<String, DbEntitySession<?>> entitySessions;
 
+  private List<Runnable> commitActions;
+
+  private Set<ModifiedKey> modified;
+
+  private Set<String> modifiedTables;
+
   /** @see #getConnectionData() */
   protected final DbConnectionData connectionData;
 
+  /** @see #getEntityMode() */
+  protected final DbEntityMode entityMode;
+
   /**
    * The constructor.
    *
@@ -28,10 +42,26 @@ public abstract class AbstractDbSession implements DbSession {
    */
   protected AbstractDbSession(DbConnectionData connectionData) {
 
+    this(connectionData, null);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param connectionData the {@link DbConnectionData}.
+   * @param entityMode the {@link #getEntityMode() entity mode} or {@code null} to use the
+   *        {@link DbConnectionData#getEntityMode() configured default}.
+   */
+  protected AbstractDbSession(DbConnectionData connectionData, DbEntityMode entityMode) {
+
     super();
     this.connectionData = connectionData;
     this.entitySessions = new HashMap<>();
-    // String mode = this.connectionData.getConfig().get(DbSource.KEY_ENTITY_MODE);
+    if (entityMode == null) {
+      this.entityMode = this.connectionData.getEntityMode();
+    } else {
+      this.entityMode = entityMode;
+    }
   }
 
   @SuppressWarnings({ "rawtypes", "unchecked" })
@@ -54,4 +84,74 @@ public abstract class AbstractDbSession implements DbSession {
     return this.connectionData;
   }
 
+  @Override
+  public DbEntityMode getEntityMode() {
+
+    return this.entityMode;
+  }
+
+  @Override
+  public void onCommit(Runnable action) {
+
+    if (this.commitActions == null) {
+      this.commitActions = new ArrayList<>();
+    }
+    this.commitActions.add(action);
+  }
+
+  @Override
+  public void markModified(EntityBean entity, Object pk) {
+
+    if (this.modified == null) {
+      this.modified = new HashSet<>();
+    }
+    this.modified.add(new ModifiedKey(entity.getType().getQualifiedName(), pk));
+  }
+
+  @Override
+  public boolean isModified(EntityBean entity, Object pk) {
+
+    if (this.modified == null) {
+      return false;
+    }
+    return this.modified.contains(new ModifiedKey(entity.getType().getQualifiedName(), pk));
+  }
+
+  @Override
+  public boolean markModified(String entityName) {
+
+    if (this.modifiedTables == null) {
+      this.modifiedTables = new HashSet<>();
+    }
+    return this.modifiedTables.add(entityName);
+  }
+
+  @Override
+  public boolean isModified(String entityName) {
+
+    if (this.modifiedTables == null) {
+      return false;
+    }
+    return this.modifiedTables.contains(entityName);
+  }
+
+  /**
+   * Runs the {@link #onCommit(Runnable) registered actions}. Has to be called by the implementation after the
+   * transaction has been committed successfully.
+   */
+  protected void afterCommit() {
+
+    if (this.commitActions == null) {
+      return;
+    }
+    List<Runnable> actions = this.commitActions;
+    this.commitActions = null;
+    for (Runnable action : actions) {
+      action.run();
+    }
+  }
+
+  private record ModifiedKey(String type, Object pk) {
+  }
+
 }
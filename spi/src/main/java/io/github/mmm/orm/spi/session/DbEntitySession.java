@@ -4,6 +4,7 @@ package io.github.mmm.orm.spi.session;
 
 import java.util.function.Function;
 
+import io.github.mmm.bean.ReadableBean;
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.entity.id.Id;
 
@@ -52,6 +53,17 @@ public interface DbEntitySession<E extends EntityBean> {
     return put(entity, Id.from(entity));
   }
 
+  /**
+   * @param entity the {@link EntityBean} to put into the first-level cache. Unlike {@link #put(EntityBean)} the given
+   *        {@link EntityBean} remains owned by the caller (e.g. after it has been inserted) so only its current state
+   *        is taken over.
+   * @return the {@link DbEntityHolder} created for the given {@link EntityBean}.
+   */
+  default DbEntityHolder<E> putCopy(E entity) {
+
+    return put(ReadableBean.copy(entity));
+  }
+
   /**
    * @param managedEntity the managed {@link EntityBean} to put into the first-level cache.
    * @param id the explicit new {@link Id} for the {@link EntityBean} (e.g. to ensure it is assigned only at the very
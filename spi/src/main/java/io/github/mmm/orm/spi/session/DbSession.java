@@ -4,6 +4,7 @@ package io.github.mmm.orm.spi.session;
 
 import io.github.mmm.entity.bean.EntityBean;
 import io.github.mmm.orm.connection.DbConnectionData;
+import io.github.mmm.orm.tx.DbEntityMode;
 
 /**
  * Database session data for a single transaction.
@@ -17,6 +18,11 @@ public interface DbSession {
    */
   DbConnectionData getConnectionData();
 
+  /**
+   * @return the {@link DbEntityMode} of this session.
+   */
+  DbEntityMode getEntityMode();
+
   /**
    * @param <E> type of the {@link EntityBean}.
    * @param entity the {@link EntityBean}.
@@ -25,4 +31,46 @@ public interface DbSession {
    */
   <E extends EntityBean> DbEntitySession<E> get(E entity);
 
+  /**
+   * @param action the {@link Runnable} to run after the transaction of this session has been committed successfully.
+   *        Will be discarded on rollback.
+   */
+  void onCommit(Runnable action);
+
+  /**
+   * Marks the given entity as modified (updated or deleted) within the transaction of this session. Used to bypass
+   * shared caches that do not yet reflect uncommitted changes.
+   *
+   * @param entity the {@link EntityBean} or prototype of the modified entity.
+   * @param pk the {@link io.github.mmm.entity.id.Id#getPk() primary key} of the modified entity.
+   */
+  void markModified(EntityBean entity, Object pk);
+
+  /**
+   * @param entity the {@link EntityBean} or prototype of the entity.
+   * @param pk the {@link io.github.mmm.entity.id.Id#getPk() primary key} of the entity.
+   * @return {@code true} if the entity has been {@link #markModified(EntityBean, Object) marked as modified} within
+   *         this session, {@code false} otherwise.
+   */
+  boolean isModified(EntityBean entity, Object pk);
+
+  /**
+   * Marks the given entity (table) as modified within the transaction of this session. Used to bypass shared query
+   * caches that do not yet reflect uncommitted changes.
+   *
+   * @param entityName the {@link io.github.mmm.orm.statement.AbstractEntityClause#getEntityName() entity name} of the
+   *        modified table.
+   * @return {@code true} if newly marked, {@code false} if already {@link #isModified(String) marked as modified}
+   *         before.
+   */
+  boolean markModified(String entityName);
+
+  /**
+   * @param entityName the {@link io.github.mmm.orm.statement.AbstractEntityClause#getEntityName() entity name} of the
+   *        table.
+   * @return {@code true} if the table has been {@link #markModified(String) marked as modified} within this session,
+   *         {@code false} otherwise.
+   */
+  boolean isModified(String entityName);
+
 }
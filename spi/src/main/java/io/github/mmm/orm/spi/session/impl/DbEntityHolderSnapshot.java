@@ -0,0 +1,94 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.session.impl;
+
+import io.github.mmm.bean.WritableBean;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.orm.spi.session.DbEntityHolder;
+
+/**
+ * Implementation of {@link DbEntityHolder} that only keeps a compact
+ * {@link DbEntitySnapshotTemplate#snapshot(EntityBean) snapshot} of the persistent values as long as the entity has
+ * not been handed out. This is the case for entities that have been inserted or updated and avoids a full bean copy
+ * per managed entity. The {@link #getInternal() internal entity} is only materialized on demand and the
+ * {@link #getExternal() external read-only view} is created lazily. Once handed out, the internal entity is retained
+ * so the external view reflects later {@link #update(EntityBean) updates}.
+ *
+ * @param <E> type of the managed {@link EntityBean}.
+ * @since 1.0.0
+ */
+public class DbEntityHolderSnapshot<E extends EntityBean> implements DbEntityHolder<E> {
+
+  private final DbEntitySnapshotTemplate<E> template;
+
+  private E internal;
+
+  private Object[] values;
+
+  private E external;
+
+  /**
+   * The constructor.
+   *
+   * @param template the {@link DbEntitySnapshotTemplate}.
+   * @param internal the {@link #getInternal() internal entity} that is owned by this holder.
+   */
+  public DbEntityHolderSnapshot(DbEntitySnapshotTemplate<E> template, E internal) {
+
+    super();
+    this.template = template;
+    this.internal = internal;
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param template the {@link DbEntitySnapshotTemplate}.
+   * @param values the {@link DbEntitySnapshotTemplate#snapshot(EntityBean) snapshot} of the managed entity.
+   */
+  public DbEntityHolderSnapshot(DbEntitySnapshotTemplate<E> template, Object[] values) {
+
+    super();
+    this.template = template;
+    this.values = values;
+  }
+
+  /**
+   * @return the internal {@link EntityBean}. If only a snapshot is held, a new {@link EntityBean} is restored from it
+   *         on every call without being retained. Therefore it must not be modified.
+   */
+  @Override
+  public E getInternal() {
+
+    if (this.internal != null) {
+      return this.internal;
+    }
+    return this.template.restore(this.values);
+  }
+
+  @Override
+  public E getExternal() {
+
+    if (this.external == null) {
+      if (this.internal == null) {
+        this.internal = this.template.restore(this.values);
+        this.values = null;
+      }
+      this.external = WritableBean.getReadOnly(this.internal);
+    }
+    return this.external;
+  }
+
+  @Override
+  public void update(E entity) {
+
+    if (this.external != null) {
+      this.template.copy(entity, this.internal);
+    } else {
+      // nobody can see the internal entity so we can drop it and only keep a snapshot
+      this.internal = null;
+      this.values = this.template.snapshot(entity);
+    }
+  }
+
+}
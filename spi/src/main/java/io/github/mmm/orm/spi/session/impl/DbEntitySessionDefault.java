@@ -18,6 +18,8 @@ import io.github.mmm.orm.spi.session.DbSession;
  */
 public class DbEntitySessionDefault<E extends EntityBean> extends AbstractDbEntitySession<E> {
 
+  private final DbEntitySnapshotTemplate<E> template;
+
   /**
    * The constructor.
    *
@@ -26,12 +28,19 @@ public class DbEntitySessionDefault<E extends EntityBean> extends AbstractDbEnti
   public DbEntitySessionDefault(E entity) {
 
     super(Entity.getJavaClass(entity));
+    this.template = new DbEntitySnapshotTemplate<>(entity);
   }
 
   @Override
   protected DbEntityHolder<E> createHolder(E managed) {
 
-    return new DbEntityHolderStatic<>(managed);
+    return new DbEntityHolderSnapshot<>(this.template, managed);
+  }
+
+  @Override
+  protected DbEntityHolder<E> createHolderCopy(E entity) {
+
+    return new DbEntityHolderSnapshot<>(this.template, this.template.snapshot(entity));
   }
 
 }
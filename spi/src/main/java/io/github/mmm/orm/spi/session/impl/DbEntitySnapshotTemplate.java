@@ -0,0 +1,82 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.session.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.mmm.bean.ReadableBean;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Template for a specific {@link EntityBean#getType() type} of {@link EntityBean} to {@link #snapshot(EntityBean)
+ * snapshot} the values of its persistent (non-transient) properties into a compact array and to
+ * {@link #restore(Object[]) restore} an {@link EntityBean} from such array.
+ *
+ * @param <E> type of the {@link EntityBean}.
+ * @see DbEntityHolderSnapshot
+ * @since 1.0.0
+ */
+public final class DbEntitySnapshotTemplate<E extends EntityBean> {
+
+  private final E prototype;
+
+  private final String[] properties;
+
+  /**
+   * The constructor.
+   *
+   * @param entity the {@link EntityBean} used as template. It is copied so it may be modified afterwards.
+   */
+  public DbEntitySnapshotTemplate(E entity) {
+
+    super();
+    this.prototype = ReadableBean.copy(entity);
+    List<String> names = new ArrayList<>();
+    for (WritableProperty<?> property : this.prototype.getProperties()) {
+      if (!property.isTransient()) {
+        names.add(property.getName());
+      }
+    }
+    this.properties = names.toArray(String[]::new);
+  }
+
+  /**
+   * @param entity the {@link EntityBean} to snapshot.
+   * @return the array with the values of the persistent properties of the given {@link EntityBean}.
+   */
+  public Object[] snapshot(E entity) {
+
+    Object[] values = new Object[this.properties.length];
+    for (int i = 0; i < this.properties.length; i++) {
+      values[i] = entity.get(this.properties[i]);
+    }
+    return values;
+  }
+
+  /**
+   * @param values the {@link #snapshot(EntityBean) snapshot} to restore.
+   * @return a new {@link EntityBean} with the persistent properties set to the given {@code values}.
+   */
+  public E restore(Object[] values) {
+
+    E entity = ReadableBean.copy(this.prototype);
+    for (int i = 0; i < this.properties.length; i++) {
+      entity.setDynamic(this.properties[i], values[i]);
+    }
+    return entity;
+  }
+
+  /**
+   * @param source the {@link EntityBean} to copy from.
+   * @param target the {@link EntityBean} to copy the values of the persistent properties to.
+   */
+  public void copy(E source, E target) {
+
+    for (String property : this.properties) {
+      target.setDynamic(property, source.get(property));
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.access;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.PkId;
+import io.github.mmm.entity.id.RevisionedIdVersion;
+import io.github.mmm.entity.id.sequence.IdSequence;
+import io.github.mmm.orm.metadata.DbQualifiedName;
+import io.github.mmm.orm.result.DbResult;
+import io.github.mmm.orm.spi.session.DbSession;
+import io.github.mmm.orm.spi.session.impl.Contact;
+import io.github.mmm.orm.statement.DbPlainStatement;
+import io.github.mmm.orm.statement.select.SelectStatement;
+
+/**
+ * Test of {@link AbstractDbAccess#upsertAll(Iterable, boolean)} emulating the upsert for dialects without native
+ * upsert or without detection of a revision conflict (e.g. {@code ON DUPLICATE KEY UPDATE}).
+ */
+class AbstractDbAccessTest extends Assertions {
+
+  private static Contact contact(long pk, Long revision, String name) {
+
+    Contact contact = Contact.of();
+    PkId<Contact, ?, ?> pkId = PkId.of(Contact.class, Long.valueOf(pk));
+    if (revision == null) {
+      contact.Id().set(pkId);
+    } else {
+      contact.Id().set(new RevisionedIdVersion<>(pkId, revision));
+    }
+    contact.Name().set(name);
+    return contact;
+  }
+
+  /** Test that an entity that does not exist is inserted. */
+  @Test
+  void testUpsertInsert() {
+
+    // arrange
+    TestDbAccess access = new TestDbAccess();
+    Contact contact = contact(4711L, null, "John Doe");
+    // act
+    access.upsertAll(List.of(contact), true);
+    // assert
+    assertThat(access.inserted).containsExactly(contact);
+    assertThat(access.updated).isEmpty();
+  }
+
+  /** Test that an existing entity is updated with its own revision so a stale revision is detected by the update. */
+  @Test
+  void testUpsertUpdateVerifyRevision() {
+
+    // arrange
+    TestDbAccess access = new TestDbAccess();
+    access.add(contact(4711L, Long.valueOf(2L), "John Doe"));
+    access.add(contact(4712L, Long.valueOf(1L), "Jane Doe"));
+    Contact stale = contact(4711L, Long.valueOf(1L), "Joe Doe");
+    Contact current = contact(4712L, Long.valueOf(1L), "Jane Smith");
+    // act
+    access.upsertAll(List.of(stale, current), true);
+    // assert
+    assertThat(access.inserted).isEmpty();
+    assertThat(access.updated).containsExactly(stale, current);
+    assertThat(Id.from(stale).getRevision()).isEqualTo(1L);
+    assertThat(Id.from(current).getRevision()).isEqualTo(1L);
+  }
+
+  /** Test that an existing entity takes over the current revision if the revision shall not be verified. */
+  @Test
+  void testUpsertUpdateWithoutVerifyRevision() {
+
+    // arrange
+    TestDbAccess access = new TestDbAccess();
+    access.add(contact(4711L, Long.valueOf(2L), "John Doe"));
+    Contact stale = contact(4711L, Long.valueOf(1L), "Joe Doe");
+    // act
+    access.upsertAll(List.of(stale), false);
+    // assert
+    assertThat(access.inserted).isEmpty();
+    assertThat(access.updated).containsExactly(stale);
+    assertThat(Id.from(stale).getRevision()).isEqualTo(2L);
+  }
+
+  /** Test that an existing entity without revision takes over the current revision even if it shall be verified. */
+  @Test
+  void testUpsertUpdateWithoutRevision() {
+
+    // arrange
+    TestDbAccess access = new TestDbAccess();
+    access.add(contact(4711L, Long.valueOf(2L), "John Doe"));
+    Contact contact = contact(4711L, null, "Joe Doe");
+    // act
+    access.upsertAll(List.of(contact), true);
+    // assert
+    assertThat(access.updated).containsExactly(contact);
+    assertThat(Id.from(contact).getRevision()).isEqualTo(2L);
+  }
+
+  /**
+   * Implementation of {@link AbstractDbAccess} for testing that records the inserted and updated entities instead of
+   * accessing a database.
+   */
+  private static class TestDbAccess extends AbstractDbAccess {
+
+    private final Map<Object, EntityBean> rows = new HashMap<>();
+
+    private final List<EntityBean> inserted = new ArrayList<>();
+
+    private final List<EntityBean> updated = new ArrayList<>();
+
+    private void add(EntityBean entity) {
+
+      this.rows.put(entity.getId().getPk(), entity);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <E extends EntityBean> E selectById(Id<E> id, E prototype) {
+
+      return (E) this.rows.get(id.getPk());
+    }
+
+    @Override
+    public void insert(EntityBean entity) {
+
+      this.inserted.add(entity);
+    }
+
+    @Override
+    public void update(EntityBean entity) {
+
+      this.updated.add(entity);
+    }
+
+    @Override
+    protected DbSession getSession() {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    protected long executeSql(DbPlainStatement statement, Consumer<DbResult> receiver, boolean unique) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <R> Stream<R> selectStream(SelectStatement<R> statement, boolean detached) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void syncTable(EntityBean entity) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IdSequence createIdSequence(DbQualifiedName sequenceName) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public IdSequence createIdRangeSequence(DbQualifiedName tableName, String rangeName, int rangeSize) {
+
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void createIdRangeTable(DbQualifiedName tableName) {
+
+      throw new UnsupportedOperationException();
+    }
+
+  }
+
+}
@@ -0,0 +1,205 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.cache;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.orm.spi.session.impl.Contact;
+
+/**
+ * Test of {@link DbEntityCacheRegion}.
+ */
+class DbEntityCacheRegionTest extends Assertions {
+
+  private static final Long PK = Long.valueOf(4711L);
+
+  private static Contact contact(String name) {
+
+    Contact contact = Contact.of();
+    contact.Name().set(name);
+    return contact;
+  }
+
+  /** Test that a hit restores a new {@link io.github.mmm.entity.bean.EntityBean} so the cache can not be modified. */
+  @Test
+  void testPutAndGet() {
+
+    // arrange
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 100, 0);
+    Contact contact = contact("John Doe");
+    // act
+    boolean put = region.put(PK, region.snapshot(contact), region.getSequence());
+    Contact first = region.get(PK);
+    first.Name().set("Jane Doe");
+    Contact second = region.get(PK);
+    // assert
+    assertThat(put).isTrue();
+    assertThat(first).isNotSameAs(contact).isNotSameAs(second);
+    assertThat(second.Name().get()).isEqualTo("John Doe");
+    assertThat(region.get(Long.valueOf(42L))).isNull();
+    assertThat(region.getHitCount()).isEqualTo(2);
+    assertThat(region.getMissCount()).isEqualTo(1);
+  }
+
+  /** Test that an invalidation removes the entry and rejects a stale put of a snapshot read before. */
+  @Test
+  void testStalePutAfterInvalidate() {
+
+    // arrange
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 100, 0);
+    region.put(PK, region.snapshot(contact("John Doe")), region.getSequence());
+    // another transaction read the entity before the concurrent update has been committed
+    long readSequence = region.getSequence();
+    Object[] stale = region.snapshot(contact("John Doe"));
+    // act
+    region.invalidate(PK);
+    boolean stalePut = region.put(PK, stale, readSequence);
+    // assert
+    assertThat(stalePut).isFalse();
+    assertThat(region.get(PK)).isNull();
+    // a snapshot read after the invalidation is accepted
+    assertThat(region.put(PK, region.snapshot(contact("Joe Doe")), region.getSequence())).isTrue();
+    assertThat(region.get(PK).Name().get()).isEqualTo("Joe Doe");
+  }
+
+  /** Test that a stale put of a snapshot read before {@link DbEntityCacheRegion#clear()} is rejected. */
+  @Test
+  void testStalePutAfterClear() {
+
+    // arrange
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 100, 0);
+    long readSequence = region.getSequence();
+    Object[] stale = region.snapshot(contact("John Doe"));
+    // act
+    region.clear();
+    boolean stalePut = region.put(PK, stale, readSequence);
+    // assert
+    assertThat(stalePut).isFalse();
+    assertThat(region.get(PK)).isNull();
+    assertThat(region.put(PK, region.snapshot(contact("Joe Doe")), region.getSequence())).isTrue();
+    assertThat(region.get(PK).Name().get()).isEqualTo("Joe Doe");
+  }
+
+  /** Test that a stale put is rejected even if the tombstone of the invalidation has been evicted. */
+  @Test
+  void testStalePutAfterTombstoneEvicted() {
+
+    // arrange
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 2, 0);
+    long readSequence = region.getSequence();
+    Object[] stale = region.snapshot(contact("John Doe"));
+    region.invalidate(PK);
+    // act
+    region.put(Long.valueOf(1L), region.snapshot(contact("One")), region.getSequence());
+    region.put(Long.valueOf(2L), region.snapshot(contact("Two")), region.getSequence());
+    boolean stalePut = region.put(PK, stale, readSequence);
+    // assert
+    assertThat(region.getSize()).isEqualTo(2);
+    assertThat(stalePut).isFalse();
+    assertThat(region.get(PK)).isNull();
+    assertThat(region.put(PK, region.snapshot(contact("Joe Doe")), region.getSequence())).isTrue();
+  }
+
+  /** Test that a stale put is rejected even if the tombstone of the invalidation has expired. */
+  @Test
+  void testStalePutAfterTombstoneExpired() {
+
+    // arrange
+    TestClock clock = new TestClock(1000000L);
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 100, 10, clock);
+    long readSequence = region.getSequence();
+    Object[] stale = region.snapshot(contact("John Doe"));
+    region.invalidate(PK);
+    // act
+    clock.millis += 10001;
+    Contact expired = region.get(PK);
+    boolean stalePut = region.put(PK, stale, readSequence);
+    // assert
+    assertThat(expired).isNull();
+    assertThat(stalePut).isFalse();
+    assertThat(region.get(PK)).isNull();
+  }
+
+  /** Test that entries expire after the time to live. */
+  @Test
+  void testTtl() {
+
+    // arrange
+    TestClock clock = new TestClock(1000000L);
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 100, 10, clock);
+    region.put(PK, region.snapshot(contact("John Doe")), region.getSequence());
+    // act
+    clock.millis += 10000;
+    Contact beforeExpiry = region.get(PK);
+    clock.millis++;
+    Contact afterExpiry = region.get(PK);
+    // assert
+    assertThat(beforeExpiry).isNotNull();
+    assertThat(afterExpiry).isNull();
+    assertThat(region.getSize()).isZero();
+  }
+
+  /** Test that the least recently used entry is evicted when the region is full. */
+  @Test
+  void testEvictLeastRecentlyUsed() {
+
+    // arrange
+    DbEntityCacheRegion<Contact> region = new DbEntityCacheRegion<>(Contact.of(), 2, 0);
+    Long pk1 = Long.valueOf(1L);
+    Long pk2 = Long.valueOf(2L);
+    Long pk3 = Long.valueOf(3L);
+    region.put(pk1, region.snapshot(contact("One")), region.getSequence());
+    region.put(pk2, region.snapshot(contact("Two")), region.getSequence());
+    // act
+    region.get(pk1);
+    region.put(pk3, region.snapshot(contact("Three")), region.getSequence());
+    // assert
+    assertThat(region.getSize()).isEqualTo(2);
+    assertThat(region.get(pk2)).isNull();
+    assertThat(region.get(pk1)).isNotNull();
+    assertThat(region.get(pk3)).isNotNull();
+  }
+
+  private static class TestClock extends Clock {
+
+    private long millis;
+
+    private TestClock(long millis) {
+
+      super();
+      this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+
+      return this.millis;
+    }
+
+    @Override
+    public Instant instant() {
+
+      return Instant.ofEpochMilli(this.millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+
+      return this;
+    }
+
+  }
+
+}
@@ -0,0 +1,156 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.sequence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.entity.id.Id;
+
+/**
+ * Test of {@link IdSequencePooled}.
+ */
+class IdSequencePooledTest extends Assertions {
+
+  private static final long START = 1000000000000L;
+
+  private static final int INCREMENT = 10;
+
+  /** Test that the values of a pool are handed out from memory before the next pool is fetched. */
+  @Test
+  void testSequential() {
+
+    // arrange
+    CountingSequence sequence = new CountingSequence();
+    IdSequencePooled pooled = new IdSequencePooled(sequence, INCREMENT);
+    // act
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      ids.add(Long.valueOf(pooled.next(null)));
+    }
+    // assert
+    assertThat(ids).hasSize(25).doesNotHaveDuplicates().isSorted();
+    assertThat(ids.get(0)).isEqualTo(START);
+    assertThat(ids.get(24)).isEqualTo(START + 24);
+    assertThat(sequence.fetches.get()).isEqualTo(3);
+  }
+
+  /** Test that concurrent threads get unique values and pools are not fetched more often than required. */
+  @Test
+  void testConcurrent() throws Exception {
+
+    verifyConcurrent(new CountingSequence(), null);
+  }
+
+  /** Test of {@link #testConcurrent()} with asynchronous prefetching of the next pool. */
+  @Test
+  void testConcurrentWithPrefetch() throws Exception {
+
+    CountingSequence sequence = new CountingSequence();
+    verifyConcurrent(sequence, sequence);
+  }
+
+  private void verifyConcurrent(CountingSequence sequence, IdSequence prefetchSequence) throws Exception {
+
+    // arrange
+    int threads = 16;
+    int count = 2000;
+    IdSequencePooled pooled;
+    if (prefetchSequence == null) {
+      pooled = new IdSequencePooled(sequence, INCREMENT);
+    } else {
+      pooled = new IdSequencePooled(sequence, INCREMENT, 3, prefetchSequence);
+    }
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    CountDownLatch startSignal = new CountDownLatch(1);
+    List<Future<?>> futures = new ArrayList<>();
+    // act
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          startSignal.await();
+          for (int i = 0; i < count; i++) {
+            assertThat(ids.add(Long.valueOf(pooled.next(null)))).isTrue();
+          }
+          return null;
+        }));
+      }
+      startSignal.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    // assert
+    int total = threads * count;
+    assertThat(ids).hasSize(total);
+    // every fetched pool is used up except for pools fetched concurrently at the very end
+    int minFetches = total / INCREMENT;
+    assertThat(sequence.fetches.get()).isBetween(minFetches, minFetches + threads);
+    for (Long id : ids) {
+      assertThat(id.longValue()).isBetween(START, START + (long) sequence.fetches.get() * INCREMENT - 1);
+    }
+  }
+
+  /** Test of {@link IdSequencePooled#reserve(Id, long)} fetching all required pools in a single round trip. */
+  @Test
+  void testReserve() {
+
+    // arrange
+    CountingSequence sequence = new CountingSequence();
+    IdSequencePooled pooled = new IdSequencePooled(sequence, INCREMENT);
+    // act
+    pooled.reserve(null, 35);
+    List<Long> ids = new ArrayList<>();
+    for (int i = 0; i < 35; i++) {
+      ids.add(Long.valueOf(pooled.next(null)));
+    }
+    // assert
+    assertThat(ids).doesNotHaveDuplicates();
+    assertThat(sequence.bulkFetches.get()).isEqualTo(1);
+    assertThat(sequence.fetches.get()).isEqualTo(4);
+  }
+
+  /**
+   * Fake {@link IdSequenceBulk} for a database sequence with an increment of {@link #INCREMENT} counting the
+   * round trips.
+   */
+  private static class CountingSequence implements IdSequenceBulk {
+
+    private final AtomicLong value = new AtomicLong(START);
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private final AtomicInteger bulkFetches = new AtomicInteger();
+
+    @Override
+    public long next(Id<?> template) {
+
+      this.fetches.incrementAndGet();
+      return this.value.getAndAdd(INCREMENT);
+    }
+
+    @Override
+    public long[] next(Id<?> template, int count) {
+
+      this.bulkFetches.incrementAndGet();
+      long[] values = new long[count];
+      for (int i = 0; i < count; i++) {
+        values[i] = next(template);
+      }
+      return values;
+    }
+
+  }
+
+}
@@ -0,0 +1,166 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.sequence;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link IdSequenceTime}.
+ */
+class IdSequenceTimeTest extends Assertions {
+
+  private static final long EPOCH_MILLIS = IdSequenceTime.EPOCH.toEpochMilli();
+
+  private static long id(long time, long node, long counter) {
+
+    return (time << 22) | (node << 12) | counter;
+  }
+
+  /** Test of the 41/10/12 bit layout for time, node and counter. */
+  @Test
+  void testBitPacking() {
+
+    // arrange
+    TestClock clock = new TestClock(EPOCH_MILLIS + 5);
+    IdSequenceTime sequence = new IdSequenceTime(IdSequenceTime.MAX_NODE_ID, clock);
+    // act
+    long first = sequence.next(null);
+    long second = sequence.next(null);
+    clock.millis = EPOCH_MILLIS + (1L << 41) - 1;
+    long max = sequence.next(null);
+    // assert
+    assertThat(first).isEqualTo(id(5, 1023, 0));
+    assertThat(second).isEqualTo(id(5, 1023, 1));
+    assertThat(max).isEqualTo(id((1L << 41) - 1, 1023, 0)).isEqualTo(Long.MAX_VALUE - 4095);
+    assertThat(new IdSequenceTime(42, new TestClock(EPOCH_MILLIS + 5)).next(null)).isEqualTo(id(5, 42, 0));
+  }
+
+  /** Test that the counter overflows into the time part if more than 4096 values are requested per millisecond. */
+  @Test
+  void testCounterOverflow() {
+
+    // arrange
+    TestClock clock = new TestClock(EPOCH_MILLIS + 100);
+    IdSequenceTime sequence = new IdSequenceTime(1, clock);
+    long last = 0;
+    // act
+    for (int i = 0; i < 4096; i++) {
+      last = sequence.next(null);
+    }
+    long overflow = sequence.next(null);
+    clock.millis++;
+    long nextMillis = sequence.next(null);
+    // assert
+    assertThat(last).isEqualTo(id(100, 1, 4095));
+    assertThat(overflow).isEqualTo(id(101, 1, 0));
+    // the clock caught up with the borrowed millisecond so the counter continues
+    assertThat(nextMillis).isEqualTo(id(101, 1, 1));
+  }
+
+  /** Test that values are still increasing if the clock is set back. */
+  @Test
+  void testClockRegression() {
+
+    // arrange
+    TestClock clock = new TestClock(EPOCH_MILLIS + 1000);
+    IdSequenceTime sequence = new IdSequenceTime(3, clock);
+    // act
+    long before = sequence.next(null);
+    clock.millis = EPOCH_MILLIS + 500;
+    long setBack = sequence.next(null);
+    clock.millis = EPOCH_MILLIS + 2000;
+    long recovered = sequence.next(null);
+    // assert
+    assertThat(before).isEqualTo(id(1000, 3, 0));
+    assertThat(setBack).isEqualTo(id(1000, 3, 1));
+    assertThat(recovered).isEqualTo(id(2000, 3, 0));
+  }
+
+  /** Test that concurrent threads never receive the same value (compare-and-set of the state). */
+  @Test
+  void testConcurrent() throws Exception {
+
+    // arrange
+    int threads = 8;
+    int count = 10000;
+    IdSequenceTime sequence = new IdSequenceTime(7, new TestClock(EPOCH_MILLIS + 1));
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    List<Future<?>> futures = new ArrayList<>();
+    // act
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      for (int t = 0; t < threads; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < count; i++) {
+            ids.add(Long.valueOf(sequence.next(null)));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    }
+    // assert
+    assertThat(ids).hasSize(threads * count);
+    // the clock never moves so all values are handed out gapless from the same counter
+    assertThat(sequence.next(null)).isEqualTo(id(1 + (threads * count / 4096), 7, threads * count % 4096));
+  }
+
+  /** Test of invalid node IDs. */
+  @Test
+  void testInvalidNodeId() {
+
+    assertThatThrownBy(() -> new IdSequenceTime(-1)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new IdSequenceTime(IdSequenceTime.MAX_NODE_ID + 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static class TestClock extends Clock {
+
+    private long millis;
+
+    private TestClock(long millis) {
+
+      super();
+      this.millis = millis;
+    }
+
+    @Override
+    public long millis() {
+
+      return this.millis;
+    }
+
+    @Override
+    public Instant instant() {
+
+      return Instant.ofEpochMilli(this.millis);
+    }
+
+    @Override
+    public ZoneId getZone() {
+
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+
+      return this;
+    }
+
+  }
+
+}
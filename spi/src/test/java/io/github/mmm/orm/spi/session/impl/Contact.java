@@ -0,0 +1,41 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.session.impl;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.property.PropertyMetadata;
+import io.github.mmm.property.number.integers.IntegerProperty;
+import io.github.mmm.property.object.ObjectProperty;
+import io.github.mmm.property.string.StringProperty;
+import io.github.mmm.validation.Validator;
+
+/**
+ * {@link EntityBean} for a contact used for testing.
+ */
+public interface Contact extends EntityBean {
+
+  /** @return the name of the contact. */
+  StringProperty Name();
+
+  /** @return the age of the contact. */
+  IntegerProperty Age();
+
+  /**
+   * @return the label computed from {@link #Name()}. As computed property it is transient and not persisted.
+   */
+  default ObjectProperty<Object> Label() {
+
+    return new ObjectProperty<>("Label", new Object(),
+        PropertyMetadata.of(null, Validator.none(), () -> "Contact " + Name().get()));
+  }
+
+  /**
+   * @return a new instance of {@link Contact}.
+   */
+  static Contact of() {
+
+    return BeanFactory.get().create(Contact.class);
+  }
+
+}
@@ -0,0 +1,121 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.spi.session.impl;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.mmm.property.WritableProperty;
+
+/**
+ * Test of {@link DbEntityHolderSnapshot} and {@link DbEntitySnapshotTemplate}.
+ */
+class DbEntityHolderSnapshotTest extends Assertions {
+
+  private static Contact contact(String name, int age) {
+
+    Contact contact = Contact.of();
+    contact.Name().set(name);
+    contact.Age().set(Integer.valueOf(age));
+    return contact;
+  }
+
+  /** Test that the snapshot only contains the persistent properties and a transient property is not tracked. */
+  @Test
+  void testSnapshotOnlyPersistentProperties() {
+
+    // arrange
+    Contact contact = contact("John Doe", 42);
+    DbEntitySnapshotTemplate<Contact> template = new DbEntitySnapshotTemplate<>(contact);
+    int persistent = 0;
+    for (WritableProperty<?> property : contact.getProperties()) {
+      if (!property.isTransient()) {
+        persistent++;
+      }
+    }
+    // act
+    Object[] values = template.snapshot(contact);
+    Contact restored = template.restore(values);
+    // assert
+    assertThat(contact.getProperty("Label").isTransient()).isTrue();
+    assertThat(contact.Label().get()).isEqualTo("Contact John Doe");
+    assertThat(values).hasSize(persistent).contains("John Doe", Integer.valueOf(42))
+        .doesNotContain(contact.Label().get());
+    assertThat(restored).isNotSameAs(contact);
+    assertThat(restored.Name().get()).isEqualTo("John Doe");
+    assertThat(restored.Age().get()).isEqualTo(42);
+  }
+
+  /** Test that {@link DbEntitySnapshotTemplate#copy(Contact, Contact)} copies the persistent properties. */
+  @Test
+  void testCopy() {
+
+    // arrange
+    DbEntitySnapshotTemplate<Contact> template = new DbEntitySnapshotTemplate<>(Contact.of());
+    Contact source = contact("John Doe", 42);
+    Contact target = contact("Jane Doe", 24);
+    // act
+    template.copy(source, target);
+    // assert
+    assertThat(target.Name().get()).isEqualTo("John Doe");
+    assertThat(target.Age().get()).isEqualTo(42);
+  }
+
+  /** Test that a holder of a snapshot restores a new internal entity on every call without retaining it. */
+  @Test
+  void testRestoreOnDemand() {
+
+    // arrange
+    Contact contact = contact("John Doe", 42);
+    DbEntitySnapshotTemplate<Contact> template = new DbEntitySnapshotTemplate<>(contact);
+    DbEntityHolderSnapshot<Contact> holder = new DbEntityHolderSnapshot<>(template, template.snapshot(contact));
+    // act
+    Contact first = holder.getInternal();
+    Contact second = holder.getInternal();
+    // assert
+    assertThat(first).isNotSameAs(second).isNotSameAs(contact);
+    assertThat(first.Name().get()).isEqualTo(second.Name().get()).isEqualTo("John Doe");
+    assertThat(first.Age().get()).isEqualTo(42);
+  }
+
+  /** Test that the read-only external view is created once and then reflects later updates. */
+  @Test
+  void testExternalLazyReadOnly() {
+
+    // arrange
+    Contact contact = contact("John Doe", 42);
+    DbEntitySnapshotTemplate<Contact> template = new DbEntitySnapshotTemplate<>(contact);
+    DbEntityHolderSnapshot<Contact> holder = new DbEntityHolderSnapshot<>(template, template.snapshot(contact));
+    // act
+    Contact external = holder.getExternal();
+    holder.update(contact("Jane Doe", 24));
+    // assert
+    assertThat(holder.getExternal()).isSameAs(external);
+    assertThat(external.isReadOnly()).isTrue();
+    assertThat(external.Name().get()).isEqualTo("Jane Doe");
+    assertThat(external.Age().get()).isEqualTo(24);
+    // once handed out the internal entity is retained
+    assertThat(holder.getInternal()).isSameAs(holder.getInternal());
+    assertThat(holder.getInternal().Name().get()).isEqualTo("Jane Doe");
+  }
+
+  /** Test that an update before the entity is handed out drops the internal entity and only keeps a snapshot. */
+  @Test
+  void testUpdateBeforeHandOut() {
+
+    // arrange
+    Contact contact = contact("John Doe", 42);
+    DbEntityHolderSnapshot<Contact> holder = new DbEntityHolderSnapshot<>(new DbEntitySnapshotTemplate<>(contact),
+        contact);
+    assertThat(holder.getInternal()).isSameAs(contact);
+    // act
+    holder.update(contact("Jane Doe", 24));
+    // assert
+    Contact internal = holder.getInternal();
+    assertThat(internal).isNotSameAs(contact).isNotSameAs(holder.getInternal());
+    assertThat(internal.Name().get()).isEqualTo("Jane Doe");
+    assertThat(contact.Name().get()).isEqualTo("John Doe");
+    assertThat(holder.getExternal().Name().get()).isEqualTo("Jane Doe");
+  }
+
+}
@@ -1,13 +1,43 @@
 package io.github.mmm.orm.test;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import io.github.mmm.entity.id.Id;
+import io.github.mmm.entity.id.OptimisicLockException;
+import io.github.mmm.entity.id.PkId;
+import io.github.mmm.entity.id.sequence.IdSequence;
 import io.github.mmm.entity.link.Link;
+import io.github.mmm.orm.connection.DbConnection;
+import io.github.mmm.orm.connection.DbConnectionData;
+import io.github.mmm.orm.connection.DbStatementStatistics;
+import io.github.mmm.orm.metadata.DbName;
+import io.github.mmm.orm.metadata.DbQualifiedName;
+import io.github.mmm.orm.repository.DbPage;
+import io.github.mmm.orm.repository.DbPageToken;
+import io.github.mmm.orm.source.DbSource;
+import io.github.mmm.orm.spi.access.AbstractDbAccess;
+import io.github.mmm.orm.spi.access.DbAccess;
+import io.github.mmm.orm.spi.cache.DbEntityCacheRegion;
+import io.github.mmm.orm.spi.cache.DbQueryCache;
+import io.github.mmm.orm.spi.sequence.IdSequenceBulk;
+import io.github.mmm.orm.statement.DbStatement;
+import io.github.mmm.orm.statement.create.CreateSequenceClause;
+import io.github.mmm.orm.statement.create.CreateTableClause;
+import io.github.mmm.orm.statement.insert.InsertClause;
+import io.github.mmm.orm.statement.select.SelectFromClause;
+import io.github.mmm.orm.statement.select.SelectStatement;
+import io.github.mmm.orm.tx.DbEntityMode;
 import io.github.mmm.orm.tx.DbTransaction;
 import io.github.mmm.orm.tx.DbTransactionExecutor;
 
@@ -54,6 +84,17 @@ public abstract class JdbcTest extends Assertions {
     assertThat(person.isEqual(person2)).isTrue();
     assertThat(person.getId().getPk()).isEqualTo(1000000000000L);
     assertThat(person.getId().getRevision()).isEqualTo(2L);
+
+    Person person3 = Person.of();
+    person3.Name().set("Jane Doe");
+    Person person4 = Person.of();
+    person4.Name().set("Max Mustermann");
+    person4.Birthday().set(LocalDate.of(2001, 1, 1));
+    repository.saveAll(person3, person4);
+    assertThat(person3.getId().getRevision()).isEqualTo(1L);
+    assertThat(person4.getId().getPk()).isNotEqualTo(person3.getId().getPk());
+    assertThat(person3.isEqual(repository.findById(Id.from(person3)))).isTrue();
+    assertThat(person4.isEqual(repository.findById(Id.from(person4)))).isTrue();
     return tx;
   }
 
@@ -102,7 +143,1200 @@ public abstract class JdbcTest extends Assertions {
 
     Iterable<TaskItem> items = itemRepository.findByTaskList(Id.from(taskList));
     assertThat(items).containsExactlyInAnyOrder(item1, item2);
+
+    try (Stream<TaskItem> stream = itemRepository.streamByTaskList(Id.from(taskList))) {
+      List<String> names = stream.map(item -> item.Name().get()).toList();
+      assertThat(names).containsExactlyInAnyOrder("Milk", "Bread");
+    }
+    return tx;
+  }
+
+  /** Test that a range of sequence values and a subsequent single value do not overlap. */
+  @Test
+  void testSequenceRange() {
+
+    try {
+      DbTransactionExecutor executor = DbTransactionExecutor.get();
+      DbTransaction tx = executor.doInTx(() -> doInTxSequenceRange(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxSequenceRange(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    AbstractDbAccess dbAccess = (AbstractDbAccess) DbAccess.get(DbSource.get());
+    String sequenceName = "RANGE_TEST_SEQ";
+    dbAccess.createSequence(new CreateSequenceClause(sequenceName).incrementBy(1).startWith(1).get());
+    IdSequence sequence = dbAccess.createIdSequence(new DbQualifiedName(null, null, DbName.of(sequenceName)));
+    // act
+    long[] range = ((IdSequenceBulk) sequence).next(null, 5);
+    long single = sequence.next(null);
+    // assert
+    assertThat(range).hasSize(5);
+    Set<Long> values = new HashSet<>();
+    for (long value : range) {
+      assertThat(values.add(Long.valueOf(value))).as("duplicate value %d", Long.valueOf(value)).isTrue();
+    }
+    assertThat(values).doesNotContain(Long.valueOf(single));
+    assertThat(single).isGreaterThan(range[4]);
+    return tx;
+  }
+
+  /** Test that the hi/lo range table is created and ranges are claimed without overlap. */
+  @Test
+  void testIdRangeSequence() {
+
+    try {
+      // the table has to survive the first transaction
+      DbTransactionExecutor executor = DbTransactionExecutor.get(createSource("id_range"));
+      DbQualifiedName tableName = new DbQualifiedName(null, null, DbName.of("ID_RANGE_TEST"));
+      executor.doInTx(() -> {
+        AbstractDbAccess dbAccess = (AbstractDbAccess) DbAccess.get(DbSource.get());
+        dbAccess.createIdRangeTable(tableName);
+        // has to be a no-op if the table already exists
+        dbAccess.createIdRangeTable(tableName);
+        return executor.getTransaction();
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxIdRangeSequence(executor, tableName));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxIdRangeSequence(DbTransactionExecutor executor, DbQualifiedName tableName) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    AbstractDbAccess dbAccess = (AbstractDbAccess) DbAccess.get(DbSource.get());
+    IdSequence sequence = dbAccess.createIdRangeSequence(tableName, "RANGE_A", 10);
+    IdSequence other = dbAccess.createIdRangeSequence(tableName, "RANGE_B", 10);
+    // act
+    long first = sequence.next(null);
+    long second = sequence.next(null);
+    long otherFirst = other.next(null);
+    // assert
+    assertThat(second).isEqualTo(first + 10);
+    // every range name has its own row
+    assertThat(otherFirst).isEqualTo(first);
+    return tx;
+  }
+
+  /** Test that a {@link LocalDate} column is read back as {@link LocalDate}. */
+  @Test
+  void testReadLocalDate() {
+
+    try {
+      DbTransactionExecutor executor = DbTransactionExecutor.get();
+      DbTransaction tx = executor.doInTx(() -> doInTxReadLocalDate(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxReadLocalDate(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    AbstractDbAccess dbAccess = (AbstractDbAccess) DbAccess.get(DbSource.get());
+    Person p = Person.of();
+    String tableName = "PERSON_BIRTHDAY";
+    dbAccess.createTable(new CreateTableClause<>(p, tableName).column(p.Name()).column(p.Birthday()).get());
+    LocalDate birthday = LocalDate.of(1999, 12, 31);
+    dbAccess.insert(
+        new InsertClause().into(p, tableName).value(p.Name(), "John Doe").value(p.Birthday(), birthday).get());
+    // act
+    LocalDate result = dbAccess.selectOne(new SelectFromClause<>(DbStatement.select(p.Birthday()), p, tableName)
+        .where(p.Name().eq("John Doe")).get());
+    // assert
+    assertThat(result).isEqualTo(birthday);
+    return tx;
+  }
+
+  /** Test that an insert followed by updates of the same entity is sent as a single INSERT in write-behind mode. */
+  @Test
+  void testWriteBehindCoalescing() {
+
+    try {
+      DbSource source = createSource("write_behind_coalescing", DbSource.KEY_WRITE_BEHIND, "true");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      DbTransaction tx = executor.doInTx(() -> doInTxWriteBehindCoalescing(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxWriteBehindCoalescing(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    AbstractDbAccess dbAccess = (AbstractDbAccess) DbAccess.get(DbSource.get());
+    PersonRepository repository = new PersonRepository();
+    repository.createTable();
+    repository.createSequence();
+    Person person = Person.of();
+    person.Name().set("John Doe");
+    repository.save(person);
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    // act
+    person.Name().set("Joe Doe");
+    repository.save(person);
+    LocalDate birthday = LocalDate.of(1999, 12, 31);
+    person.Birthday().set(birthday);
+    repository.save(person);
+    // the query flushes the pending changes
+    Person p = Person.of();
+    LocalDate result = dbAccess
+        .selectOne(DbStatement.select(p.Birthday()).from(p).where(p.Name().eq("Joe Doe")).get());
+    // assert
+    assertThat(result).isEqualTo(birthday);
+    assertThat(person.getId().getRevision()).isEqualTo(3L);
+    // a single INSERT with the final state and the SELECT but no UPDATE
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(2);
+    return tx;
+  }
+
+  /** Test that pending inserts are ordered so that linked entities are inserted first in write-behind mode. */
+  @Test
+  void testWriteBehindOrdering() {
+
+    try {
+      DbSource source = createSource("write_behind_ordering", DbSource.KEY_WRITE_BEHIND, "true");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      Id<TaskList> existingId = executor.doInTx(() -> {
+        TaskListRepository listRepository = new TaskListRepository();
+        listRepository.createTable();
+        listRepository.createSequence();
+        new TaskItemRepository().createTable();
+        TaskList taskList = TaskList.of();
+        taskList.Name().set("Existing");
+        return listRepository.save(taskList);
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxWriteBehindOrdering(executor, existingId));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxWriteBehindOrdering(DbTransactionExecutor executor, Id<TaskList> existingId) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    TaskListRepository listRepository = new TaskListRepository();
+    TaskItemRepository itemRepository = new TaskItemRepository();
+    TaskList existing = listRepository.findById(existingId);
+    // act
+    // the first pending change is a child so flushing in order of modification would violate the foreign key
+    TaskItem item1 = TaskItem.of();
+    item1.Name().set("Milk");
+    item1.TaskList().set(Link.of(existing));
+    itemRepository.save(item1);
+    TaskList taskList = TaskList.of();
+    taskList.Name().set("Shopping");
+    listRepository.save(taskList);
+    TaskItem item2 = TaskItem.of();
+    item2.Name().set("Bread");
+    item2.TaskList().set(Link.of(taskList));
+    itemRepository.save(item2);
+    // the query flushes the pending changes
+    Iterable<TaskItem> items = itemRepository.findByTaskList(Id.from(taskList));
+    // assert
+    assertThat(items).extracting(item -> item.Name().get()).containsExactly("Bread");
+    assertThat(itemRepository.findByTaskList(existingId)).extracting(item -> item.Name().get())
+        .containsExactly("Milk");
+    return tx;
+  }
+
+  /** Test that a concurrent modification causes an {@link OptimisicLockException} on flush in write-behind mode. */
+  @Test
+  void testWriteBehindOptimisticLock() {
+
+    try {
+      DbSource source = createSource("write_behind_lock", DbSource.KEY_WRITE_BEHIND, "true");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      Id<Person> id = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        return repository.save(person);
+      });
+      // act + assert
+      assertThatThrownBy(() -> executor.doInTx(() -> doInTxWriteBehindOptimisticLock(executor)))
+          .isInstanceOf(OptimisicLockException.class);
+      Person person = executor.doInTx(() -> new PersonRepository().findById(id));
+      // the transaction has been rolled back
+      assertThat(person.Name().get()).isEqualTo("John Doe");
+      assertThat(person.getId().getRevision()).isEqualTo(1L);
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxWriteBehindOptimisticLock(DbTransactionExecutor executor) throws SQLException {
+
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    Person p = Person.of();
+    Person person = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("John Doe")).get()).iterator()
+        .next();
+    person.Name().set("Joe Doe");
+    // only recorded in the unit of work
+    repository.save(person);
+    // simulate a concurrent update of the row that bypasses the unit of work
+    try (Statement statement = ((DbConnection) tx).unwrap(Connection.class).createStatement()) {
+      assertThat(statement.executeUpdate("UPDATE PERSON SET REV = REV + 1")).isEqualTo(1);
+    }
+    // flush at the end of the transaction has to fail
+    return tx;
+  }
+
+  /** Test that pending changes are flushed before a delete in write-behind mode. */
+  @Test
+  void testWriteBehindDelete() {
+
+    try {
+      DbSource source = createSource("write_behind_delete", DbSource.KEY_WRITE_BEHIND, "true");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("Jane Doe");
+        return repository.save(person);
+      });
+      List<Id<Person>> ids = executor.doInTx(() -> doInTxWriteBehindDelete());
+      List<Person> persons = executor.doInTx(() -> new PersonRepository().findAllById(ids));
+      assertThat(persons).isEmpty();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private List<Id<Person>> doInTxWriteBehindDelete() {
+
+    // arrange
+    PersonRepository repository = new PersonRepository();
+    Person p = Person.of();
+    Person updated = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("Jane Doe")).get()).iterator()
+        .next();
+    updated.Name().set("Jane Smith");
+    repository.save(updated);
+    Person inserted = Person.of();
+    inserted.Name().set("John Doe");
+    repository.save(inserted);
+    Id<Person> updatedId = Id.from(updated);
+    Id<Person> insertedId = Id.from(inserted);
+    // act
+    boolean insertedDeleted = repository.deleteById(insertedId);
+    boolean updatedDeleted = repository.deleteById(updatedId);
+    // assert
+    // the pending INSERT and UPDATE have been sent before the DELETE statements
+    assertThat(insertedDeleted).isTrue();
+    assertThat(updatedDeleted).isTrue();
+    return List.of(insertedId, updatedId);
+  }
+
+  /**
+   * Test that a {@link DbEntityMode#READ_ONLY read-only} transaction rejects modifications and hands out read-only
+   * beans.
+   */
+  @Test
+  void testEntityModeReadOnly() {
+
+    try {
+      DbSource source = createSource("entity_mode_read_only");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      Id<Person> id = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        return repository.save(person);
+      });
+      executor.doInTx(DbEntityMode.READ_ONLY, () -> doInTxEntityModeReadOnly(id));
+      // the read-only flag has been reset before the connection was released
+      Person person = executor.doInTx(() -> {
+        assertThat(((DbConnection) executor.getTransaction()).unwrap(Connection.class).isReadOnly()).isFalse();
+        PersonRepository repository = new PersonRepository();
+        Person p = Person.of();
+        Person managed = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("John Doe")).get())
+            .iterator().next();
+        managed.Name().set("Joe Doe");
+        repository.save(managed);
+        return managed;
+      });
+      assertThat(person.getId().getRevision()).isEqualTo(2L);
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private Person doInTxEntityModeReadOnly(Id<Person> id) {
+
+    // arrange
+    PersonRepository repository = new PersonRepository();
+    Person newPerson = Person.of();
+    newPerson.Name().set("Jane Doe");
+    Person existing = Person.of();
+    existing.Id().set(id);
+    existing.Name().set("Joe Doe");
+    Person p = Person.of();
+    // act
+    Person person = repository.findById(id);
+    Person one = repository.findOneByQuery(DbStatement.select(p).where(p.Name().eq("John Doe")).get());
+    // assert
+    assertThat(person.isReadOnly()).isTrue();
+    assertThat(person.Name().get()).isEqualTo("John Doe");
+    assertThat(one.isReadOnly()).isTrue();
+    assertThat(one.Name().get()).isEqualTo("John Doe");
+    assertThat(Id.from(one).withoutRevision()).isEqualTo(id.withoutRevision());
+    assertThatThrownBy(() -> repository.save(newPerson)).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("read-only");
+    assertThatThrownBy(() -> repository.save(existing)).isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("read-only");
+    return person;
+  }
+
+  /** Test that an update in a {@link DbEntityMode#STATELESS stateless} transaction verifies the revision. */
+  @Test
+  void testEntityModeStateless() {
+
+    try {
+      DbSource source = createSource("entity_mode_stateless");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      Id<Person> id = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        return repository.save(person);
+      });
+      Person updated = executor.doInTx(DbEntityMode.STATELESS, () -> {
+        PersonRepository repository = new PersonRepository();
+        Person person = repository.findById(id);
+        assertThat(person.isReadOnly()).isFalse();
+        person.Name().set("Joe Doe");
+        repository.save(person);
+        return person;
+      });
+      assertThat(updated.getId().getRevision()).isEqualTo(2L);
+      // act + assert
+      assertThatThrownBy(() -> executor.doInTx(DbEntityMode.STATELESS, () -> doInTxEntityModeStateless(executor, id)))
+          .isInstanceOf(OptimisicLockException.class);
+      Person person = executor.doInTx(() -> new PersonRepository().findById(id));
+      assertThat(person.Name().get()).isEqualTo("Joe Doe");
+      assertThat(person.getId().getRevision()).isEqualTo(2L);
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxEntityModeStateless(DbTransactionExecutor executor, Id<Person> id) throws SQLException {
+
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    Person person = repository.findById(id);
+    person.Name().set("Jane Doe");
+    // simulate a concurrent update of the row
+    try (Statement statement = ((DbConnection) tx).unwrap(Connection.class).createStatement()) {
+      assertThat(statement.executeUpdate("UPDATE PERSON SET REV = REV + 1")).isEqualTo(1);
+    }
+    // the revision of the entity does not match anymore
+    repository.save(person);
+    return tx;
+  }
+
+  /** Test that the entity cache is only populated and invalidated after commit. */
+  @Test
+  void testEntityCache() {
+
+    try {
+      DbSource source = createSource("entity_cache", DbSource.KEY_ENTITY_CACHE, "*");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      DbEntityCacheRegion<Person> region = DbConnectionData.of(source).getEntityCache().getRegion(Person.of());
+      assertThat(region).isNotNull();
+      Id<Person> id = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        return repository.save(person);
+      });
+      Object pk = id.getPk();
+      // a rolled back transaction does not put anything into the cache
+      assertThatThrownBy(() -> executor.doInTx(() -> {
+        assertThat(new PersonRepository().findById(id)).isNotNull();
+        throw new IllegalStateException("rollback");
+      })).hasMessage("rollback");
+      assertThat(region.getSize()).isZero();
+      // uncommitted data is not visible in the cache
+      executor.doInTx(() -> {
+        assertThat(new PersonRepository().findById(id).Name().get()).isEqualTo("John Doe");
+        assertThat(region.getSize()).isZero();
+        return null;
+      });
+      assertThat(region.getSize()).isEqualTo(1);
+      long hits = region.getHitCount();
+      assertThat(executor.doInTx(() -> new PersonRepository().findById(id)).Name().get()).isEqualTo("John Doe");
+      assertThat(region.getHitCount()).isEqualTo(hits + 1);
+      // committed update invalidates
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        Person p = Person.of();
+        Person person = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("John Doe")).get())
+            .iterator().next();
+        person.Name().set("Joe Doe");
+        repository.save(person);
+        // other transactions still see the committed state
+        assertThat(region.get(pk).Name().get()).isEqualTo("John Doe");
+        return null;
+      });
+      assertThat(region.get(pk)).isNull();
+      Person person = executor.doInTx(() -> new PersonRepository().findById(id));
+      assertThat(person.Name().get()).isEqualTo("Joe Doe");
+      assertThat(region.get(pk).Name().get()).isEqualTo("Joe Doe");
+      // committed delete invalidates
+      executor.doInTx(() -> new PersonRepository().deleteById(id));
+      assertThat(region.get(pk)).isNull();
+      assertThat(executor.doInTx(() -> new PersonRepository().findById(id))).isNull();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  /** Test that the query cache is hit, invalidated at commit and bypassed in a transaction that modified the table. */
+  @Test
+  void testQueryCache() {
+
+    try {
+      DbSource source = createSource("query_cache", DbSource.KEY_QUERY_CACHE, "*", DbSource.KEY_QUERY_CACHE_SIZE, "3");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      DbQueryCache cache = DbConnectionData.of(source).getQueryCache();
+      assertThat(cache.isEnabled()).isTrue();
+      Id<Person> janeId = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Id<Person> id = null;
+        for (String name : List.of("John Doe", "Jane Doe", "Max Mustermann", "Erika Mustermann")) {
+          Person person = Person.of();
+          person.Name().set(name);
+          Id<Person> savedId = repository.save(person);
+          if (name.equals("Jane Doe")) {
+            id = savedId;
+          }
+        }
+        return id;
+      });
+      // hit
+      assertThat(findNames(executor, "John Doe")).containsExactly("John Doe");
+      long hits = cache.getHitCount();
+      long misses = cache.getMissCount();
+      assertThat(findNames(executor, "John Doe")).containsExactly("John Doe");
+      assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+      assertThat(cache.getMissCount()).isEqualTo(misses);
+      assertThat(cache.getRowCount()).isEqualTo(1);
+      // INSERT: bypass in the modifying transaction and invalidation at commit
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        repository.save(person);
+        long hitsInTx = cache.getHitCount();
+        long missesInTx = cache.getMissCount();
+        Person p = Person.of();
+        Iterable<Person> persons = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("John Doe")).get());
+        assertThat(persons).hasSize(2);
+        assertThat(cache.getHitCount()).isEqualTo(hitsInTx);
+        assertThat(cache.getMissCount()).isEqualTo(missesInTx);
+        // not invalidated before commit
+        assertThat(cache.getRowCount()).isEqualTo(1);
+        return null;
+      });
+      assertThat(cache.getRowCount()).isZero();
+      assertThat(findNames(executor, "John Doe")).containsExactly("John Doe", "John Doe");
+      // UPDATE
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        Person p = Person.of();
+        Person person = repository.findByQuery(DbStatement.select(p).where(p.Name().eq("Max Mustermann")).get())
+            .iterator().next();
+        person.Name().set("Max Doe");
+        repository.save(person);
+        return null;
+      });
+      assertThat(cache.getRowCount()).isZero();
+      assertThat(findNames(executor, "Max Mustermann")).isEmpty();
+      // DELETE
+      assertThat(findNames(executor, "Jane Doe")).containsExactly("Jane Doe");
+      assertThat(cache.getRowCount()).isEqualTo(1);
+      executor.doInTx(() -> new PersonRepository().deleteById(janeId));
+      assertThat(cache.getRowCount()).isZero();
+      assertThat(findNames(executor, "Jane Doe")).isEmpty();
+      // eviction of the least recently used entries bounded by the number of rows
+      cache.clear();
+      assertThat(findNames(executor, "Erika Mustermann")).hasSize(1);
+      assertThat(findNames(executor, "John Doe")).hasSize(2);
+      assertThat(cache.getRowCount()).isEqualTo(3);
+      hits = cache.getHitCount();
+      // evicts "Erika Mustermann"
+      assertThat(findNames(executor, "Max Doe")).hasSize(1);
+      assertThat(cache.getRowCount()).isEqualTo(3);
+      assertThat(findNames(executor, "Max Doe")).hasSize(1);
+      assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+      // evicts "John Doe" with two rows
+      assertThat(findNames(executor, "Erika Mustermann")).hasSize(1);
+      assertThat(cache.getHitCount()).isEqualTo(hits + 1);
+      assertThat(cache.getRowCount()).isEqualTo(2);
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private static List<String> findNames(DbTransactionExecutor executor, String name) {
+
+    return executor.doInTx(() -> {
+      Person p = Person.of();
+      Iterable<Person> persons = new PersonRepository()
+          .findByQuery(DbStatement.select(p).where(p.Name().eq(name)).get());
+      List<String> names = new ArrayList<>();
+      persons.forEach(person -> names.add(person.Name().get()));
+      return names;
+    });
+  }
+
+  /** Test that links of entities loaded by the same query are resolved with one {@code IN} query per chunk. */
+  @Test
+  void testLinkBatchResolution() {
+
+    try {
+      DbSource source = createSource("link_batch", DbSource.KEY_LINK_BATCH_SIZE, "2");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      int count = 5;
+      executor.doInTx(() -> {
+        TaskListRepository listRepository = new TaskListRepository();
+        listRepository.createTable();
+        listRepository.createSequence();
+        TaskItemRepository itemRepository = new TaskItemRepository();
+        itemRepository.createTable();
+        for (int i = 0; i < count; i++) {
+          TaskList taskList = TaskList.of();
+          taskList.Name().set("List " + i);
+          listRepository.save(taskList);
+          TaskItem item = TaskItem.of();
+          item.Name().set("Item " + i);
+          item.TaskList().set(Link.of(taskList));
+          itemRepository.save(item);
+        }
+        return null;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxLinkBatchResolution(executor, count));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxLinkBatchResolution(DbTransactionExecutor executor, int count) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    TaskItem i = TaskItem.of();
+    List<TaskItem> items = new ArrayList<>();
+    new TaskItemRepository().findByQuery(DbStatement.select(i).as("i").orderBy(i.Name().asc()).get())
+        .forEach(items::add);
+    assertThat(items).hasSize(count);
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    // act
+    TaskList first = items.get(0).TaskList().get().getTarget();
+    long queries = statistics.getPrepareCount() - prepared;
+    List<String> names = new ArrayList<>();
+    for (TaskItem item : items) {
+      names.add(item.TaskList().get().getTarget().Name().get());
+    }
+    // assert
+    // five pending links with a batch size of two are loaded in chunks of 2, 2 and 1
+    assertThat(queries).isEqualTo(3);
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(3);
+    assertThat(first.Name().get()).isEqualTo("List 0");
+    assertThat(names).containsExactly("List 0", "List 1", "List 2", "List 3", "List 4");
+    return tx;
+  }
+
+  /** Test of keyset pagination via {@code findPage} with ties on the sort column. */
+  @Test
+  void testFindPage() {
+
+    try {
+      DbSource source = createSource("find_page");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      List<String> names = List.of("Doe", "Doe", "Doe", "Mustermann", "Mustermann", "Smith", "Smith");
+      Set<Id<Person>> ids = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Set<Id<Person>> savedIds = new HashSet<>();
+        // insert in reverse order so the order of the IDs differs from the order of the names
+        for (int i = names.size() - 1; i >= 0; i--) {
+          Person person = Person.of();
+          person.Name().set(names.get(i));
+          savedIds.add(repository.save(person).withoutRevision());
+        }
+        return savedIds;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxFindPage(executor, names, ids));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxFindPage(DbTransactionExecutor executor, List<String> names, Set<Id<Person>> ids) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    Person p = Person.of();
+    SelectStatement<Person> statement = DbStatement.select(p).orderBy(p.Name().asc()).limit(2).get();
+    String sql = statement.toString();
+    List<String> pageNames = new ArrayList<>();
+    List<Id<Person>> pageIds = new ArrayList<>();
+    int pageCount = 0;
+    DbPageToken token = null;
+    // act
+    do {
+      DbPage<Person> page = repository.findPage(statement, token);
+      pageCount++;
+      assertThat(page.getItems().size()).isBetween(1, 2);
+      for (Person person : page.getItems()) {
+        pageNames.add(person.Name().get());
+        pageIds.add(Id.from(person).withoutRevision());
+      }
+      token = page.getNext();
+    } while (token != null);
+    // assert
+    assertThat(pageCount).isEqualTo(4);
+    assertThat(pageNames).containsExactlyElementsOf(names);
+    assertThat(pageIds).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(ids);
+    // ties are ordered by ID as tie-breaker
+    for (int i = 1; i < pageIds.size(); i++) {
+      if (pageNames.get(i).equals(pageNames.get(i - 1))) {
+        assertThat(((Number) pageIds.get(i).getPk()).longValue())
+            .isGreaterThan(((Number) pageIds.get(i - 1).getPk()).longValue());
+      }
+    }
+    // given statement is not modified
+    assertThat(statement.toString()).isEqualTo(sql);
+    assertThat(statement.getWhere().getPredicates()).isEmpty();
+    assertThat(statement.getOrderBy().getOrderings()).hasSize(1);
+    assertThat(statement.getLimit().getMaxRows()).isEqualTo(2);
+    return tx;
+  }
+
+  /** Test that {@code saveAll} sends the inserts as JDBC batches of a single prepared statement. */
+  @Test
+  void testSaveAllBatch() {
+
+    try {
+      // IDs are generated without database sequence so only the statements of the inserts are counted
+      DbSource source = createSource("save_all_batch", DbSource.KEY_BATCH_SIZE, "2", DbSource.KEY_ID_GENERATOR,
+          DbSource.VALUE_ID_GENERATOR_TIME);
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> {
+        new PersonRepository().createTable();
+        return null;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxSaveAllBatch(executor));
+      assertThat(tx.isOpen()).isFalse();
+      assertThat(findNames(executor, "Person 3")).containsExactly("Person 3");
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxSaveAllBatch(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    List<Person> persons = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      Person person = Person.of();
+      person.Name().set("Person " + i);
+      person.Birthday().set(LocalDate.of(2000, 1, i));
+      persons.add(person);
+    }
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    // act
+    repository.saveAll(persons);
+    // assert
+    // five rows with a batch size of two are sent in three batches of the same prepared INSERT
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(1);
+    Set<Id<Person>> ids = new HashSet<>();
+    for (Person person : persons) {
+      assertThat(person.getId().getRevision()).isEqualTo(1L);
+      ids.add(Id.from(person));
+    }
+    assertThat(ids).hasSize(5);
+    // the inserted entities are managed in the session
+    prepared = statistics.getPrepareCount();
+    assertThat(repository.findById(Id.from(persons.get(4))).Name().get()).isEqualTo("Person 5");
+    assertThat(statistics.getPrepareCount()).isEqualTo(prepared);
+    Person p = Person.of();
+    List<Person> loaded = new ArrayList<>();
+    repository.findByQuery(DbStatement.select(p).orderBy(p.Name().asc()).get()).forEach(loaded::add);
+    assertThat(loaded).extracting(person -> person.Name().get()).containsExactly("Person 1", "Person 2", "Person 3",
+        "Person 4", "Person 5");
+    assertThat(loaded).extracting(person -> person.Birthday().get()).containsExactly(LocalDate.of(2000, 1, 1),
+        LocalDate.of(2000, 1, 2), LocalDate.of(2000, 1, 3), LocalDate.of(2000, 1, 4), LocalDate.of(2000, 1, 5));
+    return tx;
+  }
+
+  /** Test that {@code streamByQuery} maps the rows while iterating and registers the links for batch resolution. */
+  @Test
+  void testStreamByQuery() {
+
+    try {
+      DbSource source = createSource("stream_by_query", DbSource.KEY_LINK_BATCH_SIZE, "10");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(JdbcTest::createTaskItems);
+      DbTransaction tx = executor.doInTx(() -> doInTxStreamByQuery(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxStreamByQuery(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    TaskItemRepository itemRepository = new TaskItemRepository();
+    TaskItem i = TaskItem.of();
+    SelectStatement<TaskItem> statement = DbStatement.select(i).as("i").orderBy(i.Name().asc()).get();
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    List<TaskItem> items;
+    // act
+    try (Stream<TaskItem> stream = itemRepository.streamByQuery(statement)) {
+      items = stream.toList();
+    }
+    // assert
+    // the forward-only cursor stays open while streaming and is therefore not taken from the statement cache
+    assertThat(statistics.getPrepareCount()).isEqualTo(prepared);
+    assertThat(items).extracting(item -> item.Name().get()).containsExactly("Item 1", "Item 2", "Item 3", "Item 4",
+        "Item 5");
+    assertThat(items).allMatch(item -> !item.isReadOnly());
+    // the links of all streamed items have been registered so the three lists are loaded with a single query
+    assertThat(items.get(0).TaskList().get().getTarget().Name().get()).isEqualTo("List A");
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(1);
+    assertThat(items).extracting(item -> item.TaskList().get().getTarget().Name().get()).containsExactly("List A",
+        "List B", "List A", "List C", "List B");
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(1);
+    return tx;
+  }
+
+  /** Test that fetched links are mapped from the joined columns and resolved without additional queries. */
+  @Test
+  void testFetchJoin() {
+
+    try {
+      DbSource source = createSource("fetch_join");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(JdbcTest::createTaskItems);
+      DbTransaction tx = executor.doInTx(() -> doInTxFetchJoin(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxFetchJoin(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    TaskItem i = TaskItem.of();
+    SelectStatement<TaskItem> statement = DbStatement.select(i).as("i").fetch(i.TaskList()).orderBy(i.Name().asc())
+        .get();
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    List<TaskItem> items = new ArrayList<>();
+    // act
+    new TaskItemRepository().findByQuery(statement).forEach(items::add);
+    List<TaskList> lists = new ArrayList<>();
+    for (TaskItem item : items) {
+      lists.add(item.TaskList().get().getTarget());
+    }
+    // assert
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(1);
+    assertThat(items).extracting(item -> item.Name().get()).containsExactly("Item 1", "Item 2", "Item 3", "Item 4",
+        "Item 5");
+    assertThat(lists).extracting(list -> list.Name().get()).containsExactly("List A", "List B", "List A", "List C",
+        "List B");
+    // a list joined for multiple rows is only mapped once
+    assertThat(lists.get(2)).isSameAs(lists.get(0));
+    assertThat(lists.get(4)).isSameAs(lists.get(1));
+    assertThat(lists.get(1)).isNotSameAs(lists.get(0));
+    // the fetched lists are managed in the session
+    TaskList listC = new TaskListRepository().findById(Id.from(lists.get(3)));
+    assertThat(listC.Name().get()).isEqualTo("List C");
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(1);
+    return tx;
+  }
+
+  /** Test that {@code LIMIT} and {@code OFFSET} are applied by the database and bound as parameters. */
+  @Test
+  void testLimitOffset() {
+
+    try {
+      DbSource source = createSource("limit_offset");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        // insert in reverse order so the order of the IDs differs from the order of the names
+        for (int i = 5; i >= 1; i--) {
+          Person person = Person.of();
+          person.Name().set("Person " + i);
+          repository.save(person);
+        }
+        return null;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxLimitOffset(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxLimitOffset(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    Person p = Person.of();
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    List<String> page1 = new ArrayList<>();
+    List<String> page2 = new ArrayList<>();
+    List<String> streamed;
+    // act
+    repository.findByQuery(DbStatement.select(p).orderBy(p.Name().asc()).limit(2).offset(1).get())
+        .forEach(person -> page1.add(person.Name().get()));
+    long misses = statistics.getMissCount();
+    repository.findByQuery(DbStatement.select(p).orderBy(p.Name().asc()).limit(3).offset(3).get())
+        .forEach(person -> page2.add(person.Name().get()));
+    long secondMisses = statistics.getMissCount() - misses;
+    try (Stream<Person> stream = repository
+        .streamByQuery(DbStatement.select(p).orderBy(p.Name().asc()).limit(2).get())) {
+      streamed = stream.map(person -> person.Name().get()).toList();
+    }
+    // assert
+    assertThat(page1).containsExactly("Person 2", "Person 3");
+    // only two rows remain after the offset
+    assertThat(page2).containsExactly("Person 4", "Person 5");
+    // different values for LIMIT and OFFSET reuse the same prepared statement
+    assertThat(secondMisses).isZero();
+    assertThat(streamed).containsExactly("Person 1", "Person 2");
+    return tx;
+  }
+
+  /** Test that {@code findAllById} and {@code deleteAllById} send a single statement for multiple IDs. */
+  @Test
+  void testFindAndDeleteAllById() {
+
+    try {
+      DbSource source = createSource("find_all_by_id");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      List<Id<Person>> ids = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        List<Id<Person>> savedIds = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+          Person person = Person.of();
+          person.Name().set("Person " + i);
+          savedIds.add(repository.save(person));
+        }
+        // the last ID does not exist anymore
+        repository.deleteById(savedIds.get(9));
+        return savedIds;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxFindAndDeleteAllById(executor, ids));
+      assertThat(tx.isOpen()).isFalse();
+      List<Person> remaining = executor.doInTx(() -> new PersonRepository().findAllById(ids));
+      assertThat(remaining).extracting(person -> person.Name().get()).containsExactly("Person 6", "Person 7",
+          "Person 8", "Person 9");
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxFindAndDeleteAllById(DbTransactionExecutor executor, List<Id<Person>> ids) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    List<Id<Person>> reversed = new ArrayList<>(ids.reversed());
+    List<Id<Person>> deleteIds = new ArrayList<>(ids.subList(0, 5));
+    deleteIds.add(ids.get(9));
+    // act
+    long prepared = statistics.getPrepareCount();
+    List<Person> persons = repository.findAllById(reversed);
+    long findCount = statistics.getPrepareCount() - prepared;
+    prepared = statistics.getPrepareCount();
+    int deleted = repository.deleteAllById(deleteIds);
+    long deleteCount = statistics.getPrepareCount() - prepared;
+    // assert
+    // the missing ID is omitted and the order of the given IDs is preserved
+    assertThat(persons).extracting(person -> person.Name().get()).containsExactly("Person 9", "Person 8",
+        "Person 7", "Person 6", "Person 5", "Person 4", "Person 3", "Person 2", "Person 1");
+    // all ten IDs are bound as array parameter or as IN list padded to the next bucket size
+    assertThat(findCount).isEqualTo(1);
+    assertThat(deleted).isEqualTo(5);
+    assertThat(deleteCount).isEqualTo(1);
+    return tx;
+  }
+
+  /** Test that {@code saveAll} inserts the rows with multi-row {@code INSERT} statements grouped by null columns. */
+  @Test
+  void testSaveAllMultiRow() {
+
+    try {
+      // IDs are generated without database sequence so only the statements of the inserts are counted
+      DbSource source = createSource("save_all_multi_row", DbSource.KEY_MULTI_ROW_INSERT, "true",
+          DbSource.KEY_BATCH_SIZE, "3", DbSource.KEY_ID_GENERATOR, DbSource.VALUE_ID_GENERATOR_TIME);
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      executor.doInTx(() -> {
+        new PersonRepository().createTable();
+        return null;
+      });
+      DbTransaction tx = executor.doInTx(() -> doInTxSaveAllMultiRow(executor));
+      assertThat(tx.isOpen()).isFalse();
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private DbTransaction doInTxSaveAllMultiRow(DbTransactionExecutor executor) {
+
+    // arrange
+    DbTransaction tx = executor.getTransaction();
+    PersonRepository repository = new PersonRepository();
+    List<Person> persons = new ArrayList<>();
+    for (int i = 1; i <= 7; i++) {
+      Person person = Person.of();
+      person.Name().set("Person " + i);
+      if (i <= 4) {
+        person.Birthday().set(LocalDate.of(2000, 1, i));
+      }
+      persons.add(person);
+    }
+    DbStatementStatistics statistics = ((DbConnection) tx).getStatementStatistics();
+    long prepared = statistics.getPrepareCount();
+    // act
+    repository.saveAll(persons);
+    // assert
+    // four rows with birthday in chunks of three and one row plus three rows without birthday
+    assertThat(statistics.getPrepareCount() - prepared).isEqualTo(3);
+    for (Person person : persons) {
+      assertThat(person.getId().getRevision()).isEqualTo(1L);
+    }
+    // the inserted entities are managed in the session
+    prepared = statistics.getPrepareCount();
+    assertThat(repository.findById(Id.from(persons.get(6))).Name().get()).isEqualTo("Person 7");
+    assertThat(statistics.getPrepareCount()).isEqualTo(prepared);
+    Person p = Person.of();
+    List<Person> loaded = new ArrayList<>();
+    repository.findByQuery(DbStatement.select(p).orderBy(p.Name().asc()).get()).forEach(loaded::add);
+    assertThat(loaded).extracting(person -> person.Name().get()).containsExactly("Person 1", "Person 2", "Person 3",
+        "Person 4", "Person 5", "Person 6", "Person 7");
+    assertThat(loaded).extracting(person -> person.Birthday().get()).containsExactly(LocalDate.of(2000, 1, 1),
+        LocalDate.of(2000, 1, 2), LocalDate.of(2000, 1, 3), LocalDate.of(2000, 1, 4), null, null, null);
+    assertThat(loaded).extracting(person -> Id.from(person).withoutRevision())
+        .containsExactlyElementsOf(persons.stream().map(person -> Id.from(person).withoutRevision()).toList());
     return tx;
   }
 
+  /**
+   * Test that {@code upsertAll} inserts or updates the entities with the native upsert of the dialect and detects a
+   * stale revision.
+   */
+  @Test
+  void testUpsertAll() {
+
+    try {
+      DbSource source = createSource("upsert_all");
+      DbTransactionExecutor executor = DbTransactionExecutor.get(source);
+      Id<Person> johnId = executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        repository.createTable();
+        repository.createSequence();
+        Person person = Person.of();
+        person.Name().set("John Doe");
+        return repository.save(person);
+      });
+      Id<Person> externalId = PkId.of(Person.class, Long.valueOf(4711L));
+      // act
+      List<Person> persons = executor.doInTx(() -> doInTxUpsertAll(johnId, externalId));
+      // assert
+      Person updated = persons.get(0);
+      Person external = persons.get(1);
+      Person created = persons.get(2);
+      assertThat(updated.getId().getRevision()).isEqualTo(2L);
+      assertThat(created.getId().getRevision()).isEqualTo(1L);
+      assertThat(Id.from(external)).isEqualTo(externalId);
+      executor.doInTx(() -> {
+        PersonRepository repository = new PersonRepository();
+        Person john = repository.findById(johnId.withoutRevision());
+        assertThat(john.Name().get()).isEqualTo("Joe Doe");
+        assertThat(john.getId().getRevision()).isEqualTo(2L);
+        assertThat(repository.findById(externalId).Name().get()).isEqualTo("Jane Doe");
+        assertThat(repository.findById(Id.from(created)).Name().get()).isEqualTo("Max Mustermann");
+        return null;
+      });
+      // the revision of johnId is outdated now
+      assertThatThrownBy(() -> executor.doInTx(() -> {
+        Person stale = Person.of();
+        stale.Id().set(johnId);
+        stale.Name().set("Stale Doe");
+        new PersonRepository().upsertAll(List.of(stale));
+        return null;
+      })).isInstanceOf(OptimisicLockException.class);
+      Person john = executor.doInTx(() -> new PersonRepository().findById(johnId.withoutRevision()));
+      assertThat(john.Name().get()).isEqualTo("Joe Doe");
+      assertThat(john.getId().getRevision()).isEqualTo(2L);
+    } catch (Throwable t) {
+      // JUnit is buggy and eats up exceptions
+      t.printStackTrace();
+      throw t;
+    }
+  }
+
+  private List<Person> doInTxUpsertAll(Id<Person> johnId, Id<Person> externalId) {
+
+    // arrange
+    PersonRepository repository = new PersonRepository();
+    // existing row with the current revision that has not been loaded in this transaction
+    Person updated = Person.of();
+    updated.Id().set(johnId);
+    updated.Name().set("Joe Doe");
+    // new row with an externally assigned ID
+    Person external = Person.of();
+    external.Id().set(externalId);
+    external.Name().set("Jane Doe");
+    // new row with a generated ID
+    Person created = Person.of();
+    created.Name().set("Max Mustermann");
+    List<Person> persons = List.of(updated, external, created);
+    // act
+    repository.upsertAll(persons);
+    return persons;
+  }
+
+  /**
+   * Creates the tables for {@link TaskList} and {@link TaskItem} with the lists "List A", "List B" and "List C" and
+   * the items "Item 1" to "Item 5" of the lists A, B, A, C and B.
+   */
+  private static void createTaskItems() {
+
+    TaskListRepository listRepository = new TaskListRepository();
+    listRepository.createTable();
+    listRepository.createSequence();
+    TaskItemRepository itemRepository = new TaskItemRepository();
+    itemRepository.createTable();
+    List<TaskList> lists = new ArrayList<>();
+    for (String name : List.of("List A", "List B", "List C")) {
+      TaskList taskList = TaskList.of();
+      taskList.Name().set(name);
+      listRepository.save(taskList);
+      lists.add(taskList);
+    }
+    int[] listIndexes = { 0, 1, 0, 2, 1 };
+    for (int index = 0; index < listIndexes.length; index++) {
+      TaskItem item = TaskItem.of();
+      item.Name().set("Item " + (index + 1));
+      item.TaskList().set(Link.of(lists.get(listIndexes[index])));
+      itemRepository.save(item);
+    }
+  }
+
+  /**
+   * @param id the {@link DbSource#getId() identifier} of the {@link DbSource}.
+   * @param config the additional configuration as pairs of {@link DbSource#STANDARD_KEYS key} and value.
+   * @return the {@link DbSource} connected to its own database (see {@link #getUrl(DbSource)}) so the test can use
+   *         multiple transactions without interfering with other tests.
+   */
+  protected DbSource createSource(String id, String... config) {
+
+    DbSource source = DbSource.of(id);
+    System.setProperty(source.getPropertyKey(DbSource.KEY_URL), getUrl(source));
+    for (int i = 0; i < config.length; i += 2) {
+      System.setProperty(source.getPropertyKey(config[i]), config[i + 1]);
+    }
+    return source;
+  }
+
+  /**
+   * @param source the {@link DbSource}.
+   * @return the {@link DbSource#KEY_URL URL} of a database exclusively used by the given {@link DbSource} that keeps
+   *         its data after a transaction has been committed.
+   */
+  protected abstract String getUrl(DbSource source);
+
 }
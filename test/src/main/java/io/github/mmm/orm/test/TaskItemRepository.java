@@ -1,6 +1,7 @@
 package io.github.mmm.orm.test;
 
 import java.util.Objects;
+import java.util.stream.Stream;
 
 import io.github.mmm.entity.id.Id;
 import io.github.mmm.orm.spi.repository.AbstractDbRepository;
@@ -32,4 +33,16 @@ public class TaskItemRepository extends AbstractDbRepository<TaskItem> {
     return findByQuery(select);
   }
 
+  /**
+   * @param taskListId the {@link Id} of the {@link TaskList}.
+   * @return a {@link Stream} of the {@link TaskItem}s that are not registered in the session.
+   */
+  public Stream<TaskItem> streamByTaskList(Id<TaskList> taskListId) {
+
+    Objects.requireNonNull(taskListId);
+    TaskItem item = TaskItem.of();
+    SelectStatement<TaskItem> select = DbStatement.select(item).as("i").where(item.TaskList().eq(taskListId)).get();
+    return streamByQuery(select, true);
+  }
+
 }
@@ -0,0 +1,32 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package io.github.mmm.orm.test;
+
+import io.github.mmm.bean.BeanFactory;
+import io.github.mmm.entity.bean.EntityBean;
+import io.github.mmm.property.string.StringProperty;
+
+/**
+ * {@link EntityBean} for a ticket with a status that may be defaulted by the database used for testing.
+ */
+public interface Ticket extends EntityBean {
+
+  /**
+   * @return the title of the ticket.
+   */
+  StringProperty Title();
+
+  /**
+   * @return the status of the ticket.
+   */
+  StringProperty Status();
+
+  /**
+   * @return a new instance of {@link Ticket}.
+   */
+  static Ticket of() {
+
+    return BeanFactory.get().create(Ticket.class);
+  }
+
+}
@@ -0,0 +1,24 @@
+package io.github.mmm.orm.test;
+
+import io.github.mmm.orm.spi.repository.AbstractDbRepository;
+
+/**
+ * {@link AbstractDbRepository Repository} for {@link Ticket}.
+ */
+public class TicketRepository extends AbstractDbRepository<Ticket> {
+
+  /**
+   * The constructor.
+   */
+  public TicketRepository() {
+
+    super(Ticket.of());
+  }
+
+  @Override
+  protected String getSequenceName() {
+
+    return "TICKET_SEQ";
+  }
+
+}